@@ -0,0 +1,271 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Index-based accessor for the properties of one bean class. Indexes are
+ * the positions of the properties in the PropertyDescriptor array held by
+ * the CachedIntrospectionResults of the class.
+ *
+ * <p>This base class invokes the read and write methods reflectively.
+ * For public bean classes, CachedIntrospectionResults generates a subclass
+ * at runtime that overrides get and set with a switch over direct
+ * invokevirtual calls, avoiding Method.invoke, argument arrays and
+ * access checks. Properties the generated code cannot reach (for example
+ * setters taking a non-public type) fall through to this implementation.
+ *
+ * <p>Public only because generated subclasses are defined in their own
+ * class loader; not intended for use by application code.
+ *
+ * @since 17 October 2026
+ * @see CachedIntrospectionResults#getAccessor
+ * @see BeanAccessorGenerator
+ */
+public class BeanAccessor {
+
+	/** Marker returned by adaptArgument for values that cannot be assigned */
+	static final Object NOT_ASSIGNABLE = new Object();
+
+	private Method[] readMethods;
+
+	private Method[] writeMethods;
+
+	/**
+	 * Create a new BeanAccessor. Read and write methods get
+	 * supplied by CachedIntrospectionResults after instantiation,
+	 * as generated subclasses only have a no-arg constructor.
+	 */
+	protected BeanAccessor() {
+	}
+
+	/**
+	 * Initialize this accessor with the read and write methods of the
+	 * bean class, indexed like the property descriptors.
+	 */
+	void initialize(Method[] readMethods, Method[] writeMethods) {
+		this.readMethods = readMethods;
+		this.writeMethods = writeMethods;
+		for (int i = 0; i < readMethods.length; i++) {
+			makeAccessible(readMethods[i]);
+			makeAccessible(writeMethods[i]);
+		}
+	}
+
+	private static void makeAccessible(Method method) {
+		if (method != null) {
+			try {
+				method.setAccessible(true);
+			}
+			catch (RuntimeException ex) {
+				// not allowed in this environment: leave it to the regular access checks
+			}
+		}
+	}
+
+	/**
+	 * Return the value of the property with the given index.
+	 * <p>Exceptions thrown by the read method propagate as they are,
+	 * i.e. not wrapped in an InvocationTargetException.
+	 * @param bean the bean to read from
+	 * @param index the index of the property
+	 * @return the property value, with primitives boxed
+	 * @throws IllegalArgumentException if the property is not readable
+	 * @throws IllegalAccessException if the read method is not accessible
+	 */
+	public Object get(Object bean, int index) throws Throwable {
+		Method readMethod = this.readMethods[index];
+		if (readMethod == null) {
+			throw new IllegalArgumentException("Property with index " + index + " is not readable");
+		}
+		try {
+			return readMethod.invoke(bean, (Object[]) null);
+		}
+		catch (InvocationTargetException ex) {
+			throw ex.getTargetException();
+		}
+	}
+
+	/**
+	 * Set the value of the property with the given index.
+	 * <p>The value must already be of the property type: Callers are
+	 * responsible for type conversion, and must not pass null for a
+	 * primitive property. Exceptions thrown by the write method propagate
+	 * as they are, i.e. not wrapped in an InvocationTargetException.
+	 * @param bean the bean to write to
+	 * @param index the index of the property
+	 * @param value the new value, with primitives boxed
+	 * @throws IllegalArgumentException if the property is not writable
+	 * @throws IllegalAccessException if the write method is not accessible
+	 */
+	public void set(Object bean, int index, Object value) throws Throwable {
+		Method writeMethod = this.writeMethods[index];
+		if (writeMethod == null) {
+			throw new IllegalArgumentException("Property with index " + index + " is not writable");
+		}
+		try {
+			writeMethod.invoke(bean, new Object[] {value});
+		}
+		catch (InvocationTargetException ex) {
+			throw ex.getTargetException();
+		}
+	}
+
+	/**
+	 * Return the value of the int property with the given index.
+	 * Generated subclasses read it without boxing.
+	 * @param bean the bean to read from
+	 * @param index the index of a property of type int
+	 * @see #get
+	 */
+	public int getInt(Object bean, int index) throws Throwable {
+		return ((Number) get(bean, index)).intValue();
+	}
+
+	/**
+	 * Return the value of the long property with the given index.
+	 * @see #getInt
+	 */
+	public long getLong(Object bean, int index) throws Throwable {
+		return ((Number) get(bean, index)).longValue();
+	}
+
+	/**
+	 * Return the value of the double property with the given index.
+	 * @see #getInt
+	 */
+	public double getDouble(Object bean, int index) throws Throwable {
+		return ((Number) get(bean, index)).doubleValue();
+	}
+
+	/**
+	 * Return the value of the boolean property with the given index.
+	 * @see #getInt
+	 */
+	public boolean getBoolean(Object bean, int index) throws Throwable {
+		return ((Boolean) get(bean, index)).booleanValue();
+	}
+
+	/**
+	 * Set the value of the int property with the given index.
+	 * Generated subclasses write it without boxing.
+	 * @param bean the bean to write to
+	 * @param index the index of a property of type int
+	 * @param value the new value
+	 * @see #set
+	 */
+	public void setInt(Object bean, int index, int value) throws Throwable {
+		set(bean, index, new Integer(value));
+	}
+
+	/**
+	 * Set the value of the long property with the given index.
+	 * @see #setInt
+	 */
+	public void setLong(Object bean, int index, long value) throws Throwable {
+		set(bean, index, new Long(value));
+	}
+
+	/**
+	 * Set the value of the double property with the given index.
+	 * @see #setInt
+	 */
+	public void setDouble(Object bean, int index, double value) throws Throwable {
+		set(bean, index, new Double(value));
+	}
+
+	/**
+	 * Set the value of the boolean property with the given index.
+	 * @see #setInt
+	 */
+	public void setBoolean(Object bean, int index, boolean value) throws Throwable {
+		set(bean, index, (value ? Boolean.TRUE : Boolean.FALSE));
+	}
+
+	/**
+	 * Return whether this accessor invokes generated code
+	 * rather than reflection for directly accessible properties.
+	 */
+	public boolean isGenerated() {
+		return (getClass() != BeanAccessor.class);
+	}
+
+
+	/**
+	 * Adapt the given value to the given property type the way
+	 * Method.invoke would, i.e. including widening conversions of
+	 * primitive wrappers (for example Integer to long).
+	 * @param type the property type
+	 * @param value the value to pass in
+	 * @return the value to pass to set, or NOT_ASSIGNABLE
+	 * if the value cannot be assigned to the given type
+	 */
+	static Object adaptArgument(Class type, Object value) {
+		if (BeanUtils.isAssignable(type, value)) {
+			return value;
+		}
+		if (!type.isPrimitive() || !(value instanceof Number || value instanceof Character)) {
+			return NOT_ASSIGNABLE;
+		}
+		int from = wideningRank(value.getClass());
+		int to = wideningRank(type);
+		if (from < 0 || to < 0 || from >= to || type == char.class) {
+			return NOT_ASSIGNABLE;
+		}
+		long longValue = (value instanceof Character ? ((Character) value).charValue() : ((Number) value).longValue());
+		if (type == short.class) {
+			return new Short((short) longValue);
+		}
+		else if (type == int.class) {
+			return new Integer((int) longValue);
+		}
+		else if (type == long.class) {
+			return new Long(longValue);
+		}
+		else if (type == float.class) {
+			return new Float(value instanceof Character ? (float) longValue : ((Number) value).floatValue());
+		}
+		else {
+			return new Double(value instanceof Character ? (double) longValue : ((Number) value).doubleValue());
+		}
+	}
+
+	private static int wideningRank(Class type) {
+		if (type == byte.class || type == Byte.class) {
+			return 0;
+		}
+		else if (type == short.class || type == Short.class || type == char.class || type == Character.class) {
+			return 1;
+		}
+		else if (type == int.class || type == Integer.class) {
+			return 2;
+		}
+		else if (type == long.class || type == Long.class) {
+			return 3;
+		}
+		else if (type == float.class || type == Float.class) {
+			return 4;
+		}
+		else if (type == double.class || type == Double.class) {
+			return 5;
+		}
+		return -1;
+	}
+
+}
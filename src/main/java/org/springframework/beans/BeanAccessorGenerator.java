@@ -0,0 +1,681 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.beans.PropertyDescriptor;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Generates a BeanAccessor subclass for a given bean class at runtime.
+ * Package-visible; only used by CachedIntrospectionResults.
+ *
+ * <p>The generated class overrides get and set with a tableswitch over the
+ * property index, each case casting the bean and calling the read or write
+ * method directly. Primitive values get boxed and unboxed inline. The default
+ * case delegates to the reflective implementation in BeanAccessor.
+ * The primitive variants (getInt, setInt etc) get cases for the properties
+ * of exactly that type only, passing values through without boxing; they
+ * are not generated at all if the bean has no such property.
+ *
+ * <p>Writes class file version 49 (Java 5), which does not require stack map
+ * frames, so this doesn't need a bytecode library. Each generated class gets
+ * its own class loader, a child of the bean's class loader, so it can be
+ * garbage collected together with the bean class.
+ *
+ * @since 17 October 2026
+ * @see BeanAccessor
+ */
+final class BeanAccessorGenerator {
+
+	private static final Log logger = LogFactory.getLog(BeanAccessorGenerator.class);
+
+	private static final String ACCESSOR_CLASS = "org/springframework/beans/BeanAccessor";
+
+	private static final String OBJECT_CLASS = "java/lang/Object";
+
+	private static final String GET_DESCRIPTOR = "(Ljava/lang/Object;I)Ljava/lang/Object;";
+
+	private static final String SET_DESCRIPTOR = "(Ljava/lang/Object;ILjava/lang/Object;)V";
+
+	private static final int ACC_PUBLIC = 0x0001;
+
+	private static final int ACC_FINAL = 0x0010;
+
+	private static final int ACC_SUPER = 0x0020;
+
+	private static final int ILOAD_2 = 0x1C;
+
+	private static final int ALOAD_0 = 0x2A;
+
+	private static final int ALOAD_1 = 0x2B;
+
+	private static final int ILOAD_3 = 0x1D;
+
+	private static final int LLOAD_3 = 0x21;
+
+	private static final int DLOAD_3 = 0x29;
+
+	private static final int ALOAD_3 = 0x2D;
+
+	private static final int POP = 0x57;
+
+	private static final int POP2 = 0x58;
+
+	private static final int TABLESWITCH = 0xAA;
+
+	private static final int IRETURN = 0xAC;
+
+	private static final int LRETURN = 0xAD;
+
+	private static final int DRETURN = 0xAF;
+
+	private static final int ARETURN = 0xB0;
+
+	private static final int RETURN = 0xB1;
+
+	private static final int INVOKEVIRTUAL = 0xB6;
+
+	private static final int INVOKESPECIAL = 0xB7;
+
+	private static final int INVOKESTATIC = 0xB8;
+
+	private static final int CHECKCAST = 0xC0;
+
+
+	/**
+	 * Generate an accessor for the given bean class.
+	 * @param beanClass the bean class
+	 * @param pds the property descriptors, in index order
+	 * @return the generated accessor, or null if the class is not
+	 * eligible or generation failed (reflection should be used then)
+	 */
+	static BeanAccessor generateAccessor(Class beanClass, PropertyDescriptor[] pds) {
+		if (beanClass.isInterface() || beanClass.isArray() || beanClass.isPrimitive() || !isAccessible(beanClass)) {
+			return null;
+		}
+		String className = ACCESSOR_CLASS.replace('/', '.') + "$$" + beanClass.getName().replace('.', '_');
+		try {
+			byte[] bytes = new BeanAccessorGenerator(beanClass, pds, className.replace('.', '/')).generate();
+			Class accessorClass = new AccessorClassLoader(beanClass.getClassLoader()).defineAccessor(className, bytes);
+			return (BeanAccessor) accessorClass.getDeclaredConstructor(new Class[0]).newInstance(new Object[0]);
+		}
+		catch (Throwable ex) {
+			// includes LinkageErrors: generated code is an optimization only
+			if (logger.isDebugEnabled()) {
+				logger.debug("Could not generate accessor for class [" + beanClass.getName() +
+										 "] - falling back to reflection", ex);
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Determine whether generated code in another class loader
+	 * may reference the given type.
+	 */
+	static boolean isAccessible(Class type) {
+		while (type.isArray()) {
+			type = type.getComponentType();
+		}
+		if (type.isPrimitive()) {
+			return true;
+		}
+		String name = type.getName();
+		// JDK-internal packages are not exported to the unnamed modules on Java 9+
+		return (Modifier.isPublic(type.getModifiers()) && !name.startsWith("sun.") &&
+		        !name.startsWith("com.sun.") && !name.startsWith("jdk."));
+	}
+
+
+	private final Class beanClass;
+
+	private final String beanClassName;
+
+	private final PropertyDescriptor[] pds;
+
+	private final String className;
+
+	private final ConstantPool pool = new ConstantPool();
+
+	private final ByteArrayOutputStream methods = new ByteArrayOutputStream();
+
+	private int methodCount;
+
+	private BeanAccessorGenerator(Class beanClass, PropertyDescriptor[] pds, String className) {
+		this.beanClass = beanClass;
+		this.beanClassName = internalName(beanClass);
+		this.pds = pds;
+		this.className = className;
+	}
+
+	private byte[] generate() throws IOException {
+		int thisClass = this.pool.classRef(this.className);
+		int superClass = this.pool.classRef(ACCESSOR_CLASS);
+		addConstructor();
+		addGetMethod();
+		addSetMethod();
+		addPrimitiveGetMethod("getInt", int.class, IRETURN);
+		addPrimitiveGetMethod("getLong", long.class, LRETURN);
+		addPrimitiveGetMethod("getDouble", double.class, DRETURN);
+		addPrimitiveGetMethod("getBoolean", boolean.class, IRETURN);
+		addPrimitiveSetMethod("setInt", int.class, ILOAD_3);
+		addPrimitiveSetMethod("setLong", long.class, LLOAD_3);
+		addPrimitiveSetMethod("setDouble", double.class, DLOAD_3);
+		addPrimitiveSetMethod("setBoolean", boolean.class, ILOAD_3);
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(0xCAFEBABE);
+		out.writeShort(0);
+		out.writeShort(49);
+		this.pool.writeTo(out);
+		out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+		out.writeShort(thisClass);
+		out.writeShort(superClass);
+		out.writeShort(0);
+		out.writeShort(0);
+		out.writeShort(this.methodCount);
+		this.methods.writeTo(out);
+		out.writeShort(0);
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+	private void addConstructor() throws IOException {
+		Code code = new Code();
+		code.op(ALOAD_0);
+		code.op(INVOKESPECIAL, this.pool.methodRef(ACCESSOR_CLASS, "<init>", "()V"));
+		code.op(RETURN);
+		addMethod("<init>", "()V", 1, 1, code);
+	}
+
+	private void addGetMethod() throws IOException {
+		Code code = new Code();
+		Switch sw = code.tableSwitch(this.pds.length);
+		for (int i = 0; i < this.pds.length; i++) {
+			Method readMethod = this.pds[i].getReadMethod();
+			if (isInvocable(readMethod)) {
+				sw.caseHere(i);
+				code.op(ALOAD_1);
+				code.op(CHECKCAST, this.pool.classRef(this.beanClassName));
+				code.op(INVOKEVIRTUAL, methodRef(readMethod));
+				Class returnType = readMethod.getReturnType();
+				if (returnType.isPrimitive()) {
+					String wrapper = internalName(wrapperType(returnType));
+					code.op(INVOKESTATIC, this.pool.methodRef(
+							wrapper, "valueOf", "(" + descriptor(returnType) + ")L" + wrapper + ";"));
+				}
+				code.op(ARETURN);
+			}
+		}
+		sw.defaultHere();
+		code.op(ALOAD_0);
+		code.op(ALOAD_1);
+		code.op(ILOAD_2);
+		code.op(INVOKESPECIAL, this.pool.methodRef(ACCESSOR_CLASS, "get", GET_DESCRIPTOR));
+		code.op(ARETURN);
+		addMethod("get", GET_DESCRIPTOR, 4, 3, code);
+	}
+
+	private void addSetMethod() throws IOException {
+		Code code = new Code();
+		Switch sw = code.tableSwitch(this.pds.length);
+		for (int i = 0; i < this.pds.length; i++) {
+			Method writeMethod = this.pds[i].getWriteMethod();
+			if (isInvocable(writeMethod) && isAccessible(writeMethod.getParameterTypes()[0])) {
+				sw.caseHere(i);
+				code.op(ALOAD_1);
+				code.op(CHECKCAST, this.pool.classRef(this.beanClassName));
+				code.op(ALOAD_3);
+				Class paramType = writeMethod.getParameterTypes()[0];
+				if (paramType.isPrimitive()) {
+					String wrapper = internalName(wrapperType(paramType));
+					code.op(CHECKCAST, this.pool.classRef(wrapper));
+					code.op(INVOKEVIRTUAL, this.pool.methodRef(
+							wrapper, paramType.getName() + "Value", "()" + descriptor(paramType)));
+				}
+				else if (!paramType.equals(Object.class)) {
+					code.op(CHECKCAST, this.pool.classRef(internalName(paramType)));
+				}
+				code.op(INVOKEVIRTUAL, methodRef(writeMethod));
+				popReturnValue(code, writeMethod.getReturnType());
+				code.op(RETURN);
+			}
+		}
+		sw.defaultHere();
+		code.op(ALOAD_0);
+		code.op(ALOAD_1);
+		code.op(ILOAD_2);
+		code.op(ALOAD_3);
+		code.op(INVOKESPECIAL, this.pool.methodRef(ACCESSOR_CLASS, "set", SET_DESCRIPTOR));
+		code.op(RETURN);
+		addMethod("set", SET_DESCRIPTOR, 4, 4, code);
+	}
+
+	private void addPrimitiveGetMethod(String name, Class type, int returnOpcode) throws IOException {
+		String descriptor = "(Ljava/lang/Object;I)" + descriptor(type);
+		Code code = new Code();
+		Switch sw = code.tableSwitch(this.pds.length);
+		boolean anyCase = false;
+		for (int i = 0; i < this.pds.length; i++) {
+			Method readMethod = this.pds[i].getReadMethod();
+			if (isInvocable(readMethod) && readMethod.getReturnType() == type) {
+				sw.caseHere(i);
+				code.op(ALOAD_1);
+				code.op(CHECKCAST, this.pool.classRef(this.beanClassName));
+				code.op(INVOKEVIRTUAL, methodRef(readMethod));
+				code.op(returnOpcode);
+				anyCase = true;
+			}
+		}
+		if (!anyCase) {
+			// the reflective implementation will do
+			return;
+		}
+		sw.defaultHere();
+		code.op(ALOAD_0);
+		code.op(ALOAD_1);
+		code.op(ILOAD_2);
+		code.op(INVOKESPECIAL, this.pool.methodRef(ACCESSOR_CLASS, name, descriptor));
+		code.op(returnOpcode);
+		addMethod(name, descriptor, 4, 3, code);
+	}
+
+	private void addPrimitiveSetMethod(String name, Class type, int loadOpcode) throws IOException {
+		String descriptor = "(Ljava/lang/Object;I" + descriptor(type) + ")V";
+		Code code = new Code();
+		Switch sw = code.tableSwitch(this.pds.length);
+		boolean anyCase = false;
+		for (int i = 0; i < this.pds.length; i++) {
+			Method writeMethod = this.pds[i].getWriteMethod();
+			if (isInvocable(writeMethod) && writeMethod.getParameterTypes()[0] == type) {
+				sw.caseHere(i);
+				code.op(ALOAD_1);
+				code.op(CHECKCAST, this.pool.classRef(this.beanClassName));
+				code.op(loadOpcode);
+				code.op(INVOKEVIRTUAL, methodRef(writeMethod));
+				popReturnValue(code, writeMethod.getReturnType());
+				code.op(RETURN);
+				anyCase = true;
+			}
+		}
+		if (!anyCase) {
+			return;
+		}
+		sw.defaultHere();
+		code.op(ALOAD_0);
+		code.op(ALOAD_1);
+		code.op(ILOAD_2);
+		code.op(loadOpcode);
+		code.op(INVOKESPECIAL, this.pool.methodRef(ACCESSOR_CLASS, name, descriptor));
+		code.op(RETURN);
+		// long and double values take two local variable slots
+		int maxLocals = (type == long.class || type == double.class ? 5 : 4);
+		addMethod(name, descriptor, 5, maxLocals, code);
+	}
+
+	private boolean isInvocable(Method method) {
+		return (method != null && Modifier.isPublic(method.getModifiers()) &&
+		        !Modifier.isStatic(method.getModifiers()));
+	}
+
+	private int methodRef(Method method) throws IOException {
+		return this.pool.methodRef(this.beanClassName, method.getName(), methodDescriptor(method));
+	}
+
+	private void popReturnValue(Code code, Class returnType) {
+		if (returnType == long.class || returnType == double.class) {
+			code.op(POP2);
+		}
+		else if (returnType != void.class) {
+			code.op(POP);
+		}
+	}
+
+	private void addMethod(String name, String descriptor, int maxStack, int maxLocals, Code code)
+			throws IOException {
+		DataOutputStream out = new DataOutputStream(this.methods);
+		out.writeShort(ACC_PUBLIC);
+		out.writeShort(this.pool.utf8(name));
+		out.writeShort(this.pool.utf8(descriptor));
+		out.writeShort(1);
+		out.writeShort(this.pool.utf8("Code"));
+		out.writeInt(12 + code.size());
+		out.writeShort(maxStack);
+		out.writeShort(maxLocals);
+		out.writeInt(code.size());
+		out.write(code.toByteArray());
+		out.writeShort(0);
+		out.writeShort(0);
+		out.flush();
+		this.methodCount++;
+	}
+
+
+	static String internalName(Class clazz) {
+		return clazz.getName().replace('.', '/');
+	}
+
+	static String descriptor(Class clazz) {
+		if (clazz.isPrimitive()) {
+			if (clazz == int.class) {
+				return "I";
+			}
+			else if (clazz == long.class) {
+				return "J";
+			}
+			else if (clazz == double.class) {
+				return "D";
+			}
+			else if (clazz == boolean.class) {
+				return "Z";
+			}
+			else if (clazz == float.class) {
+				return "F";
+			}
+			else if (clazz == short.class) {
+				return "S";
+			}
+			else if (clazz == byte.class) {
+				return "B";
+			}
+			else if (clazz == char.class) {
+				return "C";
+			}
+			return "V";
+		}
+		else if (clazz.isArray()) {
+			return internalName(clazz);
+		}
+		return "L" + internalName(clazz) + ";";
+	}
+
+	static String methodDescriptor(Method method) {
+		StringBuffer sb = new StringBuffer("(");
+		Class[] paramTypes = method.getParameterTypes();
+		for (int i = 0; i < paramTypes.length; i++) {
+			sb.append(descriptor(paramTypes[i]));
+		}
+		sb.append(')');
+		sb.append(descriptor(method.getReturnType()));
+		return sb.toString();
+	}
+
+	static Class wrapperType(Class primitiveType) {
+		if (primitiveType == int.class) {
+			return Integer.class;
+		}
+		else if (primitiveType == long.class) {
+			return Long.class;
+		}
+		else if (primitiveType == double.class) {
+			return Double.class;
+		}
+		else if (primitiveType == boolean.class) {
+			return Boolean.class;
+		}
+		else if (primitiveType == float.class) {
+			return Float.class;
+		}
+		else if (primitiveType == short.class) {
+			return Short.class;
+		}
+		else if (primitiveType == byte.class) {
+			return Byte.class;
+		}
+		else if (primitiveType == char.class) {
+			return Character.class;
+		}
+		throw new IllegalArgumentException("Not a primitive type: " + primitiveType);
+	}
+
+
+	/**
+	 * Constant pool of the generated class, reusing identical entries.
+	 */
+	private static class ConstantPool {
+
+		private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		private final DataOutputStream out = new DataOutputStream(this.bytes);
+
+		private final Map entries = new HashMap();
+
+		private int count = 1;
+
+		public int utf8(String value) throws IOException {
+			Integer index = (Integer) this.entries.get("U" + value);
+			if (index == null) {
+				this.out.writeByte(1);
+				this.out.writeUTF(value);
+				index = register("U" + value);
+			}
+			return index.intValue();
+		}
+
+		public int classRef(String internalName) throws IOException {
+			Integer index = (Integer) this.entries.get("C" + internalName);
+			if (index == null) {
+				int nameIndex = utf8(internalName);
+				this.out.writeByte(7);
+				this.out.writeShort(nameIndex);
+				index = register("C" + internalName);
+			}
+			return index.intValue();
+		}
+
+		public int methodRef(String owner, String name, String descriptor) throws IOException {
+			String key = "M" + owner + "." + name + descriptor;
+			Integer index = (Integer) this.entries.get(key);
+			if (index == null) {
+				int classIndex = classRef(owner);
+				int nameAndTypeIndex = nameAndType(name, descriptor);
+				this.out.writeByte(10);
+				this.out.writeShort(classIndex);
+				this.out.writeShort(nameAndTypeIndex);
+				index = register(key);
+			}
+			return index.intValue();
+		}
+
+		private int nameAndType(String name, String descriptor) throws IOException {
+			String key = "N" + name + ":" + descriptor;
+			Integer index = (Integer) this.entries.get(key);
+			if (index == null) {
+				int nameIndex = utf8(name);
+				int descriptorIndex = utf8(descriptor);
+				this.out.writeByte(12);
+				this.out.writeShort(nameIndex);
+				this.out.writeShort(descriptorIndex);
+				index = register(key);
+			}
+			return index.intValue();
+		}
+
+		private Integer register(String key) {
+			Integer index = new Integer(this.count++);
+			this.entries.put(key, index);
+			return index;
+		}
+
+		public void writeTo(DataOutputStream target) throws IOException {
+			this.out.flush();
+			target.writeShort(this.count);
+			this.bytes.writeTo(target);
+		}
+	}
+
+
+	/**
+	 * Growable bytecode buffer that supports patching jump offsets.
+	 */
+	private static class Code {
+
+		private byte[] buffer = new byte[256];
+
+		private int size;
+
+		public void op(int opcode) {
+			put1(opcode);
+		}
+
+		public void op(int opcode, int operand) {
+			put1(opcode);
+			put1(operand >> 8);
+			put1(operand);
+		}
+
+		/**
+		 * Emit "iload_2; tableswitch 0..count-1" with all targets still open.
+		 * For count 0 nothing gets emitted, and the default code follows directly.
+		 */
+		public Switch tableSwitch(int count) {
+			if (count == 0) {
+				return new Switch(this, -1, -1, 0);
+			}
+			op(ILOAD_2);
+			int switchPos = this.size;
+			put1(TABLESWITCH);
+			while (this.size % 4 != 0) {
+				put1(0);
+			}
+			int defaultPos = this.size;
+			put4(0);
+			put4(0);
+			put4(count - 1);
+			for (int i = 0; i < count; i++) {
+				put4(-1);
+			}
+			return new Switch(this, switchPos, defaultPos, count);
+		}
+
+		private void put1(int value) {
+			if (this.size == this.buffer.length) {
+				byte[] newBuffer = new byte[this.buffer.length * 2];
+				System.arraycopy(this.buffer, 0, newBuffer, 0, this.size);
+				this.buffer = newBuffer;
+			}
+			this.buffer[this.size++] = (byte) value;
+		}
+
+		private void put4(int value) {
+			put1(value >> 24);
+			put1(value >> 16);
+			put1(value >> 8);
+			put1(value);
+		}
+
+		private void set4(int pos, int value) {
+			this.buffer[pos] = (byte) (value >> 24);
+			this.buffer[pos + 1] = (byte) (value >> 16);
+			this.buffer[pos + 2] = (byte) (value >> 8);
+			this.buffer[pos + 3] = (byte) value;
+		}
+
+		private int get4(int pos) {
+			return ((this.buffer[pos] & 0xFF) << 24) | ((this.buffer[pos + 1] & 0xFF) << 16) |
+			    ((this.buffer[pos + 2] & 0xFF) << 8) | (this.buffer[pos + 3] & 0xFF);
+		}
+
+		public int size() {
+			return this.size;
+		}
+
+		public byte[] toByteArray() {
+			byte[] result = new byte[this.size];
+			System.arraycopy(this.buffer, 0, result, 0, this.size);
+			return result;
+		}
+	}
+
+
+	/**
+	 * Pending tableswitch whose case and default targets get bound
+	 * to the current code position.
+	 */
+	private static class Switch {
+
+		private final Code code;
+
+		private final int switchPos;
+
+		private final int defaultPos;
+
+		private final int count;
+
+		public Switch(Code code, int switchPos, int defaultPos, int count) {
+			this.code = code;
+			this.switchPos = switchPos;
+			this.defaultPos = defaultPos;
+			this.count = count;
+		}
+
+		public void caseHere(int index) {
+			this.code.set4(this.defaultPos + 12 + index * 4, this.code.size() - this.switchPos);
+		}
+
+		/**
+		 * Bind the default target, and all cases without code, to the current position.
+		 */
+		public void defaultHere() {
+			if (this.count == 0) {
+				return;
+			}
+			int offset = this.code.size() - this.switchPos;
+			this.code.set4(this.defaultPos, offset);
+			for (int i = 0; i < this.count; i++) {
+				int pos = this.defaultPos + 12 + i * 4;
+				if (this.code.get4(pos) == -1) {
+					this.code.set4(pos, offset);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Class loader for one generated accessor. Resolves BeanAccessor itself
+	 * even if the bean class loader cannot see the framework classes.
+	 */
+	private static class AccessorClassLoader extends ClassLoader {
+
+		public AccessorClassLoader(ClassLoader parent) {
+			super(parent);
+		}
+
+		protected Class loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			if (name.equals(BeanAccessor.class.getName())) {
+				return BeanAccessor.class;
+			}
+			return super.loadClass(name, resolve);
+		}
+
+		public Class defineAccessor(String name, byte[] bytes) {
+			return defineClass(name, bytes, 0, bytes.length);
+		}
+	}
+
+}
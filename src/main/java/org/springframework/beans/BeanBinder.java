@@ -0,0 +1,238 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Binds large numbers of rows, given as Maps of property values keyed by
+ * property name, into new beans of a given class, in parallel.
+ *
+ * <p>Rows get split into batches that are bound by the common ForkJoinPool
+ * or a given Executor. When called from a ForkJoinPool worker, the calling
+ * thread helps binding rather than blocking. Each worker thread reuses its own BeanWrapper for
+ * all rows it binds, and all workers share the introspection results and
+ * the conversion registry. Without an Initializer, rows get bound through
+ * a BindingPlan compiled from the property names of the first row.
+ *
+ * <p>The result contains the beans in input order, regardless of the
+ * order in which the batches completed, plus the exception for each row
+ * that could not be bound. Binding a row behaves like setPropertyValues:
+ * properties that could be set stay set, but the row counts as failed.
+ *
+ * @since 17 October 2026
+ * @see BulkBindingResult
+ * @see BindingPlan
+ * @see BeanWrapperPool
+ */
+public class BeanBinder {
+
+	/** Default number of rows per batch */
+	public static final int DEFAULT_BATCH_SIZE = 1024;
+
+	private static final Log logger = LogFactory.getLog(BeanBinder.class);
+
+	/** Executor to bind batches with, or null for the common ForkJoinPool */
+	private final Executor executor;
+
+	private final BeanWrapperPool beanWrapperPool;
+
+	private final boolean usePlans;
+
+	private boolean ignoreUnknown = false;
+
+	private int batchSize = DEFAULT_BATCH_SIZE;
+
+	/**
+	 * Create a new BeanBinder that uses the common ForkJoinPool.
+	 */
+	public BeanBinder() {
+		this(null, null);
+	}
+
+	/**
+	 * Create a new BeanBinder that uses the given Executor.
+	 * @param executor the Executor to bind batches with
+	 * (null for the common ForkJoinPool)
+	 */
+	public BeanBinder(Executor executor) {
+		this(executor, null);
+	}
+
+	/**
+	 * Create a new BeanBinder that uses the given Executor, configuring
+	 * the BeanWrapper of each worker thread with the given Initializer,
+	 * for example to register custom editors.
+	 * @param executor the Executor to bind batches with
+	 * (null for the common ForkJoinPool)
+	 * @param initializer the callback for configuring new BeanWrappers
+	 * (may be null)
+	 */
+	public BeanBinder(Executor executor, BeanWrapperPool.Initializer initializer) {
+		this.executor = executor;
+		this.beanWrapperPool = new BeanWrapperPool(initializer);
+		// custom editors have to be applied by the BeanWrapper itself
+		this.usePlans = (initializer == null);
+	}
+
+	/**
+	 * Set whether to ignore unknown properties in rows. Default is false,
+	 * i.e. a row with an unknown property fails.
+	 */
+	public void setIgnoreUnknown(boolean ignoreUnknown) {
+		this.ignoreUnknown = ignoreUnknown;
+	}
+
+	/**
+	 * Set the number of rows to bind per task. Default is 1024.
+	 */
+	public void setBatchSize(int batchSize) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("batchSize must be at least 1");
+		}
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Bind each of the given rows into a new instance of the given class.
+	 * @param beanClass the class to instantiate, with a no-arg constructor
+	 * @param rows the rows, as Maps from property name to property value
+	 * @return the result, with beans and exceptions in row order
+	 * @throws BeansException in case of a fatal error, e.g. if the class
+	 * cannot be introspected
+	 */
+	public BulkBindingResult bindAll(Class beanClass, Iterable rows) throws BeansException {
+		// introspect once up front, shared by all workers
+		CachedIntrospectionResults.forClass(beanClass);
+		BindingPlan plan = null;
+		List tasks = new ArrayList();
+		int rowCount = 0;
+		Iterator it = rows.iterator();
+		while (it.hasNext()) {
+			Map[] batch = new Map[this.batchSize];
+			int size = 0;
+			while (size < this.batchSize && it.hasNext()) {
+				batch[size++] = (Map) it.next();
+			}
+			if (plan == null && this.usePlans) {
+				plan = createBindingPlan(beanClass, batch[0]);
+			}
+			tasks.add(new BatchTask(beanClass, plan, batch, size));
+			rowCount += size;
+		}
+		ParallelTasks.invokeAll((Runnable[]) tasks.toArray(new Runnable[tasks.size()]), this.executor, "bulk binding");
+
+		Object[] beans = new Object[rowCount];
+		BeansException[] exceptions = new BeansException[rowCount];
+		int offset = 0;
+		for (int i = 0; i < tasks.size(); i++) {
+			BatchTask task = (BatchTask) tasks.get(i);
+			System.arraycopy(task.beans, 0, beans, offset, task.size);
+			System.arraycopy(task.exceptions, 0, exceptions, offset, task.size);
+			offset += task.size;
+		}
+		BulkBindingResult result = new BulkBindingResult(beans, exceptions);
+		if (logger.isDebugEnabled()) {
+			logger.debug("Bound " + rowCount + " rows into beans of class [" + beanClass.getName() +
+			             "] in " + tasks.size() + " batches: " + result);
+		}
+		return result;
+	}
+
+	private BindingPlan createBindingPlan(Class beanClass, Map row) {
+		String[] propertyNames = new String[row.size()];
+		int i = 0;
+		for (Iterator it = row.keySet().iterator(); it.hasNext(); i++) {
+			propertyNames[i] = (String) it.next();
+		}
+		return new BindingPlan(beanClass, propertyNames, null, this.ignoreUnknown);
+	}
+
+	/**
+	 * Bind the given row into a new bean, using the given BeanWrapper
+	 * of the current worker thread.
+	 */
+	private Object bindRow(Class beanClass, BindingPlan plan, Map row) throws BeansException {
+		Object bean = BeanUtils.instantiateClass(beanClass);
+		BeanWrapperImpl bw = (BeanWrapperImpl) this.beanWrapperPool.obtain(bean);
+		try {
+			if (plan != null) {
+				plan.apply(bw, row);
+			}
+			else {
+				bw.setPropertyValues(new MutablePropertyValues(row), this.ignoreUnknown);
+			}
+		}
+		catch (PropertyAccessExceptionsException ex) {
+			// the pooled BeanWrapper will get rebound: expose a dedicated one
+			throw new PropertyAccessExceptionsException(new BeanWrapperImpl(bean), ex.getPropertyAccessExceptions());
+		}
+		finally {
+			this.beanWrapperPool.release(bw);
+		}
+		return bean;
+	}
+
+
+	/**
+	 * Binds one batch of rows, keeping the results by position.
+	 */
+	private class BatchTask implements Runnable {
+
+		private final Class beanClass;
+
+		private final BindingPlan plan;
+
+		private final Map[] rows;
+
+		private final int size;
+
+		private final Object[] beans;
+
+		private final BeansException[] exceptions;
+
+		public BatchTask(Class beanClass, BindingPlan plan, Map[] rows, int size) {
+			this.beanClass = beanClass;
+			this.plan = plan;
+			this.rows = rows;
+			this.size = size;
+			this.beans = new Object[size];
+			this.exceptions = new BeansException[size];
+		}
+
+		public void run() {
+			for (int i = 0; i < this.size; i++) {
+				try {
+					this.beans[i] = bindRow(this.beanClass, this.plan, this.rows[i]);
+				}
+				catch (BeansException ex) {
+					this.exceptions[i] = ex;
+				}
+				// let the rows be garbage collected as we go
+				this.rows[i] = null;
+			}
+		}
+	}
+
+}
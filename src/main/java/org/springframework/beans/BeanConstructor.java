@@ -0,0 +1,168 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.ConstructorProperties;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Public constructor of a bean class together with the names of its
+ * parameters, for binding property values to constructor arguments.
+ * Resolved once per class and cached by CachedIntrospectionResults.
+ *
+ * <p>Parameter names are taken from a ConstructorProperties annotation,
+ * or from the class file if compiled with the "-parameters" option.
+ * Constructors without known parameter names cannot be bound.
+ *
+ * @since 17 October 2026
+ * @see BeanUtils#instantiateClass(Class, PropertyValues)
+ * @see java.beans.ConstructorProperties
+ */
+final class BeanConstructor {
+
+	/**
+	 * Determine the bindable constructors of the given class,
+	 * sorted by number of parameters, the greediest first.
+	 */
+	static BeanConstructor[] forClass(Class clazz) {
+		Constructor[] constructors = clazz.getConstructors();
+		List bindable = new ArrayList(constructors.length);
+		for (int i = 0; i < constructors.length; i++) {
+			String[] parameterNames = getParameterNames(constructors[i]);
+			if (parameterNames != null) {
+				bindable.add(new BeanConstructor(constructors[i], parameterNames));
+			}
+		}
+		BeanConstructor[] result = (BeanConstructor[]) bindable.toArray(new BeanConstructor[bindable.size()]);
+		Arrays.sort(result, new Comparator() {
+			public int compare(Object o1, Object o2) {
+				return ((BeanConstructor) o2).parameterNames.length - ((BeanConstructor) o1).parameterNames.length;
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Return the parameter names of the given constructor, or null if not known.
+	 */
+	private static String[] getParameterNames(Constructor constructor) {
+		ConstructorProperties cp = (ConstructorProperties) constructor.getAnnotation(ConstructorProperties.class);
+		if (cp != null) {
+			return (cp.value().length == constructor.getParameterTypes().length ? cp.value() : null);
+		}
+		Parameter[] parameters = constructor.getParameters();
+		String[] parameterNames = new String[parameters.length];
+		for (int i = 0; i < parameters.length; i++) {
+			if (!parameters[i].isNamePresent()) {
+				return null;
+			}
+			parameterNames[i] = parameters[i].getName();
+		}
+		return parameterNames;
+	}
+
+
+	private final Constructor constructor;
+
+	private final String[] parameterNames;
+
+	private final Class[] parameterTypes;
+
+	private BeanConstructor(Constructor constructor, String[] parameterNames) {
+		this.constructor = constructor;
+		this.parameterNames = parameterNames;
+		this.parameterTypes = constructor.getParameterTypes();
+	}
+
+	public Constructor getConstructor() {
+		return constructor;
+	}
+
+	public String[] getParameterNames() {
+		return parameterNames;
+	}
+
+	public Class[] getParameterTypes() {
+		return parameterTypes;
+	}
+
+	/**
+	 * Return whether the given values contain an argument for each parameter.
+	 * @param values Map from property name to PropertyValue
+	 */
+	public boolean matches(Map values) {
+		for (int i = 0; i < this.parameterNames.length; i++) {
+			if (!values.containsKey(this.parameterNames[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Convert the given values into constructor arguments,
+	 * and invoke the constructor with them.
+	 * @param values Map from property name to PropertyValue
+	 * @param converter the BeanWrapperImpl to convert arguments with,
+	 * not wrapping an object
+	 * @return the new instance
+	 * @throws PropertyAccessExceptionsException if arguments could not be converted
+	 * @throws FatalBeanException if the constructor threw an exception
+	 */
+	public Object newInstance(Map values, BeanWrapperImpl converter) throws BeansException {
+		Object[] arguments = new Object[this.parameterTypes.length];
+		List propertyAccessExceptions = null;
+		for (int i = 0; i < arguments.length; i++) {
+			String name = this.parameterNames[i];
+			Object value = ((PropertyValue) values.get(name)).getValue();
+			Class requiredType = this.parameterTypes[i];
+			try {
+				if (!BeanUtils.isAssignable(requiredType, value)) {
+					// only editors for types apply, as there is no object for property-specific ones yet
+					value = converter.doTypeConversionIfNecessary(null, name, null, value, requiredType);
+					if (!BeanUtils.isAssignable(requiredType, value)) {
+						throw new TypeMismatchException(converter.createPropertyChangeEvent(name, null, value), requiredType);
+					}
+				}
+			}
+			catch (TypeMismatchException ex) {
+				if (propertyAccessExceptions == null) {
+					propertyAccessExceptions = new ArrayList();
+				}
+				propertyAccessExceptions.add(ex);
+			}
+			arguments[i] = value;
+		}
+		if (propertyAccessExceptions != null) {
+			// no object to bind to, as it could not be created
+			Object[] paeArray = propertyAccessExceptions.toArray(new PropertyAccessException[propertyAccessExceptions.size()]);
+			throw new PropertyAccessExceptionsException(converter, (PropertyAccessException[]) paeArray);
+		}
+		return BeanUtils.instantiateClass(this.constructor, arguments);
+	}
+
+	public String toString() {
+		return "BeanConstructor: " + this.constructor + " with parameters " + Arrays.asList(this.parameterNames);
+	}
+
+}
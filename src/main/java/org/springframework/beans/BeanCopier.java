@@ -0,0 +1,313 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Copies the property values of beans of one class into beans of another,
+ * like BeanUtils.copyProperties. The properties to copy are paired up
+ * once, when the copier is created: each readable property of the source
+ * class with the property of the same name of the target class, if
+ * readable and writable there, unless ignored.
+ *
+ * <p>Copying invokes each getter and the corresponding setter through the
+ * BeanAccessors of the two classes, without BeanWrappers, PropertyValues
+ * or type conversion. Values that cannot be assigned to the target
+ * property, e.g. if the target class narrows a property type, lead to
+ * a TypeMismatchException.
+ *
+ * <p>Copiers are cached per source class, target class and set of
+ * ignored properties, and are thread-safe. The cache is a ClassValue on
+ * whichever of the two classes has the more specific ClassLoader, so it
+ * doesn't keep either class from being garbage-collected. Copiers for
+ * classes from unrelated ClassLoaders are not cached.
+ *
+ * 소스 클래스와 타깃 클래스 쌍에 대해 미리 준비된 프로퍼티 복사기입니다.
+ *
+ * @since 17 October 2026
+ * @see BeanUtils#copyProperties(Object, Object, String[])
+ */
+public final class BeanCopier {
+
+	private static final Log logger = LogFactory.getLog(BeanCopier.class);
+
+	/**
+	 * Maximum number of cached copiers per class, as arbitrary
+	 * combinations of ignored properties could otherwise fill up the cache
+	 */
+	private static final int COPIER_CACHE_LIMIT = 256;
+
+	/** Per-class CopierCaches */
+	private static final ClassValue copierCache = new ClassValue() {
+		protected Object computeValue(Class clazz) {
+			return new CopierCache();
+		}
+	};
+
+	/**
+	 * Return the copier for the given classes, creating it on first use.
+	 * @param sourceClass the class of the beans to copy from
+	 * @param targetClass the class of the beans to copy to
+	 * @param ignoreProperties names of properties not to copy (may be null)
+	 * @return the copier
+	 * @throws BeansException if either class cannot be introspected
+	 */
+	public static BeanCopier forClasses(Class sourceClass, Class targetClass, String[] ignoreProperties)
+			throws BeansException {
+		Class owner = CachedIntrospectionResults.getCacheOwner(sourceClass, targetClass);
+		if (owner == null) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Not caching copier from [" + sourceClass.getName() + "] to [" + targetClass.getName() +
+				             "]: classes come from unrelated ClassLoaders");
+			}
+			return new BeanCopier(sourceClass, targetClass, ignoreProperties);
+		}
+		CopierCache cache = (CopierCache) copierCache.get(owner);
+		CopierKey key = new CopierKey(sourceClass, targetClass, ignoreProperties);
+		BeanCopier copier = (BeanCopier) cache.copiers.get(key);
+		if (copier == null) {
+			copier = new BeanCopier(sourceClass, targetClass, ignoreProperties);
+			if (cache.copiers.size() < COPIER_CACHE_LIMIT) {
+				// keep our own copy of the ignored properties
+				cache.copiers.put(new CopierKey(sourceClass, targetClass, copier.ignoreProperties), copier);
+			}
+			else if (!cache.limitReported) {
+				cache.limitReported = true;
+				logger.warn("More than " + COPIER_CACHE_LIMIT + " copiers for class [" + owner.getName() +
+				            "]: not caching further combinations of classes and ignored properties");
+			}
+		}
+		return copier;
+	}
+
+
+	private final Class sourceClass;
+
+	private final Class targetClass;
+
+	private final String[] ignoreProperties;
+
+	private final BeanAccessor sourceAccessor;
+
+	private final BeanAccessor targetAccessor;
+
+	/** Indexes of the properties to read, with the BeanAccessor of the source class */
+	private final int[] sourceIndexes;
+
+	/** Indexes of the properties to write, with the BeanAccessor of the target class */
+	private final int[] targetIndexes;
+
+	/** Descriptors of the properties to write */
+	private final PropertyDescriptor[] targetDescriptors;
+
+	/** Whether all values of the source property can be assigned to the target property */
+	private final boolean[] assignable;
+
+	private BeanCopier(Class sourceClass, Class targetClass, String[] ignoreProperties) throws BeansException {
+		this.sourceClass = sourceClass;
+		this.targetClass = targetClass;
+		this.ignoreProperties = (ignoreProperties != null ? ignoreProperties.clone() : new String[0]);
+		CachedIntrospectionResults sourceResults = CachedIntrospectionResults.forClass(sourceClass);
+		CachedIntrospectionResults targetResults = CachedIntrospectionResults.forClass(targetClass);
+		this.sourceAccessor = sourceResults.getAccessor();
+		this.targetAccessor = targetResults.getAccessor();
+
+		List ignoreList = Arrays.asList(this.ignoreProperties);
+		PropertyDescriptor[] sourceDescriptors = sourceResults.getBeanInfo().getPropertyDescriptors();
+		int[] sourceIndexes = new int[sourceDescriptors.length];
+		int[] targetIndexes = new int[sourceDescriptors.length];
+		List targetDescriptors = new ArrayList(sourceDescriptors.length);
+		for (int i = 0; i < sourceDescriptors.length; i++) {
+			String name = sourceDescriptors[i].getName();
+			int targetIndex = targetResults.findPropertyIndex(name);
+			if (sourceDescriptors[i].getReadMethod() == null || targetIndex == -1 || ignoreList.contains(name)) {
+				continue;
+			}
+			PropertyDescriptor targetDescriptor = targetResults.getPropertyDescriptor(targetIndex);
+			if (targetDescriptor.getReadMethod() != null && targetDescriptor.getWriteMethod() != null) {
+				sourceIndexes[targetDescriptors.size()] = sourceResults.getPropertyIndex(name);
+				targetIndexes[targetDescriptors.size()] = targetIndex;
+				targetDescriptors.add(targetDescriptor);
+			}
+		}
+		int count = targetDescriptors.size();
+		this.sourceIndexes = new int[count];
+		this.targetIndexes = new int[count];
+		System.arraycopy(sourceIndexes, 0, this.sourceIndexes, 0, count);
+		System.arraycopy(targetIndexes, 0, this.targetIndexes, 0, count);
+		this.targetDescriptors = (PropertyDescriptor[]) targetDescriptors.toArray(new PropertyDescriptor[count]);
+		this.assignable = new boolean[count];
+		for (int i = 0; i < count; i++) {
+			Class valueType = sourceResults.getPropertyDescriptor(this.sourceIndexes[i]).getReadMethod().getReturnType();
+			Class parameterType = this.targetDescriptors[i].getWriteMethod().getParameterTypes()[0];
+			this.assignable[i] = (valueType == parameterType ||
+			                      (!parameterType.isPrimitive() && parameterType.isAssignableFrom(valueType)));
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Created " + this);
+		}
+	}
+
+	/**
+	 * Return the names of the properties that this copier copies.
+	 */
+	public String[] getPropertyNames() {
+		String[] names = new String[this.targetDescriptors.length];
+		for (int i = 0; i < names.length; i++) {
+			names[i] = this.targetDescriptors[i].getName();
+		}
+		return names;
+	}
+
+	/**
+	 * Copy the property values of the given source bean into the given target bean.
+	 * Properties that were copied before an error was encountered stay changed.
+	 * @param source the bean to copy from, an instance of the source class
+	 * @param target the bean to copy to, an instance of the target class
+	 * @throws FatalBeanException if a getter threw an exception
+	 * @throws PropertyAccessExceptionsException if values could not be set
+	 * on the target, containing all the individual errors
+	 */
+	public void copy(Object source, Object target) throws BeansException {
+		if (!this.sourceClass.isInstance(source) || !this.targetClass.isInstance(target)) {
+			throw new IllegalArgumentException("Copier for source class [" + this.sourceClass.getName() +
+			                                   "] and target class [" + this.targetClass.getName() +
+			                                   "] cannot copy from [" + source + "] to [" + target + "]");
+		}
+		List propertyAccessExceptions = null;
+		for (int i = 0; i < this.sourceIndexes.length; i++) {
+			Object value = null;
+			try {
+				value = this.sourceAccessor.get(source, this.sourceIndexes[i]);
+			}
+			catch (Throwable ex) {
+				throw new FatalBeanException("Getter for property '" + this.targetDescriptors[i].getName() +
+				                             "' threw exception", ex);
+			}
+			PropertyAccessException pae = null;
+			if (!this.assignable[i]) {
+				Object argument = BeanAccessor.adaptArgument(
+						this.targetDescriptors[i].getWriteMethod().getParameterTypes()[0], value);
+				if (argument == BeanAccessor.NOT_ASSIGNABLE) {
+					pae = new TypeMismatchException(createPropertyChangeEvent(target, i, value),
+					                                this.targetDescriptors[i].getPropertyType());
+				}
+				value = argument;
+			}
+			if (pae == null) {
+				try {
+					this.targetAccessor.set(target, this.targetIndexes[i], value);
+				}
+				catch (IllegalAccessException ex) {
+					throw new FatalBeanException("Illegal attempt to set property [" + value + "] threw exception", ex);
+				}
+				catch (Throwable ex) {
+					pae = new MethodInvocationException(ex, createPropertyChangeEvent(target, i, value));
+				}
+			}
+			if (pae != null) {
+				if (propertyAccessExceptions == null) {
+					propertyAccessExceptions = new ArrayList();
+				}
+				propertyAccessExceptions.add(pae);
+			}
+		}
+		if (propertyAccessExceptions != null) {
+			Object[] paeArray = propertyAccessExceptions.toArray(new PropertyAccessException[propertyAccessExceptions.size()]);
+			throw new PropertyAccessExceptionsException(new BeanWrapperImpl(target), (PropertyAccessException[]) paeArray);
+		}
+	}
+
+	private PropertyChangeEvent createPropertyChangeEvent(Object target, int index, Object value) {
+		return new PropertyChangeEvent(target, this.targetDescriptors[index].getName(), null, value);
+	}
+
+	public String toString() {
+		return "BeanCopier from [" + this.sourceClass.getName() + "] to [" + this.targetClass.getName() +
+		    "] for properties " + Arrays.asList(getPropertyNames());
+	}
+
+
+	/**
+	 * Copiers cached on one class.
+	 */
+	private static class CopierCache {
+
+		/** Map keyed by CopierKey containing BeanCopiers */
+		final Map copiers = new ConcurrentHashMap();
+
+		/** Whether reaching the cache limit has been logged */
+		volatile boolean limitReported;
+	}
+
+
+	/**
+	 * Cache key: source class, target class and ignored properties,
+	 * the latter independent of order.
+	 */
+	private static class CopierKey {
+
+		private final Class sourceClass;
+
+		private final Class targetClass;
+
+		private final String[] ignoreProperties;
+
+		private final int hashCode;
+
+		public CopierKey(Class sourceClass, Class targetClass, String[] ignoreProperties) {
+			this.sourceClass = sourceClass;
+			this.targetClass = targetClass;
+			this.ignoreProperties = (ignoreProperties != null ? ignoreProperties : new String[0]);
+			int hashCode = sourceClass.hashCode() * 29 + targetClass.hashCode();
+			for (int i = 0; i < this.ignoreProperties.length; i++) {
+				// order-independent
+				hashCode += this.ignoreProperties[i].hashCode();
+			}
+			this.hashCode = hashCode;
+		}
+
+		public boolean equals(Object other) {
+			if (!(other instanceof CopierKey)) {
+				return false;
+			}
+			CopierKey otherKey = (CopierKey) other;
+			if (this.sourceClass != otherKey.sourceClass || this.targetClass != otherKey.targetClass ||
+			    this.ignoreProperties.length != otherKey.ignoreProperties.length) {
+				return false;
+			}
+			List ignoreList = Arrays.asList(this.ignoreProperties);
+			List otherIgnoreList = Arrays.asList(otherKey.ignoreProperties);
+			return (ignoreList.containsAll(otherIgnoreList) && otherIgnoreList.containsAll(ignoreList));
+		}
+
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Compares two instances of a bean class property by property, e.g. an
+ * entity as loaded and as modified, for dirty checking. Returns the
+ * changed properties as PropertyValues with the new values, suitable
+ * for minimal UPDATE statements or for applying to another instance
+ * through a BeanWrapper.
+ *
+ * <p>Properties that are both readable and writable get compared with
+ * equals, arrays element by element. Readable properties that hold
+ * nested beans are descended into, so that a changed customer name shows
+ * up as "customer.name" rather than as changed "customer". A nested bean
+ * that was added, removed or replaced by an instance of another class
+ * shows up as a whole. Collections and Maps are compared as values.
+ *
+ * <p>The properties to compare are determined once per class, and read
+ * through the cached BeanAccessor of the class. Differs are cached per
+ * class in a ClassValue, which doesn't keep the class from being
+ * garbage-collected, and are thread-safe.
+ *
+ * 같은 클래스의 두 빈 인스턴스를 비교해서 변경된 프로퍼티 경로만 돌려줍니다.
+ *
+ * @since 17 October 2026
+ * @see PropertyValues#changesSince
+ */
+public final class BeanDiffer {
+
+	private static final Log logger = LogFactory.getLog(BeanDiffer.class);
+
+	/** Per-class BeanDiffers */
+	private static final ClassValue differCache = new ClassValue() {
+		protected Object computeValue(Class clazz) {
+			return new BeanDiffer(clazz);
+		}
+	};
+
+	/**
+	 * Return the differ for the given class, creating it on first use.
+	 * @param beanClass the class of the beans to compare
+	 * @return the differ
+	 * @throws BeansException if the class cannot be introspected
+	 */
+	public static BeanDiffer forClass(Class beanClass) throws BeansException {
+		return (BeanDiffer) differCache.get(beanClass);
+	}
+
+	/**
+	 * Convenience method that compares the given beans with the differ
+	 * for the class of the new bean.
+	 * @see #diff(Object, Object)
+	 */
+	public static PropertyValues diffBeans(Object oldBean, Object newBean) throws BeansException {
+		return forClass(newBean.getClass()).diff(oldBean, newBean);
+	}
+
+
+	private final Class beanClass;
+
+	private final BeanAccessor accessor;
+
+	/** Indexes of the properties to compare, with the BeanAccessor */
+	private final int[] indexes;
+
+	private final String[] names;
+
+	/** Whether the value of each property is to be compared as nested bean */
+	private final boolean[] nested;
+
+	private BeanDiffer(Class beanClass) throws BeansException {
+		this.beanClass = beanClass;
+		CachedIntrospectionResults results = CachedIntrospectionResults.forClass(beanClass);
+		this.accessor = results.getAccessor();
+		PropertyDescriptor[] pds = results.getBeanInfo().getPropertyDescriptors();
+		List names = new ArrayList(pds.length);
+		List nested = new ArrayList(pds.length);
+		for (int i = 0; i < pds.length; i++) {
+			if (pds[i].getReadMethod() == null || pds[i].getPropertyType() == null) {
+				continue;
+			}
+			boolean nestedBean = isNestedBeanType(pds[i].getPropertyType());
+			if (pds[i].getWriteMethod() != null || nestedBean) {
+				names.add(pds[i].getName());
+				nested.add(Boolean.valueOf(nestedBean));
+			}
+		}
+		this.names = (String[]) names.toArray(new String[names.size()]);
+		this.indexes = new int[this.names.length];
+		this.nested = new boolean[this.names.length];
+		for (int i = 0; i < this.names.length; i++) {
+			this.indexes[i] = results.getPropertyIndex(this.names[i]);
+			this.nested[i] = ((Boolean) nested.get(i)).booleanValue();
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Created " + this);
+		}
+	}
+
+	/**
+	 * Determine whether values of the given type are beans to descend into,
+	 * rather than values to compare with equals.
+	 */
+	private static boolean isNestedBeanType(Class type) {
+		// the java.* check covers primitive wrappers, Strings, Dates etc
+		return !(BeanUtils.isSimpleProperty(type) || type.isArray() || type.isEnum() ||
+		         Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type) ||
+		         type.getName().startsWith("java."));
+	}
+
+	/**
+	 * Return the paths of the properties that this differ compares directly,
+	 * not including the properties of nested beans.
+	 */
+	public String[] getPropertyNames() {
+		return this.names.clone();
+	}
+
+	/**
+	 * Compare the given beans.
+	 * @param oldBean the bean in its old state, an instance of the bean class
+	 * @param newBean the bean in its new state, an instance of the bean class
+	 * @return the changed property paths with the new values, in property
+	 * order; empty PropertyValues if nothing has changed
+	 * @throws FatalBeanException if a getter threw an exception
+	 */
+	public PropertyValues diff(Object oldBean, Object newBean) throws BeansException {
+		if (!this.beanClass.isInstance(oldBean) || !this.beanClass.isInstance(newBean)) {
+			throw new IllegalArgumentException("Differ for class [" + this.beanClass.getName() +
+			                                   "] cannot compare [" + oldBean + "] with [" + newBean + "]");
+		}
+		MutablePropertyValues changes = new MutablePropertyValues();
+		diff(oldBean, newBean, "", changes, null);
+		return changes;
+	}
+
+	/**
+	 * Add the changes between the given beans to the given PropertyValues.
+	 * @param prefix the path of the beans, ending with a separator, or
+	 * the empty String for the top-level beans
+	 * @param visited the new beans being compared, to stop at cycles
+	 * (null if not created yet)
+	 */
+	private void diff(Object oldBean, Object newBean, String prefix, MutablePropertyValues changes, Map visited)
+			throws BeansException {
+		if (oldBean == newBean) {
+			return;
+		}
+		for (int i = 0; i < this.indexes.length; i++) {
+			Object oldValue = getValue(oldBean, i, prefix);
+			Object newValue = getValue(newBean, i, prefix);
+			if (oldValue == newValue) {
+				continue;
+			}
+			if (this.nested[i] && oldValue != null && newValue != null && oldValue.getClass() == newValue.getClass()) {
+				if (visited == null) {
+					visited = new IdentityHashMap();
+					visited.put(newBean, Boolean.TRUE);
+				}
+				if (visited.put(newValue, Boolean.TRUE) == null) {
+					forClass(newValue.getClass()).diff(oldValue, newValue,
+					                                   prefix + this.names[i] + BeanWrapper.NESTED_PROPERTY_SEPARATOR,
+					                                   changes, visited);
+					visited.remove(newValue);
+				}
+			}
+			else if (!valueEquals(oldValue, newValue)) {
+				// paths are unique: no need for addPropertyValue's check
+				changes.appendPropertyValue(new PropertyValue(prefix + this.names[i], newValue));
+			}
+		}
+	}
+
+	private Object getValue(Object bean, int i, String prefix) throws BeansException {
+		try {
+			return this.accessor.get(bean, this.indexes[i]);
+		}
+		catch (Throwable ex) {
+			throw new FatalBeanException("Getter for property '" + prefix + this.names[i] + "' threw exception", ex);
+		}
+	}
+
+	private static boolean valueEquals(Object oldValue, Object newValue) {
+		if (oldValue == null || newValue == null) {
+			return false;
+		}
+		if (oldValue instanceof Object[] && newValue instanceof Object[]) {
+			return Arrays.deepEquals((Object[]) oldValue, (Object[]) newValue);
+		}
+		if (oldValue.getClass().isArray() && oldValue.getClass() == newValue.getClass()) {
+			// primitive arrays: deepEquals handles them as nested elements
+			return Arrays.deepEquals(new Object[] {oldValue}, new Object[] {newValue});
+		}
+		return oldValue.equals(newValue);
+	}
+
+	public String toString() {
+		return "BeanDiffer for class [" + this.beanClass.getName() + "] comparing properties " + Arrays.asList(this.names);
+	}
+
+}
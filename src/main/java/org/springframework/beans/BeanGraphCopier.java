@@ -0,0 +1,445 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Creates deep copies of bean graphs, e.g. of cached configuration
+ * objects before handing them to request threads. Much faster than
+ * a serialization round trip, and not restricted to Serializable classes.
+ *
+ * <p>Beans get instantiated through their no-arg constructor, and all
+ * properties that are both readable and writable get copied, through the
+ * cached BeanAccessor of the bean class. Arrays, Collections and Maps get
+ * copied element by element. Collections and Maps keep their class if it
+ * has a public no-arg constructor (or a Comparator constructor for sorted
+ * ones); else they become ArrayLists, LinkedHashSets, TreeSets,
+ * LinkedHashMaps or TreeMaps. Dates get cloned.
+ *
+ * <p>Instances of immutable types are shared rather than copied: Strings,
+ * primitive wrappers, BigIntegers, BigDecimals, Locales, Classes and enums,
+ * plus any types registered through registerImmutableType. References to
+ * the same object within a graph, including cycles, are copied to
+ * references to the same copy.
+ *
+ * <p>The way to copy each class is determined once and cached.
+ * A copier is thread-safe once configured.
+ *
+ * 빈 객체 그래프를 깊은 복사합니다. 불변 타입은 복사하지 않고 공유합니다.
+ *
+ * @since 17 October 2026
+ * @see BeanUtils#deepCopy
+ * @see BeanCopier
+ */
+public class BeanGraphCopier {
+
+	private static final Log logger = LogFactory.getLog(BeanGraphCopier.class);
+
+	private static final Class[] DEFAULT_IMMUTABLE_TYPES = new Class[] {
+		String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class,
+		Float.class, Double.class, BigInteger.class, BigDecimal.class, Locale.class, Class.class
+	};
+
+	private final List immutableTypes = new ArrayList();
+
+	/** Map from Class to CopyStrategy */
+	private final Map strategyCache = new ConcurrentHashMap();
+
+	/**
+	 * Create a new BeanGraphCopier that shares the default immutable types.
+	 */
+	public BeanGraphCopier() {
+		for (int i = 0; i < DEFAULT_IMMUTABLE_TYPES.length; i++) {
+			this.immutableTypes.add(DEFAULT_IMMUTABLE_TYPES[i]);
+		}
+	}
+
+	/**
+	 * Register the given type, and all its subclasses, as immutable:
+	 * instances will be shared rather than copied.
+	 * <p>Configuration method: not to be called while copying.
+	 * @param type the immutable type
+	 */
+	public void registerImmutableType(Class type) {
+		this.immutableTypes.add(type);
+		this.strategyCache.clear();
+	}
+
+	/**
+	 * Return whether instances of the given class are shared rather than copied.
+	 */
+	public boolean isImmutableType(Class clazz) {
+		if (clazz.isPrimitive() || Enum.class.isAssignableFrom(clazz)) {
+			return true;
+		}
+		for (int i = 0; i < this.immutableTypes.size(); i++) {
+			if (((Class) this.immutableTypes.get(i)).isAssignableFrom(clazz)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Create a deep copy of the given object graph.
+	 * @param original the object to copy (may be null)
+	 * @return the copy, or the original itself if of an immutable type
+	 * @throws FatalBeanException if a class in the graph cannot be
+	 * instantiated, or if a getter threw an exception
+	 * @throws MethodInvocationException if a setter threw an exception
+	 */
+	public Object copy(Object original) throws BeansException {
+		return copyValue(original, new IdentityHashMap());
+	}
+
+	/**
+	 * Copy the given value, reusing the copies made so far.
+	 * @param value the value to copy
+	 * @param copies Map from original objects to their copies
+	 */
+	private Object copyValue(Object value, Map copies) throws BeansException {
+		if (value == null) {
+			return null;
+		}
+		CopyStrategy strategy = getCopyStrategy(value.getClass());
+		if (strategy == null) {
+			return value;
+		}
+		Object copy = copies.get(value);
+		if (copy == null) {
+			copy = strategy.copy(value, copies);
+		}
+		return copy;
+	}
+
+	/**
+	 * Return the strategy for copying instances of the given class,
+	 * or null if instances are to be shared.
+	 */
+	private CopyStrategy getCopyStrategy(Class clazz) throws BeansException {
+		CopyStrategy strategy = (CopyStrategy) this.strategyCache.get(clazz);
+		if (strategy == null) {
+			if (isImmutableType(clazz)) {
+				strategy = SHARED;
+			}
+			else if (clazz.isArray()) {
+				strategy = new ArrayStrategy(clazz.getComponentType());
+			}
+			else if (Collection.class.isAssignableFrom(clazz)) {
+				strategy = new CollectionStrategy(clazz);
+			}
+			else if (Map.class.isAssignableFrom(clazz)) {
+				strategy = new MapStrategy(clazz);
+			}
+			else if (Date.class.isAssignableFrom(clazz)) {
+				strategy = CLONE_DATE;
+			}
+			else {
+				strategy = new BeanStrategy(clazz);
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug("Copying instances of class [" + clazz.getName() + "] with " + strategy);
+			}
+			this.strategyCache.put(clazz, strategy);
+		}
+		return (strategy != SHARED ? strategy : null);
+	}
+
+	/**
+	 * Return the public constructor of the given class with the given
+	 * parameter types, if the class is public, else null.
+	 */
+	private static Constructor findPublicConstructor(Class clazz, Class[] parameterTypes) {
+		if (!Modifier.isPublic(clazz.getModifiers()) || Modifier.isAbstract(clazz.getModifiers())) {
+			return null;
+		}
+		try {
+			return clazz.getConstructor(parameterTypes);
+		}
+		catch (NoSuchMethodException ex) {
+			return null;
+		}
+	}
+
+
+	/**
+	 * Strategy for copying instances of one class.
+	 */
+	private interface CopyStrategy {
+
+		/**
+		 * Copy the given value, registering the copy in the given Map
+		 * before copying nested values.
+		 */
+		Object copy(Object value, Map copies) throws BeansException;
+	}
+
+
+	private static final CopyStrategy SHARED = new CopyStrategy() {
+		public Object copy(Object value, Map copies) {
+			return value;
+		}
+		public String toString() {
+			return "sharing";
+		}
+	};
+
+
+	private static final CopyStrategy CLONE_DATE = new CopyStrategy() {
+		public Object copy(Object value, Map copies) {
+			Object copy = ((Date) value).clone();
+			copies.put(value, copy);
+			return copy;
+		}
+		public String toString() {
+			return "cloning";
+		}
+	};
+
+
+	private class ArrayStrategy implements CopyStrategy {
+
+		private final Class componentType;
+
+		public ArrayStrategy(Class componentType) {
+			this.componentType = componentType;
+		}
+
+		public Object copy(Object value, Map copies) throws BeansException {
+			int length = Array.getLength(value);
+			Object copy = Array.newInstance(this.componentType, length);
+			copies.put(value, copy);
+			if (this.componentType.isPrimitive()) {
+				System.arraycopy(value, 0, copy, 0, length);
+			}
+			else {
+				Object[] elements = (Object[]) value;
+				Object[] copiedElements = (Object[]) copy;
+				for (int i = 0; i < length; i++) {
+					copiedElements[i] = copyValue(elements[i], copies);
+				}
+			}
+			return copy;
+		}
+
+		public String toString() {
+			return "copying array elements";
+		}
+	}
+
+
+	private class CollectionStrategy implements CopyStrategy {
+
+		private final Class collectionClass;
+
+		private final Constructor constructor;
+
+		private final boolean sorted;
+
+		public CollectionStrategy(Class collectionClass) {
+			this.collectionClass = collectionClass;
+			this.sorted = SortedSet.class.isAssignableFrom(collectionClass);
+			this.constructor = findPublicConstructor(collectionClass,
+					(this.sorted ? new Class[] {Comparator.class} : new Class[0]));
+		}
+
+		public Object copy(Object value, Map copies) throws BeansException {
+			Collection original = (Collection) value;
+			Comparator comparator = (this.sorted ? ((SortedSet) original).comparator() : null);
+			Collection copy = null;
+			if (this.constructor != null) {
+				copy = (Collection) BeanUtils.instantiateClass(
+						this.constructor, (this.sorted ? new Object[] {comparator} : null));
+			}
+			else if (this.sorted) {
+				copy = new TreeSet(comparator);
+			}
+			else if (original instanceof Set) {
+				copy = new LinkedHashSet(original.size());
+			}
+			else {
+				copy = new ArrayList(original.size());
+			}
+			copies.put(value, copy);
+			for (Iterator it = original.iterator(); it.hasNext();) {
+				copy.add(copyValue(it.next(), copies));
+			}
+			return copy;
+		}
+
+		public String toString() {
+			return (this.constructor != null ? "copying collection elements into a new " + this.collectionClass.getName() :
+			        "copying collection elements into a standard collection");
+		}
+	}
+
+
+	private class MapStrategy implements CopyStrategy {
+
+		private final Class mapClass;
+
+		private final Constructor constructor;
+
+		private final boolean sorted;
+
+		public MapStrategy(Class mapClass) {
+			this.mapClass = mapClass;
+			this.sorted = SortedMap.class.isAssignableFrom(mapClass);
+			this.constructor = findPublicConstructor(mapClass,
+					(this.sorted ? new Class[] {Comparator.class} : new Class[0]));
+		}
+
+		public Object copy(Object value, Map copies) throws BeansException {
+			Map original = (Map) value;
+			Comparator comparator = (this.sorted ? ((SortedMap) original).comparator() : null);
+			Map copy = null;
+			if (this.constructor != null) {
+				copy = (Map) BeanUtils.instantiateClass(
+						this.constructor, (this.sorted ? new Object[] {comparator} : null));
+			}
+			else if (this.sorted) {
+				copy = new TreeMap(comparator);
+			}
+			else {
+				copy = new LinkedHashMap(original.size());
+			}
+			copies.put(value, copy);
+			for (Iterator it = original.entrySet().iterator(); it.hasNext();) {
+				Map.Entry entry = (Map.Entry) it.next();
+				copy.put(copyValue(entry.getKey(), copies), copyValue(entry.getValue(), copies));
+			}
+			return copy;
+		}
+
+		public String toString() {
+			return (this.constructor != null ? "copying map entries into a new " + this.mapClass.getName() :
+			        "copying map entries into a standard map");
+		}
+	}
+
+
+	private class BeanStrategy implements CopyStrategy {
+
+		private final Class beanClass;
+
+		private final Constructor constructor;
+
+		private final BeanAccessor accessor;
+
+		/** Indexes of the properties to copy, with the BeanAccessor */
+		private final int[] indexes;
+
+		private final String[] names;
+
+		public BeanStrategy(Class beanClass) throws BeansException {
+			this.beanClass = beanClass;
+			Constructor constructor = null;
+			try {
+				constructor = beanClass.getDeclaredConstructor(new Class[0]);
+				if (!Modifier.isPublic(constructor.getModifiers()) ||
+				    !Modifier.isPublic(beanClass.getModifiers())) {
+					constructor.setAccessible(true);
+				}
+			}
+			catch (NoSuchMethodException ex) {
+				constructor = null;
+			}
+			catch (RuntimeException ex) {
+				// not accessible, e.g. in a module that does not open its package
+				logger.debug("Cannot access no-arg constructor of class [" + beanClass.getName() + "]", ex);
+				constructor = null;
+			}
+			this.constructor = constructor;
+			CachedIntrospectionResults results = CachedIntrospectionResults.forClass(beanClass);
+			this.accessor = results.getAccessor();
+			PropertyDescriptor[] pds = results.getBeanInfo().getPropertyDescriptors();
+			List names = new ArrayList(pds.length);
+			for (int i = 0; i < pds.length; i++) {
+				if (pds[i].getReadMethod() != null && pds[i].getWriteMethod() != null) {
+					names.add(pds[i].getName());
+				}
+			}
+			this.names = (String[]) names.toArray(new String[names.size()]);
+			this.indexes = new int[this.names.length];
+			for (int i = 0; i < this.names.length; i++) {
+				this.indexes[i] = results.getPropertyIndex(this.names[i]);
+			}
+		}
+
+		public Object copy(Object value, Map copies) throws BeansException {
+			if (this.constructor == null) {
+				throw new FatalBeanException("Cannot copy instance of class [" + this.beanClass.getName() +
+				                             "]: no accessible no-arg constructor; register it as immutable type if appropriate");
+			}
+			Object copy = BeanUtils.instantiateClass(this.constructor, null);
+			copies.put(value, copy);
+			for (int i = 0; i < this.indexes.length; i++) {
+				Object propertyValue = null;
+				try {
+					propertyValue = this.accessor.get(value, this.indexes[i]);
+				}
+				catch (Throwable ex) {
+					throw new FatalBeanException("Getter for property '" + this.names[i] + "' threw exception", ex);
+				}
+				Object copiedValue = copyValue(propertyValue, copies);
+				try {
+					this.accessor.set(copy, this.indexes[i], copiedValue);
+				}
+				catch (IllegalAccessException ex) {
+					throw new FatalBeanException("Illegal attempt to set property [" + copiedValue + "] threw exception", ex);
+				}
+				catch (Throwable ex) {
+					throw new MethodInvocationException(ex, new PropertyChangeEvent(copy, this.names[i], null, copiedValue));
+				}
+			}
+			return copy;
+		}
+
+		public String toString() {
+			return "copying properties " + Arrays.asList(this.names);
+		}
+	}
+
+}
@@ -0,0 +1,1008 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyDescriptor;
+import java.beans.PropertyEditor;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streaming JSON reader and writer for beans, bound directly to bean
+ * properties: writing walks the readable properties of each bean and
+ * streams their values into a Writer; reading parses token by token and
+ * passes each value straight to the setter. No intermediate Map or tree
+ * gets built for beans, so memory use doesn't grow with the size of the
+ * input or output beyond the beans themselves. readArray even hands out
+ * the elements of a top-level array one by one.
+ *
+ * <p>Bean properties are resolved once per class, from the cached
+ * introspection results; property names are written from prepared
+ * character arrays, through one reusable output buffer per call. Element
+ * types of collection, map and array properties are taken from the generic
+ * parameter type of the setter, if declared.
+ *
+ * <p>Strings, primitive wrappers, BigIntegers and BigDecimals map to
+ * their JSON counterparts; Dates to milliseconds, enums and Classes to
+ * their names, NaN and infinite floating-point values to strings. Values
+ * of types with a custom editor registered get written as the editor's text.
+ * Other JSON values are converted to property types like BeanWrapperImpl
+ * does, through the custom editors and the default editors.
+ *
+ * <p>Malformed input leads to an IOException stating the offending
+ * character position. A codec is thread-safe once configured.
+ *
+ * 빈 프로퍼티에 직접 바인딩되는 스트리밍 JSON 읽기/쓰기 코덱입니다.
+ *
+ * @since 17 October 2026
+ * @see DelimitedBeanImporter
+ */
+public class BeanJsonCodec {
+
+	/**
+	 * Callback for the elements that readArray reads.
+	 */
+	public interface ElementCallback {
+
+		/**
+		 * Called for each element of the array.
+		 * @param element the element, converted to the element class
+		 * @param index the index of the element within the array
+		 * @throws BeansException to abort reading
+		 */
+		void elementRead(Object element, long index) throws BeansException;
+	}
+
+
+	private static final int BUFFER_SIZE = 4096;
+
+	private static final String ENCODING = "UTF-8";
+
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	/** Custom editors, keyed by required type */
+	private final Map customEditors = new HashMap();
+
+	/** Converter for values that are not of a JSON type; synchronized on while in use */
+	private final BeanWrapperImpl converter = new BeanWrapperImpl();
+
+	/** Map from Class to JsonBeanSchema */
+	private final Map schemaCache = new ConcurrentHashMap();
+
+	/**
+	 * Register the given custom editor for values of the given type: when
+	 * reading, JSON strings get converted to the type with it; when writing,
+	 * values of exactly that type get written as its text.
+	 * <p>Configuration method: not to be called while reading or writing.
+	 * @param requiredType the value type
+	 * @param propertyEditor the editor to register
+	 */
+	public void registerCustomEditor(Class requiredType, PropertyEditor propertyEditor) {
+		this.customEditors.put(requiredType, propertyEditor);
+		this.converter.registerCustomEditor(requiredType, propertyEditor);
+	}
+
+	/**
+	 * Write the given value as JSON to the given Writer.
+	 * The Writer gets flushed but not closed.
+	 * @param value the bean or other value to write (may be null)
+	 * @param writer the Writer to write to
+	 * @throws IOException if writing failed
+	 * @throws FatalBeanException if the graph contains a cycle,
+	 * or if a getter threw an exception
+	 */
+	public void write(Object value, Writer writer) throws IOException, BeansException {
+		JsonOutput output = new JsonOutput(writer);
+		output.writeValue(value);
+		output.flush();
+	}
+
+	/**
+	 * Write the given value as UTF-8 encoded JSON to the given stream.
+	 * The stream gets flushed but not closed.
+	 * @see #write(Object, Writer)
+	 */
+	public void write(Object value, OutputStream outputStream) throws IOException, BeansException {
+		write(value, new OutputStreamWriter(outputStream, ENCODING));
+	}
+
+	/**
+	 * Write the given value as JSON String.
+	 * @see #write(Object, Writer)
+	 */
+	public String writeToString(Object value) throws BeansException {
+		StringWriter writer = new StringWriter();
+		try {
+			write(value, writer);
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("StringWriter threw IOException: " + ex.getMessage());
+		}
+		return writer.toString();
+	}
+
+	/**
+	 * Read a JSON value of the given type from the given Reader,
+	 * up to the end of the value.
+	 * @param reader the Reader to read from
+	 * @param type the class of the value, e.g. a bean class; Object for
+	 * JSON objects as Maps, arrays as Lists and numbers as Long or Double
+	 * @return the value
+	 * @throws IOException if reading failed or the input is not valid JSON
+	 * @throws TypeMismatchException if a value cannot be converted to the
+	 * type of its property
+	 * @throws MethodInvocationException if a setter threw an exception
+	 */
+	public Object read(Reader reader, Class type) throws IOException, BeansException {
+		JsonInput input = new JsonInput(reader);
+		return input.readValue(type, null, null);
+	}
+
+	/**
+	 * Read a JSON value of the given type from the given UTF-8 encoded stream.
+	 * @see #read(Reader, Class)
+	 */
+	public Object read(InputStream inputStream, Class type) throws IOException, BeansException {
+		return read(new InputStreamReader(inputStream, ENCODING), type);
+	}
+
+	/**
+	 * Read a JSON value of the given type from the given String.
+	 * @see #read(Reader, Class)
+	 */
+	public Object read(String json, Class type) throws IOException, BeansException {
+		return read(new StringReader(json), type);
+	}
+
+	/**
+	 * Read a top-level JSON array from the given Reader, handing each element
+	 * to the given callback as soon as it has been read, rather than
+	 * collecting them.
+	 * @param reader the Reader to read from
+	 * @param elementClass the class of the elements, e.g. a bean class
+	 * @param callback the callback for the elements
+	 * @return the number of elements read
+	 * @see #read(Reader, Class)
+	 */
+	public long readArray(Reader reader, Class elementClass, ElementCallback callback)
+			throws IOException, BeansException {
+		JsonInput input = new JsonInput(reader);
+		input.expect('[');
+		long count = 0;
+		if (input.peek() == ']') {
+			input.next();
+			return count;
+		}
+		do {
+			callback.elementRead(input.readValue(elementClass, null, null), count);
+			count++;
+		}
+		while (input.nextSeparator(']'));
+		return count;
+	}
+
+	private JsonBeanSchema getBeanSchema(Class beanClass) throws BeansException {
+		JsonBeanSchema schema = (JsonBeanSchema) this.schemaCache.get(beanClass);
+		if (schema == null) {
+			schema = new JsonBeanSchema(beanClass);
+			this.schemaCache.put(beanClass, schema);
+		}
+		return schema;
+	}
+
+	/**
+	 * Return the raw class of the given generic type.
+	 */
+	private static Class getRawClass(Type type) {
+		if (type instanceof Class) {
+			return (Class) type;
+		}
+		if (type instanceof ParameterizedType) {
+			return getRawClass(((ParameterizedType) type).getRawType());
+		}
+		if (type instanceof GenericArrayType) {
+			return Array.newInstance(getRawClass(((GenericArrayType) type).getGenericComponentType()), 0).getClass();
+		}
+		// type variables and wildcards
+		return Object.class;
+	}
+
+	/**
+	 * Return the given type argument of the given generic type,
+	 * or Object if not declared.
+	 */
+	private static Type getTypeArgument(Type type, int index) {
+		if (type instanceof ParameterizedType) {
+			Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+			if (index < arguments.length) {
+				return arguments[index];
+			}
+		}
+		return Object.class;
+	}
+
+
+	/**
+	 * The properties of a bean class, resolved once per class.
+	 */
+	private static class JsonBeanSchema {
+
+		final BeanAccessor accessor;
+
+		/** Accessor indexes of the readable properties to write */
+		final int[] readIndexes;
+
+		/** Quoted names of the readable properties followed by a colon */
+		final char[][] quotedNames;
+
+		/** Generic parameter types of the setters, by accessor index (null if not writable) */
+		final Type[] genericTypes;
+
+		/** Parameter types of the setters, by accessor index (null if not writable) */
+		final Class[] parameterTypes;
+
+		final CachedIntrospectionResults results;
+
+		public JsonBeanSchema(Class beanClass) throws BeansException {
+			this.results = CachedIntrospectionResults.forClass(beanClass);
+			this.accessor = this.results.getAccessor();
+			PropertyDescriptor[] pds = this.results.getBeanInfo().getPropertyDescriptors();
+			List readIndexes = new ArrayList(pds.length);
+			this.genericTypes = new Type[pds.length];
+			this.parameterTypes = new Class[pds.length];
+			for (int i = 0; i < pds.length; i++) {
+				int index = this.results.getPropertyIndex(pds[i].getName());
+				if (pds[i].getReadMethod() != null && !"class".equals(pds[i].getName())) {
+					readIndexes.add(new Integer(index));
+				}
+				Method writeMethod = pds[i].getWriteMethod();
+				if (writeMethod != null) {
+					this.genericTypes[index] = writeMethod.getGenericParameterTypes()[0];
+					this.parameterTypes[index] = writeMethod.getParameterTypes()[0];
+				}
+			}
+			this.readIndexes = new int[readIndexes.size()];
+			this.quotedNames = new char[readIndexes.size()][];
+			for (int i = 0; i < this.readIndexes.length; i++) {
+				this.readIndexes[i] = ((Integer) readIndexes.get(i)).intValue();
+				// property names are Java identifiers: no escaping necessary
+				this.quotedNames[i] = ("\"" + getPropertyName(this.readIndexes[i]) + "\":").toCharArray();
+			}
+		}
+
+		public String getPropertyName(int index) {
+			return this.results.getPropertyDescriptor(index).getName();
+		}
+	}
+
+
+	/**
+	 * State for writing one value, buffering output.
+	 */
+	private class JsonOutput {
+
+		private final Writer writer;
+
+		private final char[] buffer = new char[BUFFER_SIZE];
+
+		private int position = 0;
+
+		/** Beans, collections and maps being written, to detect cycles */
+		private final Map path = new IdentityHashMap();
+
+		public JsonOutput(Writer writer) {
+			this.writer = writer;
+		}
+
+		void write(char c) throws IOException {
+			if (this.position == this.buffer.length) {
+				flushBuffer();
+			}
+			this.buffer[this.position++] = c;
+		}
+
+		void write(char[] chars) throws IOException {
+			if (chars.length > this.buffer.length - this.position) {
+				flushBuffer();
+				if (chars.length > this.buffer.length) {
+					this.writer.write(chars);
+					return;
+				}
+			}
+			System.arraycopy(chars, 0, this.buffer, this.position, chars.length);
+			this.position += chars.length;
+		}
+
+		void write(String text) throws IOException {
+			int length = text.length();
+			if (length > this.buffer.length - this.position) {
+				flushBuffer();
+				if (length > this.buffer.length) {
+					this.writer.write(text);
+					return;
+				}
+			}
+			text.getChars(0, length, this.buffer, this.position);
+			this.position += length;
+		}
+
+		void writeString(String text) throws IOException {
+			write('"');
+			for (int i = 0; i < text.length(); i++) {
+				char c = text.charAt(i);
+				if (c == '"' || c == '\\') {
+					write('\\');
+					write(c);
+				}
+				else if (c < 0x20 || c == '\u2028' || c == '\u2029') {
+					if (c == '\n') {
+						write('\\');
+						write('n');
+					}
+					else if (c == '\r') {
+						write('\\');
+						write('r');
+					}
+					else if (c == '\t') {
+						write('\\');
+						write('t');
+					}
+					else {
+						write("\\u");
+						write(HEX_DIGITS[(c >> 12) & 0xF]);
+						write(HEX_DIGITS[(c >> 8) & 0xF]);
+						write(HEX_DIGITS[(c >> 4) & 0xF]);
+						write(HEX_DIGITS[c & 0xF]);
+					}
+				}
+				else {
+					write(c);
+				}
+			}
+			write('"');
+		}
+
+		void flushBuffer() throws IOException {
+			this.writer.write(this.buffer, 0, this.position);
+			this.position = 0;
+		}
+
+		void flush() throws IOException {
+			flushBuffer();
+			this.writer.flush();
+		}
+
+		void writeValue(Object value) throws IOException, BeansException {
+			if (value == null) {
+				write("null");
+			}
+			else if (value instanceof String) {
+				writeString((String) value);
+			}
+			else if (value instanceof Boolean) {
+				write(((Boolean) value).booleanValue() ? "true" : "false");
+			}
+			else if (value instanceof Double || value instanceof Float) {
+				double number = ((Number) value).doubleValue();
+				if (Double.isNaN(number) || Double.isInfinite(number)) {
+					writeString(value.toString());
+				}
+				else {
+					write(value.toString());
+				}
+			}
+			else if (value instanceof Integer || value instanceof Long || value instanceof Short ||
+			         value instanceof Byte || value instanceof BigInteger) {
+				write(value.toString());
+			}
+			else if (value instanceof BigDecimal) {
+				write(((BigDecimal) value).toString());
+			}
+			else if (value instanceof Character || value instanceof Enum) {
+				writeString(value instanceof Enum ? ((Enum) value).name() : value.toString());
+			}
+			else if (customEditors.containsKey(value.getClass())) {
+				PropertyEditor editor = (PropertyEditor) customEditors.get(value.getClass());
+				synchronized (editor) {
+					editor.setValue(value);
+					writeString(editor.getAsText());
+				}
+			}
+			else if (value instanceof Date) {
+				write(Long.toString(((Date) value).getTime()));
+			}
+			else if (value instanceof Class) {
+				writeString(((Class) value).getName());
+			}
+			else {
+				if (this.path.put(value, Boolean.TRUE) != null) {
+					throw new FatalBeanException("Cannot write cyclic object graph as JSON: [" + value + "] contains itself");
+				}
+				if (value.getClass().isArray()) {
+					writeArray(value);
+				}
+				else if (value instanceof Collection) {
+					writeCollection((Collection) value);
+				}
+				else if (value instanceof Map) {
+					writeMap((Map) value);
+				}
+				else {
+					writeBean(value);
+				}
+				this.path.remove(value);
+			}
+		}
+
+		private void writeArray(Object array) throws IOException, BeansException {
+			write('[');
+			int length = Array.getLength(array);
+			for (int i = 0; i < length; i++) {
+				if (i > 0) {
+					write(',');
+				}
+				writeValue(Array.get(array, i));
+			}
+			write(']');
+		}
+
+		private void writeCollection(Collection collection) throws IOException, BeansException {
+			write('[');
+			for (Iterator it = collection.iterator(); it.hasNext();) {
+				writeValue(it.next());
+				if (it.hasNext()) {
+					write(',');
+				}
+			}
+			write(']');
+		}
+
+		private void writeMap(Map map) throws IOException, BeansException {
+			write('{');
+			for (Iterator it = map.entrySet().iterator(); it.hasNext();) {
+				Map.Entry entry = (Map.Entry) it.next();
+				Object key = entry.getKey();
+				writeString(key instanceof Enum ? ((Enum) key).name() : String.valueOf(key));
+				write(':');
+				writeValue(entry.getValue());
+				if (it.hasNext()) {
+					write(',');
+				}
+			}
+			write('}');
+		}
+
+		private void writeBean(Object bean) throws IOException, BeansException {
+			JsonBeanSchema schema = getBeanSchema(bean.getClass());
+			write('{');
+			for (int i = 0; i < schema.readIndexes.length; i++) {
+				Object value = null;
+				try {
+					value = schema.accessor.get(bean, schema.readIndexes[i]);
+				}
+				catch (Throwable ex) {
+					throw new FatalBeanException("Getter for property '" + schema.getPropertyName(schema.readIndexes[i]) +
+					                             "' threw exception", ex);
+				}
+				if (i > 0) {
+					write(',');
+				}
+				write(schema.quotedNames[i]);
+				writeValue(value);
+			}
+			write('}');
+		}
+	}
+
+
+	/**
+	 * State for reading one value, buffering input.
+	 */
+	private class JsonInput {
+
+		private final Reader reader;
+
+		private final char[] buffer = new char[BUFFER_SIZE];
+
+		private int position = 0;
+
+		private int limit = 0;
+
+		/** Number of characters consumed before the current buffer content */
+		private long offset = 0;
+
+		/** Reusable buffer for strings and numbers */
+		private final StringBuffer text = new StringBuffer();
+
+		public JsonInput(Reader reader) {
+			this.reader = reader;
+		}
+
+		private boolean fill() throws IOException {
+			this.offset += this.limit;
+			this.position = 0;
+			this.limit = Math.max(this.reader.read(this.buffer), 0);
+			return (this.limit > 0);
+		}
+
+		/**
+		 * Return the next character without consuming it, or -1 at the end of input.
+		 */
+		int peekRaw() throws IOException {
+			if (this.position == this.limit && !fill()) {
+				return -1;
+			}
+			return this.buffer[this.position];
+		}
+
+		/**
+		 * Return the next non-whitespace character without consuming it.
+		 */
+		int peek() throws IOException {
+			int c = peekRaw();
+			while (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+				this.position++;
+				c = peekRaw();
+			}
+			return c;
+		}
+
+		/**
+		 * Consume and return the next non-whitespace character.
+		 */
+		int next() throws IOException {
+			int c = peek();
+			if (c == -1) {
+				throw malformed("unexpected end of input");
+			}
+			this.position++;
+			return c;
+		}
+
+		void expect(char expected) throws IOException {
+			int c = next();
+			if (c != expected) {
+				this.position--;
+				throw malformed("expected '" + expected + "' but found '" + (char) c + "'");
+			}
+		}
+
+		/**
+		 * Consume a comma or the given closing character.
+		 * @return true for a comma, false for the closing character
+		 */
+		boolean nextSeparator(char closing) throws IOException {
+			int c = next();
+			if (c == ',') {
+				return true;
+			}
+			if (c != closing) {
+				this.position--;
+				throw malformed("expected ',' or '" + closing + "' but found '" + (char) c + "'");
+			}
+			return false;
+		}
+
+		IOException malformed(String problem) {
+			return new IOException("Malformed JSON at character " + (this.offset + this.position) + ": " + problem);
+		}
+
+		String readString() throws IOException {
+			expect('"');
+			this.text.setLength(0);
+			while (true) {
+				int c = peekRaw();
+				if (c == -1) {
+					throw malformed("unterminated string");
+				}
+				this.position++;
+				if (c == '"') {
+					return this.text.toString();
+				}
+				if (c == '\\') {
+					c = peekRaw();
+					this.position++;
+					switch (c) {
+						case '"':
+						case '\\':
+						case '/':
+							this.text.append((char) c);
+							break;
+						case 'n':
+							this.text.append('\n');
+							break;
+						case 'r':
+							this.text.append('\r');
+							break;
+						case 't':
+							this.text.append('\t');
+							break;
+						case 'b':
+							this.text.append('\b');
+							break;
+						case 'f':
+							this.text.append('\f');
+							break;
+						case 'u':
+							int code = 0;
+							for (int i = 0; i < 4; i++) {
+								int digit = Character.digit((char) peekRaw(), 16);
+								if (digit == -1) {
+									throw malformed("invalid unicode escape");
+								}
+								this.position++;
+								code = code * 16 + digit;
+							}
+							this.text.append((char) code);
+							break;
+						default:
+							throw malformed("invalid escape character");
+					}
+				}
+				else {
+					this.text.append((char) c);
+				}
+			}
+		}
+
+		String readNumber() throws IOException {
+			this.text.setLength(0);
+			int c = peek();
+			while ((c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E') {
+				this.text.append((char) c);
+				this.position++;
+				c = peekRaw();
+			}
+			if (this.text.length() == 0) {
+				throw malformed("unexpected character '" + (char) c + "'");
+			}
+			return this.text.toString();
+		}
+
+		void readLiteral(String literal) throws IOException {
+			for (int i = 0; i < literal.length(); i++) {
+				if (peekRaw() != literal.charAt(i)) {
+					throw malformed("invalid literal, expected '" + literal + "'");
+				}
+				this.position++;
+			}
+		}
+
+		/**
+		 * Read the next value, converting it to the given type.
+		 * @param type the generic type to convert to
+		 * @param propertyName the name of the property that the value is for (may be null)
+		 * @param bean the bean that the value is for (may be null)
+		 */
+		Object readValue(Type type, String propertyName, Object bean) throws IOException, BeansException {
+			Class rawClass = getRawClass(type);
+			int c = peek();
+			if (c == '{') {
+				if (rawClass == Object.class || Map.class.isAssignableFrom(rawClass)) {
+					return readMap(type, rawClass);
+				}
+				return readBean(rawClass);
+			}
+			if (c == '[') {
+				if (rawClass.isArray()) {
+					return readArray(type, rawClass.getComponentType(), propertyName, bean);
+				}
+				return readCollection(type, rawClass, propertyName, bean);
+			}
+			if (c == '"') {
+				return convert(readString(), false, rawClass, propertyName, bean);
+			}
+			if (c == 't') {
+				readLiteral("true");
+				return convert(Boolean.TRUE, false, rawClass, propertyName, bean);
+			}
+			if (c == 'f') {
+				readLiteral("false");
+				return convert(Boolean.FALSE, false, rawClass, propertyName, bean);
+			}
+			if (c == 'n') {
+				readLiteral("null");
+				return null;
+			}
+			if (c == -1) {
+				throw malformed("unexpected end of input");
+			}
+			return convert(readNumber(), true, rawClass, propertyName, bean);
+		}
+
+		/**
+		 * Skip the next value, e.g. for an unknown property.
+		 */
+		void skipValue() throws IOException {
+			int c = peek();
+			if (c == '{') {
+				next();
+				if (peek() == '}') {
+					next();
+					return;
+				}
+				do {
+					readString();
+					expect(':');
+					skipValue();
+				}
+				while (nextSeparator('}'));
+			}
+			else if (c == '[') {
+				next();
+				if (peek() == ']') {
+					next();
+					return;
+				}
+				do {
+					skipValue();
+				}
+				while (nextSeparator(']'));
+			}
+			else if (c == '"') {
+				readString();
+			}
+			else if (c == 't') {
+				readLiteral("true");
+			}
+			else if (c == 'f') {
+				readLiteral("false");
+			}
+			else if (c == 'n') {
+				readLiteral("null");
+			}
+			else {
+				readNumber();
+			}
+		}
+
+		private Object readBean(Class beanClass) throws IOException, BeansException {
+			JsonBeanSchema schema = getBeanSchema(beanClass);
+			Object bean = BeanUtils.instantiateClass(beanClass);
+			expect('{');
+			if (peek() == '}') {
+				next();
+				return bean;
+			}
+			do {
+				String name = readString();
+				expect(':');
+				int index = schema.results.findPropertyIndex(name);
+				if (index == -1 || schema.parameterTypes[index] == null) {
+					skipValue();
+					continue;
+				}
+				Object value = readValue(schema.genericTypes[index], name, bean);
+				Object argument = BeanAccessor.adaptArgument(schema.parameterTypes[index], value);
+				if (argument == null && schema.parameterTypes[index].isPrimitive()) {
+					// null for a primitive: keep the default
+					continue;
+				}
+				if (argument == BeanAccessor.NOT_ASSIGNABLE) {
+					throw new TypeMismatchException(new PropertyChangeEvent(bean, name, null, value),
+					                                schema.parameterTypes[index]);
+				}
+				try {
+					schema.accessor.set(bean, index, argument);
+				}
+				catch (IllegalAccessException ex) {
+					throw new FatalBeanException("Illegal attempt to set property [" + value + "] threw exception", ex);
+				}
+				catch (Throwable ex) {
+					throw new MethodInvocationException(ex, new PropertyChangeEvent(bean, name, null, value));
+				}
+			}
+			while (nextSeparator('}'));
+			return bean;
+		}
+
+		private Map readMap(Type type, Class mapClass) throws IOException, BeansException {
+			Map map = (mapClass.isInterface() || mapClass == Object.class ?
+			           new LinkedHashMap() : (Map) BeanUtils.instantiateClass(mapClass));
+			Class keyClass = getRawClass(getTypeArgument(type, 0));
+			Type valueType = getTypeArgument(type, 1);
+			expect('{');
+			if (peek() == '}') {
+				next();
+				return map;
+			}
+			do {
+				String key = readString();
+				expect(':');
+				map.put(convert(key, false, keyClass, key, null), readValue(valueType, key, null));
+			}
+			while (nextSeparator('}'));
+			return map;
+		}
+
+		private Collection readCollection(Type type, Class collectionClass, String propertyName, Object bean)
+				throws IOException, BeansException {
+			Collection collection = null;
+			if (collectionClass == Object.class || collectionClass.isAssignableFrom(ArrayList.class)) {
+				collection = new ArrayList();
+			}
+			else if (collectionClass.isAssignableFrom(LinkedHashSet.class)) {
+				collection = new LinkedHashSet();
+			}
+			else if (collectionClass.isAssignableFrom(TreeSet.class) && SortedSet.class.isAssignableFrom(collectionClass)) {
+				collection = new TreeSet();
+			}
+			else if (Collection.class.isAssignableFrom(collectionClass) && !collectionClass.isInterface()) {
+				collection = (Collection) BeanUtils.instantiateClass(collectionClass);
+			}
+			else {
+				skipValue();
+				throw new TypeMismatchException(
+						new PropertyChangeEvent((bean != null ? bean : (Object) BeanJsonCodec.this), propertyName, null, "JSON array"),
+						collectionClass);
+			}
+			Type elementType = getTypeArgument(type, 0);
+			expect('[');
+			if (peek() == ']') {
+				next();
+				return collection;
+			}
+			do {
+				collection.add(readValue(elementType, propertyName, bean));
+			}
+			while (nextSeparator(']'));
+			return collection;
+		}
+
+		private Object readArray(Type type, Class componentType, String propertyName, Object bean)
+				throws IOException, BeansException {
+			Type elementType = (type instanceof GenericArrayType ?
+			                    ((GenericArrayType) type).getGenericComponentType() : componentType);
+			List elements = new ArrayList();
+			expect('[');
+			if (peek() == ']') {
+				next();
+			}
+			else {
+				do {
+					Object element = readValue(elementType, propertyName, bean);
+					Object adapted = BeanAccessor.adaptArgument(componentType, element);
+					if (adapted == BeanAccessor.NOT_ASSIGNABLE || (adapted == null && componentType.isPrimitive())) {
+						throw new TypeMismatchException(
+								new PropertyChangeEvent((bean != null ? bean : (Object) BeanJsonCodec.this), propertyName, null, element),
+								componentType);
+					}
+					elements.add(adapted);
+				}
+				while (nextSeparator(']'));
+			}
+			Object array = Array.newInstance(componentType, elements.size());
+			for (int i = 0; i < elements.size(); i++) {
+				Array.set(array, i, elements.get(i));
+			}
+			return array;
+		}
+
+		/**
+		 * Convert the given scalar JSON value to the given class.
+		 * @param value a String, Boolean, or the text of a number
+		 * @param number whether the value is the text of a number
+		 */
+		private Object convert(Object value, boolean number, Class requiredType, String propertyName, Object bean)
+				throws BeansException {
+			try {
+				if (number) {
+					String text = (String) value;
+					if (requiredType == int.class || requiredType == Integer.class) {
+						return Integer.valueOf(text);
+					}
+					else if (requiredType == long.class || requiredType == Long.class) {
+						return Long.valueOf(text);
+					}
+					else if (requiredType == double.class || requiredType == Double.class) {
+						return Double.valueOf(text);
+					}
+					else if (requiredType == float.class || requiredType == Float.class) {
+						return Float.valueOf(text);
+					}
+					else if (requiredType == short.class || requiredType == Short.class) {
+						return Short.valueOf(text);
+					}
+					else if (requiredType == byte.class || requiredType == Byte.class) {
+						return Byte.valueOf(text);
+					}
+					else if (requiredType == BigDecimal.class) {
+						return new BigDecimal(text);
+					}
+					else if (requiredType == BigInteger.class) {
+						return new BigInteger(text);
+					}
+					else if (requiredType == Object.class || requiredType == Number.class) {
+						if (text.indexOf('.') == -1 && text.indexOf('e') == -1 && text.indexOf('E') == -1) {
+							try {
+								return Long.valueOf(text);
+							}
+							catch (NumberFormatException ex) {
+								return new BigInteger(text);
+							}
+						}
+						return Double.valueOf(text);
+					}
+					else if (Date.class == requiredType) {
+						return new Date(Long.parseLong(text));
+					}
+				}
+				else if (requiredType.isInstance(value)) {
+					return value;
+				}
+				else if (requiredType == boolean.class && value instanceof Boolean) {
+					return value;
+				}
+				else if (value instanceof String && requiredType.isEnum()) {
+					return Enum.valueOf(requiredType, (String) value);
+				}
+				else if (value instanceof String && (requiredType == char.class || requiredType == Character.class) &&
+				         ((String) value).length() == 1) {
+					return new Character(((String) value).charAt(0));
+				}
+			}
+			catch (IllegalArgumentException ex) {
+				// including NumberFormatException
+				throw new TypeMismatchException(
+						new PropertyChangeEvent((bean != null ? bean : (Object) BeanJsonCodec.this), propertyName, null, value),
+						requiredType, ex);
+			}
+			// as BeanWrapperImpl would: through custom editors or default editors, from text
+			String text = value.toString();
+			synchronized (converter) {
+				try {
+					// no property name: the converter has no bean to look up the property in
+					return converter.convertForProperty(null, text, requiredType);
+				}
+				catch (TypeMismatchException ex) {
+					throw new TypeMismatchException(
+							new PropertyChangeEvent((bean != null ? bean : (Object) BeanJsonCodec.this), propertyName, null, value),
+							requiredType, ex.getCause());
+				}
+			}
+		}
+	}
+
+}
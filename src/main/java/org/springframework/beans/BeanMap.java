@@ -0,0 +1,298 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyDescriptor;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Live Map view of a bean, keyed by the names of its readable properties,
+ * e.g. for exposing a bean to a template engine or scripting language.
+ *
+ * <p>Nothing gets copied: creating a BeanMap just looks up the cached
+ * introspection results of the bean class, get and put invoke the getter
+ * and setter through the cached BeanAccessor, and changes to the bean are
+ * visible in the map right away. Key iteration walks the shared property
+ * table of the class; entries read their values on demand.
+ *
+ * <p>put converts values to the property type if necessary, with the
+ * default editors of BeanWrapperImpl, and returns the previous value if
+ * the property is readable. Properties cannot be removed, so remove and
+ * clear throw UnsupportedOperationException.
+ *
+ * <p>Not thread-safe, like the bean itself typically isn't.
+ *
+ * 빈의 읽기 가능한 프로퍼티들을 키로 하는, 복사 없는 Map 뷰입니다.
+ *
+ * @since 17 October 2026
+ * @see BeanWrapper
+ */
+public class BeanMap extends AbstractMap {
+
+	private final Object bean;
+
+	private final CachedIntrospectionResults cachedIntrospectionResults;
+
+	/** Indexes of the readable properties, shared with the introspection results */
+	private final int[] readableIndexes;
+
+	/** Converter for put, created on demand */
+	private BeanWrapperImpl converter;
+
+	private Set keySet;
+
+	private Set entrySet;
+
+	/**
+	 * Create a new BeanMap for the given bean.
+	 * @param bean the bean to expose
+	 * @throws FatalBeanException if the bean class cannot be introspected
+	 */
+	public BeanMap(Object bean) throws BeansException {
+		if (bean == null) {
+			throw new IllegalArgumentException("Bean for BeanMap cannot be null");
+		}
+		this.bean = bean;
+		this.cachedIntrospectionResults = CachedIntrospectionResults.forClass(bean.getClass());
+		this.readableIndexes = this.cachedIntrospectionResults.getReadablePropertyIndexes();
+	}
+
+	/**
+	 * Return the bean that this map is a view of.
+	 */
+	public Object getBean() {
+		return bean;
+	}
+
+	public int size() {
+		return this.readableIndexes.length;
+	}
+
+	public boolean isEmpty() {
+		return (this.readableIndexes.length == 0);
+	}
+
+	public boolean containsKey(Object key) {
+		return (findReadableIndex(key) != -1);
+	}
+
+	/**
+	 * Return the value of the given property, or null if the bean
+	 * has no such readable property.
+	 * @throws FatalBeanException if the getter threw an exception
+	 */
+	public Object get(Object key) throws BeansException {
+		int index = findReadableIndex(key);
+		return (index != -1 ? getValue(index) : null);
+	}
+
+	/**
+	 * Set the given property to the given value.
+	 * @return the previous value, or null if the property is not readable
+	 * @throws NotWritablePropertyException if there is no such writable property
+	 * @throws TypeMismatchException if the value cannot be converted
+	 * @throws MethodInvocationException if the setter threw an exception
+	 */
+	public Object put(Object key, Object value) throws BeansException {
+		String propertyName = (String) key;
+		int index = this.cachedIntrospectionResults.findPropertyIndex(propertyName);
+		PropertyDescriptor pd = (index != -1 ? this.cachedIntrospectionResults.getPropertyDescriptor(index) : null);
+		if (pd == null || pd.getWriteMethod() == null) {
+			throw new NotWritablePropertyException(propertyName, this.bean.getClass());
+		}
+		Object oldValue = (pd.getReadMethod() != null ? getValue(index) : null);
+		Class parameterType = pd.getWriteMethod().getParameterTypes()[0];
+		Object argument = BeanAccessor.adaptArgument(parameterType, value);
+		if (argument == BeanAccessor.NOT_ASSIGNABLE || (argument == null && parameterType.isPrimitive())) {
+			if (this.converter == null) {
+				this.converter = new BeanWrapperImpl();
+			}
+			try {
+				argument = this.converter.convertForProperty(propertyName, value, pd.getPropertyType());
+			}
+			catch (TypeMismatchException ex) {
+				// report for the bean rather than the converter
+				throw new TypeMismatchException(new PropertyChangeEvent(this.bean, propertyName, oldValue, value),
+				                                pd.getPropertyType(), ex.getCause());
+			}
+			argument = BeanAccessor.adaptArgument(parameterType, argument);
+			if (argument == BeanAccessor.NOT_ASSIGNABLE || (argument == null && parameterType.isPrimitive())) {
+				throw new TypeMismatchException(new PropertyChangeEvent(this.bean, propertyName, oldValue, value),
+				                                pd.getPropertyType());
+			}
+		}
+		try {
+			this.cachedIntrospectionResults.getAccessor().set(this.bean, index, argument);
+		}
+		catch (IllegalAccessException ex) {
+			throw new FatalBeanException("Illegal attempt to set property [" + value + "] threw exception", ex);
+		}
+		catch (Throwable ex) {
+			throw new MethodInvocationException(ex, new PropertyChangeEvent(this.bean, propertyName, oldValue, value));
+		}
+		return oldValue;
+	}
+
+	public Object remove(Object key) {
+		throw new UnsupportedOperationException("Cannot remove properties from a BeanMap");
+	}
+
+	public void clear() {
+		throw new UnsupportedOperationException("Cannot remove properties from a BeanMap");
+	}
+
+	public Set keySet() {
+		if (this.keySet == null) {
+			this.keySet = new AbstractSet() {
+				public Iterator iterator() {
+					return new PropertyIterator() {
+						public Object next() {
+							return getPropertyName(nextIndex());
+						}
+					};
+				}
+				public int size() {
+					return readableIndexes.length;
+				}
+				public boolean contains(Object key) {
+					return containsKey(key);
+				}
+			};
+		}
+		return this.keySet;
+	}
+
+	public Set entrySet() {
+		if (this.entrySet == null) {
+			this.entrySet = new AbstractSet() {
+				public Iterator iterator() {
+					return new PropertyIterator() {
+						public Object next() {
+							return new PropertyEntry(nextIndex());
+						}
+					};
+				}
+				public int size() {
+					return readableIndexes.length;
+				}
+			};
+		}
+		return this.entrySet;
+	}
+
+	/**
+	 * Return the accessor index of the given readable property, or -1.
+	 */
+	private int findReadableIndex(Object key) {
+		if (!(key instanceof String)) {
+			return -1;
+		}
+		int index = this.cachedIntrospectionResults.findPropertyIndex((String) key);
+		if (index == -1 || this.cachedIntrospectionResults.getPropertyDescriptor(index).getReadMethod() == null) {
+			return -1;
+		}
+		return index;
+	}
+
+	private String getPropertyName(int index) {
+		return this.cachedIntrospectionResults.getPropertyDescriptor(index).getName();
+	}
+
+	private Object getValue(int index) throws BeansException {
+		try {
+			return this.cachedIntrospectionResults.getAccessor().get(this.bean, index);
+		}
+		catch (Throwable ex) {
+			throw new FatalBeanException("Getter for property '" + getPropertyName(index) + "' threw exception", ex);
+		}
+	}
+
+
+	/**
+	 * Iterator over the accessor indexes of the readable properties.
+	 */
+	private abstract class PropertyIterator implements Iterator {
+
+		private int position = 0;
+
+		public boolean hasNext() {
+			return (this.position < readableIndexes.length);
+		}
+
+		protected int nextIndex() {
+			if (this.position >= readableIndexes.length) {
+				throw new NoSuchElementException();
+			}
+			return readableIndexes[this.position++];
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException("Cannot remove properties from a BeanMap");
+		}
+	}
+
+
+	/**
+	 * Entry for one readable property, reading its value on demand.
+	 */
+	private class PropertyEntry implements Map.Entry {
+
+		private final int index;
+
+		public PropertyEntry(int index) {
+			this.index = index;
+		}
+
+		public Object getKey() {
+			return getPropertyName(this.index);
+		}
+
+		public Object getValue() {
+			return BeanMap.this.getValue(this.index);
+		}
+
+		public Object setValue(Object value) {
+			return put(getKey(), value);
+		}
+
+		public boolean equals(Object other) {
+			if (!(other instanceof Map.Entry)) {
+				return false;
+			}
+			Map.Entry otherEntry = (Map.Entry) other;
+			Object value = getValue();
+			return (getKey().equals(otherEntry.getKey()) &&
+			        (value == null ? otherEntry.getValue() == null : value.equals(otherEntry.getValue())));
+		}
+
+		public int hashCode() {
+			Object value = getValue();
+			return getKey().hashCode() ^ (value != null ? value.hashCode() : 0);
+		}
+
+		public String toString() {
+			return getKey() + "=" + getValue();
+		}
+	}
+
+}
@@ -0,0 +1,552 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.Introspector;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyDescriptor;
+import java.beans.PropertyEditor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * Maps beans of one class onto beans of another, unrelated class, e.g.
+ * entities onto data transfer objects. Each writable property of the
+ * target class gets its value from the source property of the same name,
+ * or else from a nested source property that the target property name
+ * flattens: "customerName" is read from "customer.name", and
+ * "customerAddressCity" from "customer.address.city".
+ *
+ * <p>The mapping between two classes is resolved once into a plan of
+ * accessor indexes, and cached by this mapper. Values get converted to
+ * the target property type through the custom editors registered with
+ * this mapper, for the target property name or the target type, or else
+ * through the ConversionRegistry.
+ *
+ * <p>A null value in a nested source path, or a null value for a
+ * primitive target property, leaves the target property untouched.
+ * Target properties without source property are not touched either.
+ *
+ * <p>mapAll maps large lists in parallel batches, through the common
+ * ForkJoinPool or a given Executor. When called from a ForkJoinPool
+ * worker, the calling thread helps mapping rather than blocking.
+ * A mapper is thread-safe once configured; editors are synchronized
+ * on while in use.
+ *
+ * 서로 관련 없는 클래스 사이에 빈을 매핑하는 엔진입니다.
+ *
+ * @since 17 October 2026
+ * @see BeanCopier
+ * @see BeanBinder
+ */
+public class BeanMapper {
+
+	/** Default number of beans per batch */
+	public static final int DEFAULT_BATCH_SIZE = 1024;
+
+	/** Maximum number of nested properties a flattened target property can refer to */
+	private static final int MAX_FLATTENING_DEPTH = 4;
+
+	private static final Log logger = LogFactory.getLog(BeanMapper.class);
+
+	/** Executor to map batches with, or null for the common ForkJoinPool */
+	private final Executor executor;
+
+	/** Custom editors, keyed by required type (Class) or target property name (String) */
+	private final Map customEditors = new HashMap();
+
+	private final BeanWrapperImpl converter = new BeanWrapperImpl();
+
+	/** Map from ClassPair to MappingPlan */
+	private final Map planCache = new ConcurrentHashMap();
+
+	private int batchSize = DEFAULT_BATCH_SIZE;
+
+	/**
+	 * Create a new BeanMapper that uses the common ForkJoinPool for batches.
+	 */
+	public BeanMapper() {
+		this(null);
+	}
+
+	/**
+	 * Create a new BeanMapper that uses the given Executor for batches.
+	 * @param executor the Executor to map batches with
+	 * (null for the common ForkJoinPool)
+	 */
+	public BeanMapper(Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Register the given custom editor for all target properties of the given type.
+	 * @param requiredType type of the target property
+	 * @param propertyEditor editor to register
+	 */
+	public void registerCustomEditor(Class requiredType, PropertyEditor propertyEditor) {
+		registerCustomEditor(requiredType, null, propertyEditor);
+	}
+
+	/**
+	 * Register the given custom editor for the given target property,
+	 * or for all target properties of the given type.
+	 * <p>Configuration method: clears the mapping plans built so far.
+	 * @param requiredType type of the target property (may be null if a
+	 * property name is given)
+	 * @param propertyName name of the target property (may be null)
+	 * @param propertyEditor editor to register
+	 */
+	public void registerCustomEditor(Class requiredType, String propertyName, PropertyEditor propertyEditor) {
+		if (propertyName != null) {
+			this.customEditors.put(propertyName, propertyEditor);
+		}
+		else {
+			if (requiredType == null) {
+				throw new IllegalArgumentException("No propertyName and no requiredType specified");
+			}
+			this.customEditors.put(requiredType, propertyEditor);
+		}
+		this.planCache.clear();
+	}
+
+	/**
+	 * Set the ConversionRegistry to use for values that no custom editor
+	 * has been registered for. Default is the shared registry.
+	 */
+	public void setConversionRegistry(ConversionRegistry conversionRegistry) {
+		this.converter.setConversionRegistry(conversionRegistry);
+	}
+
+	/**
+	 * Set the number of beans to map per task in mapAll. Default is 1024.
+	 */
+	public void setBatchSize(int batchSize) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("batchSize must be at least 1");
+		}
+		this.batchSize = batchSize;
+	}
+
+
+	/**
+	 * Map the given source bean onto a new instance of the given class.
+	 * @param source the bean to map from
+	 * @param targetClass the class to instantiate, with a no-arg constructor
+	 * @return the new target bean
+	 * @throws FatalBeanException if a source getter threw an exception
+	 * @throws PropertyAccessExceptionsException if values could not be
+	 * converted or set on the target
+	 */
+	public Object map(Object source, Class targetClass) throws BeansException {
+		Object target = BeanUtils.instantiateClass(targetClass);
+		getMappingPlan(source.getClass(), targetClass).map(source, target);
+		return target;
+	}
+
+	/**
+	 * Map the given source bean onto the given target bean.
+	 * @param source the bean to map from
+	 * @param target the bean to map to
+	 * @see #map(Object, Class)
+	 */
+	public void map(Object source, Object target) throws BeansException {
+		getMappingPlan(source.getClass(), target.getClass()).map(source, target);
+	}
+
+	/**
+	 * Map each of the given source beans onto a new instance of the given
+	 * class, in parallel batches.
+	 * @param sources the beans to map from (may contain different classes)
+	 * @param targetClass the class to instantiate, with a no-arg constructor
+	 * @return the target beans, in the order of the source beans
+	 * (null for null source beans)
+	 * @throws BeansException the exception for the first source bean that
+	 * could not be mapped, after all batches have completed
+	 */
+	public List mapAll(Collection sources, Class targetClass) throws BeansException {
+		Object[] sourceArray = sources.toArray();
+		List tasks = new ArrayList();
+		for (int start = 0; start < sourceArray.length; start += this.batchSize) {
+			int end = Math.min(start + this.batchSize, sourceArray.length);
+			tasks.add(new BatchTask(sourceArray, start, end, targetClass));
+		}
+		ParallelTasks.invokeAll((Runnable[]) tasks.toArray(new Runnable[tasks.size()]), this.executor, "bean mapping");
+		BeansException failure = null;
+		for (int i = 0; i < tasks.size(); i++) {
+			BatchTask task = (BatchTask) tasks.get(i);
+			if (failure == null) {
+				failure = task.failure;
+			}
+		}
+		if (failure != null) {
+			throw failure;
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Mapped " + sourceArray.length + " beans onto beans of class [" + targetClass.getName() +
+			             "] in " + tasks.size() + " batches");
+		}
+		// targets have been written into the array in place of their sources
+		return Arrays.asList(sourceArray);
+	}
+
+	/**
+	 * Return the mappings from source class to target class, as Map from
+	 * target property name to source property path, in target property order.
+	 */
+	public Map getPropertyMappings(Class sourceClass, Class targetClass) throws BeansException {
+		MappingPlan plan = getMappingPlan(sourceClass, targetClass);
+		Map mappings = new LinkedHashMap();
+		for (int i = 0; i < plan.slots.length; i++) {
+			mappings.put(plan.slots[i].targetName, plan.slots[i].sourcePath);
+		}
+		return Collections.unmodifiableMap(mappings);
+	}
+
+	private MappingPlan getMappingPlan(Class sourceClass, Class targetClass) throws BeansException {
+		ClassPair key = new ClassPair(sourceClass, targetClass);
+		MappingPlan plan = (MappingPlan) this.planCache.get(key);
+		if (plan == null) {
+			plan = new MappingPlan(sourceClass, targetClass);
+			this.planCache.put(key, plan);
+		}
+		return plan;
+	}
+
+
+	/**
+	 * Resolve the chain of source properties to read for the given
+	 * target property name: the property of the same name, or else the
+	 * nested property that the name flattens, preferring longer prefixes.
+	 * @return the chain of source properties, or null if there is none
+	 */
+	private static SourceProperty[] resolveSourcePath(Class sourceClass, String name, int depth) {
+		CachedIntrospectionResults results = CachedIntrospectionResults.forClass(sourceClass);
+		int index = results.findPropertyIndex(name);
+		if (index != -1 && results.getPropertyDescriptor(index).getReadMethod() != null) {
+			return new SourceProperty[] {new SourceProperty(results, index)};
+		}
+		if (depth >= MAX_FLATTENING_DEPTH) {
+			return null;
+		}
+		for (int prefixEnd = name.length() - 1; prefixEnd > 0; prefixEnd--) {
+			if (!Character.isUpperCase(name.charAt(prefixEnd))) {
+				continue;
+			}
+			index = results.findPropertyIndex(name.substring(0, prefixEnd));
+			if (index == -1) {
+				continue;
+			}
+			PropertyDescriptor pd = results.getPropertyDescriptor(index);
+			Class nestedType = pd.getPropertyType();
+			if (pd.getReadMethod() == null || nestedType.isPrimitive() || nestedType.isArray() ||
+			    BeanUtils.isSimpleProperty(nestedType) || Collection.class.isAssignableFrom(nestedType) ||
+			    Map.class.isAssignableFrom(nestedType)) {
+				continue;
+			}
+			SourceProperty[] nestedPath = resolveSourcePath(
+					nestedType, Introspector.decapitalize(name.substring(prefixEnd)), depth + 1);
+			if (nestedPath != null) {
+				SourceProperty[] path = new SourceProperty[nestedPath.length + 1];
+				path[0] = new SourceProperty(results, index);
+				System.arraycopy(nestedPath, 0, path, 1, nestedPath.length);
+				return path;
+			}
+		}
+		return null;
+	}
+
+
+	/**
+	 * Resolved mapping from one source class to one target class.
+	 */
+	private class MappingPlan {
+
+		private final Class sourceClass;
+
+		private final BeanAccessor targetAccessor;
+
+		private final Slot[] slots;
+
+		public MappingPlan(Class sourceClass, Class targetClass) throws BeansException {
+			this.sourceClass = sourceClass;
+			CachedIntrospectionResults targetResults = CachedIntrospectionResults.forClass(targetClass);
+			this.targetAccessor = targetResults.getAccessor();
+			PropertyDescriptor[] pds = targetResults.getBeanInfo().getPropertyDescriptors();
+			List slots = new ArrayList(pds.length);
+			for (int i = 0; i < pds.length; i++) {
+				if (pds[i].getWriteMethod() == null) {
+					continue;
+				}
+				SourceProperty[] sourcePath = resolveSourcePath(sourceClass, pds[i].getName(), 0);
+				if (sourcePath != null) {
+					slots.add(new Slot(pds[i], targetResults.getPropertyIndex(pds[i].getName()), sourcePath));
+				}
+			}
+			this.slots = (Slot[]) slots.toArray(new Slot[slots.size()]);
+			if (logger.isDebugEnabled()) {
+				logger.debug("Mapping [" + sourceClass.getName() + "] onto [" + targetClass.getName() + "]: " +
+				             getPropertyMappingDescription());
+			}
+		}
+
+		private String getPropertyMappingDescription() {
+			StringBuffer sb = new StringBuffer();
+			for (int i = 0; i < this.slots.length; i++) {
+				if (i > 0) {
+					sb.append(", ");
+				}
+				sb.append(this.slots[i].targetName).append("<-").append(this.slots[i].sourcePath);
+			}
+			return sb.toString();
+		}
+
+		public void map(Object source, Object target) throws BeansException {
+			List propertyAccessExceptions = null;
+			for (int i = 0; i < this.slots.length; i++) {
+				try {
+					this.slots[i].map(source, target);
+				}
+				catch (PropertyAccessException ex) {
+					if (propertyAccessExceptions == null) {
+						propertyAccessExceptions = new ArrayList();
+					}
+					propertyAccessExceptions.add(ex);
+				}
+			}
+			if (propertyAccessExceptions != null) {
+				Object[] paeArray = propertyAccessExceptions.toArray(new PropertyAccessException[propertyAccessExceptions.size()]);
+				throw new PropertyAccessExceptionsException(new BeanWrapperImpl(target), (PropertyAccessException[]) paeArray);
+			}
+		}
+
+
+		/**
+		 * Resolved mapping for one target property.
+		 */
+		private class Slot {
+
+			final String targetName;
+
+			final String sourcePath;
+
+			final int targetIndex;
+
+			final Class targetType;
+
+			final Class parameterType;
+
+			final SourceProperty[] sourceProperties;
+
+			final PropertyEditor editor;
+
+			public Slot(PropertyDescriptor targetDescriptor, int targetIndex, SourceProperty[] sourceProperties) {
+				this.targetName = targetDescriptor.getName();
+				this.targetIndex = targetIndex;
+				this.targetType = targetDescriptor.getPropertyType();
+				this.parameterType = targetDescriptor.getWriteMethod().getParameterTypes()[0];
+				this.sourceProperties = sourceProperties;
+				String[] names = new String[sourceProperties.length];
+				for (int i = 0; i < sourceProperties.length; i++) {
+					names[i] = sourceProperties[i].name;
+				}
+				this.sourcePath = StringUtils.arrayToDelimitedString(names, BeanWrapper.NESTED_PROPERTY_SEPARATOR);
+				PropertyEditor editor = (PropertyEditor) customEditors.get(this.targetName);
+				if (editor == null) {
+					editor = (PropertyEditor) customEditors.get(this.targetType);
+				}
+				this.editor = editor;
+			}
+
+			public void map(Object source, Object target) throws BeansException {
+				Object value = source;
+				for (int i = 0; i < this.sourceProperties.length && value != null; i++) {
+					value = this.sourceProperties[i].read(value);
+				}
+				if (value == null && (this.sourceProperties.length > 1 || this.targetType.isPrimitive())) {
+					return;
+				}
+				if (this.editor != null) {
+					value = convertWithEditor(target, value);
+				}
+				else if (!BeanUtils.isAssignable(this.targetType, value)) {
+					try {
+						value = converter.convertForProperty(this.targetName, value, this.targetType);
+					}
+					catch (TypeMismatchException ex) {
+						// report for the target rather than the converter
+						throw new TypeMismatchException(createPropertyChangeEvent(target, value), this.targetType, ex.getCause());
+					}
+				}
+				Object argument = BeanAccessor.adaptArgument(this.parameterType, value);
+				if (argument == BeanAccessor.NOT_ASSIGNABLE) {
+					throw new TypeMismatchException(createPropertyChangeEvent(target, value), this.targetType);
+				}
+				try {
+					targetAccessor.set(target, this.targetIndex, argument);
+				}
+				catch (IllegalAccessException ex) {
+					throw new FatalBeanException("Illegal attempt to set property [" + value + "] threw exception", ex);
+				}
+				catch (Throwable ex) {
+					throw new MethodInvocationException(ex, createPropertyChangeEvent(target, value));
+				}
+			}
+
+			private Object convertWithEditor(Object target, Object value) throws BeansException {
+				if (value == null) {
+					return null;
+				}
+				try {
+					synchronized (this.editor) {
+						if (value instanceof String) {
+							this.editor.setAsText((String) value);
+						}
+						else {
+							this.editor.setValue(value);
+						}
+						return this.editor.getValue();
+					}
+				}
+				catch (IllegalArgumentException ex) {
+					throw new TypeMismatchException(createPropertyChangeEvent(target, value), this.targetType, ex);
+				}
+			}
+
+			private PropertyChangeEvent createPropertyChangeEvent(Object target, Object value) {
+				return new PropertyChangeEvent(target, this.targetName, null, value);
+			}
+		}
+	}
+
+
+	/**
+	 * A readable property of a source class.
+	 */
+	private static class SourceProperty {
+
+		final String name;
+
+		final BeanAccessor accessor;
+
+		final int index;
+
+		public SourceProperty(CachedIntrospectionResults results, int index) {
+			this.name = results.getPropertyDescriptor(index).getName();
+			this.accessor = results.getAccessor();
+			this.index = index;
+		}
+
+		public Object read(Object bean) throws BeansException {
+			try {
+				return this.accessor.get(bean, this.index);
+			}
+			catch (Throwable ex) {
+				throw new FatalBeanException("Getter for property '" + this.name + "' threw exception", ex);
+			}
+		}
+	}
+
+
+	/**
+	 * Maps a range of source beans, replacing each with its target bean.
+	 */
+	private class BatchTask implements Runnable {
+
+		private final Object[] beans;
+
+		private final int start;
+
+		private final int end;
+
+		private final Class targetClass;
+
+		private BeansException failure;
+
+		public BatchTask(Object[] beans, int start, int end, Class targetClass) {
+			this.beans = beans;
+			this.start = start;
+			this.end = end;
+			this.targetClass = targetClass;
+		}
+
+		public void run() {
+			MappingPlan plan = null;
+			for (int i = this.start; i < this.end; i++) {
+				Object source = this.beans[i];
+				if (source == null) {
+					continue;
+				}
+				try {
+					if (plan == null || source.getClass() != plan.sourceClass) {
+						plan = getMappingPlan(source.getClass(), this.targetClass);
+					}
+					Object target = BeanUtils.instantiateClass(this.targetClass);
+					plan.map(source, target);
+					this.beans[i] = target;
+				}
+				catch (BeansException ex) {
+					this.beans[i] = null;
+					if (this.failure == null) {
+						this.failure = ex;
+					}
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Cache key for a pair of source and target class.
+	 */
+	private static class ClassPair {
+
+		private final Class sourceClass;
+
+		private final Class targetClass;
+
+		public ClassPair(Class sourceClass, Class targetClass) {
+			this.sourceClass = sourceClass;
+			this.targetClass = targetClass;
+		}
+
+		public boolean equals(Object other) {
+			if (!(other instanceof ClassPair)) {
+				return false;
+			}
+			ClassPair otherPair = (ClassPair) other;
+			return (this.sourceClass == otherPair.sourceClass && this.targetClass == otherPair.targetClass);
+		}
+
+		public int hashCode() {
+			return this.sourceClass.hashCode() * 29 + this.targetClass.hashCode();
+		}
+	}
+
+}
@@ -0,0 +1,939 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Compact binary serialization of bean graphs, e.g. for shipping session
+ * state between cluster nodes. Much smaller and faster than Java
+ * serialization, and not restricted to Serializable classes.
+ *
+ * <p>Each payload is self-contained. The first bean of a class in a payload
+ * is preceded by the property table of the class: the class name and, for
+ * each property that is both readable and writable, its name and type code.
+ * Further beans of that class refer to the table by a small id, and consist
+ * of their property values only. Primitive properties are written without
+ * type tag; ints, longs, shorts and chars as zigzag varints.
+ *
+ * <p>Supported values are beans with a no-arg constructor, Strings,
+ * primitive wrappers, BigIntegers, BigDecimals, Dates, enums, arrays,
+ * Lists, Sets and Maps. Collections get read as ArrayList, LinkedHashSet
+ * and LinkedHashMap. Shared references and cycles are preserved.
+ *
+ * <p>Reading sets the values through the cached BeanAccessor of the bean
+ * class, matching properties by name. This allows for schema evolution:
+ * values of properties that the reading class doesn't have get skipped,
+ * properties that the payload doesn't contain keep their defaults, and
+ * values whose type has changed get converted with the default editors
+ * of BeanWrapperImpl where necessary.
+ *
+ * <p>Only deserialize payloads from trusted sources: any bean class that
+ * is visible to the class loader may get instantiated and populated.
+ * A serializer is thread-safe.
+ *
+ * 클래스별 프로퍼티 테이블을 한 번만 기록하는 간결한 바이너리 빈 직렬화기입니다.
+ *
+ * @since 17 October 2026
+ * @see BeanGraphCopier
+ */
+public class BeanSerializer {
+
+	/** Format version, the first byte of each payload */
+	private static final byte VERSION = 1;
+
+	// Value tags. Type codes in property tables use the same values,
+	// with TAG_ANY for properties whose values carry their own tag.
+
+	private static final int TAG_ANY = 0;
+
+	private static final int TAG_NULL = 1;
+
+	private static final int TAG_TRUE = 2;
+
+	private static final int TAG_FALSE = 3;
+
+	private static final int TAG_BOOLEAN = 4;
+
+	private static final int TAG_BYTE = 5;
+
+	private static final int TAG_SHORT = 6;
+
+	private static final int TAG_CHAR = 7;
+
+	private static final int TAG_INT = 8;
+
+	private static final int TAG_LONG = 9;
+
+	private static final int TAG_FLOAT = 10;
+
+	private static final int TAG_DOUBLE = 11;
+
+	private static final int TAG_STRING = 12;
+
+	private static final int TAG_BIG_INTEGER = 13;
+
+	private static final int TAG_BIG_DECIMAL = 14;
+
+	private static final int TAG_DATE = 15;
+
+	private static final int TAG_ENUM = 16;
+
+	private static final int TAG_BYTES = 17;
+
+	private static final int TAG_ARRAY = 18;
+
+	private static final int TAG_LIST = 19;
+
+	private static final int TAG_SET = 20;
+
+	private static final int TAG_MAP = 21;
+
+	/** Bean preceded by the property table of its class */
+	private static final int TAG_BEAN_DEFINITION = 22;
+
+	/** Bean of a class whose property table has been written before */
+	private static final int TAG_BEAN = 23;
+
+	/** Reference to an array, collection, map or bean written before */
+	private static final int TAG_REFERENCE = 24;
+
+	private static final int INITIAL_BUFFER_SIZE = 256;
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private static final Map primitiveClasses = new HashMap();
+
+	static {
+		Class[] primitives = new Class[] {boolean.class, byte.class, short.class, char.class, int.class,
+		                                  long.class, float.class, double.class};
+		for (int i = 0; i < primitives.length; i++) {
+			primitiveClasses.put(primitives[i].getName(), primitives[i]);
+		}
+	}
+
+	private static final Log logger = LogFactory.getLog(BeanSerializer.class);
+
+
+	private ClassLoader beanClassLoader;
+
+	/** Map from Class to BeanSchema */
+	private final Map schemaCache = new ConcurrentHashMap();
+
+	/**
+	 * Set the ClassLoader to load bean, enum and array component classes
+	 * with when reading. Default is the thread context ClassLoader.
+	 */
+	public void setBeanClassLoader(ClassLoader beanClassLoader) {
+		this.beanClassLoader = beanClassLoader;
+	}
+
+	/**
+	 * Serialize the given value.
+	 * @param value the bean or other supported value (may be null)
+	 * @return a buffer containing the payload, positioned at its start
+	 * @throws FatalBeanException if the graph contains an unsupported value,
+	 * or if a getter threw an exception
+	 */
+	public ByteBuffer serialize(Object value) throws BeansException {
+		Writer writer = new Writer();
+		writer.buffer.put(VERSION);
+		writer.writeValue(value);
+		writer.buffer.flip();
+		return writer.buffer;
+	}
+
+	/**
+	 * Serialize the given value into a byte array.
+	 * @see #serialize(Object)
+	 */
+	public byte[] serializeToByteArray(Object value) throws BeansException {
+		ByteBuffer buffer = serialize(value);
+		byte[] bytes = new byte[buffer.remaining()];
+		buffer.get(bytes);
+		return bytes;
+	}
+
+	/**
+	 * Deserialize a value from the given buffer, reading one payload
+	 * from its current position.
+	 * @param buffer the buffer to read from
+	 * @return the value
+	 * @throws FatalBeanException if the payload is corrupt, or if a class
+	 * cannot be found or instantiated
+	 * @throws TypeMismatchException if a value cannot be converted to the
+	 * type of the property it belongs to
+	 * @throws MethodInvocationException if a setter threw an exception
+	 */
+	public Object deserialize(ByteBuffer buffer) throws BeansException {
+		try {
+			byte version = buffer.get();
+			if (version != VERSION) {
+				throw new FatalBeanException("Unsupported bean payload version " + version, null);
+			}
+			return new Reader(buffer).readValue();
+		}
+		catch (BufferUnderflowException ex) {
+			throw new FatalBeanException("Truncated bean payload", ex);
+		}
+	}
+
+	/**
+	 * Deserialize a value from the given byte array.
+	 * @see #deserialize(ByteBuffer)
+	 */
+	public Object deserialize(byte[] bytes) throws BeansException {
+		return deserialize(ByteBuffer.wrap(bytes));
+	}
+
+	private BeanSchema getBeanSchema(Class beanClass) throws BeansException {
+		BeanSchema schema = (BeanSchema) this.schemaCache.get(beanClass);
+		if (schema == null) {
+			schema = new BeanSchema(beanClass);
+			this.schemaCache.put(beanClass, schema);
+		}
+		return schema;
+	}
+
+	private Class loadClass(String className) throws BeansException {
+		Class clazz = (Class) primitiveClasses.get(className);
+		if (clazz != null) {
+			return clazz;
+		}
+		ClassLoader classLoader = this.beanClassLoader;
+		if (classLoader == null) {
+			classLoader = Thread.currentThread().getContextClassLoader();
+		}
+		try {
+			return Class.forName(className, false, classLoader);
+		}
+		catch (ClassNotFoundException ex) {
+			throw new FatalBeanException("Cannot find class [" + className + "] of serialized value", ex);
+		}
+	}
+
+	/**
+	 * Return the type code for properties of the given type: the tag of
+	 * primitive types, whose values are written without tag, else TAG_ANY.
+	 */
+	private static int getTypeCode(Class type) {
+		if (type == int.class) {
+			return TAG_INT;
+		}
+		else if (type == long.class) {
+			return TAG_LONG;
+		}
+		else if (type == boolean.class) {
+			return TAG_BOOLEAN;
+		}
+		else if (type == double.class) {
+			return TAG_DOUBLE;
+		}
+		else if (type == float.class) {
+			return TAG_FLOAT;
+		}
+		else if (type == short.class) {
+			return TAG_SHORT;
+		}
+		else if (type == byte.class) {
+			return TAG_BYTE;
+		}
+		else if (type == char.class) {
+			return TAG_CHAR;
+		}
+		return TAG_ANY;
+	}
+
+
+	/**
+	 * The properties of a bean class to serialize, determined once per class.
+	 */
+	private static class BeanSchema {
+
+		final Class beanClass;
+
+		final BeanAccessor accessor;
+
+		final String[] names;
+
+		/** Accessor indexes of the properties */
+		final int[] indexes;
+
+		final int[] typeCodes;
+
+		final Class[] parameterTypes;
+
+		final Class[] propertyTypes;
+
+		/** Lookup from property name to position in the schema */
+		final Map positions = new HashMap();
+
+		private final Constructor constructor;
+
+		public BeanSchema(Class beanClass) throws BeansException {
+			this.beanClass = beanClass;
+			CachedIntrospectionResults results = CachedIntrospectionResults.forClass(beanClass);
+			this.accessor = results.getAccessor();
+			PropertyDescriptor[] pds = results.getBeanInfo().getPropertyDescriptors();
+			List properties = new ArrayList(pds.length);
+			for (int i = 0; i < pds.length; i++) {
+				if (pds[i].getReadMethod() != null && pds[i].getWriteMethod() != null) {
+					properties.add(pds[i]);
+				}
+			}
+			int count = properties.size();
+			this.names = new String[count];
+			this.indexes = new int[count];
+			this.typeCodes = new int[count];
+			this.parameterTypes = new Class[count];
+			this.propertyTypes = new Class[count];
+			for (int i = 0; i < count; i++) {
+				PropertyDescriptor pd = (PropertyDescriptor) properties.get(i);
+				this.names[i] = pd.getName();
+				this.indexes[i] = results.getPropertyIndex(pd.getName());
+				this.parameterTypes[i] = pd.getWriteMethod().getParameterTypes()[0];
+				this.propertyTypes[i] = pd.getPropertyType();
+				// primitive values are only written untagged if the getter cannot return null
+				this.typeCodes[i] = getTypeCode(pd.getReadMethod().getReturnType());
+				this.positions.put(this.names[i], new Integer(i));
+			}
+			Constructor constructor = null;
+			try {
+				constructor = beanClass.getDeclaredConstructor(new Class[0]);
+				if (!Modifier.isPublic(constructor.getModifiers()) || !Modifier.isPublic(beanClass.getModifiers())) {
+					constructor.setAccessible(true);
+				}
+			}
+			catch (NoSuchMethodException ex) {
+				constructor = null;
+			}
+			catch (RuntimeException ex) {
+				// not accessible, e.g. in a module that does not open its package
+				logger.debug("Cannot access no-arg constructor of class [" + beanClass.getName() + "]", ex);
+				constructor = null;
+			}
+			this.constructor = constructor;
+		}
+
+		public void assertInstantiable() throws BeansException {
+			if (this.constructor == null || Modifier.isAbstract(this.beanClass.getModifiers())) {
+				throw new FatalBeanException("Cannot serialize or deserialize instance of class [" +
+				                             this.beanClass.getName() + "]: no accessible no-arg constructor", null);
+			}
+		}
+
+		public Object instantiate() throws BeansException {
+			assertInstantiable();
+			return BeanUtils.instantiateClass(this.constructor, null);
+		}
+	}
+
+
+	/**
+	 * The property table of a class as read from a payload, mapped onto
+	 * the properties of the class as it is now.
+	 */
+	private static class ReadSchema {
+
+		final BeanSchema beanSchema;
+
+		final String[] names;
+
+		final int[] typeCodes;
+
+		/** Positions in the bean schema, or -1 for properties that no longer exist */
+		final int[] positions;
+
+		public ReadSchema(BeanSchema beanSchema, String[] names, int[] typeCodes) {
+			this.beanSchema = beanSchema;
+			this.names = names;
+			this.typeCodes = typeCodes;
+			this.positions = new int[names.length];
+			for (int i = 0; i < names.length; i++) {
+				Integer position = (Integer) beanSchema.positions.get(names[i]);
+				this.positions[i] = (position != null ? position.intValue() : -1);
+			}
+		}
+	}
+
+
+	/**
+	 * State for writing one payload, growing its buffer as necessary.
+	 */
+	private class Writer {
+
+		ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+
+		/** Map from Class to class id (Integer) */
+		private final Map classIds = new HashMap();
+
+		/** Map from written object to object id (Integer) */
+		private final Map objectIds = new IdentityHashMap();
+
+		private void ensureCapacity(int bytes) {
+			if (this.buffer.remaining() < bytes) {
+				int capacity = Math.max(this.buffer.capacity() * 2, this.buffer.position() + bytes);
+				ByteBuffer newBuffer = ByteBuffer.allocate(capacity);
+				this.buffer.flip();
+				newBuffer.put(this.buffer);
+				this.buffer = newBuffer;
+			}
+		}
+
+		void writeTag(int tag) {
+			ensureCapacity(1);
+			this.buffer.put((byte) tag);
+		}
+
+		void writeVarInt(int value) {
+			ensureCapacity(5);
+			while ((value & ~0x7F) != 0) {
+				this.buffer.put((byte) ((value & 0x7F) | 0x80));
+				value >>>= 7;
+			}
+			this.buffer.put((byte) value);
+		}
+
+		void writeVarLong(long value) {
+			ensureCapacity(10);
+			while ((value & ~0x7FL) != 0) {
+				this.buffer.put((byte) ((value & 0x7F) | 0x80));
+				value >>>= 7;
+			}
+			this.buffer.put((byte) value);
+		}
+
+		void writeSignedVarInt(int value) {
+			writeVarInt((value << 1) ^ (value >> 31));
+		}
+
+		void writeSignedVarLong(long value) {
+			writeVarLong((value << 1) ^ (value >> 63));
+		}
+
+		void writeString(String value) {
+			byte[] bytes = value.getBytes(UTF_8);
+			writeBytes(bytes);
+		}
+
+		void writeBytes(byte[] bytes) {
+			writeVarInt(bytes.length);
+			ensureCapacity(bytes.length);
+			this.buffer.put(bytes);
+		}
+
+		/**
+		 * Write the given value of a primitive property, without tag.
+		 */
+		void writePrimitive(int typeCode, Object value) {
+			switch (typeCode) {
+				case TAG_INT:
+					writeSignedVarInt(((Integer) value).intValue());
+					break;
+				case TAG_LONG:
+					writeSignedVarLong(((Long) value).longValue());
+					break;
+				case TAG_BOOLEAN:
+					writeTag(((Boolean) value).booleanValue() ? 1 : 0);
+					break;
+				case TAG_DOUBLE:
+					ensureCapacity(8);
+					this.buffer.putDouble(((Double) value).doubleValue());
+					break;
+				case TAG_FLOAT:
+					ensureCapacity(4);
+					this.buffer.putFloat(((Float) value).floatValue());
+					break;
+				case TAG_SHORT:
+					writeSignedVarInt(((Short) value).shortValue());
+					break;
+				case TAG_BYTE:
+					writeTag(((Byte) value).byteValue());
+					break;
+				case TAG_CHAR:
+					writeVarInt(((Character) value).charValue());
+					break;
+				default:
+					throw new IllegalStateException("No primitive type code: " + typeCode);
+			}
+		}
+
+		void writeValue(Object value) throws BeansException {
+			if (value == null) {
+				writeTag(TAG_NULL);
+			}
+			else if (value instanceof String) {
+				writeTag(TAG_STRING);
+				writeString((String) value);
+			}
+			else if (value instanceof Integer) {
+				writeTag(TAG_INT);
+				writePrimitive(TAG_INT, value);
+			}
+			else if (value instanceof Long) {
+				writeTag(TAG_LONG);
+				writePrimitive(TAG_LONG, value);
+			}
+			else if (value instanceof Boolean) {
+				writeTag(((Boolean) value).booleanValue() ? TAG_TRUE : TAG_FALSE);
+			}
+			else if (value instanceof Double) {
+				writeTag(TAG_DOUBLE);
+				writePrimitive(TAG_DOUBLE, value);
+			}
+			else if (value instanceof Float) {
+				writeTag(TAG_FLOAT);
+				writePrimitive(TAG_FLOAT, value);
+			}
+			else if (value instanceof Short) {
+				writeTag(TAG_SHORT);
+				writePrimitive(TAG_SHORT, value);
+			}
+			else if (value instanceof Byte) {
+				writeTag(TAG_BYTE);
+				writePrimitive(TAG_BYTE, value);
+			}
+			else if (value instanceof Character) {
+				writeTag(TAG_CHAR);
+				writePrimitive(TAG_CHAR, value);
+			}
+			else if (value instanceof BigInteger) {
+				writeTag(TAG_BIG_INTEGER);
+				writeBytes(((BigInteger) value).toByteArray());
+			}
+			else if (value instanceof BigDecimal) {
+				writeTag(TAG_BIG_DECIMAL);
+				writeBytes(((BigDecimal) value).unscaledValue().toByteArray());
+				writeSignedVarInt(((BigDecimal) value).scale());
+			}
+			else if (value instanceof Date) {
+				writeTag(TAG_DATE);
+				writeSignedVarLong(((Date) value).getTime());
+			}
+			else if (value instanceof Enum) {
+				writeTag(TAG_ENUM);
+				writeString(((Enum) value).getDeclaringClass().getName());
+				writeString(((Enum) value).name());
+			}
+			else if (value instanceof byte[]) {
+				writeTag(TAG_BYTES);
+				writeBytes((byte[]) value);
+			}
+			else if (!writeReference(value)) {
+				if (value.getClass().isArray()) {
+					writeArray(value);
+				}
+				else if (value instanceof Collection) {
+					writeTag(value instanceof Set ? TAG_SET : TAG_LIST);
+					Collection collection = (Collection) value;
+					writeVarInt(collection.size());
+					for (Iterator it = collection.iterator(); it.hasNext();) {
+						writeValue(it.next());
+					}
+				}
+				else if (value instanceof Map) {
+					writeTag(TAG_MAP);
+					Map map = (Map) value;
+					writeVarInt(map.size());
+					for (Iterator it = map.entrySet().iterator(); it.hasNext();) {
+						Map.Entry entry = (Map.Entry) it.next();
+						writeValue(entry.getKey());
+						writeValue(entry.getValue());
+					}
+				}
+				else {
+					writeBean(value);
+				}
+			}
+		}
+
+		/**
+		 * Write a reference if the given object has been written before,
+		 * else assign the next object id to it, as the reader will.
+		 * @return whether a reference has been written
+		 */
+		private boolean writeReference(Object value) {
+			Integer id = (Integer) this.objectIds.get(value);
+			if (id != null) {
+				writeTag(TAG_REFERENCE);
+				writeVarInt(id.intValue());
+				return true;
+			}
+			this.objectIds.put(value, new Integer(this.objectIds.size()));
+			return false;
+		}
+
+		private void writeArray(Object array) throws BeansException {
+			Class componentType = array.getClass().getComponentType();
+			int length = Array.getLength(array);
+			writeTag(TAG_ARRAY);
+			writeString(componentType.getName());
+			writeVarInt(length);
+			int typeCode = getTypeCode(componentType);
+			for (int i = 0; i < length; i++) {
+				if (typeCode != TAG_ANY) {
+					writePrimitive(typeCode, Array.get(array, i));
+				}
+				else {
+					writeValue(((Object[]) array)[i]);
+				}
+			}
+		}
+
+		private void writeBean(Object bean) throws BeansException {
+			BeanSchema schema = getBeanSchema(bean.getClass());
+			Integer classId = (Integer) this.classIds.get(schema.beanClass);
+			if (classId == null) {
+				// fail early rather than on reading
+				schema.assertInstantiable();
+				this.classIds.put(schema.beanClass, new Integer(this.classIds.size()));
+				writeTag(TAG_BEAN_DEFINITION);
+				writeString(schema.beanClass.getName());
+				writeVarInt(schema.names.length);
+				for (int i = 0; i < schema.names.length; i++) {
+					writeString(schema.names[i]);
+					writeTag(schema.typeCodes[i]);
+				}
+			}
+			else {
+				writeTag(TAG_BEAN);
+				writeVarInt(classId.intValue());
+			}
+			for (int i = 0; i < schema.names.length; i++) {
+				Object value = null;
+				try {
+					value = schema.accessor.get(bean, schema.indexes[i]);
+				}
+				catch (Throwable ex) {
+					throw new FatalBeanException("Getter for property '" + schema.names[i] + "' threw exception", ex);
+				}
+				if (schema.typeCodes[i] != TAG_ANY) {
+					writePrimitive(schema.typeCodes[i], value);
+				}
+				else {
+					writeValue(value);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * State for reading one payload.
+	 */
+	private class Reader {
+
+		private final ByteBuffer buffer;
+
+		/** ReadSchemas in class id order */
+		private final List schemas = new ArrayList();
+
+		/** Objects in object id order */
+		private final List objects = new ArrayList();
+
+		/** Converter for values whose type has changed, created on demand */
+		private BeanWrapperImpl converter;
+
+		public Reader(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		int readTag() {
+			return this.buffer.get();
+		}
+
+		int readVarInt() throws BeansException {
+			int value = 0;
+			for (int shift = 0; shift < 35; shift += 7) {
+				byte b = this.buffer.get();
+				value |= (b & 0x7F) << shift;
+				if ((b & 0x80) == 0) {
+					return value;
+				}
+			}
+			throw new FatalBeanException("Malformed varint in bean payload", null);
+		}
+
+		long readVarLong() throws BeansException {
+			long value = 0;
+			for (int shift = 0; shift < 70; shift += 7) {
+				byte b = this.buffer.get();
+				value |= (long) (b & 0x7F) << shift;
+				if ((b & 0x80) == 0) {
+					return value;
+				}
+			}
+			throw new FatalBeanException("Malformed varint in bean payload", null);
+		}
+
+		int readSignedVarInt() throws BeansException {
+			int value = readVarInt();
+			return (value >>> 1) ^ -(value & 1);
+		}
+
+		long readSignedVarLong() throws BeansException {
+			long value = readVarLong();
+			return (value >>> 1) ^ -(value & 1);
+		}
+
+		byte[] readBytes() throws BeansException {
+			int length = readVarInt();
+			if (length < 0 || length > this.buffer.remaining()) {
+				throw new FatalBeanException("Malformed length " + length + " in bean payload", null);
+			}
+			byte[] bytes = new byte[length];
+			this.buffer.get(bytes);
+			return bytes;
+		}
+
+		String readString() throws BeansException {
+			return new String(readBytes(), UTF_8);
+		}
+
+		Object readPrimitive(int typeCode) throws BeansException {
+			switch (typeCode) {
+				case TAG_INT:
+					return new Integer(readSignedVarInt());
+				case TAG_LONG:
+					return new Long(readSignedVarLong());
+				case TAG_BOOLEAN:
+					return (readTag() != 0 ? Boolean.TRUE : Boolean.FALSE);
+				case TAG_DOUBLE:
+					return new Double(this.buffer.getDouble());
+				case TAG_FLOAT:
+					return new Float(this.buffer.getFloat());
+				case TAG_SHORT:
+					return new Short((short) readSignedVarInt());
+				case TAG_BYTE:
+					return new Byte(this.buffer.get());
+				case TAG_CHAR:
+					return new Character((char) readVarInt());
+				default:
+					throw new FatalBeanException("Unknown type code " + typeCode + " in bean payload", null);
+			}
+		}
+
+		Object readValue() throws BeansException {
+			int tag = readTag();
+			switch (tag) {
+				case TAG_NULL:
+					return null;
+				case TAG_TRUE:
+					return Boolean.TRUE;
+				case TAG_FALSE:
+					return Boolean.FALSE;
+				case TAG_STRING:
+					return readString();
+				case TAG_BIG_INTEGER:
+					return new BigInteger(readBytes());
+				case TAG_BIG_DECIMAL:
+					return new BigDecimal(new BigInteger(readBytes()), readSignedVarInt());
+				case TAG_DATE:
+					return new Date(readSignedVarLong());
+				case TAG_ENUM:
+					return readEnum();
+				case TAG_BYTES:
+					return readBytes();
+				case TAG_ARRAY:
+					return readArray();
+				case TAG_LIST:
+				case TAG_SET:
+					return readCollection(tag);
+				case TAG_MAP:
+					return readMap();
+				case TAG_BEAN_DEFINITION:
+					return readBean(readSchema());
+				case TAG_BEAN:
+					return readBean(getSchema(readVarInt()));
+				case TAG_REFERENCE:
+					int id = readVarInt();
+					if (id < 0 || id >= this.objects.size()) {
+						throw new FatalBeanException("Unknown object reference " + id + " in bean payload", null);
+					}
+					return this.objects.get(id);
+				default:
+					return readPrimitive(tag);
+			}
+		}
+
+		private Object readEnum() throws BeansException {
+			Class enumClass = loadClass(readString());
+			String name = readString();
+			try {
+				return Enum.valueOf(enumClass, name);
+			}
+			catch (IllegalArgumentException ex) {
+				throw new FatalBeanException("No enum constant '" + name + "' in class [" + enumClass.getName() + "]", ex);
+			}
+		}
+
+		private Object readArray() throws BeansException {
+			Class componentType = loadClass(readString());
+			int length = readVarInt();
+			if (length < 0 || length > this.buffer.remaining()) {
+				throw new FatalBeanException("Malformed array length " + length + " in bean payload", null);
+			}
+			Object array = Array.newInstance(componentType, length);
+			this.objects.add(array);
+			int typeCode = getTypeCode(componentType);
+			for (int i = 0; i < length; i++) {
+				if (typeCode != TAG_ANY) {
+					Array.set(array, i, readPrimitive(typeCode));
+				}
+				else {
+					Object element = readValue();
+					if (element != null && !componentType.isInstance(element)) {
+						throw new FatalBeanException("Element [" + element + "] does not fit array of type [" +
+						                             componentType.getName() + "]", null);
+					}
+					((Object[]) array)[i] = element;
+				}
+			}
+			return array;
+		}
+
+		private Object readCollection(int tag) throws BeansException {
+			int size = readVarInt();
+			int capacity = Math.min(size, this.buffer.remaining());
+			Collection collection = (tag == TAG_SET ? (Collection) new LinkedHashSet(capacity) : new ArrayList(capacity));
+			this.objects.add(collection);
+			for (int i = 0; i < size; i++) {
+				collection.add(readValue());
+			}
+			return collection;
+		}
+
+		private Object readMap() throws BeansException {
+			int size = readVarInt();
+			Map map = new LinkedHashMap(Math.min(size, this.buffer.remaining()));
+			this.objects.add(map);
+			for (int i = 0; i < size; i++) {
+				Object key = readValue();
+				map.put(key, readValue());
+			}
+			return map;
+		}
+
+		private ReadSchema readSchema() throws BeansException {
+			BeanSchema beanSchema = getBeanSchema(loadClass(readString()));
+			int count = readVarInt();
+			if (count < 0 || count > this.buffer.remaining()) {
+				throw new FatalBeanException("Malformed property count " + count + " in bean payload", null);
+			}
+			String[] names = new String[count];
+			int[] typeCodes = new int[count];
+			for (int i = 0; i < count; i++) {
+				names[i] = readString();
+				typeCodes[i] = readTag();
+			}
+			ReadSchema schema = new ReadSchema(beanSchema, names, typeCodes);
+			this.schemas.add(schema);
+			return schema;
+		}
+
+		private ReadSchema getSchema(int classId) throws BeansException {
+			if (classId < 0 || classId >= this.schemas.size()) {
+				throw new FatalBeanException("Unknown class id " + classId + " in bean payload", null);
+			}
+			return (ReadSchema) this.schemas.get(classId);
+		}
+
+		private Object readBean(ReadSchema schema) throws BeansException {
+			BeanSchema beanSchema = schema.beanSchema;
+			Object bean = beanSchema.instantiate();
+			this.objects.add(bean);
+			for (int i = 0; i < schema.names.length; i++) {
+				Object value = (schema.typeCodes[i] != TAG_ANY ? readPrimitive(schema.typeCodes[i]) : readValue());
+				int position = schema.positions[i];
+				if (position == -1) {
+					// property removed since writing
+					continue;
+				}
+				Object argument = BeanAccessor.adaptArgument(beanSchema.parameterTypes[position], value);
+				if (argument == BeanAccessor.NOT_ASSIGNABLE) {
+					argument = convert(bean, beanSchema, position, value);
+				}
+				else if (argument == null && beanSchema.parameterTypes[position].isPrimitive()) {
+					// property changed from object to primitive: keep the default
+					continue;
+				}
+				try {
+					beanSchema.accessor.set(bean, beanSchema.indexes[position], argument);
+				}
+				catch (IllegalAccessException ex) {
+					throw new FatalBeanException("Illegal attempt to set property [" + value + "] threw exception", ex);
+				}
+				catch (Throwable ex) {
+					throw new MethodInvocationException(
+							ex, new PropertyChangeEvent(bean, beanSchema.names[position], null, value));
+				}
+			}
+			return bean;
+		}
+
+		/**
+		 * Convert the given value for a property whose type has changed since writing.
+		 */
+		private Object convert(Object bean, BeanSchema beanSchema, int position, Object value) throws BeansException {
+			if (this.converter == null) {
+				this.converter = new BeanWrapperImpl();
+			}
+			String name = beanSchema.names[position];
+			Class requiredType = beanSchema.propertyTypes[position];
+			Object argument = null;
+			try {
+				// editors convert from text
+				Object text = (value instanceof Number || value instanceof Boolean || value instanceof Character ?
+				               value.toString() : value);
+				argument = this.converter.convertForProperty(name, text, requiredType);
+			}
+			catch (TypeMismatchException ex) {
+				throw new TypeMismatchException(new PropertyChangeEvent(bean, name, null, value), requiredType, ex.getCause());
+			}
+			argument = BeanAccessor.adaptArgument(beanSchema.parameterTypes[position], argument);
+			if (argument == BeanAccessor.NOT_ASSIGNABLE) {
+				throw new TypeMismatchException(new PropertyChangeEvent(bean, name, null, value), requiredType);
+			}
+			return argument;
+		}
+	}
+
+}
@@ -16,11 +16,12 @@
 
 package org.springframework.beans;
 
-import java.beans.PropertyDescriptor;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Static convenience methods for JavaBeans, for instantiating beans,
@@ -39,6 +40,9 @@ import java.util.List;
  */
 public abstract class BeanUtils {
 
+	/** Shared copier for deepCopy, with the default immutable types */
+	private static final BeanGraphCopier graphCopier = new BeanGraphCopier();
+
 	/**
 	 * Convenience method to instantiate a class using its no-arg constructor.
 	 * As this method doesn't try to load classes by name, it should avoid class-loading issues.
@@ -46,17 +50,66 @@ public abstract class BeanUtils {
 	 * @return the new instance
 	 */
 	public static Object instantiateClass(Class clazz) throws BeansException {
+		Constructor constructor = null;
 		try {
-			return clazz.newInstance();
+			constructor = clazz.getDeclaredConstructor((Class[]) null);
 		}
-		catch (InstantiationException ex) {
+		catch (NoSuchMethodException ex) {
 			throw new FatalBeanException("Could not instantiate class [" + clazz.getName() +
 																	 "]; Is it an interface or an abstract class? Does it have a no-arg constructor?", ex);
 		}
-		catch (IllegalAccessException ex) {
+		return instantiateClass(constructor, null);
+	}
+
+	/**
+	 * Instantiate the given class, binding the given property values to the
+	 * arguments of a public constructor whose parameter names match them.
+	 * Allows for creating immutable objects in one step.
+	 * <p>Picks the constructor with the most parameters that all have a
+	 * value, with parameter names taken from a ConstructorProperties
+	 * annotation or from class files compiled with "-parameters".
+	 * Values get converted to the parameter types if necessary, using
+	 * the default conversions of BeanWrapperImpl. Values that don't match
+	 * a constructor parameter get set as properties afterwards.
+	 * @param clazz class to instantiate
+	 * @param pvs the property values to bind
+	 * @return the new instance
+	 * @throws PropertyAccessExceptionsException if constructor arguments
+	 * could not be converted, containing all TypeMismatchExceptions;
+	 * the bind object will be null
+	 * @throws FatalBeanException if there is no matching constructor,
+	 * or if the constructor threw an exception
+	 * @see java.beans.ConstructorProperties
+	 */
+	public static Object instantiateClass(Class clazz, PropertyValues pvs) throws BeansException {
+		PropertyValue[] pvArray = pvs.getPropertyValues();
+		Map values = new HashMap();
+		for (int i = 0; i < pvArray.length; i++) {
+			values.put(pvArray[i].getName(), pvArray[i]);
+		}
+		BeanConstructor[] beanConstructors = CachedIntrospectionResults.forClass(clazz).getBeanConstructors();
+		BeanConstructor beanConstructor = null;
+		for (int i = 0; i < beanConstructors.length && beanConstructor == null; i++) {
+			if (beanConstructors[i].matches(values)) {
+				beanConstructor = beanConstructors[i];
+			}
+		}
+		if (beanConstructor == null) {
 			throw new FatalBeanException("Could not instantiate class [" + clazz.getName() +
-																	 "]; has class definition changed? Is there a public no-arg constructor?", ex);
+			                             "]: no public constructor with parameter names matching " + values.keySet());
 		}
+		Object bean = beanConstructor.newInstance(values, new BeanWrapperImpl());
+		if (beanConstructor.getParameterNames().length < pvArray.length) {
+			List parameterNames = Arrays.asList(beanConstructor.getParameterNames());
+			MutablePropertyValues remaining = new MutablePropertyValues();
+			for (int i = 0; i < pvArray.length; i++) {
+				if (!parameterNames.contains(pvArray[i].getName())) {
+					remaining.addPropertyValue(pvArray[i]);
+				}
+			}
+			new BeanWrapperImpl(bean).setPropertyValues(remaining);
+		}
+		return bean;
 	}
 
 	/**
@@ -155,30 +208,33 @@ public abstract class BeanUtils {
 	/**
 	 * Copy the property values of the given source bean into the given target bean,
 	 * ignoring the given ignoreProperties.
+	 * <p>Uses a BeanCopier cached for the classes of source and target and the
+	 * given ignoreProperties, so repeated calls don't introspect the classes.
 	 * @param source source bean
 	 * @param target target bean
 	 * @param ignoreProperties array of property names to ignore
 	 * @throws IllegalArgumentException if the classes of source and target do not match
+	 * @see BeanCopier
 	 */
 	public static void copyProperties(Object source, Object target, String[] ignoreProperties)
 	    throws IllegalArgumentException, BeansException {
 		if (source == null || target == null || !source.getClass().isInstance(target)) {
 			throw new IllegalArgumentException("Target must an instance of source");
 		}
-		List ignoreList = (ignoreProperties != null) ? Arrays.asList(ignoreProperties) : null;
-		BeanWrapper sourceBw = new BeanWrapperImpl(source);
-		BeanWrapper targetBw = new BeanWrapperImpl(target);
-		MutablePropertyValues values = new MutablePropertyValues();
-		for (int i = 0; i < sourceBw.getPropertyDescriptors().length; i++) {
-			PropertyDescriptor sourceDesc = sourceBw.getPropertyDescriptors()[i];
-			String name = sourceDesc.getName();
-			PropertyDescriptor targetDesc = targetBw.getPropertyDescriptor(name);
-			if (targetDesc.getWriteMethod() != null && targetDesc.getReadMethod() != null &&
-			    (ignoreProperties == null || (!ignoreList.contains(name)))) {
-				values.addPropertyValue(new PropertyValue(name, sourceBw.getPropertyValue(name)));
-			}
-		}
-		targetBw.setPropertyValues(values);
+		BeanCopier.forClasses(source.getClass(), target.getClass(), ignoreProperties).copy(source, target);
+	}
+
+	/**
+	 * Create a deep copy of the given bean graph, sharing instances of
+	 * immutable types like Strings and primitive wrappers.
+	 * <p>Uses a shared BeanGraphCopier; create a BeanGraphCopier of your
+	 * own for registering further immutable types.
+	 * @param original the bean graph to copy (may be null)
+	 * @return the copy
+	 * @see BeanGraphCopier
+	 */
+	public static Object deepCopy(Object original) throws BeansException {
+		return graphCopier.copy(original);
 	}
 
 }
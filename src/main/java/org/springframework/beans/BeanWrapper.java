@@ -183,6 +183,98 @@ public interface BeanWrapper {
 	void setPropertyValues(PropertyValues pvs, boolean ignoreUnknown)
 	    throws BeansException;
 
+	/**
+	 * Perform a bulk update, recording <b>recoverable</b> errors as
+	 * BindingErrors rather than throwing a PropertyAccessExceptionsException.
+	 * No exceptions get created for type mismatches of simple properties,
+	 * which makes this the preferred way to bind untrusted input.
+	 * <p>Stops binding once the maximum number of errors of the given
+	 * BindingErrors has been reached.
+	 * @param pvs PropertyValues to set on the target object
+	 * @param ignoreUnknown should we ignore unknown values (not found in the bean!?)
+	 * @param errors the BindingErrors to record errors in
+	 * (usually reset before)
+	 * @see BindingErrors#toException
+	 */
+	void setPropertyValues(PropertyValues pvs, boolean ignoreUnknown, BindingErrors errors)
+	    throws BeansException;
+
+
+	/**
+	 * Get the value of an int property without boxing it.
+	 * <p>Properties of other numeric types get read via getPropertyValue,
+	 * if their values can be converted to int without loss (byte, short).
+	 * @param propertyPath path of the property (name or nested path)
+	 * @return the value of the property
+	 * @throws FatalBeanException if there is no such property, if the property
+	 * isn't readable or not numeric, or if the property getter throws an exception
+	 * @throws TypeMismatchException if the value of the property cannot be
+	 * converted without loss, e.g. a long value
+	 */
+	int getInt(String propertyPath) throws BeansException;
+
+	/**
+	 * Get the value of a long property without boxing it.
+	 * <p>Values of other integral types get converted,
+	 * except for BigIntegers.
+	 * @param propertyPath path of the property (name or nested path)
+	 * @return the value of the property
+	 * @see #getInt
+	 */
+	long getLong(String propertyPath) throws BeansException;
+
+	/**
+	 * Get the value of a double property without boxing it.
+	 * <p>Values of other numeric types get converted, except for
+	 * longs, BigIntegers and BigDecimals, which can lose precision.
+	 * @param propertyPath path of the property (name or nested path)
+	 * @return the value of the property
+	 * @see #getInt
+	 */
+	double getDouble(String propertyPath) throws BeansException;
+
+	/**
+	 * Get the value of a boolean property without boxing it.
+	 * @param propertyPath path of the property (name or nested path)
+	 * @return the value of the property
+	 * @throws FatalBeanException if there is no such property, if the property
+	 * isn't readable or not boolean, or if the property getter throws an exception
+	 */
+	boolean getBoolean(String propertyPath) throws BeansException;
+
+	/**
+	 * Set the value of an int property without boxing it.
+	 * <p>Properties of other types get set via setPropertyValue,
+	 * with the value boxed and converted as necessary.
+	 * @param propertyPath path of the property (name or nested path)
+	 * @param value the new value
+	 */
+	void setInt(String propertyPath, int value) throws BeansException;
+
+	/**
+	 * Set the value of a long property without boxing it.
+	 * @param propertyPath path of the property (name or nested path)
+	 * @param value the new value
+	 * @see #setInt
+	 */
+	void setLong(String propertyPath, long value) throws BeansException;
+
+	/**
+	 * Set the value of a double property without boxing it.
+	 * @param propertyPath path of the property (name or nested path)
+	 * @param value the new value
+	 * @see #setInt
+	 */
+	void setDouble(String propertyPath, double value) throws BeansException;
+
+	/**
+	 * Set the value of a boolean property without boxing it.
+	 * @param propertyPath path of the property (name or nested path)
+	 * @param value the new value
+	 * @see #setInt
+	 */
+	void setBoolean(String propertyPath, boolean value) throws BeansException;
+
 
 	/**
 	 * Get the PropertyDescriptors identified on this object
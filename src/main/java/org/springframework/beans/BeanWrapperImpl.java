@@ -18,18 +18,14 @@ package org.springframework.beans;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.springframework.beans.propertyeditors.*;
 import org.springframework.util.StringUtils;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyDescriptor;
 import java.beans.PropertyEditor;
 import java.beans.PropertyEditorManager;
-import java.io.File;
 import java.lang.reflect.Array;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.net.URL;
 import java.util.*;
 
 /**
@@ -51,6 +47,8 @@ import java.util.*;
  * Applications can either use a standard PropertyEditorManager to register a
  * custom editor before using a BeanWrapperImpl instance, or call the instance's
  * registerCustomEditor method to register an editor for the particular instance.
+ * Default editors and conversions are looked up in a ConversionRegistry, which
+ * caches resolved converters and is shared across BeanWrapperImpl instances.
  *
  * 노트 : 기본 레지스터들은 모두 org.springframework.beans.propertyeditors package에 있습니다.
  * 어플리케이션은 PropertyEditorManager를 사용하여 BeanWrapperImpl인스턴스를 사용하기 이전에 커스텀에디터를 등록할 수 있기도하고
@@ -70,6 +68,7 @@ import java.util.*;
  * @since 15 April 2001
  * @version $Id: BeanWrapperImpl.java,v 1.33 2004/03/19 16:09:16 jhoeller Exp $
  * @see #registerCustomEditor
+ * @see #setConversionRegistry
  * @see PropertyEditorManager
  * @see org.springframework.beans.propertyeditors.ClassEditor
  * @see org.springframework.beans.propertyeditors.FileEditor
@@ -83,20 +82,14 @@ public class BeanWrapperImpl implements BeanWrapper {
 	/** We'll create a lot of these objects, so we don't want a new logger every time */
 	private static final Log logger = LogFactory.getLog(BeanWrapperImpl.class);
 
-	/** Registry for default PropertyEditors */
-	private static final Map defaultEditors = new HashMap();
+	/**
+	 * Maximum number of nested BeanWrappers to cache per BeanWrapper,
+	 * e.g. for many different keys of a Map-valued property
+	 */
+	private static final int NESTED_BEAN_WRAPPER_CACHE_LIMIT = 256;
 
-	static {
-		// Register default editors in this class, for restricted environments.
-		// We're not using the JRE's PropertyEditorManager to avoid potential
-		// SecurityExceptions when running in a SecurityManager.
-		defaultEditors.put(Class.class, ClassEditor.class);
-		defaultEditors.put(File.class, FileEditor.class);
-		defaultEditors.put(Locale.class, LocaleEditor.class);
-		defaultEditors.put(Properties.class, PropertiesEditor.class);
-		defaultEditors.put(String[].class, StringArrayPropertyEditor.class);
-		defaultEditors.put(URL.class, URLEditor.class);
-	}
+	/** Marker returned by convertForProperty for values that could not be converted */
+	static final Object CONVERSION_FAILED = new Object();
 
 
 	//---------------------------------------------------------------------
@@ -109,12 +102,31 @@ public class BeanWrapperImpl implements BeanWrapper {
 	/** The nested path of the object */
 	private String nestedPath = "";
 
-	/* Map with cached nested BeanWrappers */
-	private Map nestedBeanWrappers;
+	/* Map with cached nested BeanWrappers, keyed by canonical property name */
+	private NestedBeanWrapperCache nestedBeanWrappers;
+
+	/**
+	 * Map with nested BeanWrappers that hold editors for specific properties,
+	 * themselves or further down, keyed by canonical property name. Never
+	 * evicted, as those editors could not be recreated.
+	 */
+	private Map pinnedNestedBeanWrappers;
+
+	/**
+	 * Map with positional snapshots of Set and linked List property values,
+	 * keyed by property name, while expanding a property path over them
+	 */
+	private Map elementSnapshots;
 
 	/** Map with custom PropertyEditor instances */
 	private Map customEditors;
 
+	/** Whether the custom editors may be in use by other threads, so need to be locked while in use */
+	private boolean sharedEditors;
+
+	/** Registry for default conversions, shared across BeanWrappers */
+	private ConversionRegistry conversionRegistry = ConversionRegistry.getSharedInstance();
+
 	/**
 	 * Cached introspections results for this object, to prevent encountering the cost
 	 * of JavaBeans introspection every time.
@@ -171,21 +183,54 @@ public class BeanWrapperImpl implements BeanWrapper {
 	/**
 	 * Switches the target object, replacing the cached introspection results only
 	 * if the class of the new object is different to that of the replaced object.
+	 * <p>Registered custom editors and the conversion registry are kept, so a
+	 * configured BeanWrapperImpl can be reused for any number of objects.
+	 * Nested BeanWrappers release the property values of the previous object;
+	 * they get rebound to the new object's values on next access, keeping
+	 * editors registered for nested properties.
 	 * @param object new target
 	 * @throws BeansException if the object cannot be changed
+	 * @see BeanWrapperPool
 	 */
 	public void setWrappedInstance(Object object) throws BeansException {
 		if (object == null) {
 			throw new FatalBeanException("Cannot set BeanWrapperImpl target to a null object");
 		}
 		this.object = object;
-		this.nestedBeanWrappers = null;
+		this.elementSnapshots = null;
+		releaseNestedBeanWrappers();
 		if (this.cachedIntrospectionResults == null ||
 		    !this.cachedIntrospectionResults.getBeanClass().equals(object.getClass())) {
 			this.cachedIntrospectionResults = CachedIntrospectionResults.forClass(object.getClass());
 		}
 	}
 
+	/**
+	 * Release the wrapped object, keeping all configuration and the
+	 * introspection results, for example when returning this BeanWrapper
+	 * to a pool. A new object needs to be set before further use.
+	 * @see #setWrappedInstance
+	 */
+	void releaseWrappedInstance() {
+		this.object = null;
+		this.elementSnapshots = null;
+		releaseNestedBeanWrappers();
+	}
+
+	private void releaseNestedBeanWrappers() {
+		// keep the nested BeanWrappers for rebinding, but not the previous values
+		if (this.nestedBeanWrappers != null) {
+			for (Iterator it = this.nestedBeanWrappers.values().iterator(); it.hasNext();) {
+				((BeanWrapperImpl) it.next()).releaseWrappedInstance();
+			}
+		}
+		if (this.pinnedNestedBeanWrappers != null) {
+			for (Iterator it = this.pinnedNestedBeanWrappers.values().iterator(); it.hasNext();) {
+				((BeanWrapperImpl) it.next()).releaseWrappedInstance();
+			}
+		}
+	}
+
 	public Class getWrappedClass() {
 		return object.getClass();
 	}
@@ -194,6 +239,48 @@ public class BeanWrapperImpl implements BeanWrapper {
 		return object;
 	}
 
+	/**
+	 * Set the ConversionRegistry to use for values that no custom editor
+	 * has been registered for. Default is the shared registry, which
+	 * contains the default editors of this class.
+	 * @see ConversionRegistry#getSharedInstance
+	 */
+	public void setConversionRegistry(ConversionRegistry conversionRegistry) {
+		if (conversionRegistry == null) {
+			throw new IllegalArgumentException("ConversionRegistry must not be null");
+		}
+		this.conversionRegistry = conversionRegistry;
+	}
+
+	/**
+	 * Return the ConversionRegistry used by this BeanWrapper.
+	 */
+	public ConversionRegistry getConversionRegistry() {
+		return conversionRegistry;
+	}
+
+	/**
+	 * Use the given Map as custom editor registry of this BeanWrapper,
+	 * keyed by required type or property name as in registerCustomEditor.
+	 * The Map is used as is rather than copied, so it can be shared by
+	 * short-lived BeanWrappers, e.g. those created by BindingPlan.
+	 * <p>As the editors may be in use by other threads, this BeanWrapper
+	 * and its nested BeanWrappers synchronize on an editor while using it
+	 * from now on, including editors registered later.
+	 * @see BindingPlan
+	 */
+	void setCustomEditors(Map customEditors) {
+		this.customEditors = customEditors;
+		this.sharedEditors = true;
+	}
+
+	/**
+	 * Return the introspection results for the class of the wrapped object.
+	 */
+	CachedIntrospectionResults getCachedIntrospectionResults() {
+		return this.cachedIntrospectionResults;
+	}
+
 
 	public void registerCustomEditor(Class requiredType, PropertyEditor propertyEditor) {
 		registerCustomEditor(requiredType, null, propertyEditor);
@@ -201,10 +288,11 @@ public class BeanWrapperImpl implements BeanWrapper {
 
 	public void registerCustomEditor(Class requiredType, String propertyPath, PropertyEditor propertyEditor) {
 		if (propertyPath != null) {
-			List bws = getBeanWrappersForPropertyPath(propertyPath);
+			PropertyPath path = PropertyPath.parse(propertyPath);
+			List bws = getBeanWrappersForPropertyPath(path, 0);
 			for (Iterator it = bws.iterator(); it.hasNext();) {
 				BeanWrapperImpl bw = (BeanWrapperImpl) it.next();
-				bw.doRegisterCustomEditor(requiredType, getFinalPath(propertyPath), propertyEditor);
+				bw.doRegisterCustomEditor(requiredType, path.getLastSegment().getPath(), propertyEditor);
 			}
 		}
 		else {
@@ -235,8 +323,9 @@ public class BeanWrapperImpl implements BeanWrapper {
 
 	public PropertyEditor findCustomEditor(Class requiredType, String propertyPath) {
 		if (propertyPath != null) {
-			BeanWrapperImpl bw = getBeanWrapperForPropertyPath(propertyPath);
-			return bw.doFindCustomEditor(requiredType, getFinalPath(propertyPath));
+			PropertyPath path = PropertyPath.parse(propertyPath);
+			BeanWrapperImpl bw = getBeanWrapperForPropertyPath(path);
+			return bw.doFindCustomEditor(requiredType, path.getLastSegment().getPath());
 		}
 		else {
 			return doFindCustomEditor(requiredType, propertyPath);
@@ -282,90 +371,78 @@ public class BeanWrapperImpl implements BeanWrapper {
 
 
 	/**
-	 * Is the property nested? That is, does it contain the nested
-	 * property separator (usually ".").
-	 * @param path property path
-	 * @return boolean is the property nested
-	 */
-	private boolean isNestedProperty(String path) {
-		return path.indexOf(NESTED_PROPERTY_SEPARATOR) != -1;
-	}
-
-	/**
-	 * Get the last component of the path. Also works if not nested.
-	 * @param nestedPath property path we know is nested
-	 * @return last component of the path (the property on the target bean)
-	 */
-	private String getFinalPath(String nestedPath) {
-		String finalPath = nestedPath.substring(nestedPath.lastIndexOf(NESTED_PROPERTY_SEPARATOR) + 1);
-		if (logger.isDebugEnabled() && !nestedPath.equals(finalPath)) {
-			logger.debug("Final path in nested property value '" + nestedPath + "' is '" + finalPath + "'");
-		}
-		return finalPath;
-	}
-
-	/**
-	 * Recursively navigate to return a BeanWrapper for the nested property path.
-	 * @param propertyPath property property path, which may be nested
+	 * Navigate to return a BeanWrapper for the nested property path,
+	 * i.e. for the bean that holds the last segment of the path.
+	 * @param path property path, which may be nested
 	 * @return a BeanWrapper for the target bean
 	 */
-	private BeanWrapperImpl getBeanWrapperForPropertyPath(String propertyPath) {
-		int pos = propertyPath.indexOf(NESTED_PROPERTY_SEPARATOR);
-		// Handle nested properties recursively
-		if (pos > -1) {
-			String nestedProperty = propertyPath.substring(0, pos);
-			String nestedPath = propertyPath.substring(pos + 1);
-			logger.debug("Navigating to nested property '" + nestedProperty + "' of property path '" + propertyPath + "'");
-			BeanWrapperImpl nestedBw = getNestedBeanWrapper(nestedProperty);
-			return nestedBw.getBeanWrapperForPropertyPath(nestedPath);
-		}
-		else {
-			return this;
+	private BeanWrapperImpl getBeanWrapperForPropertyPath(PropertyPath path) {
+		BeanWrapperImpl bw = this;
+		int nestedSegments = path.getSegmentCount() - 1;
+		for (int i = 0; i < nestedSegments; i++) {
+			PropertyPath.Segment segment = path.getSegment(i);
+			if (logger.isDebugEnabled()) {
+				logger.debug("Navigating to nested property '" + segment + "' of property path '" + path + "'");
+			}
+			bw = bw.getNestedBeanWrapper(segment);
 		}
+		return bw;
 	}
 
 	/**
 	 * Recursively navigate to return a BeanWrapper for the nested property path.
 	 * In case of an indexed or mapped property, all BeanWrappers that apply will
-	 * be returned.
-	 * @param propertyPath property property path, which may be nested
+	 * be returned. Used for registering editors, so the nested BeanWrappers
+	 * on the way get pinned in the cache.
+	 * @param path property path, which may be nested
+	 * @param segmentIndex the segment of the path that this BeanWrapper is at
 	 * @return a BeanWrapper for the target bean
 	 */
-	private List getBeanWrappersForPropertyPath(String propertyPath) {
+	private List getBeanWrappersForPropertyPath(PropertyPath path, int segmentIndex) {
 		List beanWrappers = new ArrayList();
-		int pos = propertyPath.indexOf(NESTED_PROPERTY_SEPARATOR);
 		// handle nested properties recursively
-		if (pos > -1) {
-			String nestedProperty = propertyPath.substring(0, pos);
-			String nestedPath = propertyPath.substring(pos + 1);
-			if (nestedProperty.indexOf('[') == -1) {
+		if (segmentIndex < path.getSegmentCount() - 1) {
+			PropertyPath.Segment segment = path.getSegment(segmentIndex);
+			if (segment.getKey() == null) {
+				String nestedProperty = segment.getName();
 				Class propertyType = getPropertyDescriptor(nestedProperty).getPropertyType();
 				if (propertyType.isArray()) {
 					Object[] array = (Object[]) getPropertyValue(nestedProperty);
 					for (int i = 0; i < array.length; i++) {
-						beanWrappers.addAll(
-								getBeanWrappersForNestedProperty(propertyPath, nestedProperty + "[" + i + "]", nestedPath));
+						beanWrappers.addAll(getBeanWrappersForNestedProperty(
+								path, segmentIndex, PropertyPath.Segment.forKey(nestedProperty, Integer.toString(i))));
 					}
 					return beanWrappers;
 				}
-				else if (List.class.isAssignableFrom(propertyType)) {
-					List list = (List) getPropertyValue(nestedProperty);
-					for (int i = 0; i < list.size(); i++) {
-						beanWrappers.addAll(
-								getBeanWrappersForNestedProperty(propertyPath, nestedProperty + "[" + i + "]", nestedPath));
+				else if (List.class.isAssignableFrom(propertyType) || Set.class.isAssignableFrom(propertyType)) {
+					Collection coll = (Collection) getPropertyValue(nestedProperty);
+					// serve the indexed access to each element from a single snapshot
+					if (this.elementSnapshots == null) {
+						this.elementSnapshots = new HashMap();
+					}
+					ElementSnapshot snapshot = new ElementSnapshot(coll);
+					this.elementSnapshots.put(nestedProperty, snapshot);
+					try {
+						for (int i = 0; i < snapshot.elements.length; i++) {
+							beanWrappers.addAll(getBeanWrappersForNestedProperty(
+									path, segmentIndex, PropertyPath.Segment.forKey(nestedProperty, Integer.toString(i))));
+						}
+					}
+					finally {
+						this.elementSnapshots.remove(nestedProperty);
 					}
 					return beanWrappers;
 				}
 				else if (Map.class.isAssignableFrom(propertyType)) {
 					Map map = (Map) getPropertyValue(nestedProperty);
 					for (Iterator it = map.keySet().iterator(); it.hasNext();) {
-						beanWrappers.addAll(
-								getBeanWrappersForNestedProperty(propertyPath, nestedProperty + "[" + it.next() + "]", nestedPath));
+						beanWrappers.addAll(getBeanWrappersForNestedProperty(
+								path, segmentIndex, PropertyPath.Segment.forKey(nestedProperty, String.valueOf(it.next()))));
 					}
 					return beanWrappers;
 				}
 			}
-			beanWrappers.addAll(getBeanWrappersForNestedProperty(propertyPath, nestedProperty, nestedPath));
+			beanWrappers.addAll(getBeanWrappersForNestedProperty(path, segmentIndex, segment));
 			return beanWrappers;
 		}
 		else {
@@ -374,10 +451,14 @@ public class BeanWrapperImpl implements BeanWrapper {
 		}
 	}
 
-	private List getBeanWrappersForNestedProperty(String propertyPath, String nestedProperty, String nestedPath) {
-		logger.debug("Navigating to nested property '" + nestedProperty + "' of property path '" + propertyPath + "'");
-		BeanWrapperImpl nestedBw = getNestedBeanWrapper(nestedProperty);
-		return nestedBw.getBeanWrappersForPropertyPath(nestedPath);
+	private List getBeanWrappersForNestedProperty(PropertyPath path, int segmentIndex, PropertyPath.Segment segment) {
+		if (logger.isDebugEnabled()) {
+			logger.debug("Navigating to nested property '" + segment + "' of property path '" + path + "'");
+		}
+		BeanWrapperImpl nestedBw = getNestedBeanWrapper(segment);
+		// pin it right away, before navigating further can evict it
+		pinNestedBeanWrapper(segment.getCanonicalName(), nestedBw);
+		return nestedBw.getBeanWrappersForPropertyPath(path, segmentIndex + 1);
 	}
 
 	/**
@@ -385,26 +466,35 @@ public class BeanWrapperImpl implements BeanWrapper {
 	 * Create a new one if not found in the cache.
 	 * <p>Note: Caching nested BeanWrappers is necessary now,
 	 * to keep registered custom editors for nested properties.
-	 * @param nestedProperty property to create the BeanWrapper for
+	 * @param segment property path segment to create the BeanWrapper for
 	 * @return the BeanWrapper instance, either cached or newly created
 	 */
-	private BeanWrapperImpl getNestedBeanWrapper(String nestedProperty) {
+	private BeanWrapperImpl getNestedBeanWrapper(PropertyPath.Segment segment) {
 		if (this.nestedBeanWrappers == null) {
-			this.nestedBeanWrappers = new HashMap();
+			this.nestedBeanWrappers = new NestedBeanWrapperCache();
 		}
 		// get value of bean property
-		String[] tokens = getPropertyNameTokens(nestedProperty);
-		Object propertyValue = getPropertyValue(tokens[0], tokens[1], tokens[2]);
-		String canonicalName = tokens[0];
+		Object propertyValue = getPropertyValue(segment);
+		String canonicalName = segment.getCanonicalName();
 		if (propertyValue == null) {
 			throw new NullValueInNestedPathException(getWrappedClass(), canonicalName);
 		}
 
 		// lookup cached sub-BeanWrapper, create new one if not found
-		BeanWrapperImpl nestedBw = (BeanWrapperImpl) this.nestedBeanWrappers.get(canonicalName);
+		BeanWrapperImpl nestedBw = null;
+		if (this.pinnedNestedBeanWrappers != null) {
+			nestedBw = (BeanWrapperImpl) this.pinnedNestedBeanWrappers.get(canonicalName);
+		}
+		if (nestedBw == null) {
+			nestedBw = (BeanWrapperImpl) this.nestedBeanWrappers.get(canonicalName);
+		}
 		if (nestedBw == null) {
-			logger.debug("Creating new nested BeanWrapper for property '" + canonicalName + "'");
+			if (logger.isDebugEnabled()) {
+				logger.debug("Creating new nested BeanWrapper for property '" + canonicalName + "'");
+			}
 			nestedBw = new BeanWrapperImpl(propertyValue, this.nestedPath + canonicalName + NESTED_PROPERTY_SEPARATOR);
+			nestedBw.conversionRegistry = this.conversionRegistry;
+			nestedBw.sharedEditors = this.sharedEditors;
 			// inherit all type-specific PropertyEditors
 			if (this.customEditors != null) {
 				for (Iterator it = this.customEditors.keySet().iterator(); it.hasNext();) {
@@ -418,71 +508,89 @@ public class BeanWrapperImpl implements BeanWrapper {
 			}
 			this.nestedBeanWrappers.put(canonicalName, nestedBw);
 		}
+		else if (nestedBw.object != propertyValue) {
+			// property value has been replaced (or released): rebind rather than reallocate
+			if (logger.isDebugEnabled()) {
+				logger.debug("Rebinding cached nested BeanWrapper for property '" + canonicalName + "'");
+			}
+			nestedBw.setWrappedInstance(propertyValue);
+			nestedBw.conversionRegistry = this.conversionRegistry;
+			nestedBw.sharedEditors = this.sharedEditors;
+		}
 		else {
-			logger.debug("Using cached nested BeanWrapper for property '" + canonicalName + "'");
+			if (logger.isDebugEnabled()) {
+				logger.debug("Using cached nested BeanWrapper for property '" + canonicalName + "'");
+			}
 		}
 		return nestedBw;
 	}
 
-	private String[] getPropertyNameTokens(String propertyName) {
-		String actualName = propertyName;
-		String key = null;
-		int keyStart = propertyName.indexOf('[');
-		if (keyStart != -1 && propertyName.endsWith("]")) {
-			actualName = propertyName.substring(0, keyStart);
-			key = propertyName.substring(keyStart + 1, propertyName.length() - 1);
-			if (key.startsWith("'") && key.endsWith("'")) {
-				key = key.substring(1, key.length() - 1);
-			}
-			else if (key.startsWith("\"") && key.endsWith("\"")) {
-				key = key.substring(1, key.length() - 1);
+	/**
+	 * Return the number of nested BeanWrappers currently cached,
+	 * including those pinned because they hold property editors.
+	 */
+	int getNestedBeanWrapperCount() {
+		return (this.nestedBeanWrappers != null ? this.nestedBeanWrappers.size() : 0) +
+		    (this.pinnedNestedBeanWrappers != null ? this.pinnedNestedBeanWrappers.size() : 0);
+	}
+
+	/**
+	 * Move the given nested BeanWrapper from the bounded cache to the pinned
+	 * ones, as it is going to hold an editor for a specific property,
+	 * itself or further down.
+	 */
+	private void pinNestedBeanWrapper(String canonicalName, BeanWrapperImpl nestedBw) {
+		if (this.nestedBeanWrappers.remove(canonicalName) != null) {
+			if (this.pinnedNestedBeanWrappers == null) {
+				this.pinnedNestedBeanWrappers = new HashMap();
 			}
+			this.pinnedNestedBeanWrappers.put(canonicalName, nestedBw);
 		}
-		String canonicalName = actualName;
-		if (key != null) {
-			canonicalName += "[" + key + "]";
-		}
-		return new String[] {canonicalName, actualName, key};
 	}
 
 
 	public Object getPropertyValue(String propertyName) throws BeansException {
-		if (isNestedProperty(propertyName)) {
-			BeanWrapper nestedBw = getBeanWrapperForPropertyPath(propertyName);
-			return nestedBw.getPropertyValue(getFinalPath(propertyName));
-		}
-		String[] tokens = getPropertyNameTokens(propertyName);
-		return getPropertyValue(tokens[0], tokens[1], tokens[2]);
+		PropertyPath path = PropertyPath.parse(propertyName);
+		BeanWrapperImpl bw = getBeanWrapperForPropertyPath(path);
+		return bw.getPropertyValue(path.getLastSegment());
 	}
 
-	private Object getPropertyValue(String propertyName, String actualName, String key) {
-		PropertyDescriptor pd = getPropertyDescriptor(actualName);
-		Method readMethod = pd.getReadMethod();
-		if (readMethod == null) {
-			throw new FatalBeanException("Cannot get property '" + actualName + "': not readable", null);
+	private Object getPropertyValue(PropertyPath.Segment segment) {
+		String propertyName = segment.getCanonicalName();
+		Object value = readPropertyValue(segment.getName());
+		if (segment.getKey() == null) {
+			return value;
+		}
+		if (value == null) {
+			throw new FatalBeanException("Cannot access indexed value in property referenced in indexed property path '" +
+			                             propertyName + "': returned null");
 		}
-		if (logger.isDebugEnabled())
-			logger.debug("About to invoke read method [" + readMethod +
-			             "] on object of class [" + this.object.getClass().getName() + "]");
 		try {
-			Object value = readMethod.invoke(this.object, null);
-			if (key != null) {
-				if (value == null) {
-					throw new FatalBeanException("Cannot access indexed value in property referenced in indexed property path '" +
-					                             propertyName + "': returned null");
-				}
-				else if (value.getClass().isArray()) {
-					Object[] array = (Object[]) value;
-					return array[Integer.parseInt(key)];
+			if (value.getClass().isArray()) {
+				Object[] array = (Object[]) value;
+				return array[getIndex(segment)];
+			}
+			else if (value instanceof List && value instanceof RandomAccess) {
+				List list = (List) value;
+				return list.get(getIndex(segment));
+			}
+			else if (value instanceof List) {
+				Object[] elements = findElementSnapshot(segment.getName(), (List) value);
+				if (elements != null) {
+					return elements[getIndex(segment)];
 				}
-				else if (value instanceof List) {
-					List list = (List) value;
-					return list.get(Integer.parseInt(key));
+				List list = (List) value;
+				return list.get(getIndex(segment));
+			}
+			else if (value instanceof Set) {
+				Set set = (Set) value;
+				int index = getIndex(segment);
+				Object[] elements = findElementSnapshot(segment.getName(), set);
+				if (elements != null && index < elements.length) {
+					return elements[index];
 				}
-				else if (value instanceof Set) {
+				else if (elements == null) {
 					// apply index to Iterator in case of a Set
-					Set set = (Set) value;
-					int index = Integer.parseInt(key);
 					Iterator it = set.iterator();
 					for (int i = 0; it.hasNext(); i++) {
 						Object elem = it.next();
@@ -490,71 +598,153 @@ public class BeanWrapperImpl implements BeanWrapper {
 							return elem;
 						}
 					}
-					throw new FatalBeanException("Cannot get element with index " + index + " from Set of size " +
-																			 set.size() + ", accessed using property path '" + propertyName + "'");
-				}
-				else if (value instanceof Map) {
-					Map map = (Map) value;
-					return map.get(key);
-				}
-				else {
-					throw new FatalBeanException("Property referenced in indexed property path '" + propertyName +
-					                             "' is neither an array nor a List nor a Map; returned value was [" + value + "]");
 				}
+				throw new FatalBeanException("Cannot get element with index " + index + " from Set of size " +
+																		 set.size() + ", accessed using property path '" + propertyName + "'");
+			}
+			else if (value instanceof Map) {
+				Map map = (Map) value;
+				return map.get(segment.getKey());
 			}
 			else {
-				return value;
+				throw new FatalBeanException("Property referenced in indexed property path '" + propertyName +
+				                             "' is neither an array nor a List nor a Map; returned value was [" + value + "]");
 			}
 		}
-		catch (InvocationTargetException ex) {
-			throw new FatalBeanException("Getter for property '" + actualName + "' threw exception", ex);
-		}
-		catch (IllegalAccessException ex) {
-			throw new FatalBeanException("Illegal attempt to get property '" + actualName + "' threw exception", ex);
-		}
 		catch (IndexOutOfBoundsException ex) {
 			throw new FatalBeanException("Index of out of bounds in property path '" + propertyName + "'", ex);
 		}
-		catch (NumberFormatException ex) {
-			throw new FatalBeanException("Invalid index in property path '" + propertyName + "'");
+	}
+
+	/**
+	 * Return the snapshot of the elements of the given collection, held by
+	 * the given property, if a property path is being expanded over it.
+	 * Outside of such an expansion, the collection may be modified by code
+	 * other than this BeanWrapper at any time, so indexed access has to
+	 * go to the collection itself.
+	 * @return the elements in iteration order, or null if there is no snapshot
+	 */
+	private Object[] findElementSnapshot(String propertyName, Collection coll) {
+		if (this.elementSnapshots == null) {
+			return null;
+		}
+		ElementSnapshot snapshot = (ElementSnapshot) this.elementSnapshots.get(propertyName);
+		return (snapshot != null && snapshot.collection == coll ? snapshot.elements : null);
+	}
+
+	/**
+	 * Return the value of the given simple (non-nested, non-indexed) property,
+	 * read through the accessor of the bean class.
+	 */
+	private Object readPropertyValue(String propertyName) {
+		int index = this.cachedIntrospectionResults.getPropertyIndex(propertyName);
+		PropertyDescriptor pd = this.cachedIntrospectionResults.getPropertyDescriptor(index);
+		if (pd.getReadMethod() == null) {
+			throw new FatalBeanException("Cannot get property '" + propertyName + "': not readable", null);
+		}
+		if (logger.isDebugEnabled())
+			logger.debug("About to invoke read method [" + pd.getReadMethod() +
+			             "] on object of class [" + this.object.getClass().getName() + "]");
+		try {
+			return this.cachedIntrospectionResults.getAccessor().get(this.object, index);
+		}
+		catch (Error err) {
+			throw err;
+		}
+		catch (Throwable ex) {
+			throw createReadException(propertyName, ex);
+		}
+	}
+
+	/**
+	 * Create the exception to throw for the given exception thrown
+	 * by the accessor when reading the given property.
+	 */
+	private FatalBeanException createReadException(String propertyName, Throwable ex) {
+		if (ex instanceof IllegalAccessException) {
+			return new FatalBeanException("Illegal attempt to get property '" + propertyName + "' threw exception", ex);
+		}
+		return new FatalBeanException("Getter for property '" + propertyName + "' threw exception", ex);
+	}
+
+	/**
+	 * Return the index specified by the given segment.
+	 * @throws FatalBeanException if the key is not a valid index
+	 */
+	private int getIndex(PropertyPath.Segment segment) {
+		if (!segment.hasIndex()) {
+			throw new FatalBeanException("Invalid index in property path '" + segment.getCanonicalName() + "'");
 		}
+		return segment.getIndex();
 	}
 
 	public void setPropertyValue(String propertyName, Object value) throws BeansException {
-		if (isNestedProperty(propertyName)) {
-			try {
-				BeanWrapper nestedBw = getBeanWrapperForPropertyPath(propertyName);
-				nestedBw.setPropertyValue(new PropertyValue(getFinalPath(propertyName), value));
-				return;
-			}
-			catch (NullValueInNestedPathException ex) {
-				// let this through
-				throw ex;
-			}
-			catch (FatalBeanException ex) {
-				// error in the nested path
-				throw new NotWritablePropertyException(propertyName, getWrappedClass(), ex);
-			}
+		PropertyPath path = PropertyPath.parse(propertyName);
+		setPropertyValue(getBeanWrapperForWrite(path), path, value);
+	}
+
+	/**
+	 * Set the last segment of the given path on the given BeanWrapper, as
+	 * returned by getBeanWrapperForWrite. Like errors in the nested path,
+	 * errors on the last segment of a nested path are reported as
+	 * NotWritablePropertyException for the full path.
+	 */
+	private void setPropertyValue(BeanWrapperImpl bw, PropertyPath path, Object value) throws BeansException {
+		if (!path.isNested()) {
+			bw.setPropertyValue(path.getLastSegment(), value);
+			return;
+		}
+		try {
+			bw.setPropertyValue(path.getLastSegment(), value);
+		}
+		catch (NullValueInNestedPathException ex) {
+			// let this through
+			throw ex;
+		}
+		catch (FatalBeanException ex) {
+			throw new NotWritablePropertyException(path.getPath(), getWrappedClass(), ex);
 		}
-		String[] tokens = getPropertyNameTokens(propertyName);
-		setPropertyValue(tokens[0], tokens[1], tokens[2], value);
 	}
 
-	private void setPropertyValue(String propertyName, String actualName, String key, Object value)
-			throws BeansException {
-		if (key != null) {
-			Object propValue = getPropertyValue(actualName);
+	/**
+	 * Return the BeanWrapper to set the last segment of the given path on,
+	 * turning errors in the nested path into NotWritablePropertyExceptions.
+	 */
+	private BeanWrapperImpl getBeanWrapperForWrite(PropertyPath path) throws BeansException {
+		if (!path.isNested()) {
+			return this;
+		}
+		try {
+			return getBeanWrapperForPropertyPath(path);
+		}
+		catch (NullValueInNestedPathException ex) {
+			// let this through
+			throw ex;
+		}
+		catch (FatalBeanException ex) {
+			// error in the nested path
+			throw new NotWritablePropertyException(path.getPath(), getWrappedClass(), ex);
+		}
+	}
+
+	private void setPropertyValue(PropertyPath.Segment segment, Object value) throws BeansException {
+		String propertyName = segment.getCanonicalName();
+		if (segment.getKey() != null) {
+			Object propValue = readPropertyValue(segment.getName());
 			if (propValue == null) {
 				throw new FatalBeanException("Cannot access indexed value in property referenced in indexed property path '" +
 																		 propertyName + "': returned null");
 			}
 			else if (propValue.getClass().isArray()) {
 				Object[] array = (Object[]) propValue;
-				array[Integer.parseInt(key)] = value;
+				array[getIndex(segment)] = value;
 			}
 			else if (propValue instanceof List) {
 				List list = (List) propValue;
-				int index = Integer.parseInt(key);
+				int index = getIndex(segment);
+				if (this.elementSnapshots != null) {
+					this.elementSnapshots.remove(segment.getName());
+				}
 				if (index < list.size()) {
 					list.set(index, value);
 				}
@@ -574,7 +764,7 @@ public class BeanWrapperImpl implements BeanWrapper {
 			}
 			else if (propValue instanceof Map) {
 				Map map = (Map) propValue;
-				map.put(key, value);
+				map.put(segment.getKey(), value);
 			}
 			else {
 				throw new FatalBeanException("Property referenced in indexed property path '" + propertyName +
@@ -582,62 +772,124 @@ public class BeanWrapperImpl implements BeanWrapper {
 			}
 		}
 		else {
-			if (!isWritableProperty(propertyName)) {
+			int index = this.cachedIntrospectionResults.findPropertyIndex(propertyName);
+			if (index == -1 || this.cachedIntrospectionResults.getPropertyDescriptor(index).getWriteMethod() == null) {
 				throw new NotWritablePropertyException(propertyName, getWrappedClass());
 			}
-			PropertyDescriptor pd = getPropertyDescriptor(propertyName);
-			Method writeMethod = pd.getWriteMethod();
-			Object newValue = null;
-			try {
-				// old value may still be null
-				newValue = doTypeConversionIfNecessary(propertyName, propertyName, null, value, pd.getPropertyType());
+			PropertyDescriptor pd = this.cachedIntrospectionResults.getPropertyDescriptor(index);
+			Object newValue = convertForProperty(propertyName, value, pd.getPropertyType());
+			invokeWriteMethod(pd, index, value, newValue);
+		}
+	}
 
-				if (pd.getPropertyType().isPrimitive() &&
-						(newValue == null || "".equals(newValue))) {
-					throw new IllegalArgumentException("Invalid value [" + value + "] for property '" +
-								pd.getName() + "' of primitive type [" + pd.getPropertyType() + "]");
-				}
+	/**
+	 * Convert the given value for the given simple property,
+	 * turning conversion failures into a TypeMismatchException.
+	 * @param propertyName the name of the property
+	 * @param value the original value
+	 * @param requiredType the type of the property
+	 * @return the converted value
+	 * @throws TypeMismatchException if the value could not be converted
+	 */
+	Object convertForProperty(String propertyName, Object value, Class requiredType) throws BeansException {
+		try {
+			// old value may still be null
+			return doTypeConversionIfNecessary(propertyName, propertyName, null, value, requiredType);
+		}
+		catch (IllegalArgumentException ex) {
+			throw new TypeMismatchException(createPropertyChangeEvent(propertyName, null, null), requiredType, ex);
+		}
+	}
 
-				if (logger.isDebugEnabled()) {
-					logger.debug("About to invoke write method [" + writeMethod +
-											 "] on object of class [" + object.getClass().getName() + "]");
-				}
-				writeMethod.invoke(this.object, new Object[] { newValue });
-				if (logger.isDebugEnabled()) {
-					String msg = "Invoked write method [" + writeMethod + "] with value ";
-					// only cause toString invocation of new value in case of simple property
-					if (newValue == null || BeanUtils.isSimpleProperty(pd.getPropertyType())) {
-						logger.debug(msg + "[" + newValue + "]");
-					}
-					else {
-						logger.debug(msg + "of type [" + pd.getPropertyType().getName() + "]");
-					}
-				}
-			}
-			catch (InvocationTargetException ex) {
-				// TODO could consider getting rid of PropertyChangeEvents as exception parameters
-				// as they can never contain anything but null for the old value as we no longer
-				// support event propagation.
-				PropertyChangeEvent propertyChangeEvent = new PropertyChangeEvent(this.object, this.nestedPath + propertyName,
-																																					null, newValue);
-				if (ex.getTargetException() instanceof ClassCastException) {
-					throw new TypeMismatchException(propertyChangeEvent, pd.getPropertyType(), ex.getTargetException());
-				}
-				else {
-					throw new MethodInvocationException(ex.getTargetException(), propertyChangeEvent);
-				}
-			}
-			catch (IllegalAccessException ex) {
-				throw new FatalBeanException("Illegal attempt to set property [" + value + "] threw exception", ex);
+	/**
+	 * Convert the given value for the given simple property like
+	 * convertForProperty, recording a conversion failure in the given
+	 * BindingErrors rather than throwing a TypeMismatchException.
+	 * @return the converted value, or CONVERSION_FAILED
+	 */
+	Object convertForProperty(String propertyName, Object value, Class requiredType, BindingErrors errors)
+			throws BeansException {
+		Object newValue = null;
+		try {
+			newValue = convertValue(propertyName, propertyName, value, requiredType);
+		}
+		catch (IllegalArgumentException ex) {
+			newValue = new ConversionFailure(propertyName, value, requiredType, ex);
+		}
+		if (newValue instanceof ConversionFailure) {
+			ConversionFailure failure = (ConversionFailure) newValue;
+			errors.addError(this.nestedPath + failure.propertyDescriptor, failure.value, failure.requiredType,
+			                BindingError.TYPE_MISMATCH, failure.cause);
+			return CONVERSION_FAILED;
+		}
+		return newValue;
+	}
+
+	/**
+	 * Write the given, already converted value to the property with the
+	 * given descriptor and index, through the accessor of the bean class.
+	 * @param pd the descriptor of the property
+	 * @param index the index of the property
+	 * @param value the original value, for error messages
+	 * @param newValue the converted value to write
+	 * @throws TypeMismatchException if the value is not assignable to the property
+	 * @throws MethodInvocationException if the write method threw an exception
+	 */
+	void invokeWriteMethod(PropertyDescriptor pd, int index, Object value, Object newValue)
+			throws BeansException {
+		Class propertyType = pd.getPropertyType();
+		if (propertyType.isPrimitive() && (newValue == null || "".equals(newValue))) {
+			throw new TypeMismatchException(createPropertyChangeEvent(pd.getName(), null, newValue), propertyType,
+			                                createInvalidPrimitiveException(pd, value));
+		}
+		Object argument = BeanAccessor.adaptArgument(pd.getWriteMethod().getParameterTypes()[0], newValue);
+		if (argument == BeanAccessor.NOT_ASSIGNABLE) {
+			throw new TypeMismatchException(createPropertyChangeEvent(pd.getName(), null, newValue), propertyType,
+			                                new IllegalArgumentException("argument type mismatch"));
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("About to invoke write method [" + pd.getWriteMethod() +
+									 "] on object of class [" + this.object.getClass().getName() + "]");
+		}
+		try {
+			this.cachedIntrospectionResults.getAccessor().set(this.object, index, argument);
+		}
+		catch (Error err) {
+			throw err;
+		}
+		catch (Throwable ex) {
+			throw createWriteException(pd, value, newValue, ex);
+		}
+		if (logger.isDebugEnabled()) {
+			String msg = "Invoked write method [" + pd.getWriteMethod() + "] with value ";
+			// only cause toString invocation of new value in case of simple property
+			if (newValue == null || BeanUtils.isSimpleProperty(propertyType)) {
+				logger.debug(msg + "[" + newValue + "]");
 			}
-			catch (IllegalArgumentException ex) {
-				PropertyChangeEvent propertyChangeEvent = new PropertyChangeEvent(this.object, this.nestedPath + propertyName,
-																																					null, newValue);
-				throw new TypeMismatchException(propertyChangeEvent, pd.getPropertyType(), ex);
+			else {
+				logger.debug(msg + "of type [" + propertyType.getName() + "]");
 			}
 		}
 	}
 
+	/**
+	 * Create the exception to throw for the given exception thrown
+	 * by the accessor when writing the given property.
+	 */
+	private BeansException createWriteException(PropertyDescriptor pd, Object value, Object newValue, Throwable ex) {
+		if (ex instanceof ClassCastException) {
+			return new TypeMismatchException(createPropertyChangeEvent(pd.getName(), null, newValue),
+			                                 pd.getPropertyType(), ex);
+		}
+		if (ex instanceof IllegalAccessException) {
+			return new FatalBeanException("Illegal attempt to set property [" + value + "] threw exception", ex);
+		}
+		// TODO could consider getting rid of PropertyChangeEvents as exception parameters
+		// as they can never contain anything but null for the old value as we no longer
+		// support event propagation.
+		return new MethodInvocationException(ex, createPropertyChangeEvent(pd.getName(), null, newValue));
+	}
+
 	public void setPropertyValue(PropertyValue pv) throws BeansException {
 		setPropertyValue(pv.getName(), pv.getValue());
 	}
@@ -690,7 +942,83 @@ public class BeanWrapperImpl implements BeanWrapper {
 		}
 	}
 
-	private PropertyChangeEvent createPropertyChangeEvent(String propertyName, Object oldValue, Object newValue)
+	public void setPropertyValues(PropertyValues propertyValues, boolean ignoreUnknown, BindingErrors errors)
+			throws BeansException {
+		PropertyValue[] pvs = propertyValues.getPropertyValues();
+		for (int i = 0; i < pvs.length && !errors.isMaxErrorsReached(); i++) {
+			String propertyName = pvs[i].getName();
+			Object value = pvs[i].getValue();
+			PropertyPath path = PropertyPath.parse(propertyName);
+			if (path.isNested() || path.getLastSegment().getKey() != null) {
+				// nested and indexed properties: collect exceptions as usual
+				try {
+					setPropertyValue(getBeanWrapperForWrite(path), path, value);
+				}
+				catch (NotWritablePropertyException ex) {
+					if (!ignoreUnknown) {
+						throw ex;
+					}
+				}
+				catch (PropertyAccessException ex) {
+					errors.addError(ex);
+				}
+				continue;
+			}
+			int index = this.cachedIntrospectionResults.findPropertyIndex(propertyName);
+			if (index == -1 || this.cachedIntrospectionResults.getPropertyDescriptor(index).getWriteMethod() == null) {
+				if (!ignoreUnknown) {
+					throw new NotWritablePropertyException(propertyName, getWrappedClass());
+				}
+				continue;
+			}
+			PropertyDescriptor pd = this.cachedIntrospectionResults.getPropertyDescriptor(index);
+			Object newValue = convertForProperty(propertyName, value, pd.getPropertyType(), errors);
+			if (newValue != CONVERSION_FAILED) {
+				writeBoundValue(pd, index, value, newValue, errors);
+			}
+		}
+	}
+
+	/**
+	 * Write the given converted value like invokeWriteMethod,
+	 * recording recoverable failures in the given BindingErrors.
+	 * @see #invokeWriteMethod
+	 */
+	private void writeBoundValue(PropertyDescriptor pd, int index, Object value, Object newValue, BindingErrors errors)
+			throws BeansException {
+		Class propertyType = pd.getPropertyType();
+		if (propertyType.isPrimitive() && (newValue == null || "".equals(newValue))) {
+			errors.addNotAssignableError(this.nestedPath + pd.getName(), value, propertyType);
+			return;
+		}
+		Object argument = BeanAccessor.adaptArgument(pd.getWriteMethod().getParameterTypes()[0], newValue);
+		if (argument == BeanAccessor.NOT_ASSIGNABLE) {
+			errors.addNotAssignableError(this.nestedPath + pd.getName(), newValue, propertyType);
+			return;
+		}
+		try {
+			this.cachedIntrospectionResults.getAccessor().set(this.object, index, argument);
+		}
+		catch (ClassCastException ex) {
+			errors.addError(this.nestedPath + pd.getName(), newValue, propertyType, BindingError.TYPE_MISMATCH, ex);
+		}
+		catch (IllegalAccessException ex) {
+			throw createWriteException(pd, value, newValue, ex);
+		}
+		catch (Error err) {
+			throw err;
+		}
+		catch (Throwable ex) {
+			errors.addError(this.nestedPath + pd.getName(), newValue, propertyType, BindingError.METHOD_INVOCATION, ex);
+		}
+	}
+
+	private static IllegalArgumentException createInvalidPrimitiveException(PropertyDescriptor pd, Object value) {
+		return new IllegalArgumentException("Invalid value [" + value + "] for property '" +
+		                                    pd.getName() + "' of primitive type [" + pd.getPropertyType() + "]");
+	}
+
+	PropertyChangeEvent createPropertyChangeEvent(String propertyName, Object oldValue, Object newValue)
 			throws BeansException {
 		return new PropertyChangeEvent((this.object != null ? this.object : "constructor"),
 		                               (propertyName != null ? this.nestedPath + propertyName : null),
@@ -725,6 +1053,28 @@ public class BeanWrapperImpl implements BeanWrapper {
 	protected Object doTypeConversionIfNecessary(String propertyName, String propertyDescriptor,
 																							 Object oldValue, Object newValue,
 																							 Class requiredType) throws BeansException {
+		Object convertedValue = convertValue(propertyName, propertyDescriptor, newValue, requiredType);
+		if (convertedValue instanceof ConversionFailure) {
+			ConversionFailure failure = (ConversionFailure) convertedValue;
+			PropertyChangeEvent pce = createPropertyChangeEvent(
+					failure.propertyDescriptor, (failure.propertyDescriptor == propertyDescriptor ? oldValue : null),
+					failure.value);
+			if (failure.cause != null) {
+				throw new TypeMismatchException(pce, failure.requiredType, failure.cause);
+			}
+			throw new TypeMismatchException(pce, failure.requiredType);
+		}
+		return convertedValue;
+	}
+
+	/**
+	 * Convert the value to the required type, without throwing an exception
+	 * if the value cannot be converted.
+	 * @return the converted value, or a ConversionFailure
+	 * @see #doTypeConversionIfNecessary(String, String, Object, Object, Class)
+	 */
+	private Object convertValue(String propertyName, String propertyDescriptor, Object newValue, Class requiredType)
+			throws BeansException {
 		if (newValue != null) {
 
 			if (requiredType.isArray()) {
@@ -734,8 +1084,10 @@ public class BeanWrapperImpl implements BeanWrapper {
 					List list = (List) newValue;
 					Object result = Array.newInstance(componentType, list.size());
 					for (int i = 0; i < list.size(); i++) {
-						Object value = doTypeConversionIfNecessary(propertyName, propertyName + "[" + i + "]",
-																											 null, list.get(i), componentType);
+						Object value = convertValue(propertyName, propertyName + "[" + i + "]", list.get(i), componentType);
+						if (value instanceof ConversionFailure) {
+							return value;
+						}
 						Array.set(result, i, value);
 					}
 					return result;
@@ -744,8 +1096,10 @@ public class BeanWrapperImpl implements BeanWrapper {
 					Object[] array = (Object[]) newValue;
 					Object result = Array.newInstance(componentType, array.length);
 					for (int i = 0; i < array.length; i++) {
-						Object value = doTypeConversionIfNecessary(propertyName, propertyName + "[" + i + "]",
-																											 null, array[i], componentType);
+						Object value = convertValue(propertyName, propertyName + "[" + i + "]", array[i], componentType);
+						if (value instanceof ConversionFailure) {
+							return value;
+						}
 						Array.set(result, i, value);
 					}
 					return result;
@@ -765,47 +1119,42 @@ public class BeanWrapperImpl implements BeanWrapper {
 					newValue = StringUtils.arrayToCommaDelimitedString((String[]) newValue);
 				}
 
-				if (newValue instanceof String) {
-					if (pe == null) {
-						// no custom editor -> check BeanWrapper's default editors
-						pe = findDefaultEditor(requiredType);
-						if (pe == null) {
-							// no BeanWrapper default editor -> check standard JavaBean editors
-							pe = PropertyEditorManager.findEditor(requiredType);
-						}
-					}
-					if (pe != null) {
-						// use PropertyEditor's setAsText in case of a String value
+				if (pe == null) {
+					// no custom editor -> check default conversions, e.g. default editors
+					Converter converter = this.conversionRegistry.getConverter(newValue.getClass(), requiredType);
+					if (converter != null) {
 						if (logger.isDebugEnabled()) {
-							logger.debug("Converting String to [" + requiredType + "] using property editor [" + pe + "]");
+							logger.debug("Converting [" + newValue.getClass().getName() + "] to [" + requiredType +
+							             "] using converter [" + converter + "]");
 						}
 						try {
-							pe.setAsText((String) newValue);
-							newValue = pe.getValue();
+							newValue = converter.convert(newValue, requiredType);
 						}
 						catch (IllegalArgumentException ex) {
-							throw new TypeMismatchException(createPropertyChangeEvent(propertyDescriptor, oldValue, newValue),
-																							requiredType, ex);
+							return new ConversionFailure(propertyDescriptor, newValue, requiredType, ex);
 						}
 					}
-					else {
-						throw new TypeMismatchException(createPropertyChangeEvent(propertyDescriptor, oldValue, newValue),
-																						requiredType);
+					else if (newValue instanceof String) {
+						return new ConversionFailure(propertyDescriptor, newValue, requiredType, null);
 					}
 				}
 
-				else if (pe != null) {
-					// Not a String -> use PropertyEditor's setValue.
-					// With standard PropertyEditors, this will return the very same object;
-					// we just want to allow special PropertyEditors to override setValue
-					// for type conversion from non-String values to the required type.
+				else {
+					if (newValue instanceof String && logger.isDebugEnabled()) {
+						logger.debug("Converting String to [" + requiredType + "] using property editor [" + pe + "]");
+					}
 					try {
-						pe.setValue(newValue);
-						newValue = pe.getValue();
+						if (this.sharedEditors) {
+							synchronized (pe) {
+								newValue = convertWithEditor(pe, newValue);
+							}
+						}
+						else {
+							newValue = convertWithEditor(pe, newValue);
+						}
 					}
 					catch (IllegalArgumentException ex) {
-						throw new TypeMismatchException(createPropertyChangeEvent(propertyDescriptor, oldValue, newValue),
-																						requiredType, ex);
+						return new ConversionFailure(propertyDescriptor, newValue, requiredType, ex);
 					}
 				}
 			}
@@ -813,8 +1162,10 @@ public class BeanWrapperImpl implements BeanWrapper {
 			if (requiredType.isArray() && !newValue.getClass().isArray()) {
 				Class componentType = requiredType.getComponentType();
 				Object result = Array.newInstance(componentType, 1) ;
-				Object val = doTypeConversionIfNecessary(propertyName, propertyName + "[" + 0 + "]",
-																								 null, newValue, componentType);
+				Object val = convertValue(propertyName, propertyName + "[" + 0 + "]", newValue, componentType);
+				if (val instanceof ConversionFailure) {
+					return val;
+				}
 				Array.set(result, 0, val) ;
 				return result;
 			}
@@ -823,14 +1174,247 @@ public class BeanWrapperImpl implements BeanWrapper {
 		return newValue;
 	}
 
-	private PropertyEditor findDefaultEditor(Class type) {
-		Class editorClass = (Class) defaultEditors.get(type);
-		if (editorClass != null) {
-			return (PropertyEditor) BeanUtils.instantiateClass(editorClass);
+
+	/**
+	 * Convert the given value with the given PropertyEditor.
+	 * The caller is responsible for locking shared editors.
+	 */
+	private static Object convertWithEditor(PropertyEditor pe, Object value) throws IllegalArgumentException {
+		if (value instanceof String) {
+			// use PropertyEditor's setAsText in case of a String value
+			pe.setAsText((String) value);
 		}
 		else {
-			return null;
+			// Not a String -> use PropertyEditor's setValue.
+			// With standard PropertyEditors, this will return the very same object;
+			// we just want to allow special PropertyEditors to override setValue
+			// for type conversion from non-String values to the required type.
+			pe.setValue(value);
+		}
+		return pe.getValue();
+	}
+
+
+	//---------------------------------------------------------------------
+	// Primitive property access
+	//---------------------------------------------------------------------
+
+	public int getInt(String propertyPath) throws BeansException {
+		PropertyPath path = PropertyPath.parse(propertyPath);
+		BeanWrapperImpl bw = getBeanWrapperForPropertyPath(path);
+		int index = bw.findPrimitiveProperty(path.getLastSegment(), int.class, true);
+		if (index == -1) {
+			return bw.getNumericPropertyValue(path.getLastSegment(), int.class).intValue();
+		}
+		try {
+			return bw.cachedIntrospectionResults.getAccessor().getInt(bw.object, index);
+		}
+		catch (Error err) {
+			throw err;
+		}
+		catch (Throwable ex) {
+			throw bw.createReadException(path.getLastSegment().getName(), ex);
+		}
+	}
+
+	public long getLong(String propertyPath) throws BeansException {
+		PropertyPath path = PropertyPath.parse(propertyPath);
+		BeanWrapperImpl bw = getBeanWrapperForPropertyPath(path);
+		int index = bw.findPrimitiveProperty(path.getLastSegment(), long.class, true);
+		if (index == -1) {
+			return bw.getNumericPropertyValue(path.getLastSegment(), long.class).longValue();
+		}
+		try {
+			return bw.cachedIntrospectionResults.getAccessor().getLong(bw.object, index);
+		}
+		catch (Error err) {
+			throw err;
+		}
+		catch (Throwable ex) {
+			throw bw.createReadException(path.getLastSegment().getName(), ex);
+		}
+	}
+
+	public double getDouble(String propertyPath) throws BeansException {
+		PropertyPath path = PropertyPath.parse(propertyPath);
+		BeanWrapperImpl bw = getBeanWrapperForPropertyPath(path);
+		int index = bw.findPrimitiveProperty(path.getLastSegment(), double.class, true);
+		if (index == -1) {
+			return bw.getNumericPropertyValue(path.getLastSegment(), double.class).doubleValue();
+		}
+		try {
+			return bw.cachedIntrospectionResults.getAccessor().getDouble(bw.object, index);
+		}
+		catch (Error err) {
+			throw err;
+		}
+		catch (Throwable ex) {
+			throw bw.createReadException(path.getLastSegment().getName(), ex);
+		}
+	}
+
+	public boolean getBoolean(String propertyPath) throws BeansException {
+		PropertyPath path = PropertyPath.parse(propertyPath);
+		BeanWrapperImpl bw = getBeanWrapperForPropertyPath(path);
+		int index = bw.findPrimitiveProperty(path.getLastSegment(), boolean.class, true);
+		if (index == -1) {
+			Object value = bw.getPropertyValue(path.getLastSegment());
+			if (!(value instanceof Boolean)) {
+				throw new FatalBeanException("Value [" + value + "] of property '" + bw.nestedPath +
+				                             path.getLastSegment().getCanonicalName() + "' is not a boolean");
+			}
+			return ((Boolean) value).booleanValue();
+		}
+		try {
+			return bw.cachedIntrospectionResults.getAccessor().getBoolean(bw.object, index);
+		}
+		catch (Error err) {
+			throw err;
+		}
+		catch (Throwable ex) {
+			throw bw.createReadException(path.getLastSegment().getName(), ex);
+		}
+	}
+
+	public void setInt(String propertyPath, int value) throws BeansException {
+		PropertyPath path = PropertyPath.parse(propertyPath);
+		BeanWrapperImpl bw = getBeanWrapperForWrite(path);
+		int index = bw.findPrimitiveProperty(path.getLastSegment(), int.class, false);
+		if (index == -1) {
+			setPropertyValue(bw, path, new Integer(value));
+			return;
+		}
+		try {
+			bw.cachedIntrospectionResults.getAccessor().setInt(bw.object, index, value);
+		}
+		catch (Error err) {
+			throw err;
+		}
+		catch (Throwable ex) {
+			Integer boxed = new Integer(value);
+			throw bw.createWriteException(bw.cachedIntrospectionResults.getPropertyDescriptor(index), boxed, boxed, ex);
+		}
+	}
+
+	public void setLong(String propertyPath, long value) throws BeansException {
+		PropertyPath path = PropertyPath.parse(propertyPath);
+		BeanWrapperImpl bw = getBeanWrapperForWrite(path);
+		int index = bw.findPrimitiveProperty(path.getLastSegment(), long.class, false);
+		if (index == -1) {
+			setPropertyValue(bw, path, new Long(value));
+			return;
+		}
+		try {
+			bw.cachedIntrospectionResults.getAccessor().setLong(bw.object, index, value);
+		}
+		catch (Error err) {
+			throw err;
+		}
+		catch (Throwable ex) {
+			Long boxed = new Long(value);
+			throw bw.createWriteException(bw.cachedIntrospectionResults.getPropertyDescriptor(index), boxed, boxed, ex);
+		}
+	}
+
+	public void setDouble(String propertyPath, double value) throws BeansException {
+		PropertyPath path = PropertyPath.parse(propertyPath);
+		BeanWrapperImpl bw = getBeanWrapperForWrite(path);
+		int index = bw.findPrimitiveProperty(path.getLastSegment(), double.class, false);
+		if (index == -1) {
+			setPropertyValue(bw, path, new Double(value));
+			return;
+		}
+		try {
+			bw.cachedIntrospectionResults.getAccessor().setDouble(bw.object, index, value);
+		}
+		catch (Error err) {
+			throw err;
+		}
+		catch (Throwable ex) {
+			Double boxed = new Double(value);
+			throw bw.createWriteException(bw.cachedIntrospectionResults.getPropertyDescriptor(index), boxed, boxed, ex);
+		}
+	}
+
+	public void setBoolean(String propertyPath, boolean value) throws BeansException {
+		PropertyPath path = PropertyPath.parse(propertyPath);
+		BeanWrapperImpl bw = getBeanWrapperForWrite(path);
+		int index = bw.findPrimitiveProperty(path.getLastSegment(), boolean.class, false);
+		if (index == -1) {
+			setPropertyValue(bw, path, (value ? Boolean.TRUE : Boolean.FALSE));
+			return;
+		}
+		try {
+			bw.cachedIntrospectionResults.getAccessor().setBoolean(bw.object, index, value);
+		}
+		catch (Error err) {
+			throw err;
+		}
+		catch (Throwable ex) {
+			Boolean boxed = (value ? Boolean.TRUE : Boolean.FALSE);
+			throw bw.createWriteException(bw.cachedIntrospectionResults.getPropertyDescriptor(index), boxed, boxed, ex);
+		}
+	}
+
+	/**
+	 * Find the index of the simple property of exactly the given primitive
+	 * type that the given segment refers to, for non-boxing access.
+	 * @param segment the last segment of the property path
+	 * @param type the primitive type
+	 * @param read whether the property needs to be readable or writable
+	 * @return the property index, or -1 if the property needs to be accessed
+	 * the regular way (which will also take care of error handling)
+	 */
+	private int findPrimitiveProperty(PropertyPath.Segment segment, Class type, boolean read) {
+		if (segment.getKey() != null) {
+			return -1;
+		}
+		int index = this.cachedIntrospectionResults.findPropertyIndex(segment.getName());
+		if (index == -1) {
+			return -1;
+		}
+		PropertyDescriptor pd = this.cachedIntrospectionResults.getPropertyDescriptor(index);
+		if (pd.getPropertyType() != type || (read ? pd.getReadMethod() : pd.getWriteMethod()) == null) {
+			return -1;
+		}
+		return index;
+	}
+
+	/**
+	 * Read the given property the regular way, for a primitive getter
+	 * of the given type that cannot read it without boxing.
+	 * @throws TypeMismatchException if the value cannot be converted without loss
+	 */
+	private Number getNumericPropertyValue(PropertyPath.Segment segment, Class requiredType) throws BeansException {
+		Object value = getPropertyValue(segment);
+		if (!(value instanceof Number)) {
+			throw new FatalBeanException("Value [" + value + "] of property '" + this.nestedPath +
+			                             segment.getCanonicalName() + "' is not numeric");
+		}
+		if (!isLosslesslyConvertible((Number) value, requiredType)) {
+			throw new TypeMismatchException(createPropertyChangeEvent(segment.getCanonicalName(), value, value),
+			    requiredType, new IllegalArgumentException("Value of type [" + value.getClass().getName() +
+			                                               "] cannot be read as " + requiredType + " without loss"));
 		}
+		return (Number) value;
+	}
+
+	/**
+	 * Determine whether values of the class of the given number can be
+	 * converted to the given primitive type without loss, like with Java's
+	 * widening primitive conversions except for long to double.
+	 */
+	private static boolean isLosslesslyConvertible(Number value, Class type) {
+		if (value instanceof Byte || value instanceof Short || value instanceof Integer) {
+			return true;
+		}
+		if (value instanceof Long) {
+			return (type == long.class);
+		}
+		if (value instanceof Float || value instanceof Double) {
+			return (type == double.class);
+		}
+		return false;
 	}
 
 
@@ -842,11 +1426,9 @@ public class BeanWrapperImpl implements BeanWrapper {
 		if (propertyName == null) {
 			throw new FatalBeanException("Can't find property descriptor for null property");
 		}
-		if (isNestedProperty(propertyName)) {
-			BeanWrapper nestedBw = getBeanWrapperForPropertyPath(propertyName);
-			return nestedBw.getPropertyDescriptor(getFinalPath(propertyName));
-		}
-		return this.cachedIntrospectionResults.getPropertyDescriptor(propertyName);
+		PropertyPath path = PropertyPath.parse(propertyName);
+		BeanWrapperImpl bw = getBeanWrapperForPropertyPath(path);
+		return bw.cachedIntrospectionResults.getPropertyDescriptor(path.getLastSegment().getPath());
 	}
 
 	public boolean isReadableProperty(String propertyName) {
@@ -909,4 +1491,71 @@ public class BeanWrapperImpl implements BeanWrapper {
 		return sb.toString();
 	}
 
+
+	/**
+	 * Cache of nested BeanWrappers in access order, bounded to
+	 * NESTED_BEAN_WRAPPER_CACHE_LIMIT entries. Evicts the least recently
+	 * used nested BeanWrapper; those holding editors for specific properties
+	 * are kept in a separate Map instead.
+	 */
+	private static class NestedBeanWrapperCache extends LinkedHashMap {
+
+		public NestedBeanWrapperCache() {
+			super(16, 0.75f, true);
+		}
+
+		protected boolean removeEldestEntry(Map.Entry eldest) {
+			if (size() > NESTED_BEAN_WRAPPER_CACHE_LIMIT) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Evicting nested BeanWrapper for path '" +
+					             ((BeanWrapperImpl) eldest.getValue()).nestedPath + "' from cache");
+				}
+				return true;
+			}
+			return false;
+		}
+	}
+
+
+	/**
+	 * Elements of a collection in iteration order, for indexed access to
+	 * collections that don't support random access while expanding a
+	 * property path over all of their elements.
+	 */
+	private static class ElementSnapshot {
+
+		private final Collection collection;
+
+		private final Object[] elements;
+
+		public ElementSnapshot(Collection collection) {
+			this.collection = collection;
+			this.elements = collection.toArray();
+		}
+	}
+
+
+	/**
+	 * Result of a failed conversion, returned rather than thrown
+	 * so that binding can record it without creating an exception.
+	 */
+	private static class ConversionFailure {
+
+		private final String propertyDescriptor;
+
+		private final Object value;
+
+		private final Class requiredType;
+
+		private final IllegalArgumentException cause;
+
+		public ConversionFailure(String propertyDescriptor, Object value, Class requiredType,
+		                         IllegalArgumentException cause) {
+			this.propertyDescriptor = propertyDescriptor;
+			this.value = value;
+			this.requiredType = requiredType;
+			this.cause = cause;
+		}
+	}
+
 }
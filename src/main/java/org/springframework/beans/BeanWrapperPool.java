@@ -0,0 +1,278 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Per-thread pool of configured BeanWrappers, one per bean class. Allows a
+ * request thread to bind any number of objects without creating a new
+ * BeanWrapper, and registering the same custom editors, for each of them.
+ *
+ * <p>Usage pattern:
+ *
+ * <pre>
+ * BeanWrapper bw = pool.obtain(bean);
+ * try {
+ *   bw.setPropertyValues(pvs);
+ * }
+ * finally {
+ *   pool.release(bw);
+ * }</pre>
+ *
+ * A BeanWrapper obtained from the pool must only be used by the obtaining
+ * thread, and must not be used after releasing it. If a thread obtains a
+ * BeanWrapper for a class whose pooled BeanWrapper is still in use, for
+ * example when binding recursively, it gets a new unpooled BeanWrapper.
+ *
+ * <p>Each thread keeps BeanWrappers for a bounded number of classes,
+ * evicting the least recently used one when exceeding the bound.
+ * CachedIntrospectionResults.clearClassLoader removes the BeanWrappers
+ * for classes of the given ClassLoader from the pools of all threads,
+ * so that pooled threads of a container don't keep an undeployed
+ * application's ClassLoader alive.
+ *
+ * @since 17 October 2026
+ * @see BeanWrapperImpl#setWrappedInstance
+ */
+public class BeanWrapperPool {
+
+	/** Default maximum number of bean classes to keep BeanWrappers for, per thread */
+	public static final int DEFAULT_MAX_CLASSES_PER_THREAD = 32;
+
+	/** Weak set of all BeanWrapperPools, for clearing */
+	private static final Map pools = Collections.synchronizedMap(new WeakHashMap());
+
+	/**
+	 * Remove the BeanWrappers for all classes loaded by the given ClassLoader
+	 * or its children from all pools, for all threads.
+	 * @see CachedIntrospectionResults#clearClassLoader
+	 */
+	static void clearClassLoader(ClassLoader classLoader) {
+		Object[] poolArray = null;
+		synchronized (pools) {
+			poolArray = pools.keySet().toArray();
+		}
+		for (int i = 0; i < poolArray.length; i++) {
+			BeanWrapperPool pool = (BeanWrapperPool) poolArray[i];
+			if (pool != null) {
+				pool.removeClassLoader(classLoader);
+			}
+		}
+	}
+
+
+	/**
+	 * Callback for configuring new BeanWrappers, for example registering
+	 * custom editors. Invoked once per thread and bean class; the editors
+	 * remain registered for all objects bound later on, including editors
+	 * for nested property paths.
+	 */
+	public interface Initializer {
+
+		/**
+		 * Configure the given new BeanWrapper.
+		 * @param bw the BeanWrapper, already wrapping the first object
+		 */
+		void initBeanWrapper(BeanWrapper bw) throws BeansException;
+	}
+
+
+	private final Initializer initializer;
+
+	private final int maxClassesPerThread;
+
+	/** Weak set of the ThreadPools of all threads, for clearing */
+	private final Map threadPools = Collections.synchronizedMap(new WeakHashMap());
+
+	private final ThreadLocal pooledBeanWrappers = new ThreadLocal() {
+		protected Object initialValue() {
+			ThreadPool threadPool = new ThreadPool(maxClassesPerThread);
+			threadPools.put(threadPool, Boolean.TRUE);
+			return threadPool;
+		}
+	};
+
+	/**
+	 * Create a new BeanWrapperPool for unconfigured BeanWrappers.
+	 */
+	public BeanWrapperPool() {
+		this(null, DEFAULT_MAX_CLASSES_PER_THREAD);
+	}
+
+	/**
+	 * Create a new BeanWrapperPool.
+	 * @param initializer callback for configuring new BeanWrappers (may be null)
+	 */
+	public BeanWrapperPool(Initializer initializer) {
+		this(initializer, DEFAULT_MAX_CLASSES_PER_THREAD);
+	}
+
+	/**
+	 * Create a new BeanWrapperPool.
+	 * @param initializer callback for configuring new BeanWrappers (may be null)
+	 * @param maxClassesPerThread maximum number of bean classes
+	 * to keep BeanWrappers for, per thread
+	 */
+	public BeanWrapperPool(Initializer initializer, int maxClassesPerThread) {
+		if (maxClassesPerThread < 1) {
+			throw new IllegalArgumentException("maxClassesPerThread must be at least 1");
+		}
+		this.initializer = initializer;
+		this.maxClassesPerThread = maxClassesPerThread;
+		pools.put(this, Boolean.TRUE);
+	}
+
+	/**
+	 * Obtain a BeanWrapper for the given object, reusing the current
+	 * thread's BeanWrapper for the object's class if available.
+	 * @param bean the object to wrap
+	 * @return the BeanWrapper, to be released after use
+	 * @see #release
+	 */
+	public BeanWrapper obtain(Object bean) throws BeansException {
+		if (bean == null) {
+			throw new FatalBeanException("Cannot obtain BeanWrapper for a null object");
+		}
+		ThreadPool threadPool = (ThreadPool) this.pooledBeanWrappers.get();
+		PooledBeanWrapper pooled = null;
+		synchronized (threadPool) {
+			pooled = (PooledBeanWrapper) threadPool.beanWrappers.get(bean.getClass());
+		}
+		if (pooled == null) {
+			pooled = new PooledBeanWrapper(createBeanWrapper(bean));
+			synchronized (threadPool) {
+				threadPool.beanWrappers.put(bean.getClass(), pooled);
+			}
+		}
+		else if (pooled.inUse) {
+			// reentrant use: don't rebind the BeanWrapper the caller is still using
+			return createBeanWrapper(bean);
+		}
+		else {
+			pooled.beanWrapper.setWrappedInstance(bean);
+		}
+		pooled.inUse = true;
+		return pooled.beanWrapper;
+	}
+
+	/**
+	 * Return the given BeanWrapper to the pool. The wrapped object gets
+	 * released, so the pool doesn't keep it from being garbage collected.
+	 * Unpooled BeanWrappers are simply ignored.
+	 * @param bw the BeanWrapper obtained from this pool
+	 * @see #obtain
+	 */
+	public void release(BeanWrapper bw) {
+		if (bw == null || bw.getWrappedInstance() == null) {
+			return;
+		}
+		ThreadPool threadPool = (ThreadPool) this.pooledBeanWrappers.get();
+		PooledBeanWrapper pooled = null;
+		synchronized (threadPool) {
+			pooled = (PooledBeanWrapper) threadPool.beanWrappers.get(bw.getWrappedClass());
+		}
+		if (pooled != null && pooled.beanWrapper == bw) {
+			pooled.beanWrapper.releaseWrappedInstance();
+			pooled.inUse = false;
+		}
+	}
+
+	/**
+	 * Remove all BeanWrappers pooled for the current thread,
+	 * for example at the end of a request.
+	 */
+	public void clear() {
+		this.threadPools.remove(this.pooledBeanWrappers.get());
+		this.pooledBeanWrappers.remove();
+	}
+
+	/**
+	 * Remove the BeanWrappers for all classes loaded by the given
+	 * ClassLoader or its children, for all threads.
+	 */
+	private void removeClassLoader(ClassLoader classLoader) {
+		Object[] threadPoolArray = null;
+		synchronized (this.threadPools) {
+			threadPoolArray = this.threadPools.keySet().toArray();
+		}
+		for (int i = 0; i < threadPoolArray.length; i++) {
+			ThreadPool threadPool = (ThreadPool) threadPoolArray[i];
+			if (threadPool == null) {
+				continue;
+			}
+			synchronized (threadPool) {
+				for (Iterator it = threadPool.beanWrappers.keySet().iterator(); it.hasNext();) {
+					Class clazz = (Class) it.next();
+					if (CachedIntrospectionResults.isUnderneathClassLoader(clazz.getClassLoader(), classLoader)) {
+						it.remove();
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Create and configure a new BeanWrapper for the given object.
+	 */
+	protected BeanWrapperImpl createBeanWrapper(Object bean) throws BeansException {
+		BeanWrapperImpl bw = new BeanWrapperImpl(bean);
+		if (this.initializer != null) {
+			this.initializer.initBeanWrapper(bw);
+		}
+		return bw;
+	}
+
+
+	/**
+	 * The pooled BeanWrappers of one thread, keyed by bean class in LRU
+	 * order. Accessed by other threads for clearing only, with the lock
+	 * on the ThreadPool held.
+	 */
+	private static class ThreadPool {
+
+		private final Map beanWrappers;
+
+		public ThreadPool(final int maxClasses) {
+			this.beanWrappers = new LinkedHashMap(16, 0.75f, true) {
+				protected boolean removeEldestEntry(Map.Entry eldest) {
+					return size() > maxClasses;
+				}
+			};
+		}
+	}
+
+
+	/**
+	 * Pool entry: a BeanWrapper plus its in-use flag.
+	 */
+	private static class PooledBeanWrapper {
+
+		private final BeanWrapperImpl beanWrapper;
+
+		private boolean inUse;
+
+		public PooledBeanWrapper(BeanWrapperImpl beanWrapper) {
+			this.beanWrapper = beanWrapper;
+		}
+	}
+
+}
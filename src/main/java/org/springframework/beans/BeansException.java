@@ -51,4 +51,16 @@ public abstract class BeansException extends NestedRuntimeException {
 		super(msg, ex);
 	}
 
+	/**
+	 * Constructs a <code>BeansException</code> with the specified message
+	 * and root cause, specifying whether it has a stack trace.
+	 * @param msg the detail message
+	 * @param ex the root cause (may be null)
+	 * @param writableStackTrace whether the stack trace should be writable
+	 * @see NestedRuntimeException#NestedRuntimeException(String, Throwable, boolean)
+	 */
+	protected BeansException(String msg, Throwable ex, boolean writableStackTrace) {
+		super(msg, ex, writableStackTrace);
+	}
+
 }
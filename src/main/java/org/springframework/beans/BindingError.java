@@ -0,0 +1,148 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyChangeEvent;
+
+import org.springframework.core.ErrorCoded;
+
+/**
+ * Record of a property that could not be bound: the property path, the
+ * rejected value, the required type and an error code. Unlike a
+ * PropertyAccessException, it is cheap to create, as it doesn't carry
+ * a stack trace, message or PropertyChangeEvent.
+ *
+ * <p>Instances are owned by a BindingErrors object and get reused
+ * after it has been reset.
+ *
+ * @since 17 October 2026
+ * @see BindingErrors
+ * @see #toException
+ */
+public class BindingError implements ErrorCoded {
+
+	/** Error code for values that could not be converted to the property type */
+	public static final String TYPE_MISMATCH = "typeMismatch";
+
+	/** Error code for property setters that threw an exception */
+	public static final String METHOD_INVOCATION = "methodInvocation";
+
+	private String propertyPath;
+
+	private Object rejectedValue;
+
+	private Class requiredType;
+
+	private String errorCode;
+
+	private Throwable cause;
+
+	private boolean valueNotAssignable;
+
+	private PropertyAccessException exception;
+
+	BindingError() {
+	}
+
+	void initialize(String propertyPath, Object rejectedValue, Class requiredType, String errorCode, Throwable cause,
+	                PropertyAccessException exception) {
+		this.propertyPath = propertyPath;
+		this.rejectedValue = rejectedValue;
+		this.requiredType = requiredType;
+		this.errorCode = errorCode;
+		this.cause = cause;
+		this.valueNotAssignable = false;
+		this.exception = exception;
+	}
+
+	/**
+	 * Initialize this error for a value that is not assignable to the
+	 * property type. The cause only gets created when asked for.
+	 */
+	void initializeNotAssignable(String propertyPath, Object rejectedValue, Class requiredType) {
+		initialize(propertyPath, rejectedValue, requiredType, TYPE_MISMATCH, null, null);
+		this.valueNotAssignable = true;
+	}
+
+	/**
+	 * Return the path of the property that could not be bound.
+	 */
+	public String getPropertyPath() {
+		return propertyPath;
+	}
+
+	/**
+	 * Return the value that could not be bound.
+	 */
+	public Object getRejectedValue() {
+		return rejectedValue;
+	}
+
+	/**
+	 * Return the type of the property, if known.
+	 */
+	public Class getRequiredType() {
+		return requiredType;
+	}
+
+	/**
+	 * Return the error code, e.g. TYPE_MISMATCH or METHOD_INVOCATION,
+	 * matching the codes of the respective PropertyAccessExceptions.
+	 */
+	public String getErrorCode() {
+		return errorCode;
+	}
+
+	/**
+	 * Return the exception thrown by the property editor, converter or
+	 * setter, if any. For values that are not assignable to the property
+	 * type, an IllegalArgumentException gets created on first access.
+	 */
+	public Throwable getCause() {
+		if (this.cause == null && this.valueNotAssignable) {
+			this.cause = new IllegalArgumentException("Invalid value [" + this.rejectedValue + "] for property '" +
+			                                          this.propertyPath + "' of type [" + this.requiredType.getName() + "]");
+		}
+		return cause;
+	}
+
+	/**
+	 * Create the PropertyAccessException that the standard binding
+	 * mode would have thrown for this error.
+	 * @param target the object that the property belongs to,
+	 * as source of the PropertyChangeEvent
+	 */
+	public PropertyAccessException toException(Object target) {
+		if (this.exception != null) {
+			return this.exception;
+		}
+		PropertyChangeEvent pce = new PropertyChangeEvent(target, this.propertyPath, null, this.rejectedValue);
+		Throwable cause = getCause();
+		if (METHOD_INVOCATION.equals(this.errorCode)) {
+			return new MethodInvocationException(cause, pce);
+		}
+		if (cause != null) {
+			return new TypeMismatchException(pce, this.requiredType, cause);
+		}
+		return new TypeMismatchException(pce, this.requiredType);
+	}
+
+	public String toString() {
+		return "BindingError: property '" + this.propertyPath + "', code [" + this.errorCode + "]";
+	}
+
+}
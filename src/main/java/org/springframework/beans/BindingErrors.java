@@ -0,0 +1,198 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyChangeEvent;
+
+/**
+ * Collects the BindingErrors of an error-collecting bulk update,
+ * as alternative to a PropertyAccessExceptionsException. No exceptions
+ * get created for the individual properties unless asked for.
+ *
+ * <p>Can be reused for any number of bulk updates: reset it before each
+ * one, typically keeping one instance per thread. BindingError objects
+ * get reused too, so they must not be held on to after a reset.
+ *
+ * <p>Can stop a bulk update after a maximum number of errors,
+ * to reject junk input early.
+ *
+ * <p>Not thread-safe.
+ *
+ * @since 17 October 2026
+ * @see BeanWrapper#setPropertyValues(PropertyValues, boolean, BindingErrors)
+ */
+public class BindingErrors {
+
+	private int maxErrors = 0;
+
+	private BindingError[] errors = new BindingError[4];
+
+	private int errorCount = 0;
+
+	/**
+	 * Create a new BindingErrors object without an error limit.
+	 */
+	public BindingErrors() {
+	}
+
+	/**
+	 * Create a new BindingErrors object with the given error limit.
+	 * @param maxErrors the maximum number of errors
+	 * @see #setMaxErrors
+	 */
+	public BindingErrors(int maxErrors) {
+		setMaxErrors(maxErrors);
+	}
+
+	/**
+	 * Set the number of errors after which a bulk update stops,
+	 * leaving the remaining properties unbound. Default is 0, for no limit.
+	 */
+	public void setMaxErrors(int maxErrors) {
+		if (maxErrors < 0) {
+			throw new IllegalArgumentException("maxErrors must not be negative");
+		}
+		this.maxErrors = maxErrors;
+	}
+
+	/**
+	 * Return the number of errors after which a bulk update stops,
+	 * or 0 for no limit.
+	 */
+	public int getMaxErrors() {
+		return maxErrors;
+	}
+
+	/**
+	 * Discard all errors, for reuse with another bulk update.
+	 */
+	public void reset() {
+		for (int i = 0; i < this.errorCount; i++) {
+			// don't keep rejected values from being garbage collected
+			this.errors[i].initialize(null, null, null, null, null, null);
+		}
+		this.errorCount = 0;
+	}
+
+	/**
+	 * Return whether any errors have been recorded.
+	 */
+	public boolean hasErrors() {
+		return (this.errorCount > 0);
+	}
+
+	/**
+	 * Return the number of errors recorded.
+	 */
+	public int getErrorCount() {
+		return errorCount;
+	}
+
+	/**
+	 * Return whether the error limit has been reached,
+	 * i.e. whether the bulk update stopped early.
+	 */
+	public boolean isMaxErrorsReached() {
+		return (this.maxErrors > 0 && this.errorCount >= this.maxErrors);
+	}
+
+	/**
+	 * Return the error with the given index, in recording order.
+	 * @param index the index of the error
+	 */
+	public BindingError getError(int index) {
+		if (index >= this.errorCount) {
+			throw new IndexOutOfBoundsException("Index " + index + " out of " + this.errorCount + " errors");
+		}
+		return this.errors[index];
+	}
+
+	/**
+	 * Return the error for the given property path, or null if there isn't one.
+	 * @param propertyPath the path of the property
+	 */
+	public BindingError getError(String propertyPath) {
+		for (int i = 0; i < this.errorCount; i++) {
+			if (propertyPath.equals(this.errors[i].getPropertyPath())) {
+				return this.errors[i];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Create the PropertyAccessExceptionsException that the standard
+	 * bulk update would have thrown for the recorded errors.
+	 * @param beanWrapper the BeanWrapper that the errors have been recorded with
+	 * @return the exception, or null if there are no errors
+	 */
+	public PropertyAccessExceptionsException toException(BeanWrapper beanWrapper) {
+		if (this.errorCount == 0) {
+			return null;
+		}
+		PropertyAccessException[] paes = new PropertyAccessException[this.errorCount];
+		for (int i = 0; i < this.errorCount; i++) {
+			paes[i] = this.errors[i].toException(beanWrapper.getWrappedInstance());
+		}
+		return new PropertyAccessExceptionsException(beanWrapper, paes);
+	}
+
+	/**
+	 * Record an error, reusing a BindingError object if possible.
+	 */
+	void addError(String propertyPath, Object rejectedValue, Class requiredType, String errorCode, Throwable cause) {
+		nextError().initialize(propertyPath, rejectedValue, requiredType, errorCode, cause, null);
+	}
+
+	/**
+	 * Record a value that is not assignable to the property type,
+	 * without creating a cause up front.
+	 * @see BindingError#getCause
+	 */
+	void addNotAssignableError(String propertyPath, Object rejectedValue, Class requiredType) {
+		nextError().initializeNotAssignable(propertyPath, rejectedValue, requiredType);
+	}
+
+	/**
+	 * Record an error for which an exception has already been thrown.
+	 */
+	void addError(PropertyAccessException ex) {
+		PropertyChangeEvent pce = ex.getPropertyChangeEvent();
+		Class requiredType = (ex instanceof TypeMismatchException ? ((TypeMismatchException) ex).getRequiredType() : null);
+		nextError().initialize(pce.getPropertyName(), pce.getNewValue(), requiredType, ex.getErrorCode(), ex.getCause(), ex);
+	}
+
+	private BindingError nextError() {
+		if (this.errorCount == this.errors.length) {
+			BindingError[] errors = new BindingError[this.errors.length * 2];
+			System.arraycopy(this.errors, 0, errors, 0, this.errorCount);
+			this.errors = errors;
+		}
+		BindingError error = this.errors[this.errorCount];
+		if (error == null) {
+			error = new BindingError();
+			this.errors[this.errorCount] = error;
+		}
+		this.errorCount++;
+		return error;
+	}
+
+	public String toString() {
+		return "BindingErrors: " + this.errorCount + " errors";
+	}
+
+}
@@ -0,0 +1,467 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyDescriptor;
+import java.beans.PropertyEditor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * Precompiled plan for binding property values of a fixed set of property
+ * names onto instances of a given class. Resolves property descriptors,
+ * accessor indexes, writability and custom editors once, so that binding
+ * the same shape of PropertyValues onto many new instances only converts
+ * and writes the values.
+ *
+ * <p>Applying a plan behaves like BeanWrapper's setPropertyValues: it
+ * continues after recoverable errors such as type mismatches, throws a
+ * PropertyAccessExceptionsException containing all of them at the end,
+ * and throws NotWritablePropertyException for unknown properties unless
+ * ignoreUnknown is specified. Property values with names outside of the
+ * plan are bound the regular BeanWrapper way.
+ *
+ * <p>Custom editors get passed in as Map keyed by required type (Class) or
+ * by property path (String), like with registerCustomEditor. Editors keyed
+ * by nested property paths get registered on every application, so prefer
+ * type-specific or simple property keys for hot plans.
+ *
+ * <p>A plan is thread-safe as long as its editors are: PropertyEditors are
+ * stateful, so the plan synchronizes on an editor while using it, and so
+ * do the BeanWrappers it prepares, for properties bound through them.
+ *
+ * @since 17 October 2026
+ * @see BeanWrapper#setPropertyValues(PropertyValues, boolean)
+ */
+public class BindingPlan {
+
+	private final Class targetClass;
+
+	private final CachedIntrospectionResults introspectionResults;
+
+	private final Map customEditors;
+
+	private final Map nestedPathEditors;
+
+	private final boolean ignoreUnknown;
+
+	private final Slot[] slots;
+
+	private final Map slotsByName;
+
+
+	/**
+	 * Create a new BindingPlan for the given class and property names,
+	 * without custom editors and not ignoring unknown properties.
+	 * @param targetClass the class of the beans to bind to
+	 * @param propertyNames the names of the properties to bind
+	 */
+	public BindingPlan(Class targetClass, String[] propertyNames) throws BeansException {
+		this(targetClass, propertyNames, null, false);
+	}
+
+	/**
+	 * Create a new BindingPlan for the given class and the property names
+	 * of the given PropertyValues, without custom editors and not ignoring
+	 * unknown properties.
+	 * @param targetClass the class of the beans to bind to
+	 * @param pvs sample PropertyValues defining the property names to bind
+	 */
+	public BindingPlan(Class targetClass, PropertyValues pvs) throws BeansException {
+		this(targetClass, getPropertyNames(pvs), null, false);
+	}
+
+	/**
+	 * Create a new BindingPlan.
+	 * @param targetClass the class of the beans to bind to
+	 * @param propertyNames the names of the properties to bind
+	 * @param customEditors Map with custom PropertyEditors, keyed by required
+	 * type (Class) or property path (String); may be null
+	 * @param ignoreUnknown whether to ignore unknown properties
+	 */
+	public BindingPlan(Class targetClass, String[] propertyNames, Map customEditors, boolean ignoreUnknown)
+			throws BeansException {
+		if (targetClass == null) {
+			throw new IllegalArgumentException("Target class must not be null");
+		}
+		this.targetClass = targetClass;
+		this.introspectionResults = CachedIntrospectionResults.forClass(targetClass);
+		this.ignoreUnknown = ignoreUnknown;
+
+		Map editors = new HashMap();
+		Map nestedEditors = new HashMap();
+		if (customEditors != null) {
+			for (Iterator it = customEditors.entrySet().iterator(); it.hasNext();) {
+				Map.Entry entry = (Map.Entry) it.next();
+				if (entry.getKey() instanceof String && PropertyPath.parse((String) entry.getKey()).isNested()) {
+					nestedEditors.put(entry.getKey(), entry.getValue());
+				}
+				else {
+					editors.put(entry.getKey(), entry.getValue());
+				}
+			}
+		}
+		this.customEditors = Collections.unmodifiableMap(editors);
+		this.nestedPathEditors = nestedEditors;
+
+		this.slots = new Slot[propertyNames.length];
+		this.slotsByName = new HashMap();
+		for (int i = 0; i < propertyNames.length; i++) {
+			this.slots[i] = new Slot(propertyNames[i]);
+			this.slotsByName.put(propertyNames[i], this.slots[i]);
+		}
+	}
+
+	private static String[] getPropertyNames(PropertyValues pvs) {
+		PropertyValue[] pvArray = pvs.getPropertyValues();
+		String[] names = new String[pvArray.length];
+		for (int i = 0; i < pvArray.length; i++) {
+			names[i] = pvArray[i].getName();
+		}
+		return names;
+	}
+
+
+	/**
+	 * Return the class of the beans this plan binds to.
+	 */
+	public Class getTargetClass() {
+		return targetClass;
+	}
+
+	/**
+	 * Return the names of the properties this plan has been compiled for.
+	 */
+	public String[] getPropertyNames() {
+		String[] names = new String[this.slots.length];
+		for (int i = 0; i < this.slots.length; i++) {
+			names[i] = this.slots[i].name;
+		}
+		return names;
+	}
+
+	/**
+	 * Bind the given property values onto the given bean.
+	 * @param bean the bean to bind to, an instance of the target class
+	 * @param pvs the property values to bind
+	 * @throws NotWritablePropertyException if a property is unknown
+	 * and unknown properties are not ignored
+	 * @throws PropertyAccessExceptionsException if there were type
+	 * mismatches or write methods threw exceptions
+	 */
+	public void apply(Object bean, PropertyValues pvs) throws BeansException {
+		apply(createBeanWrapper(bean), pvs);
+	}
+
+	/**
+	 * Bind the given Map of property values onto the given bean.
+	 * @param bean the bean to bind to, an instance of the target class
+	 * @param values the property values, keyed by property name
+	 * @see #apply(Object, PropertyValues)
+	 */
+	public void apply(Object bean, Map values) throws BeansException {
+		apply(createBeanWrapper(bean), values);
+	}
+
+	/**
+	 * Bind the given property values onto the bean wrapped by the given
+	 * BeanWrapper, which should have been prepared by this plan.
+	 * Allows for reusing a BeanWrapper for many beans.
+	 * @see #prepareBeanWrapper
+	 */
+	void apply(BeanWrapperImpl bw, PropertyValues pvs) throws BeansException {
+		checkTarget(bw);
+		PropertyValue[] pvArray = pvs.getPropertyValues();
+		List propertyAccessExceptions = null;
+		for (int i = 0; i < pvArray.length; i++) {
+			propertyAccessExceptions = applyPropertyValue(
+					bw, i, pvArray[i].getName(), pvArray[i].getValue(), propertyAccessExceptions);
+		}
+		throwPropertyAccessExceptions(bw, propertyAccessExceptions);
+	}
+
+	/**
+	 * Bind the given Map of property values, keyed by property name,
+	 * without creating PropertyValue objects for its entries.
+	 * @see #apply(BeanWrapperImpl, PropertyValues)
+	 */
+	void apply(BeanWrapperImpl bw, Map values) throws BeansException {
+		checkTarget(bw);
+		List propertyAccessExceptions = null;
+		int i = 0;
+		for (Iterator it = values.entrySet().iterator(); it.hasNext(); i++) {
+			Map.Entry entry = (Map.Entry) it.next();
+			propertyAccessExceptions = applyPropertyValue(
+					bw, i, (String) entry.getKey(), entry.getValue(), propertyAccessExceptions);
+		}
+		throwPropertyAccessExceptions(bw, propertyAccessExceptions);
+	}
+
+	/**
+	 * Bind the given values, positionally matching the property names of
+	 * this plan, without looking up slots by name. Null elements are
+	 * skipped, leaving the respective properties untouched.
+	 * @see #apply(BeanWrapperImpl, PropertyValues)
+	 */
+	void apply(BeanWrapperImpl bw, Object[] values) throws BeansException {
+		checkTarget(bw);
+		List propertyAccessExceptions = null;
+		for (int i = 0; i < this.slots.length; i++) {
+			if (values[i] != null) {
+				propertyAccessExceptions = applyPropertyValue(
+						bw, i, this.slots[i].name, values[i], propertyAccessExceptions);
+			}
+		}
+		throwPropertyAccessExceptions(bw, propertyAccessExceptions);
+	}
+
+	/**
+	 * Bind a single property value, collecting recoverable exceptions.
+	 * @return the List of exceptions so far (may be null)
+	 */
+	private List applyPropertyValue(BeanWrapperImpl bw, int position, String name, Object value,
+	                                List propertyAccessExceptions) throws BeansException {
+		try {
+			applyPropertyValue(bw, position, name, value);
+		}
+		catch (NotWritablePropertyException ex) {
+			if (!this.ignoreUnknown) {
+				throw ex;
+			}
+			// otherwise, just ignore it and continue...
+		}
+		catch (TypeMismatchException ex) {
+			propertyAccessExceptions = addException(propertyAccessExceptions, ex);
+		}
+		catch (MethodInvocationException ex) {
+			propertyAccessExceptions = addException(propertyAccessExceptions, ex);
+		}
+		return propertyAccessExceptions;
+	}
+
+	private List addException(List exceptions, PropertyAccessException ex) {
+		if (exceptions == null) {
+			exceptions = new ArrayList();
+		}
+		exceptions.add(ex);
+		return exceptions;
+	}
+
+	private void throwPropertyAccessExceptions(BeanWrapperImpl bw, List propertyAccessExceptions)
+			throws PropertyAccessExceptionsException {
+		// if we encountered individual exceptions, throw the composite exception
+		if (propertyAccessExceptions != null) {
+			Object[] paeArray = propertyAccessExceptions.toArray(new PropertyAccessException[propertyAccessExceptions.size()]);
+			throw new PropertyAccessExceptionsException(bw, (PropertyAccessException[]) paeArray);
+		}
+	}
+
+	/**
+	 * Create a BeanWrapper for binding to the given bean,
+	 * sharing the custom editors of this plan.
+	 */
+	BeanWrapperImpl createBeanWrapper(Object bean) throws BeansException {
+		BeanWrapperImpl bw = new BeanWrapperImpl(bean);
+		prepareBeanWrapper(bw);
+		return bw;
+	}
+
+	/**
+	 * Prepare the given BeanWrapper for binding: install the custom
+	 * editors of this plan, and register nested path editors, if any.
+	 */
+	void prepareBeanWrapper(BeanWrapperImpl bw) throws BeansException {
+		checkTarget(bw);
+		bw.setCustomEditors(this.customEditors.isEmpty() ? null : this.customEditors);
+		if (!this.nestedPathEditors.isEmpty()) {
+			// registering nested editors adds to the editors of nested BeanWrappers only
+			for (Iterator it = this.nestedPathEditors.entrySet().iterator(); it.hasNext();) {
+				Map.Entry entry = (Map.Entry) it.next();
+				bw.registerCustomEditor(null, (String) entry.getKey(), (PropertyEditor) entry.getValue());
+			}
+		}
+	}
+
+	private void checkTarget(BeanWrapperImpl bw) {
+		if (bw.getWrappedClass() != this.targetClass) {
+			throw new IllegalArgumentException("BindingPlan for class [" + this.targetClass.getName() +
+			                                   "] cannot be applied to object of class [" + bw.getWrappedClass().getName() + "]");
+		}
+	}
+
+	/**
+	 * Bind a single property value. Uses the slot at the given position
+	 * if its name matches, as values usually come in the same order as the
+	 * plan's property names; looks the slot up by name else.
+	 */
+	void applyPropertyValue(BeanWrapperImpl bw, int position, String name, Object value) throws BeansException {
+		Slot slot = null;
+		if (position < this.slots.length && this.slots[position].name.equals(name)) {
+			slot = this.slots[position];
+		}
+		else {
+			slot = (Slot) this.slotsByName.get(name);
+		}
+		if (slot == null || slot.index == Slot.DELEGATE) {
+			bw.setPropertyValue(name, value);
+		}
+		else {
+			slot.apply(bw, value);
+		}
+	}
+
+
+	/**
+	 * Resolved binding information for one property name.
+	 */
+	private class Slot {
+
+		/** Index for properties that get bound through the BeanWrapper */
+		static final int DELEGATE = -1;
+
+		/** Index for properties that are not writable */
+		static final int NOT_WRITABLE = -2;
+
+		final String name;
+
+		final int index;
+
+		final PropertyDescriptor descriptor;
+
+		final Class propertyType;
+
+		final PropertyEditor editor;
+
+		/** Converter for String values, resolved on first use */
+		private volatile ResolvedConverter stringConverter;
+
+		public Slot(String name) {
+			this.name = name;
+			PropertyPath path = PropertyPath.parse(name);
+			if (path.isNested() || path.getLastSegment().getKey() != null) {
+				this.index = DELEGATE;
+				this.descriptor = null;
+				this.propertyType = null;
+				this.editor = null;
+				return;
+			}
+			int index = introspectionResults.findPropertyIndex(name);
+			if (index == -1 || introspectionResults.getPropertyDescriptor(index).getWriteMethod() == null) {
+				this.index = NOT_WRITABLE;
+				this.descriptor = null;
+				this.propertyType = null;
+				this.editor = null;
+				return;
+			}
+			this.descriptor = introspectionResults.getPropertyDescriptor(index);
+			this.propertyType = this.descriptor.getPropertyType();
+			PropertyEditor editor = (PropertyEditor) customEditors.get(name);
+			if (editor == null) {
+				editor = (PropertyEditor) customEditors.get(this.propertyType);
+			}
+			// array conversion of individual elements needs the full BeanWrapper treatment
+			this.index = (this.propertyType.isArray() ? DELEGATE : index);
+			this.editor = editor;
+		}
+
+		public void apply(BeanWrapperImpl bw, Object value) throws BeansException {
+			if (this.index == NOT_WRITABLE) {
+				throw new NotWritablePropertyException(this.name, targetClass);
+			}
+			Object newValue = value;
+			if (this.editor != null) {
+				newValue = convertWithEditor(bw, value);
+			}
+			else if (value instanceof String && !BeanUtils.isAssignable(this.propertyType, value)) {
+				newValue = convertString(bw, (String) value);
+			}
+			else if (value != null && !BeanUtils.isAssignable(this.propertyType, value)) {
+				newValue = bw.convertForProperty(this.name, value, this.propertyType);
+			}
+			bw.invokeWriteMethod(this.descriptor, this.index, value, newValue);
+		}
+
+		/**
+		 * Convert the given String through the Converter that the BeanWrapper's
+		 * ConversionRegistry provides for the property type, resolving it only
+		 * once per registry.
+		 */
+		private Object convertString(BeanWrapperImpl bw, String value) throws BeansException {
+			ResolvedConverter resolved = this.stringConverter;
+			if (resolved == null || resolved.registry != bw.getConversionRegistry()) {
+				ConversionRegistry registry = bw.getConversionRegistry();
+				resolved = new ResolvedConverter(registry, registry.getConverter(String.class, this.propertyType));
+				this.stringConverter = resolved;
+			}
+			if (resolved.converter == null) {
+				throw new TypeMismatchException(bw.createPropertyChangeEvent(this.name, null, value), this.propertyType);
+			}
+			try {
+				return resolved.converter.convert(value, this.propertyType);
+			}
+			catch (IllegalArgumentException ex) {
+				throw new TypeMismatchException(bw.createPropertyChangeEvent(this.name, null, value), this.propertyType, ex);
+			}
+		}
+
+		private Object convertWithEditor(BeanWrapperImpl bw, Object value) throws BeansException {
+			if (value == null) {
+				return null;
+			}
+			try {
+				synchronized (this.editor) {
+					if (value instanceof String[]) {
+						value = StringUtils.arrayToCommaDelimitedString((String[]) value);
+					}
+					if (value instanceof String) {
+						this.editor.setAsText((String) value);
+					}
+					else {
+						this.editor.setValue(value);
+					}
+					return this.editor.getValue();
+				}
+			}
+			catch (IllegalArgumentException ex) {
+				throw new TypeMismatchException(bw.createPropertyChangeEvent(this.name, null, value), this.propertyType, ex);
+			}
+		}
+	}
+
+
+	/**
+	 * Converter resolved from a specific ConversionRegistry.
+	 */
+	private static class ResolvedConverter {
+
+		final ConversionRegistry registry;
+
+		final Converter converter;
+
+		public ResolvedConverter(ConversionRegistry registry, Converter converter) {
+			this.registry = registry;
+			this.converter = converter;
+		}
+	}
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Result of binding a sequence of rows into beans: the bound beans in
+ * input order, plus the exceptions of the rows that could not be bound,
+ * keyed by row index.
+ *
+ * @since 17 October 2026
+ * @see BeanBinder#bindAll
+ */
+public class BulkBindingResult {
+
+	private final Object[] beans;
+
+	private final BeansException[] exceptions;
+
+	private final int errorCount;
+
+	/**
+	 * Create a new BulkBindingResult.
+	 * @param beans the bean for each row, or null for failed rows
+	 * @param exceptions the exception for each row, or null for bound rows
+	 */
+	BulkBindingResult(Object[] beans, BeansException[] exceptions) {
+		this.beans = beans;
+		this.exceptions = exceptions;
+		int errorCount = 0;
+		for (int i = 0; i < exceptions.length; i++) {
+			if (exceptions[i] != null) {
+				errorCount++;
+			}
+		}
+		this.errorCount = errorCount;
+	}
+
+	/**
+	 * Return the number of rows processed.
+	 */
+	public int getRowCount() {
+		return this.beans.length;
+	}
+
+	/**
+	 * Return the beans of all successfully bound rows, in input order.
+	 */
+	public List getBeans() {
+		List beans = new ArrayList(this.beans.length - this.errorCount);
+		for (int i = 0; i < this.beans.length; i++) {
+			if (this.exceptions[i] == null) {
+				beans.add(this.beans[i]);
+			}
+		}
+		return beans;
+	}
+
+	/**
+	 * Return the bean for the given row, or null if the row could not be bound.
+	 * @param row the index of the row
+	 */
+	public Object getBean(int row) {
+		return (this.exceptions[row] == null ? this.beans[row] : null);
+	}
+
+	/**
+	 * Return whether any row could not be bound.
+	 */
+	public boolean hasErrors() {
+		return (this.errorCount > 0);
+	}
+
+	/**
+	 * Return the number of rows that could not be bound.
+	 */
+	public int getErrorCount() {
+		return errorCount;
+	}
+
+	/**
+	 * Return the exception for the given row, or null if it has been bound.
+	 * Typically a PropertyAccessExceptionsException.
+	 * @param row the index of the row
+	 */
+	public BeansException getException(int row) {
+		return this.exceptions[row];
+	}
+
+	/**
+	 * Return the exceptions of all rows that could not be bound,
+	 * as Map from row index (Integer) to BeansException, sorted by row.
+	 */
+	public Map getExceptions() {
+		if (this.errorCount == 0) {
+			return Collections.EMPTY_MAP;
+		}
+		Map exceptions = new TreeMap();
+		for (int i = 0; i < this.exceptions.length; i++) {
+			if (this.exceptions[i] != null) {
+				exceptions.put(new Integer(i), this.exceptions[i]);
+			}
+		}
+		return exceptions;
+	}
+
+	public String toString() {
+		return "BulkBindingResult: " + getRowCount() + " rows, " + this.errorCount + " errors";
+	}
+
+}
@@ -18,17 +18,36 @@ package org.springframework.beans;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.core.StacklessExceptions;
 
 import java.beans.BeanInfo;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
+import java.lang.ref.SoftReference;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Class to cache PropertyDescriptor information for a Java class.
- * Package-visible; not for use by application code.
+ * Package-visible, except for the static cache management methods;
+ * not for use by application code.
  *
  * 자바클래스를 위한 PropertyDescriptor 정보를 캐시하기 위한 클래스입니다.
  *
@@ -36,40 +55,402 @@ import java.util.Map;
  * deep copy of the BeanInfo every time we ask for it. We take the opportunity
  * to hash property descriptors by method name for fast lookup.
  *
+ * <p>The BeanInfo comes from the build-time IntrospectionIndex if the class
+ * is indexed there, else from the Introspector.
+ *
+ * <p>Also indexes the properties by their position in the descriptor array,
+ * and builds a BeanAccessor that reads and writes properties by index,
+ * through generated code where possible.
+ *
  * <p>Information is cached statically, so we don't need to create new
  * objects of this class for every JavaBean we manipulate. Thus this class
  * implements the factory design pattern, using a private constructor
  * and a public static forClass() method to obtain instances.
  *
+ * <p>The cache is a ClassValue, so it is safe for concurrent use without
+ * locking on lookups, and it doesn't keep classes and their ClassLoaders
+ * from being garbage-collected: a redeployed web application doesn't leak
+ * its ClassLoader through this cache. Each class gets introspected once,
+ * even if many threads ask for it at the same time.
+ *
+ * <p>Results for classes from the ClassLoader of this class or its parents,
+ * or from ClassLoaders accepted through acceptClassLoader, are cached
+ * without limit. Results for classes from other ClassLoaders, e.g. for
+ * dynamically generated classes, are held strongly only up to the cache
+ * limit, evicting the least recently used ones (in CLOCK approximation),
+ * and softly beyond that; their BeanInfo is flushed from the JDK's
+ * Introspector cache. clearClassLoader removes the results for all classes
+ * of a ClassLoader, e.g. when undeploying a plugin.
+ *
+ * <p>warmUp introspects a known set of classes in parallel at startup,
+ * so that first requests find their results cached.
+ *
  * @author Rod Johnson
  * @since 05 May 2001
 *  @version $Id: CachedIntrospectionResults.java,v 1.8 2004/03/19 07:40:13 jhoeller Exp $
  */
-final class CachedIntrospectionResults {
+public final class CachedIntrospectionResults {
 
 	private static final Log logger = LogFactory.getLog(CachedIntrospectionResults.class);
 
-	/** Map keyed by class containing CachedIntrospectionResults */
-	private static HashMap classCache = new HashMap();
+	/** Maximum number of preallocated "no property" exceptions per class */
+	private static final int PROPERTY_NOT_FOUND_CACHE_LIMIT = 64;
+
+	/** Default maximum number of classes from untrusted ClassLoaders to hold strongly */
+	public static final int DEFAULT_CACHE_LIMIT = 1024;
+
+	/** Per-class holder of CachedIntrospectionResults */
+	private static final ClassValue classCache = new ClassValue() {
+		protected Object computeValue(Class clazz) {
+			return new CacheEntry();
+		}
+	};
+
+	/** ClassLoaders whose classes are cached without limit, besides our own and its parents */
+	private static final Set acceptedClassLoaders = Collections.synchronizedSet(new HashSet());
+
+	/** Entries of classes from untrusted ClassLoaders that hold their results strongly, in CLOCK order */
+	private static final ArrayDeque boundedEntries = new ArrayDeque();
+
+	private static volatile int cacheLimit = DEFAULT_CACHE_LIMIT;
+
+	/** Weak set of the classes with introspection results, for statistics and clearing */
+	private static final Map cachedClasses = Collections.synchronizedMap(new WeakHashMap());
+
+	private static final LongAdder hitCount = new LongAdder();
+
+	private static final AtomicLong missCount = new AtomicLong();
+
+	private static final AtomicLong evictionCount = new AtomicLong();
 
 	/**
-	 * We might use this from the EJB tier, so we don't want to use synchronization.
-	 * Object references are atomic, so we can live with doing the occasional
-	 * unnecessary lookup at startup only.
+	 * Return the introspection results for the given class, introspecting
+	 * it on first use. Lookups don't lock; concurrent first lookups for the
+	 * same class wait for one of them to introspect the class.
 	 */
 	protected static CachedIntrospectionResults forClass(Class clazz) throws BeansException {
-		Object results = classCache.get(clazz);
+		CacheEntry entry = (CacheEntry) classCache.get(clazz);
+		CachedIntrospectionResults results = entry.results;
 		if (results == null) {
-			// can throw BeansException
-			results = new CachedIntrospectionResults(clazz);
-			classCache.put(clazz, results);
+			synchronized (entry) {
+				if (entry.removed) {
+					// cleared by clearClassLoader in the meantime: don't resurrect it
+					return forClass(clazz);
+				}
+				results = entry.results;
+				if (results == null) {
+					results = entry.getSoftResults();
+					boolean cacheSafe = isCacheSafe(clazz);
+					if (results == null) {
+						missCount.incrementAndGet();
+						// can throw BeansException, leaving the entry empty for the next attempt
+						results = new CachedIntrospectionResults(clazz);
+						if (!cacheSafe) {
+							// don't let the JDK hold on to it either
+							Introspector.flushFromCaches(clazz);
+						}
+						cachedClasses.put(clazz, Boolean.TRUE);
+					}
+					else {
+						hitCount.increment();
+					}
+					entry.results = results;
+					if (!cacheSafe) {
+						entry.softResults = new SoftReference(results);
+						addBoundedEntry(entry);
+					}
+					return results;
+				}
+			}
 		}
-		else {
-			if (logger.isDebugEnabled()) {
-				logger.debug("Using cached introspection results for class " + clazz.getName());
+		if (!entry.referenced) {
+			entry.referenced = true;
+		}
+		hitCount.increment();
+		if (logger.isDebugEnabled()) {
+			logger.debug("Using cached introspection results for class " + clazz.getName());
+		}
+		return results;
+	}
+
+	/**
+	 * Hold the results of the given entry strongly, evicting the strongly
+	 * held results of other entries if the cache limit is exceeded.
+	 */
+	private static void addBoundedEntry(CacheEntry entry) {
+		synchronized (boundedEntries) {
+			// a second chance for the new entry, like for a recently used one
+			entry.referenced = true;
+			boundedEntries.add(entry);
+			trimBoundedEntries();
+		}
+	}
+
+	/**
+	 * Evict entries beyond the cache limit. Entries used since the last pass
+	 * get another chance instead. Must be called with the lock on boundedEntries.
+	 */
+	private static void trimBoundedEntries() {
+		while (boundedEntries.size() > cacheLimit) {
+			CacheEntry candidate = (CacheEntry) boundedEntries.poll();
+			if (candidate.referenced) {
+				candidate.referenced = false;
+				boundedEntries.add(candidate);
+			}
+			else {
+				// still softly reachable
+				candidate.results = null;
+				evictionCount.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Set the maximum number of classes from untrusted ClassLoaders whose
+	 * introspection results are held strongly. Default is 1024.
+	 * @see #acceptClassLoader
+	 */
+	public static void setCacheLimit(int limit) {
+		if (limit < 1) {
+			throw new IllegalArgumentException("Cache limit must be at least 1");
+		}
+		synchronized (boundedEntries) {
+			cacheLimit = limit;
+			trimBoundedEntries();
+		}
+	}
+
+	/**
+	 * Accept the given ClassLoader as cache-safe: the introspection results
+	 * for classes loaded by it or its children will be cached without limit.
+	 * Applies to classes introspected from now on.
+	 * <p>To be cleared with clearClassLoader when the ClassLoader goes away.
+	 * @param classLoader the ClassLoader to accept
+	 * @see #clearClassLoader
+	 */
+	public static void acceptClassLoader(ClassLoader classLoader) {
+		if (classLoader != null) {
+			acceptedClassLoaders.add(classLoader);
+		}
+	}
+
+	/**
+	 * Clear the introspection cache for the given ClassLoader: remove the
+	 * results for all classes loaded by it or its children, and remove it
+	 * and its children from the set of accepted ClassLoaders. Also removes
+	 * the BeanWrappers for those classes from all BeanWrapperPools.
+	 * @param classLoader the ClassLoader to clear the cache for
+	 */
+	public static void clearClassLoader(ClassLoader classLoader) {
+		if (classLoader == null) {
+			return;
+		}
+		synchronized (acceptedClassLoaders) {
+			for (Iterator it = acceptedClassLoaders.iterator(); it.hasNext();) {
+				if (isUnderneathClassLoader((ClassLoader) it.next(), classLoader)) {
+					it.remove();
+				}
 			}
 		}
-		return (CachedIntrospectionResults) results;
+		Object[] classes = null;
+		synchronized (cachedClasses) {
+			classes = cachedClasses.keySet().toArray();
+		}
+		int cleared = 0;
+		for (int i = 0; i < classes.length; i++) {
+			Class clazz = (Class) classes[i];
+			if (clazz != null && isUnderneathClassLoader(clazz.getClassLoader(), classLoader)) {
+				CacheEntry entry = (CacheEntry) classCache.get(clazz);
+				synchronized (entry) {
+					// a concurrent forClass that already holds the entry must not re-add it
+					entry.removed = true;
+					entry.results = null;
+					entry.softResults = null;
+					classCache.remove(clazz);
+					cachedClasses.remove(clazz);
+				}
+				synchronized (boundedEntries) {
+					boundedEntries.remove(entry);
+				}
+				cleared++;
+			}
+		}
+		BeanWrapperPool.clearClassLoader(classLoader);
+		if (logger.isDebugEnabled()) {
+			logger.debug("Cleared introspection results for " + cleared + " classes of ClassLoader [" + classLoader + "]");
+		}
+	}
+
+	/**
+	 * Determine whether the introspection results for the given class
+	 * may be cached without limit.
+	 */
+	private static boolean isCacheSafe(Class clazz) {
+		ClassLoader target = clazz.getClassLoader();
+		ClassLoader ours = CachedIntrospectionResults.class.getClassLoader();
+		if (target == null || isUnderneathClassLoader(ours, target)) {
+			// bootstrap ClassLoader, or ours or one of its parents
+			return true;
+		}
+		synchronized (acceptedClassLoaders) {
+			for (Iterator it = acceptedClassLoaders.iterator(); it.hasNext();) {
+				if (isUnderneathClassLoader(target, (ClassLoader) it.next())) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Return the one of the given classes whose ClassLoader is the same as
+	 * or a child of the ClassLoader of the other one. Information about both
+	 * classes can be cached in a ClassValue on that class without keeping
+	 * the other class alive any longer than necessary.
+	 * @return the class to cache on, or null if the ClassLoaders are unrelated
+	 */
+	static Class getCacheOwner(Class clazz, Class otherClass) {
+		ClassLoader classLoader = clazz.getClassLoader();
+		ClassLoader otherClassLoader = otherClass.getClassLoader();
+		if (otherClassLoader == null || isUnderneathClassLoader(classLoader, otherClassLoader)) {
+			return clazz;
+		}
+		if (classLoader == null || isUnderneathClassLoader(otherClassLoader, classLoader)) {
+			return otherClass;
+		}
+		return null;
+	}
+
+	/**
+	 * Check whether the given candidate ClassLoader is the given parent
+	 * ClassLoader or one of its children.
+	 */
+	static boolean isUnderneathClassLoader(ClassLoader candidate, ClassLoader parent) {
+		for (ClassLoader classLoader = candidate; classLoader != null; classLoader = classLoader.getParent()) {
+			if (classLoader == parent) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Introspect the given classes in parallel on the common ForkJoinPool,
+	 * e.g. the bean classes of an application at startup.
+	 * @see #warmUp(Collection, Executor)
+	 */
+	public static Map warmUp(Collection classes) throws BeansException {
+		return warmUp(classes, null);
+	}
+
+	/**
+	 * Introspect the given classes in parallel, one task per class, and wait
+	 * for all of them. Results get published into the cache just like on
+	 * first use through forClass: completely or not at all, with concurrent
+	 * lookups of a class that is being introspected waiting for its results.
+	 * Classes that are cached already are just looked up.
+	 * <p>Without an Executor, the tasks get forked into the common ForkJoinPool
+	 * and joined, so a caller that is a worker of that pool helps rather than
+	 * blocks. Classes that cannot be introspected get logged and skipped:
+	 * forClass will report the problem when the class actually gets used.
+	 * @param classes the classes to introspect
+	 * @param executor the Executor to introspect the classes with
+	 * (null for the common ForkJoinPool)
+	 * @return Map from Class to the time it took to introspect it in
+	 * nanoseconds (as Long), in the order of the given classes,
+	 * without the classes that could not be introspected
+	 * @throws BeansException if the Executor rejected a task or the calling
+	 * thread got interrupted
+	 * @see ParallelTasks
+	 */
+	public static Map warmUp(Collection classes, Executor executor) throws BeansException {
+		long start = System.nanoTime();
+		Set uniqueClasses = new LinkedHashSet(classes);
+		final Class[] classArray = (Class[]) uniqueClasses.toArray(new Class[uniqueClasses.size()]);
+		final long[] times = new long[classArray.length];
+		Runnable[] tasks = new Runnable[classArray.length];
+		for (int i = 0; i < classArray.length; i++) {
+			final int index = i;
+			tasks[i] = new Runnable() {
+				public void run() {
+					long classStart = System.nanoTime();
+					try {
+						forClass(classArray[index]);
+						times[index] = System.nanoTime() - classStart;
+					}
+					catch (RuntimeException ex) {
+						logger.warn("Could not warm up introspection results for class [" +
+						            classArray[index].getName() + "]", ex);
+						times[index] = -1;
+					}
+				}
+			};
+		}
+		ParallelTasks.invokeAll(tasks, executor, "introspection warm-up");
+		Map timings = new LinkedHashMap();
+		for (int i = 0; i < classArray.length; i++) {
+			if (times[i] >= 0) {
+				timings.put(classArray[i], new Long(times[i]));
+				if (logger.isDebugEnabled()) {
+					logger.debug("Warmed up introspection results for class [" + classArray[i].getName() + "] in " +
+					             (times[i] / 1000) + " microseconds");
+				}
+			}
+		}
+		if (logger.isInfoEnabled()) {
+			logger.info("Warmed up introspection results for " + timings.size() + " of " + classArray.length +
+			            " classes in " + ((System.nanoTime() - start) / 1000000) + " ms");
+		}
+		return Collections.unmodifiableMap(timings);
+	}
+
+	/**
+	 * Return a snapshot of the statistics of the introspection cache.
+	 */
+	public static IntrospectionCacheStatistics getCacheStatistics() {
+		Object[] classes = null;
+		synchronized (cachedClasses) {
+			classes = cachedClasses.keySet().toArray();
+		}
+		int strongCount = 0;
+		int softCount = 0;
+		for (int i = 0; i < classes.length; i++) {
+			if (classes[i] != null) {
+				CacheEntry entry = (CacheEntry) classCache.get((Class) classes[i]);
+				if (entry.results != null) {
+					strongCount++;
+				}
+				else if (entry.getSoftResults() != null) {
+					softCount++;
+				}
+			}
+		}
+		return new IntrospectionCacheStatistics(hitCount.sum(), missCount.get(), evictionCount.get(),
+		                                        strongCount, softCount);
+	}
+
+
+	/**
+	 * Holder for the introspection results of one class, filled on first use.
+	 */
+	private static class CacheEntry {
+
+		/** Results held strongly, null if not introspected yet or evicted */
+		volatile CachedIntrospectionResults results;
+
+		/** Results held softly, for classes from untrusted ClassLoaders */
+		volatile SoftReference softResults;
+
+		/** Whether the results have been used since the last eviction pass */
+		volatile boolean referenced;
+
+		/** Whether clearClassLoader has removed this entry, guarded by the entry's lock */
+		boolean removed;
+
+		CachedIntrospectionResults getSoftResults() {
+			SoftReference softResults = this.softResults;
+			return (softResults != null ? (CachedIntrospectionResults) softResults.get() : null);
+		}
 	}
 
 
@@ -78,23 +459,61 @@ final class CachedIntrospectionResults {
 	/** Property descriptors keyed by property name */
 	private Map propertyDescriptorMap;
 
+	/** Property indexes (as Integer) keyed by property name */
+	private Map propertyIndexMap;
+
+	/** Property descriptors in index order */
+	private PropertyDescriptor[] propertyDescriptors;
+
+	/** Accessor for the properties, either generated or reflective */
+	private BeanAccessor accessor;
+
+	/** Bindable constructors, resolved on first use */
+	private volatile BeanConstructor[] beanConstructors;
+
+	/** Indexes of the readable properties, resolved on first use */
+	private volatile int[] readablePropertyIndexes;
+
+	/** Preallocated exceptions for missing properties, keyed by property name */
+	private final Map propertyNotFoundExceptions = new ConcurrentHashMap();
+
 	/**
 	 * Create new CachedIntrospectionResults instance fot the given class.
 	 */
 	private CachedIntrospectionResults(Class clazz) throws FatalBeanException {
 		try {
-			logger.debug("Getting BeanInfo for class [" + clazz.getName() + "]");
-			this.beanInfo = Introspector.getBeanInfo(clazz);
+			this.beanInfo = IntrospectionIndex.findBeanInfo(clazz);
+			if (this.beanInfo != null) {
+				logger.debug("Using indexed BeanInfo for class [" + clazz.getName() + "]");
+			}
+			else {
+				logger.debug("Getting BeanInfo for class [" + clazz.getName() + "]");
+				this.beanInfo = Introspector.getBeanInfo(clazz);
+			}
 
 			logger.debug("Caching PropertyDescriptors for class [" + clazz.getName() + "]");
 			this.propertyDescriptorMap = new HashMap();
+			this.propertyIndexMap = new HashMap();
 			// This call is slow so we do it once
 			PropertyDescriptor[] pds = this.beanInfo.getPropertyDescriptors();
+			Method[] readMethods = new Method[pds.length];
+			Method[] writeMethods = new Method[pds.length];
 			for (int i = 0; i < pds.length; i++) {
 				logger.debug("Found property '" + pds[i].getName() + "' of type [" + pds[i].getPropertyType() +
 										 "]; editor=[" + pds[i].getPropertyEditorClass() + "]");
 				this.propertyDescriptorMap.put(pds[i].getName(), pds[i]);
+				this.propertyIndexMap.put(pds[i].getName(), new Integer(i));
+				readMethods[i] = pds[i].getReadMethod();
+				writeMethods[i] = pds[i].getWriteMethod();
+			}
+			this.propertyDescriptors = pds;
+
+			this.accessor = BeanAccessorGenerator.generateAccessor(clazz, pds);
+			if (this.accessor == null) {
+				logger.debug("Using reflective accessor for class [" + clazz.getName() + "]");
+				this.accessor = new BeanAccessor();
 			}
+			this.accessor.initialize(readMethods, writeMethods);
 		}
 		catch (IntrospectionException ex) {
 			throw new FatalBeanException("Cannot get BeanInfo for object of class [" + clazz.getName() + "]", ex);
@@ -112,9 +531,110 @@ final class CachedIntrospectionResults {
 	protected PropertyDescriptor getPropertyDescriptor(String propertyName) throws BeansException {
 		PropertyDescriptor pd = (PropertyDescriptor) this.propertyDescriptorMap.get(propertyName);
 		if (pd == null) {
-			throw new FatalBeanException("No property '" + propertyName + "' in class [" + getBeanClass().getName() + "]", null);
+			throw createPropertyNotFoundException(propertyName);
 		}
 		return pd;
 	}
 
+	/**
+	 * Return the index of the given property, for use with the accessor.
+	 * @throws FatalBeanException if there is no such property
+	 */
+	protected int getPropertyIndex(String propertyName) throws BeansException {
+		int index = findPropertyIndex(propertyName);
+		if (index == -1) {
+			throw createPropertyNotFoundException(propertyName);
+		}
+		return index;
+	}
+
+	/**
+	 * Return the exception to throw for the given missing property.
+	 * <p>If stackless mode applies to FatalBeanException, returns a
+	 * preallocated instance for the property, as missing properties are
+	 * typically probed for as part of expected control flow. Such instances
+	 * are shared between threads but effectively immutable: They have
+	 * neither a writable stack trace nor suppressed exceptions, and their
+	 * null cause cannot be overwritten through initCause.
+	 * @see org.springframework.core.StacklessExceptions
+	 */
+	private FatalBeanException createPropertyNotFoundException(String propertyName) {
+		if (!StacklessExceptions.isStackless(FatalBeanException.class)) {
+			return new FatalBeanException("No property '" + propertyName + "' in class [" + getBeanClass().getName() + "]", null);
+		}
+		FatalBeanException ex = (FatalBeanException) this.propertyNotFoundExceptions.get(propertyName);
+		if (ex == null) {
+			ex = new FatalBeanException("No property '" + propertyName + "' in class [" + getBeanClass().getName() + "]",
+			                            null, false);
+			// don't let arbitrary property names fill up the cache
+			if (this.propertyNotFoundExceptions.size() < PROPERTY_NOT_FOUND_CACHE_LIMIT) {
+				this.propertyNotFoundExceptions.put(propertyName, ex);
+			}
+		}
+		return ex;
+	}
+
+	/**
+	 * Return the index of the given property, or -1 if there is no such
+	 * property. Unlike getPropertyIndex, this doesn't throw an exception.
+	 */
+	protected int findPropertyIndex(String propertyName) {
+		Integer index = (Integer) this.propertyIndexMap.get(propertyName);
+		return (index != null ? index.intValue() : -1);
+	}
+
+	/**
+	 * Return the property descriptor with the given index.
+	 */
+	protected PropertyDescriptor getPropertyDescriptor(int index) {
+		return this.propertyDescriptors[index];
+	}
+
+	/**
+	 * Return the accessor for the properties of the bean class,
+	 * reading and writing properties by index.
+	 * @see #getPropertyIndex
+	 */
+	protected BeanAccessor getAccessor() {
+		return accessor;
+	}
+
+	/**
+	 * Return the constructors of the bean class that property values
+	 * can be bound to, the greediest first.
+	 */
+	protected BeanConstructor[] getBeanConstructors() {
+		BeanConstructor[] beanConstructors = this.beanConstructors;
+		if (beanConstructors == null) {
+			beanConstructors = BeanConstructor.forClass(getBeanClass());
+			if (logger.isDebugEnabled()) {
+				logger.debug("Found " + beanConstructors.length + " bindable constructors in class [" +
+				             getBeanClass().getName() + "]");
+			}
+			this.beanConstructors = beanConstructors;
+		}
+		return beanConstructors;
+	}
+
+	/**
+	 * Return the indexes of the readable properties, in index order.
+	 * The returned array is shared and must not be modified.
+	 */
+	protected int[] getReadablePropertyIndexes() {
+		int[] readablePropertyIndexes = this.readablePropertyIndexes;
+		if (readablePropertyIndexes == null) {
+			int count = 0;
+			int[] indexes = new int[this.propertyDescriptors.length];
+			for (int i = 0; i < this.propertyDescriptors.length; i++) {
+				if (this.propertyDescriptors[i].getReadMethod() != null) {
+					indexes[count++] = i;
+				}
+			}
+			readablePropertyIndexes = new int[count];
+			System.arraycopy(indexes, 0, readablePropertyIndexes, 0, count);
+			this.readablePropertyIndexes = readablePropertyIndexes;
+		}
+		return readablePropertyIndexes;
+	}
+
 }
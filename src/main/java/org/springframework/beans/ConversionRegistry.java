@@ -0,0 +1,317 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyEditor;
+import java.beans.PropertyEditorManager;
+import java.io.File;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.propertyeditors.ClassEditor;
+import org.springframework.beans.propertyeditors.FileEditor;
+import org.springframework.beans.propertyeditors.LocaleEditor;
+import org.springframework.beans.propertyeditors.PropertiesEditor;
+import org.springframework.beans.propertyeditors.StringArrayPropertyEditor;
+import org.springframework.beans.propertyeditors.URLEditor;
+
+/**
+ * Thread-safe registry of Converters, keyed by source and target type.
+ * Resolves the Converter for a (sourceType, targetType) pair once and
+ * caches the result, including the absence of a Converter, so repeated
+ * conversions neither instantiate editors nor hit the globally
+ * synchronized PropertyEditorManager.
+ *
+ * <p>Resolution order for a pair: Converters registered for the source
+ * type, its superclasses and its interfaces (in that order); then, for
+ * String sources, the editor found by the JavaBeans PropertyEditorManager
+ * for the target type. If that is one of the JDK's own editors for
+ * primitives, their wrappers and enums, a stateless built-in conversion
+ * with the same parsing rules takes its place; editors that the
+ * application registered with the PropertyEditorManager are used as they are.
+ *
+ * <p>A new registry contains the BeanWrapper default editors of the
+ * org.springframework.beans.propertyeditors package, adapted as Converters.
+ * BeanWrapperImpl uses the shared registry unless told otherwise; custom
+ * editors registered on a BeanWrapper still take precedence.
+ *
+ * <p>Note that the cache holds on to resolved PropertyEditorManager
+ * lookups: call clearCache after registering editors there. Resolved
+ * Converters are cached in a ClassValue on the source or the target type,
+ * so the cache doesn't keep classes and their ClassLoaders from being
+ * garbage-collected; pairs of types from unrelated ClassLoaders get
+ * resolved on each lookup.
+ *
+ * @since 17 October 2026
+ * @see Converter
+ * @see PropertyEditorConverter
+ * @see BeanWrapperImpl#setConversionRegistry
+ */
+public class ConversionRegistry {
+
+	private static final Log logger = LogFactory.getLog(ConversionRegistry.class);
+
+	/** Marker for cached negative resolution results */
+	private static final Object NO_CONVERTER = new Object();
+
+	private static final ConversionRegistry sharedInstance = new ConversionRegistry();
+
+	/**
+	 * Return the registry shared by all BeanWrapperImpl instances
+	 * that haven't been given a specific registry.
+	 */
+	public static ConversionRegistry getSharedInstance() {
+		return sharedInstance;
+	}
+
+
+	/** Registered Converters: Map from source type to Map from target type to Converter */
+	private final Map registeredConverters = new HashMap();
+
+	/** Per-class ResolvedConverters, replaced when the cache gets cleared */
+	private volatile ClassValue resolvedConverters = createResolvedConverterCache();
+
+	/**
+	 * Create a new ConversionRegistry with the default editors registered.
+	 */
+	public ConversionRegistry() {
+		addEditor(Class.class, ClassEditor.class);
+		addEditor(File.class, FileEditor.class);
+		addEditor(Locale.class, LocaleEditor.class);
+		addEditor(Properties.class, PropertiesEditor.class);
+		addEditor(String[].class, StringArrayPropertyEditor.class);
+		addEditor(URL.class, URLEditor.class);
+	}
+
+	/**
+	 * Register the given Converter for the given source and target type.
+	 * Overrides any Converter previously registered for that pair.
+	 * @param sourceType the type of values to convert; the Converter will
+	 * also be used for subclasses and implementations of it
+	 * @param targetType the exact type to convert to
+	 * @param converter the Converter to use
+	 */
+	public void addConverter(Class sourceType, Class targetType, Converter converter) {
+		if (sourceType == null || targetType == null || converter == null) {
+			throw new IllegalArgumentException("Source type, target type and converter must not be null");
+		}
+		synchronized (this.registeredConverters) {
+			Map targetMap = (Map) this.registeredConverters.get(sourceType);
+			if (targetMap == null) {
+				targetMap = new HashMap();
+				this.registeredConverters.put(sourceType, targetMap);
+			}
+			targetMap.put(targetType, converter);
+			clearCache();
+		}
+	}
+
+	/**
+	 * Register the given PropertyEditor class for converting Strings and
+	 * other values to the given target type. A single instance of the
+	 * editor will be created, and access to it will be synchronized.
+	 * @param targetType the type to convert to
+	 * @param editorClass the PropertyEditor class, with a no-arg constructor
+	 */
+	public void addEditor(Class targetType, Class editorClass) {
+		addConverter(Object.class, targetType, new PropertyEditorConverter(editorClass));
+	}
+
+	/**
+	 * Register the given PropertyEditor instance for converting Strings and
+	 * other values to the given target type. Access to the editor will be
+	 * synchronized; prefer registering an editor class for hot conversions.
+	 * @param targetType the type to convert to
+	 * @param editor the PropertyEditor instance
+	 */
+	public void addEditor(Class targetType, PropertyEditor editor) {
+		addConverter(Object.class, targetType, new PropertyEditorConverter(editor));
+	}
+
+	/**
+	 * Clear the cache of resolved Converters, for example after editors have
+	 * been registered with the JavaBeans PropertyEditorManager.
+	 */
+	public void clearCache() {
+		this.resolvedConverters = createResolvedConverterCache();
+	}
+
+	private static ClassValue createResolvedConverterCache() {
+		return new ClassValue() {
+			protected Object computeValue(Class clazz) {
+				return new ResolvedConverters();
+			}
+		};
+	}
+
+	/**
+	 * Return the Converter for the given pair of types.
+	 * @param sourceType the type of the value to convert
+	 * @param targetType the type to convert to
+	 * @return the Converter, or null if there is none for this pair
+	 */
+	public Converter getConverter(Class sourceType, Class targetType) {
+		Class owner = CachedIntrospectionResults.getCacheOwner(targetType, sourceType);
+		if (owner == null) {
+			// types from unrelated ClassLoaders: don't cache
+			return resolveConverter(sourceType, targetType);
+		}
+		ResolvedConverters resolved = (ResolvedConverters) this.resolvedConverters.get(owner);
+		Map converterMap = (owner == targetType ? resolved.bySourceType : resolved.byTargetType);
+		Object converter = converterMap.get(owner == targetType ? sourceType : targetType);
+		if (converter == null) {
+			converter = resolveConverter(sourceType, targetType);
+			if (logger.isDebugEnabled()) {
+				logger.debug("Resolved converter for [" + sourceType.getName() + "] to [" + targetType.getName() +
+				             "]: " + (converter != null ? converter.toString() : "none"));
+			}
+			converterMap.put((owner == targetType ? sourceType : targetType), (converter != null ? converter : NO_CONVERTER));
+		}
+		return (converter != NO_CONVERTER ? (Converter) converter : null);
+	}
+
+	/**
+	 * Determine the Converter for the given pair of types, without caching.
+	 * @return the Converter, or null if none found
+	 */
+	protected Converter resolveConverter(Class sourceType, Class targetType) {
+		Converter converter = null;
+		synchronized (this.registeredConverters) {
+			for (Class clazz = sourceType; clazz != null && converter == null; clazz = clazz.getSuperclass()) {
+				converter = findRegisteredConverter(clazz, targetType);
+			}
+			for (Class clazz = sourceType; clazz != null && converter == null; clazz = clazz.getSuperclass()) {
+				converter = findRegisteredConverterForInterfaces(clazz.getInterfaces(), targetType);
+			}
+			if (converter == null && sourceType.isInterface()) {
+				// interfaces don't have Object as superclass
+				converter = findRegisteredConverter(Object.class, targetType);
+			}
+		}
+		if (converter == null && sourceType == String.class) {
+			// no default editor -> check standard JavaBean editors
+			PropertyEditor editor = PropertyEditorManager.findEditor(targetType);
+			if (editor != null) {
+				if (editor.getClass().getClassLoader() == null && StringConverter.canConvert(targetType)) {
+					// one of the JDK's own editors: convert without editor state
+					converter = StringConverter.INSTANCE;
+				}
+				else {
+					converter = new PropertyEditorConverter(editor);
+				}
+			}
+		}
+		return converter;
+	}
+
+	private Converter findRegisteredConverter(Class sourceType, Class targetType) {
+		Map targetMap = (Map) this.registeredConverters.get(sourceType);
+		return (targetMap != null ? (Converter) targetMap.get(targetType) : null);
+	}
+
+	private Converter findRegisteredConverterForInterfaces(Class[] interfaces, Class targetType) {
+		for (int i = 0; i < interfaces.length; i++) {
+			Converter converter = findRegisteredConverter(interfaces[i], targetType);
+			if (converter == null) {
+				converter = findRegisteredConverterForInterfaces(interfaces[i].getInterfaces(), targetType);
+			}
+			if (converter != null) {
+				return converter;
+			}
+		}
+		return null;
+	}
+
+
+	/**
+	 * Resolved Converters cached on one class: Converters to that class
+	 * keyed by source type, and Converters from that class keyed by target
+	 * type, the values being Converters or NO_CONVERTER.
+	 */
+	private static class ResolvedConverters {
+
+		final Map bySourceType = new ConcurrentHashMap();
+
+		final Map byTargetType = new ConcurrentHashMap();
+	}
+
+
+	/**
+	 * Stateless String conversion to primitives, their wrappers and enums.
+	 * Parses like the JDK's own editors for these types, i.e. with
+	 * decode for integral numbers, so that "010" is octal there as well.
+	 */
+	private static class StringConverter implements Converter {
+
+		static final StringConverter INSTANCE = new StringConverter();
+
+		static boolean canConvert(Class targetType) {
+			return (targetType == Integer.TYPE || targetType == Integer.class ||
+			        targetType == Long.TYPE || targetType == Long.class ||
+			        targetType == Double.TYPE || targetType == Double.class ||
+			        targetType == Boolean.TYPE || targetType == Boolean.class ||
+			        targetType == Float.TYPE || targetType == Float.class ||
+			        targetType == Short.TYPE || targetType == Short.class ||
+			        targetType == Byte.TYPE || targetType == Byte.class ||
+			        targetType.isEnum());
+		}
+
+		public Object convert(Object source, Class targetType) throws IllegalArgumentException {
+			String text = (String) source;
+			if (targetType == Integer.TYPE || targetType == Integer.class) {
+				return Integer.decode(text);
+			}
+			if (targetType == Long.TYPE || targetType == Long.class) {
+				return Long.decode(text);
+			}
+			if (targetType == Double.TYPE || targetType == Double.class) {
+				return Double.valueOf(text);
+			}
+			if (targetType == Boolean.TYPE || targetType == Boolean.class) {
+				if ("true".equalsIgnoreCase(text)) {
+					return Boolean.TRUE;
+				}
+				if ("false".equalsIgnoreCase(text)) {
+					return Boolean.FALSE;
+				}
+				throw new IllegalArgumentException("Invalid boolean value [" + text + "]");
+			}
+			if (targetType == Float.TYPE || targetType == Float.class) {
+				return Float.valueOf(text);
+			}
+			if (targetType == Short.TYPE || targetType == Short.class) {
+				return Short.decode(text);
+			}
+			if (targetType == Byte.TYPE || targetType == Byte.class) {
+				return Byte.decode(text);
+			}
+			return Enum.valueOf(targetType, text);
+		}
+
+		public String toString() {
+			return "StringConverter";
+		}
+	}
+
+}
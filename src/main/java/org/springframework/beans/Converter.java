@@ -0,0 +1,44 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+/**
+ * Stateless strategy for converting a value to a target type.
+ * In contrast to a PropertyEditor, a Converter does not hold the value
+ * it converts, so a single instance can be shared by any number of
+ * concurrent threads.
+ *
+ * <p>Converters get registered with a ConversionRegistry for a pair of
+ * source and target type. Existing PropertyEditors can be used as
+ * Converters via PropertyEditorConverter.
+ *
+ * @since 17 October 2026
+ * @see ConversionRegistry
+ * @see PropertyEditorConverter
+ */
+public interface Converter {
+
+	/**
+	 * Convert the given value to the given target type.
+	 * @param source the value to convert (never null)
+	 * @param targetType the type to convert to
+	 * @return the converted value
+	 * @throws IllegalArgumentException if the value cannot be converted
+	 */
+	Object convert(Object source, Class targetType) throws IllegalArgumentException;
+
+}
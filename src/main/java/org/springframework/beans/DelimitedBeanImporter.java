@@ -0,0 +1,421 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.io.Resource;
+
+/**
+ * Streaming importer for delimited text resources such as CSV or TSV files,
+ * creating one bean per row. The first row is the header: each column name
+ * gets mapped to a property path, either as is or through an explicit
+ * column mapping.
+ *
+ * <p>Rows are read one at a time and handed to an ImportCallback right
+ * after binding, so the heap needed does not depend on the size of the
+ * resource. The columns get resolved once into a BindingPlan, which keeps
+ * the editor or converter for each column; a single BeanWrapper gets
+ * rebound for each row.
+ *
+ * <p>Supports quoting as in RFC 4180: cells enclosed in the quote
+ * character may contain delimiters, line breaks and doubled quote
+ * characters. Empty cells are skipped by default, leaving the respective
+ * properties at their initial values.
+ *
+ * <p>Not thread-safe: use one importer per thread, or synchronize.
+ *
+ * @since 17 October 2026
+ * @see BindingPlan
+ * @see org.springframework.core.io.Resource
+ */
+public class DelimitedBeanImporter {
+
+	/** Delimiter for comma-separated values */
+	public static final char COMMA = ',';
+
+	/** Delimiter for tab-separated values */
+	public static final char TAB = '\t';
+
+	/** Quote character that indicates no quoting */
+	public static final char NO_QUOTE = '\0';
+
+	/** Default maximum number of characters in a quoted cell that spans multiple lines */
+	public static final int DEFAULT_MAX_QUOTED_CELL_LENGTH = 1024 * 1024;
+
+
+	/**
+	 * Callback for beans created by an import.
+	 */
+	public interface ImportCallback {
+
+		/**
+		 * Process the bean created for the given row.
+		 * @param bean the bound bean
+		 * @param row the number of the row, starting with 1 for the
+		 * first row after the header
+		 * @throws BeansException to abort the import
+		 */
+		void beanImported(Object bean, long row) throws BeansException;
+
+		/**
+		 * Handle the failure to bind the given row.
+		 * Typically a PropertyAccessExceptionsException.
+		 * @param row the number of the row
+		 * @param ex the exception
+		 * @throws BeansException to abort the import
+		 */
+		void rowFailed(long row, BeansException ex) throws BeansException;
+	}
+
+
+	private static final Log logger = LogFactory.getLog(DelimitedBeanImporter.class);
+
+	private final Class beanClass;
+
+	private char delimiter = COMMA;
+
+	private char quoteCharacter = '"';
+
+	private String encoding = "UTF-8";
+
+	private Map columnMapping;
+
+	private Map customEditors;
+
+	private boolean ignoreUnknownColumns = false;
+
+	private boolean skipEmptyCells = true;
+
+	private int maxQuotedCellLength = DEFAULT_MAX_QUOTED_CELL_LENGTH;
+
+	private final StringBuffer cellBuffer = new StringBuffer();
+
+	/** number of lines read from the current resource */
+	private long lineNumber;
+
+	/**
+	 * Create a new DelimitedBeanImporter for the given bean class.
+	 * @param beanClass the class to instantiate for each row,
+	 * with a no-arg constructor
+	 */
+	public DelimitedBeanImporter(Class beanClass) {
+		if (beanClass == null) {
+			throw new IllegalArgumentException("Bean class must not be null");
+		}
+		this.beanClass = beanClass;
+	}
+
+	/**
+	 * Set the delimiter between cells. Default is a comma.
+	 * @see #COMMA
+	 * @see #TAB
+	 */
+	public void setDelimiter(char delimiter) {
+		this.delimiter = delimiter;
+	}
+
+	/**
+	 * Set the character for quoting cells. Default is a double quote.
+	 * @see #NO_QUOTE
+	 */
+	public void setQuoteCharacter(char quoteCharacter) {
+		this.quoteCharacter = quoteCharacter;
+	}
+
+	/**
+	 * Set the encoding of the resource. Default is UTF-8.
+	 */
+	public void setEncoding(String encoding) {
+		this.encoding = encoding;
+	}
+
+	/**
+	 * Set the mapping from column name to property path. Columns without
+	 * a mapping get ignored. Default is to use column names as property paths.
+	 * @param columnMapping Map from column name to property path (both Strings)
+	 */
+	public void setColumnMapping(Map columnMapping) {
+		this.columnMapping = columnMapping;
+	}
+
+	/**
+	 * Set custom editors for converting cells, keyed by required type (Class)
+	 * or property path (String) as with BeanWrapper's registerCustomEditor.
+	 * @see BindingPlan#BindingPlan(Class, String[], Map, boolean)
+	 */
+	public void setCustomEditors(Map customEditors) {
+		this.customEditors = customEditors;
+	}
+
+	/**
+	 * Set whether to ignore columns that don't match a writable property.
+	 * Default is false: such columns make the import fail right after
+	 * reading the header. Nested property paths can only be checked
+	 * per bean, so they make each row fail instead.
+	 */
+	public void setIgnoreUnknownColumns(boolean ignoreUnknownColumns) {
+		this.ignoreUnknownColumns = ignoreUnknownColumns;
+	}
+
+	/**
+	 * Set whether to skip empty cells rather than binding empty Strings.
+	 * Default is true.
+	 */
+	public void setSkipEmptyCells(boolean skipEmptyCells) {
+		this.skipEmptyCells = skipEmptyCells;
+	}
+
+	/**
+	 * Set the maximum number of characters of a quoted cell that spans
+	 * multiple lines. Protects against a quote character that is never
+	 * closed, which would otherwise buffer the rest of the input into a
+	 * single cell. Default is DEFAULT_MAX_QUOTED_CELL_LENGTH.
+	 * @see #DEFAULT_MAX_QUOTED_CELL_LENGTH
+	 */
+	public void setMaxQuotedCellLength(int maxQuotedCellLength) {
+		this.maxQuotedCellLength = maxQuotedCellLength;
+	}
+
+
+	/**
+	 * Import all rows of the given resource.
+	 * @param resource the resource to read, with a header row
+	 * @param callback the callback for created beans and failed rows
+	 * @return the number of beans imported
+	 * @throws IOException if the resource could not be read, if the
+	 * encoding is not supported, or if a quoted cell is not terminated
+	 * within the maximum quoted cell length
+	 * @throws NotWritablePropertyException if a column doesn't match a
+	 * writable property and unknown columns are not ignored
+	 * @throws BeansException if the header cannot be mapped otherwise,
+	 * or if the callback aborted the import
+	 */
+	public long importBeans(Resource resource, ImportCallback callback) throws IOException, BeansException {
+		InputStream is = resource.getInputStream();
+		try {
+			BufferedReader reader = new BufferedReader(new InputStreamReader(is, this.encoding));
+			List cells = new ArrayList();
+			this.lineNumber = 0;
+			if (!readRecord(reader, cells, resource)) {
+				return 0;
+			}
+			// column index -> plan position, or -1 for ignored columns
+			int[] columnPositions = new int[cells.size()];
+			BindingPlan plan = createBindingPlan(cells, columnPositions);
+			Object[] values = new Object[plan.getPropertyNames().length];
+			BeanWrapperImpl bw = null;
+			long row = 0;
+			long imported = 0;
+
+			while (readRecord(reader, cells, resource)) {
+				row++;
+				Object bean = null;
+				try {
+					if (cells.size() > columnPositions.length) {
+						throw new FatalBeanException("Row " + row + " of " + resource.getDescription() + " has " +
+						                             cells.size() + " cells, but the header only has " + columnPositions.length);
+					}
+					for (int i = 0; i < values.length; i++) {
+						values[i] = null;
+					}
+					for (int i = 0; i < cells.size(); i++) {
+						String cell = (String) cells.get(i);
+						if (columnPositions[i] != -1 && !(this.skipEmptyCells && cell.length() == 0)) {
+							values[columnPositions[i]] = cell;
+						}
+					}
+					bean = BeanUtils.instantiateClass(this.beanClass);
+					if (bw == null) {
+						bw = plan.createBeanWrapper(bean);
+					}
+					else {
+						bw.setWrappedInstance(bean);
+					}
+					plan.apply(bw, values);
+				}
+				catch (PropertyAccessExceptionsException ex) {
+					// the BeanWrapper will get rebound: expose a dedicated one
+					callback.rowFailed(row, new PropertyAccessExceptionsException(
+							new BeanWrapperImpl(bean), ex.getPropertyAccessExceptions()));
+					continue;
+				}
+				catch (BeansException ex) {
+					callback.rowFailed(row, ex);
+					continue;
+				}
+				callback.beanImported(bean, row);
+				imported++;
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug("Imported " + imported + " of " + row + " rows from " + resource.getDescription() +
+				             " into beans of class [" + this.beanClass.getName() + "]");
+			}
+			return imported;
+		}
+		finally {
+			is.close();
+		}
+	}
+
+	/**
+	 * Resolve the given header cells into a BindingPlan.
+	 * @param header the column names
+	 * @param columnPositions array to fill with the plan position of each column
+	 */
+	private BindingPlan createBindingPlan(List header, int[] columnPositions) throws BeansException {
+		CachedIntrospectionResults introspectionResults = CachedIntrospectionResults.forClass(this.beanClass);
+		List propertyPaths = new ArrayList();
+		for (int i = 0; i < header.size(); i++) {
+			String column = ((String) header.get(i)).trim();
+			if (i == 0 && column.length() > 0 && column.charAt(0) == '\uFEFF') {
+				// byte order mark
+				column = column.substring(1);
+			}
+			String propertyPath = column;
+			if (this.columnMapping != null) {
+				propertyPath = (String) this.columnMapping.get(column);
+			}
+			boolean writable = (propertyPath != null && isWritable(introspectionResults, propertyPath));
+			if (propertyPath == null || (this.ignoreUnknownColumns && !writable)) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Ignoring column '" + column + "'");
+				}
+				columnPositions[i] = -1;
+			}
+			else if (!writable) {
+				// fail once for the header rather than for every row
+				throw new NotWritablePropertyException(propertyPath, this.beanClass);
+			}
+			else {
+				columnPositions[i] = propertyPaths.size();
+				propertyPaths.add(propertyPath);
+			}
+		}
+		String[] names = (String[]) propertyPaths.toArray(new String[propertyPaths.size()]);
+		return new BindingPlan(this.beanClass, names, this.customEditors, false);
+	}
+
+	/**
+	 * Check whether the given property path could be written. Nested paths
+	 * can only be checked per bean, so they count as writable.
+	 */
+	private boolean isWritable(CachedIntrospectionResults introspectionResults, String propertyPath) {
+		PropertyPath path = PropertyPath.parse(propertyPath);
+		int index = introspectionResults.findPropertyIndex(path.getSegment(0).getName());
+		if (index == -1) {
+			return false;
+		}
+		return (path.isNested() || path.getLastSegment().getKey() != null ||
+		        introspectionResults.getPropertyDescriptor(index).getWriteMethod() != null);
+	}
+
+	/**
+	 * Read the next record, which may span multiple lines if cells are quoted.
+	 * Skips blank lines.
+	 * @param reader the reader to read from
+	 * @param cells the List to fill with the cells of the record
+	 * @param resource the resource being read, for error messages
+	 * @return false if the end of the input has been reached
+	 * @throws IOException if a quoted cell is not terminated before the
+	 * end of the input or within the maximum quoted cell length
+	 */
+	private boolean readRecord(BufferedReader reader, List cells, Resource resource) throws IOException {
+		String line = readLine(reader);
+		while (line != null && line.length() == 0) {
+			line = readLine(reader);
+		}
+		if (line == null) {
+			return false;
+		}
+		cells.clear();
+		StringBuffer cell = this.cellBuffer;
+		cell.setLength(0);
+		boolean quoted = false;
+		long quoteLineNumber = 0;
+		int i = 0;
+		while (true) {
+			if (i == line.length()) {
+				if (quoted) {
+					// line break within a quoted cell
+					line = readLine(reader);
+					if (line == null) {
+						throw new IOException("Unterminated quoted cell starting at line " + quoteLineNumber +
+						                      " of " + resource.getDescription() + ": reached end of input");
+					}
+					if (cell.length() + 1 + line.length() > this.maxQuotedCellLength) {
+						throw new IOException("Unterminated quoted cell starting at line " + quoteLineNumber +
+						                      " of " + resource.getDescription() + ": exceeds maximum length of " +
+						                      this.maxQuotedCellLength + " characters");
+					}
+					cell.append('\n');
+					i = 0;
+					continue;
+				}
+				cells.add(cell.toString());
+				return true;
+			}
+			char c = line.charAt(i++);
+			if (quoted) {
+				if (c == this.quoteCharacter) {
+					if (i < line.length() && line.charAt(i) == this.quoteCharacter) {
+						cell.append(c);
+						i++;
+					}
+					else {
+						quoted = false;
+					}
+				}
+				else {
+					cell.append(c);
+				}
+			}
+			else if (c == this.delimiter) {
+				cells.add(cell.toString());
+				cell.setLength(0);
+			}
+			else if (c == this.quoteCharacter && this.quoteCharacter != NO_QUOTE && cell.length() == 0) {
+				quoted = true;
+				quoteLineNumber = this.lineNumber;
+			}
+			else {
+				cell.append(c);
+			}
+		}
+	}
+
+	/**
+	 * Read the next line, counting line numbers.
+	 */
+	private String readLine(BufferedReader reader) throws IOException {
+		String line = reader.readLine();
+		if (line != null) {
+			this.lineNumber++;
+		}
+		return line;
+	}
+
+}
@@ -0,0 +1,794 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyDescriptor;
+import java.beans.PropertyEditor;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * BeanWrapper implementation that accesses the fields of the wrapped
+ * object directly instead of going through getters and setters, for
+ * objects that expose plain fields, e.g. data transfer objects.
+ * Properties are the instance fields of the object's class and its
+ * superclasses, whatever their visibility; final fields are read-only.
+ *
+ * <p>Supports the same nested and indexed property paths as
+ * BeanWrapperImpl, for example "spouse.name" or "friends[0].age",
+ * and the same type conversion, through custom editors and the
+ * ConversionRegistry.
+ *
+ * <p>Fields are resolved once per class, and read and written through
+ * VarHandles where available. Values that are already of the field
+ * type are written without going through the conversion machinery
+ * unless custom editors have been registered.
+ *
+ * <p>Custom editors for specific properties are registered by path
+ * relative to this accessor. An editor for a path into a collection,
+ * e.g. "friends.name", applies to the property of all elements, i.e.
+ * to "friends[0].name" as well as "friends[1].name".
+ *
+ * <p>Property descriptors have the name and type of the fields,
+ * but no read and write methods.
+ *
+ * <p>Not thread-safe, like BeanWrapperImpl.
+ *
+ * 게터와 세터 대신 필드에 직접 접근하는 BeanWrapper 구현입니다.
+ *
+ * @since 17 October 2026
+ * @see BeanWrapperImpl
+ */
+public class DirectFieldAccessor implements BeanWrapper {
+
+	/**
+	 * Maximum number of nested DirectFieldAccessors to cache per accessor.
+	 * They hold no state that could not be recreated, as all editors are
+	 * kept by the outermost accessor.
+	 */
+	private static final int NESTED_ACCESSOR_CACHE_LIMIT = 256;
+
+	/** The wrapped object */
+	private Object object;
+
+	/** The nested path of the object */
+	private String nestedPath = "";
+
+	/** Fields of the class of the wrapped object */
+	private FieldAccessor fieldAccessor;
+
+	/**
+	 * Map with custom PropertyEditor instances, keyed by required type or
+	 * full property path; shared with all nested accessors
+	 */
+	private final Map customEditors;
+
+	/** Converts values through the editors of this accessor */
+	private final FieldValueConverter converter;
+
+	/** Map with cached nested accessors, keyed by canonical property name */
+	private Map nestedAccessors;
+
+	/**
+	 * Create new empty DirectFieldAccessor. Wrapped instance needs to be set afterwards.
+	 * @see #setWrappedInstance
+	 */
+	public DirectFieldAccessor() {
+		this.customEditors = new HashMap();
+		this.converter = new FieldValueConverter();
+	}
+
+	/**
+	 * Create new DirectFieldAccessor for the given object.
+	 * @param object object wrapped by this accessor
+	 * @throws BeansException if the object cannot be wrapped
+	 */
+	public DirectFieldAccessor(Object object) throws BeansException {
+		this();
+		setWrappedInstance(object);
+	}
+
+	/**
+	 * Create a nested DirectFieldAccessor, sharing the configuration
+	 * of the given outer accessor.
+	 */
+	private DirectFieldAccessor(DirectFieldAccessor outer, Object object, String nestedPath) {
+		this.customEditors = outer.customEditors;
+		this.converter = new FieldValueConverter();
+		this.converter.setConversionRegistry(outer.getConversionRegistry());
+		this.nestedPath = nestedPath;
+		setWrappedInstance(object);
+	}
+
+
+	public void setWrappedInstance(Object object) throws BeansException {
+		if (object == null) {
+			throw new FatalBeanException("Cannot set DirectFieldAccessor target to a null object");
+		}
+		this.object = object;
+		if (this.nestedAccessors != null) {
+			// no editors held by nested accessors, so they can simply be recreated
+			this.nestedAccessors.clear();
+		}
+		if (this.fieldAccessor == null || this.fieldAccessor.getBeanClass() != object.getClass()) {
+			this.fieldAccessor = FieldAccessor.forClass(object.getClass());
+		}
+	}
+
+	public Object getWrappedInstance() {
+		return object;
+	}
+
+	public Class getWrappedClass() {
+		return object.getClass();
+	}
+
+	/**
+	 * Set the ConversionRegistry to use for values that no custom editor
+	 * has been registered for. Default is the shared registry.
+	 * @see BeanWrapperImpl#setConversionRegistry
+	 */
+	public void setConversionRegistry(ConversionRegistry conversionRegistry) {
+		this.converter.setConversionRegistry(conversionRegistry);
+		this.nestedAccessors = null;
+	}
+
+	/**
+	 * Return the ConversionRegistry used by this accessor.
+	 */
+	public ConversionRegistry getConversionRegistry() {
+		return this.converter.getConversionRegistry();
+	}
+
+
+	public void registerCustomEditor(Class requiredType, PropertyEditor propertyEditor) {
+		registerCustomEditor(requiredType, null, propertyEditor);
+	}
+
+	public void registerCustomEditor(Class requiredType, String propertyPath, PropertyEditor propertyEditor) {
+		if (propertyPath != null) {
+			this.customEditors.put(this.nestedPath + PropertyPath.parse(propertyPath).getPath(), propertyEditor);
+		}
+		else {
+			if (requiredType == null) {
+				throw new IllegalArgumentException("No propertyName and no requiredType specified");
+			}
+			this.customEditors.put(requiredType, propertyEditor);
+		}
+	}
+
+	public PropertyEditor findCustomEditor(Class requiredType, String propertyPath) {
+		return doFindCustomEditor(requiredType, (propertyPath != null ? this.nestedPath + propertyPath : null));
+	}
+
+	/**
+	 * Find the editor for the given full property path, falling back to the
+	 * path without keys in its nested segments, then to the required type.
+	 */
+	private PropertyEditor doFindCustomEditor(Class requiredType, String fullPath) {
+		if (this.customEditors.isEmpty()) {
+			return null;
+		}
+		if (fullPath != null) {
+			PropertyEditor editor = (PropertyEditor) this.customEditors.get(fullPath);
+			if (editor == null && fullPath.indexOf('[') != -1) {
+				editor = (PropertyEditor) this.customEditors.get(stripNestedKeys(fullPath));
+			}
+			if (editor != null) {
+				return editor;
+			}
+		}
+		return (requiredType != null ? (PropertyEditor) this.customEditors.get(requiredType) : null);
+	}
+
+	/**
+	 * Remove the keys from all but the last segment of the given path,
+	 * e.g. "friends[0].name" becomes "friends.name".
+	 */
+	private static String stripNestedKeys(String propertyPath) {
+		PropertyPath path = PropertyPath.parse(propertyPath);
+		StringBuffer sb = new StringBuffer();
+		for (int i = 0; i < path.getSegmentCount() - 1; i++) {
+			sb.append(path.getSegment(i).getName()).append(NESTED_PROPERTY_SEPARATOR);
+		}
+		return sb.append(path.getLastSegment().getPath()).toString();
+	}
+
+
+	/**
+	 * Navigate to the accessor for the object that holds
+	 * the last segment of the given path.
+	 */
+	private DirectFieldAccessor getAccessorForPropertyPath(PropertyPath path) {
+		DirectFieldAccessor accessor = this;
+		int nestedSegments = path.getSegmentCount() - 1;
+		for (int i = 0; i < nestedSegments; i++) {
+			accessor = accessor.getNestedAccessor(path.getSegment(i));
+		}
+		return accessor;
+	}
+
+	/**
+	 * Return the accessor to set the last segment of the given path on,
+	 * turning errors in the nested path into NotWritablePropertyExceptions.
+	 */
+	private DirectFieldAccessor getAccessorForWrite(PropertyPath path) throws BeansException {
+		if (!path.isNested()) {
+			return this;
+		}
+		try {
+			return getAccessorForPropertyPath(path);
+		}
+		catch (NullValueInNestedPathException ex) {
+			// let this through
+			throw ex;
+		}
+		catch (FatalBeanException ex) {
+			// error in the nested path
+			throw new NotWritablePropertyException(path.getPath(), getWrappedClass(), ex);
+		}
+	}
+
+	/**
+	 * Return a cached accessor for the given nested property,
+	 * creating or rebinding it if necessary.
+	 */
+	private DirectFieldAccessor getNestedAccessor(PropertyPath.Segment segment) {
+		Object value = getPropertyValue(segment);
+		String canonicalName = segment.getCanonicalName();
+		if (value == null) {
+			throw new NullValueInNestedPathException(getWrappedClass(), canonicalName);
+		}
+		if (this.nestedAccessors == null) {
+			this.nestedAccessors = new LinkedHashMap(16, 0.75f, true) {
+				protected boolean removeEldestEntry(Map.Entry eldest) {
+					return size() > NESTED_ACCESSOR_CACHE_LIMIT;
+				}
+			};
+		}
+		DirectFieldAccessor nestedAccessor = (DirectFieldAccessor) this.nestedAccessors.get(canonicalName);
+		if (nestedAccessor == null) {
+			nestedAccessor = new DirectFieldAccessor(this, value, this.nestedPath + canonicalName + NESTED_PROPERTY_SEPARATOR);
+			this.nestedAccessors.put(canonicalName, nestedAccessor);
+		}
+		else if (nestedAccessor.object != value) {
+			nestedAccessor.setWrappedInstance(value);
+		}
+		return nestedAccessor;
+	}
+
+
+	public Object getPropertyValue(String propertyName) throws BeansException {
+		PropertyPath path = PropertyPath.parse(propertyName);
+		return getAccessorForPropertyPath(path).getPropertyValue(path.getLastSegment());
+	}
+
+	private Object getPropertyValue(PropertyPath.Segment segment) throws BeansException {
+		Object value = readField(segment.getName());
+		if (segment.getKey() == null) {
+			return value;
+		}
+		String propertyName = segment.getCanonicalName();
+		if (value == null) {
+			throw new FatalBeanException("Cannot access indexed value in field referenced in indexed property path '" +
+			                             propertyName + "': returned null");
+		}
+		try {
+			if (value.getClass().isArray()) {
+				return Array.get(value, getIndex(segment));
+			}
+			else if (value instanceof List) {
+				return ((List) value).get(getIndex(segment));
+			}
+			else if (value instanceof Set) {
+				Set set = (Set) value;
+				int index = getIndex(segment);
+				if (index >= set.size()) {
+					throw new FatalBeanException("Cannot get element with index " + index + " from Set of size " +
+					                             set.size() + ", accessed using property path '" + propertyName + "'");
+				}
+				Iterator it = set.iterator();
+				for (int i = 0; i < index; i++) {
+					it.next();
+				}
+				return it.next();
+			}
+			else if (value instanceof Map) {
+				return ((Map) value).get(segment.getKey());
+			}
+			else {
+				throw new FatalBeanException("Field referenced in indexed property path '" + propertyName +
+				                             "' is neither an array nor a List nor a Set nor a Map; value was [" + value + "]");
+			}
+		}
+		catch (IndexOutOfBoundsException ex) {
+			throw new FatalBeanException("Index out of bounds in property path '" + propertyName + "'", ex);
+		}
+	}
+
+	private Object readField(String fieldName) throws BeansException {
+		int index = this.fieldAccessor.getFieldIndex(fieldName);
+		try {
+			return this.fieldAccessor.get(this.object, index);
+		}
+		catch (Throwable ex) {
+			throw createReadException(fieldName, ex);
+		}
+	}
+
+	private FatalBeanException createReadException(String fieldName, Throwable ex) {
+		return new FatalBeanException("Cannot read field '" + this.nestedPath + fieldName + "'", ex);
+	}
+
+	/**
+	 * Return the index specified by the given segment.
+	 * @throws FatalBeanException if the key is not a valid index
+	 */
+	private int getIndex(PropertyPath.Segment segment) {
+		if (!segment.hasIndex()) {
+			throw new FatalBeanException("Invalid index in property path '" + segment.getCanonicalName() + "'");
+		}
+		return segment.getIndex();
+	}
+
+
+	public void setPropertyValue(String propertyName, Object value) throws BeansException {
+		PropertyPath path = PropertyPath.parse(propertyName);
+		getAccessorForWrite(path).setPropertyValue(path.getLastSegment(), value);
+	}
+
+	private void setPropertyValue(PropertyPath.Segment segment, Object value) throws BeansException {
+		String propertyName = segment.getCanonicalName();
+		if (segment.getKey() != null) {
+			setIndexedValue(segment, value);
+			return;
+		}
+		int index = this.fieldAccessor.findFieldIndex(propertyName);
+		if (index == -1 || !this.fieldAccessor.isWritable(index)) {
+			throw new NotWritablePropertyException(propertyName, getWrappedClass());
+		}
+		Class fieldType = this.fieldAccessor.getFieldType(index);
+		Object newValue = value;
+		if (!this.customEditors.isEmpty() || !BeanUtils.isAssignable(fieldType, value)) {
+			newValue = this.converter.convertForProperty(this.nestedPath + propertyName, value, fieldType);
+		}
+		writeField(index, propertyName, newValue);
+	}
+
+	/**
+	 * Write the given, already converted value to the field with the given index.
+	 * @throws TypeMismatchException if the value is not assignable to the field
+	 */
+	private void writeField(int index, String fieldName, Object newValue) throws BeansException {
+		Class fieldType = this.fieldAccessor.getFieldType(index);
+		Object argument = adaptValue(fieldType, newValue);
+		if (argument == BeanAccessor.NOT_ASSIGNABLE) {
+			throw new TypeMismatchException(createPropertyChangeEvent(fieldName, newValue), fieldType,
+			    new IllegalArgumentException("Invalid value [" + newValue + "] for field '" + fieldName +
+			                                 "' of type [" + fieldType.getName() + "]"));
+		}
+		try {
+			this.fieldAccessor.set(this.object, index, argument);
+		}
+		catch (ClassCastException ex) {
+			throw new TypeMismatchException(createPropertyChangeEvent(fieldName, newValue), fieldType, ex);
+		}
+		catch (Throwable ex) {
+			throw new FatalBeanException("Cannot write field '" + this.nestedPath + fieldName + "'", ex);
+		}
+	}
+
+	/**
+	 * Adapt the given value to the given field type.
+	 * @return the value to write, or BeanAccessor.NOT_ASSIGNABLE
+	 * @see BeanAccessor#adaptArgument
+	 */
+	private static Object adaptValue(Class fieldType, Object value) {
+		if (fieldType.isPrimitive() && (value == null || "".equals(value))) {
+			return BeanAccessor.NOT_ASSIGNABLE;
+		}
+		return BeanAccessor.adaptArgument(fieldType, value);
+	}
+
+	/**
+	 * Set the element of the array, List or Map held by the field that
+	 * the given segment refers to. Array elements get converted to the
+	 * component type; List and Map elements are set as they are.
+	 */
+	private void setIndexedValue(PropertyPath.Segment segment, Object value) throws BeansException {
+		String propertyName = segment.getCanonicalName();
+		Object fieldValue = readField(segment.getName());
+		if (fieldValue == null) {
+			throw new FatalBeanException("Cannot access indexed value in field referenced in indexed property path '" +
+			                             propertyName + "': returned null");
+		}
+		else if (fieldValue.getClass().isArray()) {
+			Class componentType = fieldValue.getClass().getComponentType();
+			Object newValue = this.converter.convertForProperty(this.nestedPath + propertyName, value, componentType);
+			Object element = adaptValue(componentType, newValue);
+			if (element == BeanAccessor.NOT_ASSIGNABLE) {
+				throw new TypeMismatchException(createPropertyChangeEvent(propertyName, newValue), componentType);
+			}
+			try {
+				Array.set(fieldValue, getIndex(segment), element);
+			}
+			catch (IndexOutOfBoundsException ex) {
+				throw new FatalBeanException("Index out of bounds in property path '" + propertyName + "'", ex);
+			}
+		}
+		else if (fieldValue instanceof List) {
+			List list = (List) fieldValue;
+			int index = getIndex(segment);
+			if (index < list.size()) {
+				list.set(index, value);
+			}
+			else {
+				for (int i = list.size(); i < index; i++) {
+					try {
+						list.add(null);
+					}
+					catch (NullPointerException ex) {
+						throw new FatalBeanException("Cannot set element with index " + index + " in List of size " +
+						                             list.size() + ", accessed using property path '" + propertyName +
+						                             "': List does not support filling up gaps with null elements");
+					}
+				}
+				list.add(value);
+			}
+		}
+		else if (fieldValue instanceof Map) {
+			((Map) fieldValue).put(segment.getKey(), value);
+		}
+		else {
+			throw new FatalBeanException("Field referenced in indexed property path '" + propertyName +
+			                             "' is neither an array nor a List nor a Map; value was [" + fieldValue + "]");
+		}
+	}
+
+	private PropertyChangeEvent createPropertyChangeEvent(String propertyName, Object newValue) {
+		return new PropertyChangeEvent(this.object, this.nestedPath + propertyName, null, newValue);
+	}
+
+	public void setPropertyValue(PropertyValue pv) throws BeansException {
+		setPropertyValue(pv.getName(), pv.getValue());
+	}
+
+	public void setPropertyValues(Map map) throws BeansException {
+		setPropertyValues(new MutablePropertyValues(map));
+	}
+
+	public void setPropertyValues(PropertyValues pvs) throws BeansException {
+		setPropertyValues(pvs, false);
+	}
+
+	public void setPropertyValues(PropertyValues propertyValues, boolean ignoreUnknown) throws BeansException {
+		List propertyAccessExceptions = new ArrayList();
+		PropertyValue[] pvs = propertyValues.getPropertyValues();
+		for (int i = 0; i < pvs.length; i++) {
+			try {
+				setPropertyValue(pvs[i]);
+			}
+			catch (NotWritablePropertyException ex) {
+				if (!ignoreUnknown) {
+					throw ex;
+				}
+			}
+			catch (TypeMismatchException ex) {
+				propertyAccessExceptions.add(ex);
+			}
+		}
+		if (!propertyAccessExceptions.isEmpty()) {
+			Object[] paeArray = propertyAccessExceptions.toArray(new PropertyAccessException[propertyAccessExceptions.size()]);
+			throw new PropertyAccessExceptionsException(this, (PropertyAccessException[]) paeArray);
+		}
+	}
+
+	public void setPropertyValues(PropertyValues propertyValues, boolean ignoreUnknown, BindingErrors errors)
+			throws BeansException {
+		PropertyValue[] pvs = propertyValues.getPropertyValues();
+		for (int i = 0; i < pvs.length && !errors.isMaxErrorsReached(); i++) {
+			String propertyName = pvs[i].getName();
+			Object value = pvs[i].getValue();
+			PropertyPath path = PropertyPath.parse(propertyName);
+			if (path.isNested() || path.getLastSegment().getKey() != null) {
+				// nested and indexed properties: collect exceptions as usual
+				try {
+					getAccessorForWrite(path).setPropertyValue(path.getLastSegment(), value);
+				}
+				catch (NotWritablePropertyException ex) {
+					if (!ignoreUnknown) {
+						throw ex;
+					}
+				}
+				catch (PropertyAccessException ex) {
+					errors.addError(ex);
+				}
+				continue;
+			}
+			int index = this.fieldAccessor.findFieldIndex(propertyName);
+			if (index == -1 || !this.fieldAccessor.isWritable(index)) {
+				if (!ignoreUnknown) {
+					throw new NotWritablePropertyException(propertyName, getWrappedClass());
+				}
+				continue;
+			}
+			Class fieldType = this.fieldAccessor.getFieldType(index);
+			Object newValue = this.converter.convertForProperty(propertyName, value, fieldType, errors);
+			if (newValue == BeanWrapperImpl.CONVERSION_FAILED) {
+				continue;
+			}
+			Object argument = adaptValue(fieldType, newValue);
+			if (argument == BeanAccessor.NOT_ASSIGNABLE) {
+				errors.addNotAssignableError(propertyName, value, fieldType);
+				continue;
+			}
+			try {
+				this.fieldAccessor.set(this.object, index, argument);
+			}
+			catch (ClassCastException ex) {
+				errors.addError(propertyName, newValue, fieldType, BindingError.TYPE_MISMATCH, ex);
+			}
+			catch (Throwable ex) {
+				throw new FatalBeanException("Cannot write field '" + propertyName + "'", ex);
+			}
+		}
+	}
+
+
+	//---------------------------------------------------------------------
+	// Primitive property access
+	//---------------------------------------------------------------------
+
+	public int getInt(String propertyPath) throws BeansException {
+		PropertyPath path = PropertyPath.parse(propertyPath);
+		DirectFieldAccessor accessor = getAccessorForPropertyPath(path);
+		int index = accessor.findPrimitiveField(path.getLastSegment(), int.class, true);
+		if (index == -1) {
+			return accessor.getNumericPropertyValue(path.getLastSegment()).intValue();
+		}
+		try {
+			return accessor.fieldAccessor.getInt(accessor.object, index);
+		}
+		catch (Throwable ex) {
+			throw accessor.createReadException(path.getLastSegment().getName(), ex);
+		}
+	}
+
+	public long getLong(String propertyPath) throws BeansException {
+		PropertyPath path = PropertyPath.parse(propertyPath);
+		DirectFieldAccessor accessor = getAccessorForPropertyPath(path);
+		int index = accessor.findPrimitiveField(path.getLastSegment(), long.class, true);
+		if (index == -1) {
+			return accessor.getNumericPropertyValue(path.getLastSegment()).longValue();
+		}
+		try {
+			return accessor.fieldAccessor.getLong(accessor.object, index);
+		}
+		catch (Throwable ex) {
+			throw accessor.createReadException(path.getLastSegment().getName(), ex);
+		}
+	}
+
+	public double getDouble(String propertyPath) throws BeansException {
+		PropertyPath path = PropertyPath.parse(propertyPath);
+		DirectFieldAccessor accessor = getAccessorForPropertyPath(path);
+		int index = accessor.findPrimitiveField(path.getLastSegment(), double.class, true);
+		if (index == -1) {
+			return accessor.getNumericPropertyValue(path.getLastSegment()).doubleValue();
+		}
+		try {
+			return accessor.fieldAccessor.getDouble(accessor.object, index);
+		}
+		catch (Throwable ex) {
+			throw accessor.createReadException(path.getLastSegment().getName(), ex);
+		}
+	}
+
+	public boolean getBoolean(String propertyPath) throws BeansException {
+		PropertyPath path = PropertyPath.parse(propertyPath);
+		DirectFieldAccessor accessor = getAccessorForPropertyPath(path);
+		int index = accessor.findPrimitiveField(path.getLastSegment(), boolean.class, true);
+		if (index == -1) {
+			Object value = accessor.getPropertyValue(path.getLastSegment());
+			if (!(value instanceof Boolean)) {
+				throw new FatalBeanException("Value [" + value + "] of property '" + accessor.nestedPath +
+				                             path.getLastSegment().getCanonicalName() + "' is not a boolean");
+			}
+			return ((Boolean) value).booleanValue();
+		}
+		try {
+			return accessor.fieldAccessor.getBoolean(accessor.object, index);
+		}
+		catch (Throwable ex) {
+			throw accessor.createReadException(path.getLastSegment().getName(), ex);
+		}
+	}
+
+	public void setInt(String propertyPath, int value) throws BeansException {
+		PropertyPath path = PropertyPath.parse(propertyPath);
+		DirectFieldAccessor accessor = getAccessorForWrite(path);
+		int index = accessor.findPrimitiveField(path.getLastSegment(), int.class, false);
+		if (index == -1) {
+			accessor.setPropertyValue(path.getLastSegment(), new Integer(value));
+			return;
+		}
+		try {
+			accessor.fieldAccessor.setInt(accessor.object, index, value);
+		}
+		catch (Throwable ex) {
+			throw new FatalBeanException("Cannot write field '" + accessor.nestedPath + path.getLastSegment() + "'", ex);
+		}
+	}
+
+	public void setLong(String propertyPath, long value) throws BeansException {
+		PropertyPath path = PropertyPath.parse(propertyPath);
+		DirectFieldAccessor accessor = getAccessorForWrite(path);
+		int index = accessor.findPrimitiveField(path.getLastSegment(), long.class, false);
+		if (index == -1) {
+			accessor.setPropertyValue(path.getLastSegment(), new Long(value));
+			return;
+		}
+		try {
+			accessor.fieldAccessor.setLong(accessor.object, index, value);
+		}
+		catch (Throwable ex) {
+			throw new FatalBeanException("Cannot write field '" + accessor.nestedPath + path.getLastSegment() + "'", ex);
+		}
+	}
+
+	public void setDouble(String propertyPath, double value) throws BeansException {
+		PropertyPath path = PropertyPath.parse(propertyPath);
+		DirectFieldAccessor accessor = getAccessorForWrite(path);
+		int index = accessor.findPrimitiveField(path.getLastSegment(), double.class, false);
+		if (index == -1) {
+			accessor.setPropertyValue(path.getLastSegment(), new Double(value));
+			return;
+		}
+		try {
+			accessor.fieldAccessor.setDouble(accessor.object, index, value);
+		}
+		catch (Throwable ex) {
+			throw new FatalBeanException("Cannot write field '" + accessor.nestedPath + path.getLastSegment() + "'", ex);
+		}
+	}
+
+	public void setBoolean(String propertyPath, boolean value) throws BeansException {
+		PropertyPath path = PropertyPath.parse(propertyPath);
+		DirectFieldAccessor accessor = getAccessorForWrite(path);
+		int index = accessor.findPrimitiveField(path.getLastSegment(), boolean.class, false);
+		if (index == -1) {
+			accessor.setPropertyValue(path.getLastSegment(), (value ? Boolean.TRUE : Boolean.FALSE));
+			return;
+		}
+		try {
+			accessor.fieldAccessor.setBoolean(accessor.object, index, value);
+		}
+		catch (Throwable ex) {
+			throw new FatalBeanException("Cannot write field '" + accessor.nestedPath + path.getLastSegment() + "'", ex);
+		}
+	}
+
+	/**
+	 * Find the index of the field of exactly the given primitive type
+	 * that the given segment refers to, for non-boxing access.
+	 * @param segment the last segment of the property path
+	 * @param type the primitive type
+	 * @param read whether the field is to be read or written
+	 * @return the field index, or -1 if the property needs to be accessed
+	 * the regular way (which will also take care of error handling)
+	 */
+	private int findPrimitiveField(PropertyPath.Segment segment, Class type, boolean read) {
+		if (segment.getKey() != null) {
+			return -1;
+		}
+		int index = this.fieldAccessor.findFieldIndex(segment.getName());
+		if (index == -1 || this.fieldAccessor.getFieldType(index) != type ||
+		    (!read && !this.fieldAccessor.isWritable(index))) {
+			return -1;
+		}
+		return index;
+	}
+
+	private Number getNumericPropertyValue(PropertyPath.Segment segment) throws BeansException {
+		Object value = getPropertyValue(segment);
+		if (!(value instanceof Number)) {
+			throw new FatalBeanException("Value [" + value + "] of property '" + this.nestedPath +
+			                             segment.getCanonicalName() + "' is not numeric");
+		}
+		return (Number) value;
+	}
+
+
+	public PropertyDescriptor[] getPropertyDescriptors() {
+		return this.fieldAccessor.getPropertyDescriptors();
+	}
+
+	public PropertyDescriptor getPropertyDescriptor(String propertyName) throws BeansException {
+		if (propertyName == null) {
+			throw new FatalBeanException("Can't find property descriptor for null property");
+		}
+		PropertyPath path = PropertyPath.parse(propertyName);
+		DirectFieldAccessor accessor = getAccessorForPropertyPath(path);
+		return accessor.fieldAccessor.getPropertyDescriptor(path.getLastSegment().getPath());
+	}
+
+	public boolean isReadableProperty(String propertyName) {
+		if (propertyName == null) {
+			throw new FatalBeanException("Can't find readability status for null property");
+		}
+		try {
+			PropertyPath path = PropertyPath.parse(propertyName);
+			DirectFieldAccessor accessor = getAccessorForPropertyPath(path);
+			return (accessor.fieldAccessor.findFieldIndex(path.getLastSegment().getName()) != -1);
+		}
+		catch (BeansException ex) {
+			// doesn't exist, so can't be readable
+			return false;
+		}
+	}
+
+	/**
+	 * Return whether this property is writable, i.e. refers to a non-final
+	 * field, or to an element of a collection held by a field.
+	 */
+	public boolean isWritableProperty(String propertyName) {
+		if (propertyName == null) {
+			throw new FatalBeanException("Can't find writability status for null property");
+		}
+		try {
+			PropertyPath path = PropertyPath.parse(propertyName);
+			DirectFieldAccessor accessor = getAccessorForPropertyPath(path);
+			int index = accessor.fieldAccessor.findFieldIndex(path.getLastSegment().getName());
+			return (index != -1 && (path.getLastSegment().getKey() != null || accessor.fieldAccessor.isWritable(index)));
+		}
+		catch (BeansException ex) {
+			// doesn't exist, so can't be writable
+			return false;
+		}
+	}
+
+	public String toString() {
+		return "DirectFieldAccessor: wrapping class [" +
+		    (this.object != null ? this.object.getClass().getName() : null) + "]";
+	}
+
+
+	/**
+	 * BeanWrapperImpl without wrapped object, serving as conversion engine:
+	 * looks up editors in the registry of this accessor, and reports
+	 * conversion failures for the object wrapped by this accessor.
+	 * Gets invoked with full property paths.
+	 */
+	private class FieldValueConverter extends BeanWrapperImpl {
+
+		public PropertyEditor findCustomEditor(Class requiredType, String propertyPath) {
+			return doFindCustomEditor(requiredType, propertyPath);
+		}
+
+		PropertyChangeEvent createPropertyChangeEvent(String propertyName, Object oldValue, Object newValue) {
+			return new PropertyChangeEvent(object, propertyName, oldValue, newValue);
+		}
+	}
+
+}
@@ -45,4 +45,16 @@ public class FatalBeanException extends BeansException {
 		super(msg, ex);
 	}
 
+	/**
+	 * Constructs a <code>FatalBeanException</code> with the specified message
+	 * and root cause, specifying whether it has a stack trace.
+	 * Allows for preallocating instances for frequent failures.
+	 * @param msg the detail message
+	 * @param ex root cause (may be null)
+	 * @param writableStackTrace whether the stack trace should be writable
+	 */
+	protected FatalBeanException(String msg, Throwable ex, boolean writableStackTrace) {
+		super(msg, ex, writableStackTrace);
+	}
+
 }
@@ -0,0 +1,440 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.IntrospectionException;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Index-based accessor for the instance fields of one class, used by
+ * DirectFieldAccessor. Fields get resolved once per class, including the
+ * fields of superclasses; a field hides fields of the same name declared
+ * in superclasses. Final fields are read-only.
+ *
+ * <p>Reads and writes fields through VarHandles on JDK 9 and higher.
+ * As this code base is compiled for Java 8, the VarHandles are obtained
+ * reflectively and turned into MethodHandles of exact type once, so
+ * primitive fields can be accessed without boxing. Falls back to
+ * java.lang.reflect.Field on older JDKs, or for fields of classes
+ * that are not open to this class.
+ *
+ * <p>Information is cached statically in a ClassValue, like
+ * CachedIntrospectionResults, so the cache doesn't keep classes and
+ * their ClassLoaders from being garbage-collected.
+ *
+ * @since 17 October 2026
+ * @see DirectFieldAccessor
+ */
+final class FieldAccessor {
+
+	private static final Log logger = LogFactory.getLog(FieldAccessor.class);
+
+	private static final MethodType GET_TYPE = MethodType.methodType(Object.class, Object.class);
+
+	private static final MethodType SET_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	/** Per-class FieldAccessors */
+	private static final ClassValue accessorCache = new ClassValue() {
+		protected Object computeValue(Class clazz) {
+			return new FieldAccessor(clazz);
+		}
+	};
+
+	/** MethodHandles.privateLookupIn, or null if VarHandles are not available */
+	private static Method privateLookupInMethod;
+
+	/** MethodHandles.Lookup.unreflectVarHandle */
+	private static Method unreflectVarHandleMethod;
+
+	/** VarHandle.toMethodHandle */
+	private static Method toMethodHandleMethod;
+
+	/** VarHandle.AccessMode.GET and VarHandle.AccessMode.SET */
+	private static Object getAccessMode;
+
+	private static Object setAccessMode;
+
+	static {
+		try {
+			Class varHandleClass = Class.forName("java.lang.invoke.VarHandle");
+			Class accessModeClass = Class.forName("java.lang.invoke.VarHandle$AccessMode");
+			unreflectVarHandleMethod = MethodHandles.Lookup.class.getMethod("unreflectVarHandle", new Class[] {Field.class});
+			toMethodHandleMethod = varHandleClass.getMethod("toMethodHandle", new Class[] {accessModeClass});
+			getAccessMode = Enum.valueOf(accessModeClass, "GET");
+			setAccessMode = Enum.valueOf(accessModeClass, "SET");
+			privateLookupInMethod = MethodHandles.class.getMethod(
+					"privateLookupIn", new Class[] {Class.class, MethodHandles.Lookup.class});
+		}
+		catch (Exception ex) {
+			// JDK 8: use reflection
+			logger.debug("VarHandles not available - accessing fields through reflection");
+			privateLookupInMethod = null;
+		}
+	}
+
+	/**
+	 * Return the FieldAccessor for the given class, resolving its fields on first use.
+	 */
+	static FieldAccessor forClass(Class clazz) throws BeansException {
+		return (FieldAccessor) accessorCache.get(clazz);
+	}
+
+
+	private final Class beanClass;
+
+	/** Field indexes (as Integer) keyed by field name */
+	private final Map fieldIndexMap = new HashMap();
+
+	private final Field[] fields;
+
+	private final Class[] fieldTypes;
+
+	private final PropertyDescriptor[] propertyDescriptors;
+
+	/** Getters of type (Object)Object, or null for reflective access */
+	private final MethodHandle[] getters;
+
+	/** Setters of type (Object,Object)void, or null for reflective access or final fields */
+	private final MethodHandle[] setters;
+
+	/** Getters returning the primitive field type, for primitive fields */
+	private final MethodHandle[] primitiveGetters;
+
+	/** Setters taking the primitive field type, for primitive fields */
+	private final MethodHandle[] primitiveSetters;
+
+	private FieldAccessor(Class clazz) throws BeansException {
+		this.beanClass = clazz;
+		List fieldList = new ArrayList();
+		for (Class current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+			Field[] declaredFields = current.getDeclaredFields();
+			for (int i = 0; i < declaredFields.length; i++) {
+				Field field = declaredFields[i];
+				if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic() ||
+				    this.fieldIndexMap.containsKey(field.getName())) {
+					continue;
+				}
+				this.fieldIndexMap.put(field.getName(), new Integer(fieldList.size()));
+				fieldList.add(field);
+			}
+		}
+		this.fields = (Field[]) fieldList.toArray(new Field[fieldList.size()]);
+		this.fieldTypes = new Class[this.fields.length];
+		this.propertyDescriptors = new PropertyDescriptor[this.fields.length];
+		this.getters = new MethodHandle[this.fields.length];
+		this.setters = new MethodHandle[this.fields.length];
+		this.primitiveGetters = new MethodHandle[this.fields.length];
+		this.primitiveSetters = new MethodHandle[this.fields.length];
+		int varHandleCount = 0;
+		for (int i = 0; i < this.fields.length; i++) {
+			Field field = this.fields[i];
+			this.fieldTypes[i] = field.getType();
+			try {
+				this.propertyDescriptors[i] = new FieldPropertyDescriptor(field);
+			}
+			catch (IntrospectionException ex) {
+				throw new FatalBeanException("Cannot describe field '" + field.getName() +
+				                             "' of class [" + clazz.getName() + "]", ex);
+			}
+			if (initializeHandles(i)) {
+				varHandleCount++;
+			}
+			else {
+				try {
+					field.setAccessible(true);
+				}
+				catch (RuntimeException ex) {
+					// not allowed in this environment: leave it to the regular access checks
+				}
+			}
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Resolved " + this.fields.length + " fields of class [" + clazz.getName() + "], " +
+			             varHandleCount + " of them accessed through VarHandles");
+		}
+	}
+
+	/**
+	 * Create the MethodHandles for the field with the given index from a VarHandle.
+	 * @return whether the field can be accessed through VarHandles
+	 */
+	private boolean initializeHandles(int index) {
+		if (privateLookupInMethod == null) {
+			return false;
+		}
+		Field field = this.fields[index];
+		Class type = this.fieldTypes[index];
+		try {
+			Object lookup = privateLookupInMethod.invoke(null, new Object[] {field.getDeclaringClass(), MethodHandles.lookup()});
+			Object varHandle = unreflectVarHandleMethod.invoke(lookup, new Object[] {field});
+			MethodHandle getter = (MethodHandle) toMethodHandleMethod.invoke(varHandle, new Object[] {getAccessMode});
+			this.getters[index] = getter.asType(GET_TYPE);
+			if (type.isPrimitive()) {
+				this.primitiveGetters[index] = getter.asType(MethodType.methodType(type, Object.class));
+			}
+			if (!Modifier.isFinal(field.getModifiers())) {
+				MethodHandle setter = (MethodHandle) toMethodHandleMethod.invoke(varHandle, new Object[] {setAccessMode});
+				this.setters[index] = setter.asType(SET_TYPE);
+				if (type.isPrimitive()) {
+					this.primitiveSetters[index] = setter.asType(MethodType.methodType(void.class, Object.class, type));
+				}
+			}
+			return true;
+		}
+		catch (Exception ex) {
+			// e.g. package not open to us: use reflection for this field
+			if (logger.isDebugEnabled()) {
+				logger.debug("Cannot access field '" + field.getName() + "' of class [" +
+				             this.beanClass.getName() + "] through VarHandle: " + ex);
+			}
+			this.getters[index] = null;
+			this.setters[index] = null;
+			this.primitiveGetters[index] = null;
+			this.primitiveSetters[index] = null;
+			return false;
+		}
+	}
+
+	public Class getBeanClass() {
+		return beanClass;
+	}
+
+	/**
+	 * Return the index of the given field, or -1 if there is no such field.
+	 */
+	public int findFieldIndex(String fieldName) {
+		Integer index = (Integer) this.fieldIndexMap.get(fieldName);
+		return (index != null ? index.intValue() : -1);
+	}
+
+	/**
+	 * Return the index of the given field.
+	 * @throws FatalBeanException if there is no such field
+	 */
+	public int getFieldIndex(String fieldName) throws BeansException {
+		int index = findFieldIndex(fieldName);
+		if (index == -1) {
+			throw new FatalBeanException("No field '" + fieldName + "' in class [" + this.beanClass.getName() + "]", null);
+		}
+		return index;
+	}
+
+	public Class getFieldType(int index) {
+		return this.fieldTypes[index];
+	}
+
+	/**
+	 * Return whether the field with the given index can be written, i.e. is not final.
+	 */
+	public boolean isWritable(int index) {
+		return !Modifier.isFinal(this.fields[index].getModifiers());
+	}
+
+	/**
+	 * Return whether the field with the given index is accessed through a VarHandle
+	 * rather than reflection.
+	 */
+	public boolean isVarHandleAccess(int index) {
+		return (this.getters[index] != null);
+	}
+
+	/**
+	 * Return descriptors for all fields, without read and write methods.
+	 */
+	public PropertyDescriptor[] getPropertyDescriptors() {
+		return propertyDescriptors;
+	}
+
+	/**
+	 * Return the descriptor for the given field.
+	 * @throws FatalBeanException if there is no such field
+	 */
+	public PropertyDescriptor getPropertyDescriptor(String fieldName) throws BeansException {
+		return this.propertyDescriptors[getFieldIndex(fieldName)];
+	}
+
+
+	/**
+	 * Return the value of the field with the given index.
+	 * @param bean the object to read from
+	 * @param index the index of the field
+	 * @return the field value, with primitives boxed
+	 */
+	public Object get(Object bean, int index) throws Throwable {
+		MethodHandle getter = this.getters[index];
+		if (getter != null) {
+			return (Object) getter.invokeExact(bean);
+		}
+		return this.fields[index].get(bean);
+	}
+
+	/**
+	 * Set the value of the field with the given index.
+	 * <p>The value must already be of the field type: Callers are
+	 * responsible for type conversion, and must not pass null for
+	 * a primitive field.
+	 * @param bean the object to write to
+	 * @param index the index of a non-final field
+	 * @param value the new value, with primitives boxed
+	 */
+	public void set(Object bean, int index, Object value) throws Throwable {
+		MethodHandle setter = this.setters[index];
+		if (setter != null) {
+			setter.invokeExact(bean, value);
+		}
+		else {
+			this.fields[index].set(bean, value);
+		}
+	}
+
+	/**
+	 * Return the value of the int field with the given index, without boxing it.
+	 * @see #get
+	 */
+	public int getInt(Object bean, int index) throws Throwable {
+		MethodHandle getter = this.primitiveGetters[index];
+		if (getter != null) {
+			return (int) getter.invokeExact(bean);
+		}
+		return this.fields[index].getInt(bean);
+	}
+
+	/**
+	 * Return the value of the long field with the given index, without boxing it.
+	 * @see #get
+	 */
+	public long getLong(Object bean, int index) throws Throwable {
+		MethodHandle getter = this.primitiveGetters[index];
+		if (getter != null) {
+			return (long) getter.invokeExact(bean);
+		}
+		return this.fields[index].getLong(bean);
+	}
+
+	/**
+	 * Return the value of the double field with the given index, without boxing it.
+	 * @see #get
+	 */
+	public double getDouble(Object bean, int index) throws Throwable {
+		MethodHandle getter = this.primitiveGetters[index];
+		if (getter != null) {
+			return (double) getter.invokeExact(bean);
+		}
+		return this.fields[index].getDouble(bean);
+	}
+
+	/**
+	 * Return the value of the boolean field with the given index, without boxing it.
+	 * @see #get
+	 */
+	public boolean getBoolean(Object bean, int index) throws Throwable {
+		MethodHandle getter = this.primitiveGetters[index];
+		if (getter != null) {
+			return (boolean) getter.invokeExact(bean);
+		}
+		return this.fields[index].getBoolean(bean);
+	}
+
+	/**
+	 * Set the value of the int field with the given index, without boxing it.
+	 * @see #set
+	 */
+	public void setInt(Object bean, int index, int value) throws Throwable {
+		MethodHandle setter = this.primitiveSetters[index];
+		if (setter != null) {
+			setter.invokeExact(bean, value);
+		}
+		else {
+			this.fields[index].setInt(bean, value);
+		}
+	}
+
+	/**
+	 * Set the value of the long field with the given index, without boxing it.
+	 * @see #set
+	 */
+	public void setLong(Object bean, int index, long value) throws Throwable {
+		MethodHandle setter = this.primitiveSetters[index];
+		if (setter != null) {
+			setter.invokeExact(bean, value);
+		}
+		else {
+			this.fields[index].setLong(bean, value);
+		}
+	}
+
+	/**
+	 * Set the value of the double field with the given index, without boxing it.
+	 * @see #set
+	 */
+	public void setDouble(Object bean, int index, double value) throws Throwable {
+		MethodHandle setter = this.primitiveSetters[index];
+		if (setter != null) {
+			setter.invokeExact(bean, value);
+		}
+		else {
+			this.fields[index].setDouble(bean, value);
+		}
+	}
+
+	/**
+	 * Set the value of the boolean field with the given index, without boxing it.
+	 * @see #set
+	 */
+	public void setBoolean(Object bean, int index, boolean value) throws Throwable {
+		MethodHandle setter = this.primitiveSetters[index];
+		if (setter != null) {
+			setter.invokeExact(bean, value);
+		}
+		else {
+			this.fields[index].setBoolean(bean, value);
+		}
+	}
+
+
+	/**
+	 * PropertyDescriptor for a field: has the name and type
+	 * of the field, but no read and write methods.
+	 */
+	private static class FieldPropertyDescriptor extends PropertyDescriptor {
+
+		private final Class fieldType;
+
+		public FieldPropertyDescriptor(Field field) throws IntrospectionException {
+			super(field.getName(), null, null);
+			this.fieldType = field.getType();
+		}
+
+		public Class getPropertyType() {
+			return fieldType;
+		}
+	}
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+/**
+ * Snapshot of the statistics of the introspection cache: lookups that
+ * found cached results, lookups that had to introspect a class, evictions
+ * beyond the cache limit, and the number of classes whose results are
+ * currently held strongly or softly.
+ *
+ * 인트로스펙션 캐시의 적중/실패/크기 통계 스냅샷입니다.
+ *
+ * @since 17 October 2026
+ * @see CachedIntrospectionResults#getCacheStatistics
+ */
+public final class IntrospectionCacheStatistics {
+
+	private final long hitCount;
+
+	private final long missCount;
+
+	private final long evictionCount;
+
+	private final int strongCount;
+
+	private final int softCount;
+
+	IntrospectionCacheStatistics(long hitCount, long missCount, long evictionCount, int strongCount, int softCount) {
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+		this.evictionCount = evictionCount;
+		this.strongCount = strongCount;
+		this.softCount = softCount;
+	}
+
+	/**
+	 * Return the number of lookups that found cached results.
+	 */
+	public long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * Return the number of lookups that introspected a class.
+	 */
+	public long getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * Return the number of results for classes from untrusted ClassLoaders
+	 * that stopped being held strongly because of the cache limit.
+	 * @see CachedIntrospectionResults#setCacheLimit
+	 */
+	public long getEvictionCount() {
+		return evictionCount;
+	}
+
+	/**
+	 * Return the fraction of lookups that found cached results,
+	 * or 0 if there haven't been any lookups.
+	 */
+	public double getHitRatio() {
+		long lookups = this.hitCount + this.missCount;
+		return (lookups > 0 ? (double) this.hitCount / lookups : 0.0);
+	}
+
+	/**
+	 * Return the number of classes whose results are held strongly.
+	 */
+	public int getStrongCount() {
+		return strongCount;
+	}
+
+	/**
+	 * Return the number of classes whose results have been evicted beyond
+	 * the cache limit but are still softly reachable. Results that have
+	 * been garbage-collected since don't count.
+	 * @see #getEvictionCount
+	 */
+	public int getSoftCount() {
+		return softCount;
+	}
+
+	/**
+	 * Return the number of classes with cached results,
+	 * i.e. the sum of the strong and the soft count.
+	 * @see #getStrongCount
+	 * @see #getSoftCount
+	 */
+	public int getSize() {
+		return (this.strongCount + this.softCount);
+	}
+
+	public String toString() {
+		return "IntrospectionCacheStatistics: hits=" + this.hitCount + "; misses=" + this.missCount +
+		    "; evictions=" + this.evictionCount + "; strong=" + this.strongCount + "; soft=" + this.softCount;
+	}
+
+}
@@ -0,0 +1,430 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.BeanDescriptor;
+import java.beans.BeanInfo;
+import java.beans.IndexedPropertyDescriptor;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.beans.SimpleBeanInfo;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Index of the bean properties of classes, written at build time and read
+ * by CachedIntrospectionResults instead of calling the JDK Introspector,
+ * which is slow for the first lookup of every class.
+ *
+ * <p>The main method writes the index for all classes in the given class
+ * directories. Application builds can apply gradle/introspection-index.gradle
+ * to run it over their own main classes when building. At runtime,
+ * all index resources at INDEX_LOCATION visible to the ClassLoader of a
+ * class are read on first use, once per ClassLoader. Classes that aren't
+ * indexed, or whose entry doesn't match the class anymore, get introspected
+ * as usual.
+ *
+ * <p>The index is a text file. Each class entry starts with the class name
+ * on a line of its own, followed by one tab-indented line per property
+ * with tab-separated name, type, read method name and write method name
+ * ("-" if none), plus the write parameter type if it differs from the
+ * property type. Properties are listed in Introspector order, so property
+ * indexes are the same either way. Classes with explicit BeanInfo, indexed
+ * properties or property editors declared through BeanInfo don't get
+ * indexed, and neither do classes whose index entry wouldn't reproduce
+ * exactly what the Introspector returns.
+ *
+ * 빌드 시점에 만든 프로퍼티 인덱스로 Introspector 호출 없이 빈 정보를 제공합니다.
+ *
+ * @since 17 October 2026
+ * @see CachedIntrospectionResults
+ */
+public final class IntrospectionIndex {
+
+	/** Location of the index resources within the classpath */
+	public static final String INDEX_LOCATION = "META-INF/spring-beans.introspection";
+
+	/** Placeholder for a missing read or write method */
+	private static final String NO_METHOD = "-";
+
+	private static final Log logger = LogFactory.getLog(IntrospectionIndex.class);
+
+	/** Map from ClassLoader to IntrospectionIndex, loaded on first use */
+	private static final Map indexCache = Collections.synchronizedMap(new WeakHashMap());
+
+	private static final Map primitiveClasses = new HashMap();
+
+	static {
+		Class[] primitives = new Class[] {boolean.class, byte.class, short.class, char.class, int.class,
+		                                  long.class, float.class, double.class};
+		for (int i = 0; i < primitives.length; i++) {
+			primitiveClasses.put(primitives[i].getName(), primitives[i]);
+		}
+	}
+
+	/**
+	 * Return the BeanInfo for the given class from the index resources of
+	 * its ClassLoader.
+	 * @return the BeanInfo, or null if the class is not indexed
+	 * or its entry doesn't match the class
+	 */
+	static BeanInfo findBeanInfo(Class clazz) {
+		ClassLoader classLoader = clazz.getClassLoader();
+		if (classLoader == null) {
+			// JDK classes aren't indexed
+			return null;
+		}
+		IntrospectionIndex index = (IntrospectionIndex) indexCache.get(classLoader);
+		if (index == null) {
+			index = loadIndex(classLoader);
+			indexCache.put(classLoader, index);
+		}
+		return index.getBeanInfo(clazz);
+	}
+
+	/**
+	 * Read all index resources visible to the given ClassLoader.
+	 * Unreadable resources get logged and ignored.
+	 */
+	private static IntrospectionIndex loadIndex(ClassLoader classLoader) {
+		IntrospectionIndex index = new IntrospectionIndex();
+		try {
+			Enumeration resources = classLoader.getResources(INDEX_LOCATION);
+			while (resources.hasMoreElements()) {
+				URL url = (URL) resources.nextElement();
+				try {
+					Reader reader = new InputStreamReader(url.openStream(), "UTF-8");
+					try {
+						index.load(reader, url.toString());
+					}
+					finally {
+						reader.close();
+					}
+				}
+				catch (IOException ex) {
+					logger.warn("Could not read introspection index [" + url + "] - ignoring it", ex);
+				}
+			}
+		}
+		catch (IOException ex) {
+			logger.warn("Could not find introspection index resources in ClassLoader [" + classLoader + "]", ex);
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Loaded introspection index with " + index.entries.size() + " classes for ClassLoader [" +
+			             classLoader + "]");
+		}
+		return index;
+	}
+
+
+	/** Map from class name to property lines, without the indentation */
+	private final Map entries = new HashMap();
+
+	IntrospectionIndex() {
+	}
+
+	/**
+	 * Add the entries of the given index. Entries for classes that are
+	 * already indexed are ignored, so the first resource on the classpath wins.
+	 * @param description description of the index resource, for error messages
+	 * @throws IOException if the index cannot be read or is malformed,
+	 * in which case none of its entries are added
+	 */
+	void load(Reader reader, String description) throws IOException {
+		Map loaded = new HashMap();
+		BufferedReader lines = new BufferedReader(reader);
+		String className = null;
+		List properties = null;
+		int lineNumber = 0;
+		String line;
+		while ((line = lines.readLine()) != null) {
+			lineNumber++;
+			if (line.length() == 0 || line.charAt(0) == '#') {
+				continue;
+			}
+			if (line.charAt(0) == '\t') {
+				if (properties == null || line.split("\t").length < 5) {
+					throw new IOException("Malformed introspection index [" + description + "] at line " + lineNumber);
+				}
+				properties.add(line.substring(1));
+			}
+			else {
+				if (className != null) {
+					loaded.put(className, properties.toArray(new String[properties.size()]));
+				}
+				className = line.trim();
+				properties = new ArrayList();
+			}
+		}
+		if (className != null) {
+			loaded.put(className, properties.toArray(new String[properties.size()]));
+		}
+		loaded.keySet().removeAll(this.entries.keySet());
+		this.entries.putAll(loaded);
+	}
+
+	/**
+	 * Return the BeanInfo for the given class from this index.
+	 * @return the BeanInfo, or null if the class is not indexed
+	 * or its entry doesn't match the class
+	 */
+	BeanInfo getBeanInfo(Class clazz) {
+		String[] properties = (String[]) this.entries.get(clazz.getName());
+		if (properties == null) {
+			return null;
+		}
+		try {
+			return new IndexBeanInfo(clazz, resolvePropertyDescriptors(clazz, properties));
+		}
+		catch (Exception ex) {
+			logger.warn("Introspection index entry for class [" + clazz.getName() +
+			            "] doesn't match the class - falling back to Introspector", ex);
+			return null;
+		}
+	}
+
+	/**
+	 * Create the property descriptors for the given property lines.
+	 * @throws ClassNotFoundException if a property type cannot be found
+	 * @throws NoSuchMethodException if an accessor method doesn't exist
+	 * @throws IntrospectionException if the methods don't form a property
+	 * of the indexed type
+	 */
+	private static PropertyDescriptor[] resolvePropertyDescriptors(Class clazz, String[] properties)
+			throws ClassNotFoundException, NoSuchMethodException, IntrospectionException {
+		PropertyDescriptor[] pds = new PropertyDescriptor[properties.length];
+		for (int i = 0; i < properties.length; i++) {
+			String[] fields = properties[i].split("\t");
+			Class type = resolveType(fields[1], clazz.getClassLoader());
+			Method readMethod = null;
+			if (!NO_METHOD.equals(fields[2])) {
+				readMethod = clazz.getMethod(fields[2], new Class[0]);
+			}
+			Method writeMethod = null;
+			if (!NO_METHOD.equals(fields[3])) {
+				Class writeType = (fields.length > 4 ? resolveType(fields[4], clazz.getClassLoader()) : type);
+				writeMethod = clazz.getMethod(fields[3], new Class[] {writeType});
+			}
+			pds[i] = new PropertyDescriptor(fields[0], readMethod, writeMethod);
+			if (pds[i].getPropertyType() != type) {
+				throw new IntrospectionException("Type of property '" + fields[0] + "' is [" + pds[i].getPropertyType() +
+				                                 "] instead of [" + type.getName() + "]");
+			}
+		}
+		return pds;
+	}
+
+	private static Class resolveType(String className, ClassLoader classLoader) throws ClassNotFoundException {
+		Class clazz = (Class) primitiveClasses.get(className);
+		return (clazz != null ? clazz : Class.forName(className, false, classLoader));
+	}
+
+
+	/**
+	 * Write the index entries for the given classes. Classes that cannot
+	 * be indexed exactly are skipped.
+	 * @return the number of classes written
+	 */
+	static int writeIndex(Class[] classes, Writer out) throws IOException {
+		out.write("# Bean property index: class name, then per property name, type, read method, write method\n");
+		int count = 0;
+		for (int i = 0; i < classes.length; i++) {
+			String[] properties = null;
+			try {
+				properties = getIndexProperties(classes[i]);
+			}
+			catch (Throwable ex) {
+				// e.g. a NoClassDefFoundError from a missing optional dependency
+				logger.info("Cannot index class [" + classes[i].getName() + "]: " + ex);
+			}
+			if (properties != null) {
+				out.write(classes[i].getName());
+				out.write('\n');
+				for (int j = 0; j < properties.length; j++) {
+					out.write('\t');
+					out.write(properties[j]);
+					out.write('\n');
+				}
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Return the property lines for the given class,
+	 * or null if the class cannot be indexed exactly.
+	 */
+	private static String[] getIndexProperties(Class clazz) throws IntrospectionException,
+			ClassNotFoundException, NoSuchMethodException {
+		if (clazz.isInterface() || clazz.isArray() || clazz.isPrimitive() || clazz.isSynthetic() ||
+		    clazz.isAnonymousClass() || clazz.isLocalClass()) {
+			return null;
+		}
+		PropertyDescriptor[] pds = Introspector.getBeanInfo(clazz).getPropertyDescriptors();
+		PropertyDescriptor[] plainPds =
+				Introspector.getBeanInfo(clazz, Introspector.IGNORE_ALL_BEANINFO).getPropertyDescriptors();
+		if (!equalPropertyDescriptors(pds, plainPds)) {
+			// explicit BeanInfo somewhere in the hierarchy
+			return null;
+		}
+		String[] properties = new String[pds.length];
+		for (int i = 0; i < pds.length; i++) {
+			if (pds[i] instanceof IndexedPropertyDescriptor || pds[i].getPropertyType() == null ||
+			    pds[i].getPropertyEditorClass() != null) {
+				return null;
+			}
+			Method readMethod = pds[i].getReadMethod();
+			Method writeMethod = pds[i].getWriteMethod();
+			StringBuffer sb = new StringBuffer(pds[i].getName());
+			sb.append('\t').append(pds[i].getPropertyType().getName());
+			sb.append('\t').append(readMethod != null ? readMethod.getName() : NO_METHOD);
+			sb.append('\t').append(writeMethod != null ? writeMethod.getName() : NO_METHOD);
+			if (writeMethod != null && writeMethod.getParameterTypes()[0] != pds[i].getPropertyType()) {
+				sb.append('\t').append(writeMethod.getParameterTypes()[0].getName());
+			}
+			properties[i] = sb.toString();
+		}
+		// make sure that reading the entry reproduces exactly what the Introspector found
+		if (!equalPropertyDescriptors(pds, resolvePropertyDescriptors(clazz, properties))) {
+			return null;
+		}
+		return properties;
+	}
+
+	private static boolean equalPropertyDescriptors(PropertyDescriptor[] pds, PropertyDescriptor[] otherPds) {
+		if (pds.length != otherPds.length) {
+			return false;
+		}
+		for (int i = 0; i < pds.length; i++) {
+			if (!pds[i].getName().equals(otherPds[i].getName()) ||
+			    pds[i].getPropertyType() != otherPds[i].getPropertyType() ||
+			    !equalMethods(pds[i].getReadMethod(), otherPds[i].getReadMethod()) ||
+			    !equalMethods(pds[i].getWriteMethod(), otherPds[i].getWriteMethod()) ||
+			    pds[i].getPropertyEditorClass() != otherPds[i].getPropertyEditorClass()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean equalMethods(Method method, Method otherMethod) {
+		return (method == null ? otherMethod == null : method.equals(otherMethod));
+	}
+
+	/**
+	 * Write the introspection index for all classes in the given class
+	 * directories, which must be on the classpath.
+	 * <p>Usage: IntrospectionIndex indexFile classesDirectory...
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			logger.error("Usage: IntrospectionIndex <index file> <classes directory>...");
+			System.exit(1);
+		}
+		List classNames = new ArrayList();
+		for (int i = 1; i < args.length; i++) {
+			collectClassNames(new File(args[i]), "", classNames);
+		}
+		Collections.sort(classNames);
+		ClassLoader classLoader = IntrospectionIndex.class.getClassLoader();
+		List classes = new ArrayList(classNames.size());
+		for (int i = 0; i < classNames.size(); i++) {
+			try {
+				classes.add(Class.forName((String) classNames.get(i), false, classLoader));
+			}
+			catch (Throwable ex) {
+				logger.warn("Cannot load class [" + classNames.get(i) + "] - not indexing it: " + ex);
+			}
+		}
+		File indexFile = new File(args[0]);
+		if (indexFile.getParentFile() != null) {
+			indexFile.getParentFile().mkdirs();
+		}
+		Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(indexFile), "UTF-8"));
+		int count;
+		try {
+			count = writeIndex((Class[]) classes.toArray(new Class[classes.size()]), out);
+		}
+		finally {
+			out.close();
+		}
+		logger.info("Indexed " + count + " of " + classNames.size() + " classes into [" + indexFile + "]");
+	}
+
+	private static void collectClassNames(File dir, String packagePrefix, List classNames) {
+		File[] files = dir.listFiles();
+		if (files == null) {
+			return;
+		}
+		for (int i = 0; i < files.length; i++) {
+			String name = files[i].getName();
+			if (files[i].isDirectory()) {
+				collectClassNames(files[i], packagePrefix + name + ".", classNames);
+			}
+			else if (name.endsWith(".class") && !name.equals("package-info.class") && !name.equals("module-info.class")) {
+				classNames.add(packagePrefix + name.substring(0, name.length() - ".class".length()));
+			}
+		}
+	}
+
+
+	/**
+	 * BeanInfo built from an index entry. Returns a copy of the array
+	 * of property descriptors, like the BeanInfo of the Introspector.
+	 */
+	static class IndexBeanInfo extends SimpleBeanInfo {
+
+		private final BeanDescriptor beanDescriptor;
+
+		private final PropertyDescriptor[] propertyDescriptors;
+
+		public IndexBeanInfo(Class beanClass, PropertyDescriptor[] propertyDescriptors) {
+			this.beanDescriptor = new BeanDescriptor(beanClass);
+			this.propertyDescriptors = propertyDescriptors;
+		}
+
+		public BeanDescriptor getBeanDescriptor() {
+			return beanDescriptor;
+		}
+
+		public PropertyDescriptor[] getPropertyDescriptors() {
+			return (PropertyDescriptor[]) this.propertyDescriptors.clone();
+		}
+	}
+
+}
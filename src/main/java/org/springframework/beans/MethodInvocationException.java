@@ -32,7 +32,11 @@ public class MethodInvocationException extends PropertyAccessException {
 	 * @param propertyChangeEvent PropertyChangeEvent that resulted in an exception
 	 */
 	public MethodInvocationException(Throwable ex, PropertyChangeEvent propertyChangeEvent) {
-		super("Property '" + propertyChangeEvent.getPropertyName() + "' threw exception", propertyChangeEvent, ex);
+		super(null, propertyChangeEvent, ex);
+	}
+
+	protected String buildDetailMessage() {
+		return "Property '" + getPropertyChangeEvent().getPropertyName() + "' threw exception";
 	}
 
 	public String getErrorCode() {
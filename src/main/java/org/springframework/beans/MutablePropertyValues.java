@@ -94,6 +94,15 @@ public class MutablePropertyValues implements PropertyValues {
 		this.propertyValuesList.add(pv);
 	}
 
+	/**
+	 * Add a PropertyValue object without checking for an existing one
+	 * for the same property, for callers that know the names to be unique.
+	 * @param pv PropertyValue object to add
+	 */
+	void appendPropertyValue(PropertyValue pv) {
+		this.propertyValuesList.add(pv);
+	}
+
 	/**
 	 * Overloaded version of addPropertyValue that takes
 	 * a property name and a property value.
@@ -154,17 +163,21 @@ public class MutablePropertyValues implements PropertyValues {
 		if (old == this)
 			return changes;
 
+		// index the old property values once rather than looking up each one
+		PropertyValue[] oldPvs = old.getPropertyValues();
+		Map oldPvMap = new HashMap(oldPvs.length * 4 / 3 + 1);
+		for (int i = 0; i < oldPvs.length; i++) {
+			oldPvMap.put(oldPvs[i].getName(), oldPvs[i]);
+		}
+
 		// For each property value in the new set
 		for (int i = 0; i < this.propertyValuesList.size(); i++) {
 			PropertyValue newPv = (PropertyValue) this.propertyValuesList.get(i);
 			// If there wasn't an old one, add it
-			PropertyValue pvOld = old.getPropertyValue(newPv.getName());
-			if (pvOld == null) {
-				changes.addPropertyValue(newPv);
-			}
-			else if (!pvOld.equals(newPv)) {
-				// It's changed
-				changes.addPropertyValue(newPv);
+			PropertyValue pvOld = (PropertyValue) oldPvMap.get(newPv.getName());
+			if (pvOld == null || !pvOld.equals(newPv)) {
+				// It's new or changed
+				changes.appendPropertyValue(newPv);
 			}
 		}
 		return changes;
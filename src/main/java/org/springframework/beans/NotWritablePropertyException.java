@@ -23,18 +23,44 @@ package org.springframework.beans;
  */
 public class NotWritablePropertyException extends BeansException {
 
+	private final String propertyName;
+
+	private final Class beanClass;
+
 	/**
 	 * Creates new NotWritablePropertyException.
 	 */
 	public NotWritablePropertyException(String propertyName, Class beanClass) {
-		super("Property '" + propertyName + "' is not writable in bean class [" + beanClass.getName() + "]");
+		super(null);
+		this.propertyName = propertyName;
+		this.beanClass = beanClass;
 	}
 
 	/**
 	 * Creates new NotWritablePropertyException with a root cause.
 	 */
 	public NotWritablePropertyException(String propertyName, Class beanClass, Throwable ex) {
-		super("Property '" + propertyName + "' is not writable in bean class [" + beanClass.getName() + "]", ex);
+		super(null, ex);
+		this.propertyName = propertyName;
+		this.beanClass = beanClass;
+	}
+
+	/**
+	 * Return the name of the offending property.
+	 */
+	public String getPropertyName() {
+		return propertyName;
+	}
+
+	/**
+	 * Return the offending bean class.
+	 */
+	public Class getBeanClass() {
+		return beanClass;
+	}
+
+	protected String buildDetailMessage() {
+		return "Property '" + this.propertyName + "' is not writable in bean class [" + this.beanClass.getName() + "]";
 	}
 
 }
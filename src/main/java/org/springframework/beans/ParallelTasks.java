@@ -0,0 +1,131 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs the tasks of a parallel bulk operation and waits for all of them,
+ * for BeanBinder, BeanMapper and the introspection warm-up.
+ *
+ * <p>Without an Executor, the tasks get forked into the common ForkJoinPool
+ * and joined. A caller that is a ForkJoinPool worker itself, for example
+ * within a parallel stream or a CompletableFuture stage, then helps
+ * executing them instead of blocking a worker of the pool.
+ *
+ * <p>With an Executor, the tasks get handed over as FutureTasks. If the
+ * Executor rejects a task, a task fails or the waiting thread gets
+ * interrupted, the tasks that haven't started yet get cancelled.
+ *
+ * @since 17 October 2026
+ * @see java.util.concurrent.ForkJoinTask#invokeAll
+ */
+final class ParallelTasks {
+
+	private ParallelTasks() {
+	}
+
+	/**
+	 * Run the given tasks and wait for all of them to complete. A single
+	 * task is run by the calling thread. Tasks are expected to record
+	 * their results and recoverable failures themselves.
+	 * @param tasks the tasks to run
+	 * @param executor the Executor to run them with, or null for the
+	 * common ForkJoinPool
+	 * @param description description of the operation, for exception messages
+	 * @throws BeansException if a task threw an exception; RuntimeExceptions
+	 * and Errors thrown by tasks are rethrown as they are
+	 */
+	static void invokeAll(Runnable[] tasks, Executor executor, String description) throws BeansException {
+		if (tasks.length == 1) {
+			// no point in handing a single task over to another thread
+			tasks[0].run();
+		}
+		else if (executor == null) {
+			ForkJoinTask[] forkJoinTasks = new ForkJoinTask[tasks.length];
+			for (int i = 0; i < tasks.length; i++) {
+				forkJoinTasks[i] = ForkJoinTask.adapt(tasks[i]);
+			}
+			// cancels the remaining tasks if one of them fails
+			ForkJoinTask.invokeAll(Arrays.asList(forkJoinTasks));
+		}
+		else {
+			FutureTask[] futures = new FutureTask[tasks.length];
+			try {
+				for (int i = 0; i < tasks.length; i++) {
+					futures[i] = new FutureTask(tasks[i], null);
+					executor.execute(futures[i]);
+				}
+				for (int i = 0; i < futures.length; i++) {
+					waitFor(futures[i], description);
+				}
+			}
+			catch (RejectedExecutionException ex) {
+				cancel(futures);
+				throw new FatalBeanException("Executor rejected task for " + description, ex);
+			}
+			catch (RuntimeException ex) {
+				cancel(futures);
+				throw ex;
+			}
+			catch (Error err) {
+				cancel(futures);
+				throw err;
+			}
+		}
+	}
+
+	/**
+	 * Wait for the given task to complete, rethrowing its exception.
+	 */
+	private static void waitFor(FutureTask future, String description) throws BeansException {
+		try {
+			future.get();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new FatalBeanException("Interrupted while waiting for " + description + " to complete", ex);
+		}
+		catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) ex.getCause();
+			}
+			if (ex.getCause() instanceof Error) {
+				throw (Error) ex.getCause();
+			}
+			throw new FatalBeanException("Task for " + description + " failed", ex.getCause());
+		}
+	}
+
+	/**
+	 * Cancel the given tasks that haven't started yet. Tasks that are
+	 * running already complete, as bean tasks don't check for interrupts.
+	 */
+	private static void cancel(FutureTask[] futures) {
+		for (int i = 0; i < futures.length; i++) {
+			if (futures[i] != null) {
+				futures[i].cancel(false);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyEditor;
+
+/**
+ * Adapter that exposes a PropertyEditor as stateless Converter.
+ * Strings get converted via setAsText, other values via setValue,
+ * just like BeanWrapperImpl does with its editors.
+ *
+ * <p>If created for an editor class, a single instance of it gets created
+ * up front. Access to the editor instance is synchronized, as
+ * PropertyEditors hold state.
+ *
+ * @since 17 October 2026
+ * @see ConversionRegistry#addEditor
+ */
+public class PropertyEditorConverter implements Converter {
+
+	private final PropertyEditor sharedEditor;
+
+	/**
+	 * Create a new PropertyEditorConverter for the given editor class,
+	 * which needs to have a no-arg constructor.
+	 * @param editorClass the PropertyEditor class
+	 */
+	public PropertyEditorConverter(Class editorClass) {
+		if (editorClass == null || !PropertyEditor.class.isAssignableFrom(editorClass)) {
+			throw new IllegalArgumentException("Editor class [" + editorClass + "] does not implement [java.beans.PropertyEditor]");
+		}
+		this.sharedEditor = (PropertyEditor) BeanUtils.instantiateClass(editorClass);
+	}
+
+	/**
+	 * Create a new PropertyEditorConverter for the given editor instance.
+	 * @param editor the PropertyEditor to synchronize on and delegate to
+	 */
+	public PropertyEditorConverter(PropertyEditor editor) {
+		if (editor == null) {
+			throw new IllegalArgumentException("Editor must not be null");
+		}
+		this.sharedEditor = editor;
+	}
+
+	public Object convert(Object source, Class targetType) throws IllegalArgumentException {
+		synchronized (this.sharedEditor) {
+			return doConvert(this.sharedEditor, source);
+		}
+	}
+
+	private Object doConvert(PropertyEditor editor, Object source) {
+		if (source instanceof String) {
+			editor.setAsText((String) source);
+		}
+		else {
+			editor.setValue(source);
+		}
+		Object value = editor.getValue();
+		// don't keep converted values reachable from long-lived editors
+		editor.setValue(null);
+		return value;
+	}
+
+	public String toString() {
+		return "PropertyEditorConverter for " + this.sharedEditor;
+	}
+
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parsed representation of a property path like "address.lines[2]"
+ * or "attributes['key'].value": a sequence of segments, each with a
+ * property name and an optional key, with quotes already stripped and
+ * numeric keys already parsed.
+ *
+ * <p>Instances are immutable and get cached in a bounded concurrent cache
+ * keyed by the path String, so hot paths cost neither parsing nor
+ * allocation once warmed up. BeanWrapperImpl uses this transparently
+ * for its String-based property access.
+ *
+ * <p>Segments are separated by the nested property separator; separators
+ * within a key (e.g. "map['a.b']") do not split the path.
+ *
+ * @since 17 October 2026
+ * @see BeanWrapper#NESTED_PROPERTY_SEPARATOR
+ */
+public final class PropertyPath {
+
+	/** Maximum number of cached paths */
+	private static final int CACHE_LIMIT = 4096;
+
+	/** Cache of parsed PropertyPaths, keyed by path String */
+	private static final Map pathCache = new ConcurrentHashMap(256);
+
+
+	/**
+	 * Return the parsed form of the given property path,
+	 * from the cache if available.
+	 * @param path the property path
+	 * @return the parsed path (never null)
+	 */
+	public static PropertyPath parse(String path) {
+		if (path == null) {
+			throw new IllegalArgumentException("Property path must not be null");
+		}
+		PropertyPath parsed = (PropertyPath) pathCache.get(path);
+		if (parsed == null) {
+			parsed = new PropertyPath(path);
+			if (pathCache.size() >= CACHE_LIMIT) {
+				evict();
+			}
+			pathCache.put(path, parsed);
+		}
+		return parsed;
+	}
+
+	/**
+	 * Evict a quarter of the cached paths. Hot paths
+	 * simply get parsed and cached again on next access.
+	 */
+	private static void evict() {
+		int toRemove = CACHE_LIMIT / 4;
+		for (Iterator it = pathCache.keySet().iterator(); it.hasNext() && toRemove > 0; toRemove--) {
+			it.next();
+			it.remove();
+		}
+	}
+
+
+	private final String path;
+
+	private final Segment[] segments;
+
+	private PropertyPath(String path) {
+		this.path = path;
+		List segmentList = new ArrayList(4);
+		int start = 0;
+		boolean inKey = false;
+		for (int i = 0; i < path.length(); i++) {
+			char c = path.charAt(i);
+			if (c == '[') {
+				inKey = true;
+			}
+			else if (c == ']') {
+				inKey = false;
+			}
+			else if (c == BeanWrapper.NESTED_PROPERTY_SEPARATOR.charAt(0) && !inKey) {
+				segmentList.add(Segment.parse(path.substring(start, i)));
+				start = i + 1;
+			}
+		}
+		segmentList.add(Segment.parse(path.substring(start)));
+		this.segments = (Segment[]) segmentList.toArray(new Segment[segmentList.size()]);
+	}
+
+	/**
+	 * Return the original path String.
+	 */
+	public String getPath() {
+		return path;
+	}
+
+	/**
+	 * Return whether this path navigates into nested beans,
+	 * i.e. consists of more than one segment.
+	 */
+	public boolean isNested() {
+		return (this.segments.length > 1);
+	}
+
+	/**
+	 * Return the number of segments of this path.
+	 */
+	public int getSegmentCount() {
+		return this.segments.length;
+	}
+
+	/**
+	 * Return the segment at the given position.
+	 */
+	public Segment getSegment(int i) {
+		return this.segments[i];
+	}
+
+	/**
+	 * Return the last segment, i.e. the property on the target bean.
+	 */
+	public Segment getLastSegment() {
+		return this.segments[this.segments.length - 1];
+	}
+
+	public boolean equals(Object other) {
+		return (this == other || (other instanceof PropertyPath && this.path.equals(((PropertyPath) other).path)));
+	}
+
+	public int hashCode() {
+		return this.path.hashCode();
+	}
+
+	public String toString() {
+		return this.path;
+	}
+
+
+	/**
+	 * One segment of a property path, for example "lines[2]":
+	 * property name "lines", key "2", index 2.
+	 */
+	public static final class Segment {
+
+		private final String path;
+
+		private final String name;
+
+		private final String key;
+
+		private final String canonicalName;
+
+		private final int index;
+
+		private final boolean hasIndex;
+
+		static Segment parse(String path) {
+			String name = path;
+			String key = null;
+			int keyStart = path.indexOf('[');
+			if (keyStart != -1 && path.endsWith("]")) {
+				name = path.substring(0, keyStart);
+				key = path.substring(keyStart + 1, path.length() - 1);
+				if (key.length() > 1 && ((key.startsWith("'") && key.endsWith("'")) ||
+				    (key.startsWith("\"") && key.endsWith("\"")))) {
+					key = key.substring(1, key.length() - 1);
+				}
+			}
+			return new Segment(path, name, key);
+		}
+
+		/**
+		 * Create a segment for the given property name and key,
+		 * for example when expanding a collection property.
+		 * @param name the property name
+		 * @param key the key, or null if none
+		 */
+		static Segment forKey(String name, String key) {
+			return new Segment((key != null ? name + "[" + key + "]" : name), name, key);
+		}
+
+		private Segment(String path, String name, String key) {
+			this.path = path;
+			this.name = name;
+			this.key = key;
+			this.canonicalName = (key != null ? name + "[" + key + "]" : name);
+			int index = -1;
+			boolean hasIndex = false;
+			if (key != null) {
+				try {
+					index = Integer.parseInt(key);
+					hasIndex = true;
+				}
+				catch (NumberFormatException ex) {
+					// not an index: probably a Map key
+				}
+			}
+			this.index = index;
+			this.hasIndex = hasIndex;
+		}
+
+		/**
+		 * Return the segment as given in the path, e.g. "map['key']".
+		 */
+		public String getPath() {
+			return path;
+		}
+
+		/**
+		 * Return the property name, e.g. "map".
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * Return the key with quotes stripped, e.g. "key",
+		 * or null if this segment doesn't specify a key.
+		 */
+		public String getKey() {
+			return key;
+		}
+
+		/**
+		 * Return the canonical name, i.e. the property name
+		 * plus the unquoted key, e.g. "map[key]".
+		 */
+		public String getCanonicalName() {
+			return canonicalName;
+		}
+
+		/**
+		 * Return whether the key is a valid int index.
+		 */
+		public boolean hasIndex() {
+			return hasIndex;
+		}
+
+		/**
+		 * Return the key parsed as int index.
+		 * Only meaningful if hasIndex returns true.
+		 * @see #hasIndex
+		 */
+		public int getIndex() {
+			return index;
+		}
+
+		public String toString() {
+			return this.path;
+		}
+	}
+
+}
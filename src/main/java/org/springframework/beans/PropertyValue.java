@@ -87,7 +87,7 @@ public class PropertyValue {
 		}
 		PropertyValue otherPv = (PropertyValue) other;
 		return (this.name.equals(otherPv.name) &&
-				((this.value == null && otherPv.value == null) || this.value.equals(otherPv.value)));
+				(this.value == null ? otherPv.value == null : this.value.equals(otherPv.value)));
 	}
 
 	public int hashCode() {
@@ -26,24 +26,33 @@ import java.beans.PropertyChangeEvent;
  */
 public class TypeMismatchException extends PropertyAccessException {
 
+	private final Class requiredType;
+
 	public TypeMismatchException(PropertyChangeEvent propertyChangeEvent, Class requiredType) {
-		super("Cannot convert property value of type [" +
-		      (propertyChangeEvent.getNewValue() != null ?
-		       propertyChangeEvent.getNewValue().getClass().getName() : null) +
-		      "] to required type [" + requiredType.getName() + "]" +
-					(propertyChangeEvent.getPropertyName() != null ?
-					 " for property '" + propertyChangeEvent.getPropertyName() + "'" : ""),
-					propertyChangeEvent);
+		super(null, propertyChangeEvent);
+		this.requiredType = requiredType;
 	}
 
 	public TypeMismatchException(PropertyChangeEvent propertyChangeEvent, Class requiredType, Throwable ex) {
-		super("Failed to convert property value of type [" +
+		super(null, propertyChangeEvent, ex);
+		this.requiredType = requiredType;
+	}
+
+	/**
+	 * Return the type that the value could not be converted to.
+	 */
+	public Class getRequiredType() {
+		return requiredType;
+	}
+
+	protected String buildDetailMessage() {
+		PropertyChangeEvent propertyChangeEvent = getPropertyChangeEvent();
+		return (getCause() != null ? "Failed to convert" : "Cannot convert") + " property value of type [" +
 		      (propertyChangeEvent.getNewValue() != null ?
 		       propertyChangeEvent.getNewValue().getClass().getName() : null) +
-		      "] to required type [" + requiredType.getName() + "]" +
+		      "] to required type [" + this.requiredType.getName() + "]" +
 					(propertyChangeEvent.getPropertyName() != null ?
-					 " for property '" + propertyChangeEvent.getPropertyName() + "'" : ""),
-					propertyChangeEvent, ex);
+					 " for property '" + propertyChangeEvent.getPropertyName() + "'" : "");
 	}
 
 	public String getErrorCode() {
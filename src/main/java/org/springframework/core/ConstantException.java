@@ -16,6 +16,9 @@
 
 package org.springframework.core;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+
 /**
  * Exception thrown when the Constants class is asked for an invalid
  * constant name.
@@ -27,6 +30,17 @@ package org.springframework.core;
  * Constants 클래스가 유효하지 않은 상수 이름을 물어볼때 발생할 수 있는 예외
  */
 public class ConstantException extends IllegalArgumentException {
+
+	private final transient Class clazz;
+
+	private final transient String name;
+
+	private final transient String problem;
+
+	private final transient Object value;
+
+	/** Message, built on first access or on serialization */
+	private String message;
 	
 	/**
 	 * Thrown when an invalid constant name is requested.
@@ -35,7 +49,10 @@ public class ConstantException extends IllegalArgumentException {
 	 * @param message description of the problem
 	 */
 	public ConstantException(Class clazz, String field, String message) {
-		super("Field '" + field + "' " + message + " in " + clazz);
+		this.clazz = clazz;
+		this.name = field;
+		this.problem = message;
+		this.value = null;
 	}
 
 	/**
@@ -45,7 +62,46 @@ public class ConstantException extends IllegalArgumentException {
 	 * @param value the looked up constant value
 	 */
 	public ConstantException(Class clazz, String namePrefix, Object value) {
-		super("No '" + namePrefix + "' field with value '" + value + "' found in " + clazz);
+		this.clazz = clazz;
+		this.name = namePrefix;
+		this.problem = null;
+		this.value = value;
+	}
+
+	/**
+	 * Return the message, built on first access only.
+	 */
+	public String getMessage() {
+		if (this.message == null) {
+			if (this.problem != null) {
+				this.message = "Field '" + this.name + "' " + this.problem + " in " + this.clazz;
+			}
+			else {
+				this.message = "No '" + this.name + "' field with value '" + this.value + "' found in " + this.clazz;
+			}
+		}
+		return this.message;
+	}
+
+	/**
+	 * Serialize the formatted message only, as the looked up
+	 * constant value need not be serializable.
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		getMessage();
+		out.defaultWriteObject();
+	}
+
+	/**
+	 * Fill in the stack trace, unless stackless mode has been switched
+	 * on for the class of this exception.
+	 * @see StacklessExceptions
+	 */
+	public synchronized Throwable fillInStackTrace() {
+		if (StacklessExceptions.isStackless(getClass())) {
+			return this;
+		}
+		return super.fillInStackTrace();
 	}
 
 }
@@ -50,6 +50,9 @@ public abstract class NestedCheckedException extends Exception {
 	/** Root cause of this nested exception */
 	private Throwable cause;
 
+	/** Composite message, built on first access */
+	private transient String message;
+
 	/**
 	 * Construct a <code>ExceptionWrapperException</code> with the specified detail message.
 	 * @param msg the detail message
@@ -69,6 +72,21 @@ public abstract class NestedCheckedException extends Exception {
 		this.cause = ex;
 	}
 
+	/**
+	 * Construct an exception with the specified detail message and nested
+	 * exception, specifying whether it has a stack trace. Exceptions without
+	 * writable stack trace neither fill in their stack trace nor record
+	 * suppressed exceptions, so a single instance can be preallocated and
+	 * thrown from different places, e.g. for a frequent expected failure.
+	 * @param msg the detail message
+	 * @param ex the nested exception (may be null)
+	 * @param writableStackTrace whether the stack trace should be writable
+	 */
+	protected NestedCheckedException(String msg, Throwable ex, boolean writableStackTrace) {
+		super(msg, null, writableStackTrace, writableStackTrace);
+		this.cause = ex;
+	}
+
 	/**
 	 * Return the nested cause, or null if none.
 	 */
@@ -78,16 +96,44 @@ public abstract class NestedCheckedException extends Exception {
 
 	/**
 	 * Return the detail message, including the message from the nested exception
-	 * if there is one.
+	 * if there is one. Built on first access only.
+	 * @see #buildDetailMessage
 	 */
 	public String getMessage() {
-		if (this.cause == null) {
-			return super.getMessage();
+		String message = this.message;
+		if (message == null) {
+			if (this.cause == null) {
+				message = buildDetailMessage();
+			}
+			else {
+				message = buildDetailMessage() + "; nested exception is " + this.cause.getClass().getName() +
+						": " + this.cause.getMessage();
+			}
+			this.message = message;
 		}
-		else {
-			return super.getMessage() + "; nested exception is " + this.cause.getClass().getName() +
-					": " + this.cause.getMessage();
+		return message;
+	}
+
+	/**
+	 * Build the detail message of this exception, without the message
+	 * from the nested exception. Returns the message passed to the
+	 * constructor by default; can be overridden to format the message
+	 * lazily, i.e. only if it is actually needed.
+	 */
+	protected String buildDetailMessage() {
+		return super.getMessage();
+	}
+
+	/**
+	 * Fill in the stack trace, unless stackless mode has been switched
+	 * on for the class of this exception.
+	 * @see StacklessExceptions
+	 */
+	public synchronized Throwable fillInStackTrace() {
+		if (StacklessExceptions.isStackless(getClass())) {
+			return this;
 		}
+		return super.fillInStackTrace();
 	}
 
 	/**
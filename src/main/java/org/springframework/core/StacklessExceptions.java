@@ -0,0 +1,94 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry that determines which exceptions of the nested exception
+ * hierarchy skip filling in their stack trace. Stackless exceptions are
+ * much cheaper to create, which matters when they are used for expected
+ * control flow, e.g. when probing for properties, at the price of
+ * carrying no stack trace for diagnostics.
+ *
+ * <p>Stack traces are filled in by default. Stackless mode can be
+ * switched on globally, and switched on or off for specific exception
+ * types, including their subclasses. The most specific setting wins.
+ *
+ * <p>Applies to NestedRuntimeException, NestedCheckedException and
+ * ConstantException, plus their subclasses.
+ *
+ * 예외 계층의 스택 트레이스 생성 여부를 결정하는 레지스트리
+ *
+ * @since 17 October 2026
+ * @see NestedRuntimeException#fillInStackTrace
+ * @see NestedCheckedException#fillInStackTrace
+ */
+public abstract class StacklessExceptions {
+
+	private static volatile boolean stacklessByDefault = false;
+
+	/** Map from exception class to Boolean */
+	private static final Map typeSettings = new ConcurrentHashMap();
+
+	/**
+	 * Set whether exceptions should be stackless unless specified otherwise
+	 * for their type. Default is false.
+	 */
+	public static void setStacklessByDefault(boolean stackless) {
+		stacklessByDefault = stackless;
+	}
+
+	/**
+	 * Set whether exceptions of the given type and its subclasses
+	 * should be stackless, overriding the default.
+	 * @param exceptionClass the exception type
+	 * @param stackless whether to skip filling in stack traces
+	 */
+	public static void setStackless(Class exceptionClass, boolean stackless) {
+		if (exceptionClass == null || !Throwable.class.isAssignableFrom(exceptionClass)) {
+			throw new IllegalArgumentException("exceptionClass must be a subclass of Throwable");
+		}
+		typeSettings.put(exceptionClass, Boolean.valueOf(stackless));
+	}
+
+	/**
+	 * Remove all settings, restoring stack traces for all exceptions.
+	 */
+	public static void reset() {
+		stacklessByDefault = false;
+		typeSettings.clear();
+	}
+
+	/**
+	 * Return whether exceptions of the given class should be stackless.
+	 * @param exceptionClass the concrete exception class
+	 */
+	public static boolean isStackless(Class exceptionClass) {
+		if (!typeSettings.isEmpty()) {
+			for (Class clazz = exceptionClass; clazz != null && clazz != Throwable.class; clazz = clazz.getSuperclass()) {
+				Boolean stackless = (Boolean) typeSettings.get(clazz);
+				if (stackless != null) {
+					return stackless.booleanValue();
+				}
+			}
+		}
+		return stacklessByDefault;
+	}
+
+}
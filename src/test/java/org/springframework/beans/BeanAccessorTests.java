@@ -0,0 +1,191 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for generated and reflective bean accessors,
+ * as used by BeanWrapperImpl.
+ */
+public class BeanAccessorTests {
+
+	@Test
+	public void testGeneratedAccessorForPublicClass() throws Throwable {
+		CachedIntrospectionResults results = CachedIntrospectionResults.forClass(TestBean.class);
+		BeanAccessor accessor = results.getAccessor();
+		assertTrue(accessor.isGenerated());
+
+		TestBean tb = new TestBean("rod", 31);
+		int nameIndex = results.getPropertyIndex("name");
+		int ageIndex = results.getPropertyIndex("age");
+		assertEquals("rod", accessor.get(tb, nameIndex));
+		assertEquals(new Integer(31), accessor.get(tb, ageIndex));
+		accessor.set(tb, nameIndex, "juergen");
+		accessor.set(tb, ageIndex, new Integer(29));
+		assertEquals("juergen", tb.getName());
+		assertEquals(29, tb.getAge());
+	}
+
+	@Test
+	public void testReflectiveAccessorForNonPublicClass() {
+		CachedIntrospectionResults results = CachedIntrospectionResults.forClass(PackageBean.class);
+		assertFalse(results.getAccessor().isGenerated());
+
+		BeanWrapper bw = new BeanWrapperImpl(new PackageBean());
+		bw.setPropertyValue("value", "42");
+		assertEquals(new Integer(42), bw.getPropertyValue("value"));
+	}
+
+	@Test
+	public void testReadOnlyPropertyFallsBackToDefaultCase() throws Throwable {
+		CachedIntrospectionResults results = CachedIntrospectionResults.forClass(TestBean.class);
+		int classIndex = results.getPropertyIndex("class");
+		assertEquals(TestBean.class, results.getAccessor().get(new TestBean(), classIndex));
+		try {
+			results.getAccessor().set(new TestBean(), classIndex, TestBean.class);
+			fail("Should have thrown IllegalArgumentException");
+		}
+		catch (IllegalArgumentException ex) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testPrimitiveAndWideningConversions() {
+		TestBean tb = new TestBean();
+		BeanWrapper bw = new BeanWrapperImpl(tb);
+		bw.setPropertyValue("count", new Integer(5));
+		bw.setPropertyValue("ratio", new Float(1.5f));
+		bw.setPropertyValue("active", Boolean.TRUE);
+		assertEquals(5L, tb.getCount());
+		assertEquals(1.5d, tb.getRatio(), 0.0);
+		assertTrue(tb.isActive());
+		assertEquals(new Long(5), bw.getPropertyValue("count"));
+		assertEquals(Boolean.TRUE, bw.getPropertyValue("active"));
+	}
+
+	@Test
+	public void testTypeMismatch() {
+		BeanWrapper bw = new BeanWrapperImpl(new TestBean());
+		try {
+			bw.setPropertyValue("spouse", "not a bean");
+			fail("Should have thrown TypeMismatchException");
+		}
+		catch (TypeMismatchException ex) {
+			assertEquals("spouse", ex.getPropertyChangeEvent().getPropertyName());
+		}
+		try {
+			bw.setPropertyValue("age", null);
+			fail("Should have thrown TypeMismatchException");
+		}
+		catch (TypeMismatchException ex) {
+			assertNull(ex.getPropertyChangeEvent().getNewValue());
+		}
+	}
+
+	@Test
+	public void testSetterExceptions() {
+		BeanWrapper bw = new BeanWrapperImpl(new TestBean());
+		try {
+			bw.setPropertyValue("touchy", "1.0");
+			fail("Should have thrown MethodInvocationException");
+		}
+		catch (MethodInvocationException ex) {
+			assertTrue(ex.getCause() instanceof Exception);
+			assertEquals("touchy", ex.getPropertyChangeEvent().getPropertyName());
+		}
+		try {
+			bw.setPropertyValue("touchy", "1,0");
+			fail("Should have thrown MethodInvocationException");
+		}
+		catch (MethodInvocationException ex) {
+			assertTrue(ex.getCause() instanceof NumberFormatException);
+		}
+	}
+
+	@Test
+	public void testNestedPropertiesThroughAccessors() {
+		TestBean tb = new TestBean("rod", 31);
+		tb.setSpouse(new TestBean("kerry", 34));
+		BeanWrapper bw = new BeanWrapperImpl(tb);
+		bw.setPropertyValue("spouse.age", "35");
+		assertEquals(35, tb.getSpouse().getAge());
+		assertEquals("kerry", bw.getPropertyValue("spouse.name"));
+	}
+
+
+	@Test
+	public void testErrorsPropagate() {
+		BeanWrapper bw = new BeanWrapperImpl(new FailingBean());
+		try {
+			bw.getPropertyValue("value");
+			fail("Should have thrown StackOverflowError");
+		}
+		catch (StackOverflowError err) {
+			// expected
+		}
+		try {
+			bw.setPropertyValue("value", "1");
+			fail("Should have thrown StackOverflowError");
+		}
+		catch (StackOverflowError err) {
+			// expected
+		}
+		try {
+			bw.getInt("value");
+			fail("Should have thrown StackOverflowError");
+		}
+		catch (StackOverflowError err) {
+			// expected
+		}
+	}
+
+
+	static class PackageBean {
+
+		private int value;
+
+		public int getValue() {
+			return value;
+		}
+
+		public void setValue(int value) {
+			this.value = value;
+		}
+	}
+
+
+
+	public static class FailingBean {
+
+		public int getValue() {
+			throw new StackOverflowError();
+		}
+
+		public void setValue(int value) {
+			throw new StackOverflowError();
+		}
+	}
+
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyEditorSupport;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for BeanBinder.
+ */
+public class BeanBinderTests {
+
+	private List createRows(int count) {
+		List rows = new ArrayList(count);
+		for (int i = 0; i < count; i++) {
+			Map row = new HashMap();
+			row.put("name", "name" + i);
+			row.put("age", Integer.toString(i % 100));
+			row.put("count", new Long(i));
+			rows.add(row);
+		}
+		return rows;
+	}
+
+	@Test
+	public void testBindAllKeepsRowOrder() {
+		BeanBinder binder = new BeanBinder();
+		binder.setBatchSize(100);
+		BulkBindingResult result = binder.bindAll(TestBean.class, createRows(5000));
+		assertEquals(5000, result.getRowCount());
+		assertFalse(result.hasErrors());
+		List beans = result.getBeans();
+		for (int i = 0; i < beans.size(); i++) {
+			TestBean tb = (TestBean) beans.get(i);
+			assertEquals("name" + i, tb.getName());
+			assertEquals(i % 100, tb.getAge());
+			assertEquals(i, tb.getCount());
+		}
+	}
+
+	@Test
+	public void testPerRowErrors() {
+		List rows = createRows(10);
+		((Map) rows.get(3)).put("age", "notANumber");
+		((Map) rows.get(7)).put("nonExisting", "x");
+		BeanBinder binder = new BeanBinder();
+		binder.setBatchSize(4);
+		BulkBindingResult result = binder.bindAll(TestBean.class, rows);
+		assertEquals(2, result.getErrorCount());
+		assertEquals(8, result.getBeans().size());
+		assertNull(result.getBean(3));
+		assertEquals("name4", ((TestBean) result.getBean(4)).getName());
+
+		PropertyAccessExceptionsException ex = (PropertyAccessExceptionsException) result.getException(3);
+		assertTrue(ex.getPropertyAccessException("age") instanceof TypeMismatchException);
+		assertEquals("name3", ((TestBean) ex.getBindObject()).getName());
+		assertTrue(result.getException(7) instanceof NotWritablePropertyException);
+		assertEquals(new Integer(3), result.getExceptions().keySet().iterator().next());
+
+		binder.setIgnoreUnknown(true);
+		assertEquals(1, binder.bindAll(TestBean.class, rows).getErrorCount());
+	}
+
+	@Test
+	public void testCallerSuppliedExecutorAndInitializer() {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			BeanBinder binder = new BeanBinder(executor, new BeanWrapperPool.Initializer() {
+				public void initBeanWrapper(BeanWrapper bw) {
+					bw.registerCustomEditor(String.class, "name", new PropertyEditorSupport() {
+						public void setAsText(String text) {
+							setValue(text.toUpperCase());
+						}
+					});
+				}
+			});
+			binder.setBatchSize(10);
+			BulkBindingResult result = binder.bindAll(TestBean.class, createRows(1000));
+			assertFalse(result.hasErrors());
+			assertEquals("NAME999", ((TestBean) result.getBean(999)).getName());
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testBindAllFromCommonPoolWorkers() throws Exception {
+		// more callers than workers, each waiting for batches of its own
+		int callers = ForkJoinPool.getCommonPoolParallelism() * 4;
+		List futures = new ArrayList(callers);
+		for (int i = 0; i < callers; i++) {
+			futures.add(ForkJoinPool.commonPool().submit(new Callable() {
+				public Object call() {
+					BeanBinder binder = new BeanBinder();
+					binder.setBatchSize(10);
+					return binder.bindAll(TestBean.class, createRows(200));
+				}
+			}));
+		}
+		for (int i = 0; i < callers; i++) {
+			BulkBindingResult result = (BulkBindingResult) ((Future) futures.get(i)).get();
+			assertEquals(200, result.getBeans().size());
+		}
+	}
+
+	@Test
+	public void testRejectedBatchCancelsSubmittedOnes() {
+		final List submitted = new ArrayList();
+		Executor executor = new Executor() {
+			public void execute(Runnable command) {
+				if (!submitted.isEmpty()) {
+					throw new RejectedExecutionException("full");
+				}
+				// accept the first batch without running it
+				submitted.add(command);
+			}
+		};
+		BeanBinder binder = new BeanBinder(executor);
+		binder.setBatchSize(10);
+		try {
+			binder.bindAll(TestBean.class, createRows(100));
+			fail("Should have thrown FatalBeanException");
+		}
+		catch (FatalBeanException ex) {
+			assertTrue(ex.getCause() instanceof RejectedExecutionException);
+		}
+		assertEquals(1, submitted.size());
+		assertTrue(((Future) submitted.get(0)).isCancelled());
+	}
+
+	@Test
+	public void testEmptyInput() {
+		BulkBindingResult result = new BeanBinder().bindAll(TestBean.class, new ArrayList());
+		assertEquals(0, result.getRowCount());
+		assertSame(Collections.EMPTY_MAP, result.getExceptions());
+	}
+
+}
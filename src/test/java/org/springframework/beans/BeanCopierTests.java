@@ -0,0 +1,142 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for BeanCopier and BeanUtils.copyProperties.
+ */
+public class BeanCopierTests {
+
+	@Test
+	public void testCopyProperties() throws Exception {
+		TestBean source = createSource();
+		TestBean target = new TestBean();
+		BeanUtils.copyProperties(source, target);
+		assertEquals("Rod", target.getName());
+		assertEquals(31, target.getAge());
+		assertEquals(3L, target.getCount());
+		assertTrue(target.isActive());
+		assertSame(source.getSpouse(), target.getSpouse());
+		assertSame(source.getFriends(), target.getFriends());
+	}
+
+	@Test
+	public void testCopyPropertiesWithIgnoredProperties() throws Exception {
+		TestBean source = createSource();
+		TestBean target = new TestBean();
+		BeanUtils.copyProperties(source, target, new String[] {"age", "spouse"});
+		assertEquals("Rod", target.getName());
+		assertEquals(0, target.getAge());
+		assertNull(target.getSpouse());
+	}
+
+	@Test
+	public void testCopiersAreCached() {
+		BeanCopier copier = BeanCopier.forClasses(TestBean.class, TestBean.class, null);
+		assertSame(copier, BeanCopier.forClasses(TestBean.class, TestBean.class, null));
+		assertSame(copier, BeanCopier.forClasses(TestBean.class, TestBean.class, new String[0]));
+
+		String[] ignored = new String[] {"age", "name"};
+		BeanCopier ignoringCopier = BeanCopier.forClasses(TestBean.class, TestBean.class, ignored);
+		assertNotSame(copier, ignoringCopier);
+		ignored[0] = "count";
+		assertSame(ignoringCopier, BeanCopier.forClasses(TestBean.class, TestBean.class, new String[] {"name", "age"}));
+		assertFalse(Arrays.asList(ignoringCopier.getPropertyNames()).contains("age"));
+		assertTrue(Arrays.asList(ignoringCopier.getPropertyNames()).contains("count"));
+	}
+
+	@Test
+	public void testCachingAcrossClassLoaders() throws Exception {
+		String className = CachedIntrospectionResultsTests.UntrustedBean.class.getName();
+		Class first = new CachedIntrospectionResultsTests.IsolatingClassLoader().loadClass(className);
+		Class second = new CachedIntrospectionResultsTests.IsolatingClassLoader().loadClass(className);
+
+		BeanCopier copier = BeanCopier.forClasses(TestBean.class, first, null);
+		assertSame(copier, BeanCopier.forClasses(TestBean.class, first, null));
+		assertSame(copier, BeanCopier.forClasses(TestBean.class, first, new String[0]));
+		assertEquals(1, copier.getPropertyNames().length);
+
+		// unrelated ClassLoaders: works, but not cached
+		BeanCopier unrelated = BeanCopier.forClasses(first, second, null);
+		assertNotSame(unrelated, BeanCopier.forClasses(first, second, null));
+		Object source = first.getDeclaredConstructor(new Class[0]).newInstance(new Object[0]);
+		BeanWrapper bw = new BeanWrapperImpl(source);
+		bw.setPropertyValue("name", "Rod");
+		Object target = second.getDeclaredConstructor(new Class[0]).newInstance(new Object[0]);
+		unrelated.copy(source, target);
+		assertEquals("Rod", new BeanWrapperImpl(target).getPropertyValue("name"));
+	}
+
+	@Test
+	public void testCopyToSubclass() throws Exception {
+		TestBean source = createSource();
+		FussyTestBean target = new FussyTestBean();
+		try {
+			BeanUtils.copyProperties(source, target);
+			fail("Should have thrown PropertyAccessExceptionsException");
+		}
+		catch (PropertyAccessExceptionsException ex) {
+			assertEquals(1, ex.getExceptionCount());
+			assertTrue(ex.getPropertyAccessException("name") instanceof MethodInvocationException);
+			assertSame(target, ex.getBindObject());
+		}
+		// other properties copied anyway
+		assertEquals(31, target.getAge());
+	}
+
+	@Test
+	public void testTargetMustBeInstanceOfSource() {
+		try {
+			BeanUtils.copyProperties(new TestBean(), new Object());
+			fail("Should have thrown IllegalArgumentException");
+		}
+		catch (IllegalArgumentException ex) {
+			// expected
+		}
+	}
+
+	private TestBean createSource() throws Exception {
+		TestBean source = new TestBean("Rod", 31);
+		source.setCount(3L);
+		source.setActive(true);
+		source.setTouchy("touchy");
+		source.setSpouse(new TestBean("Kerry", 34));
+		source.getFriends().add("Juergen");
+		return source;
+	}
+
+
+	public static class FussyTestBean extends TestBean {
+
+		public void setName(String name) {
+			throw new IllegalStateException("Name is fixed");
+		}
+	}
+
+}
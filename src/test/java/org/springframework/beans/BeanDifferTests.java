@@ -0,0 +1,97 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for BeanDiffer and MutablePropertyValues.changesSince.
+ */
+public class BeanDifferTests {
+
+	@Test
+	public void testNoChanges() throws Exception {
+		TestBean oldBean = createBean("Rod", 31);
+		TestBean newBean = (TestBean) BeanUtils.deepCopy(oldBean);
+		assertEquals(0, BeanDiffer.diffBeans(oldBean, newBean).getPropertyValues().length);
+		assertEquals(0, BeanDiffer.diffBeans(oldBean, oldBean).getPropertyValues().length);
+	}
+
+	@Test
+	public void testChangedProperties() throws Exception {
+		TestBean oldBean = createBean("Rod", 31);
+		oldBean.setStringArray(new String[] {"a", "b"});
+		TestBean newBean = (TestBean) BeanUtils.deepCopy(oldBean);
+		newBean.setAge(32);
+		newBean.setName(null);
+		newBean.getFriends().add("Juergen");
+		newBean.setStringArray(new String[] {"a", "b"});
+
+		PropertyValues changes = BeanDiffer.diffBeans(oldBean, newBean);
+		assertEquals(3, changes.getPropertyValues().length);
+		assertEquals(new Integer(32), changes.getPropertyValue("age").getValue());
+		assertNull(changes.getPropertyValue("name").getValue());
+		assertSame(newBean.getFriends(), changes.getPropertyValue("friends").getValue());
+	}
+
+	@Test
+	public void testNestedPaths() throws Exception {
+		TestBean oldBean = createBean("Rod", 31);
+		oldBean.setSpouse(createBean("Kerry", 34));
+		oldBean.getSpouse().setSpouse(oldBean);
+		TestBean newBean = (TestBean) BeanUtils.deepCopy(oldBean);
+		newBean.getSpouse().setName("Kerry Johnson");
+
+		PropertyValues changes = BeanDiffer.diffBeans(oldBean, newBean);
+		assertEquals(1, changes.getPropertyValues().length);
+		assertEquals("Kerry Johnson", changes.getPropertyValue("spouse.name").getValue());
+
+		newBean.setSpouse(null);
+		changes = BeanDiffer.diffBeans(oldBean, newBean);
+		assertEquals(1, changes.getPropertyValues().length);
+		assertNull(changes.getPropertyValue("spouse").getValue());
+	}
+
+	@Test
+	public void testChangesSince() {
+		MutablePropertyValues oldPvs = new MutablePropertyValues();
+		oldPvs.addPropertyValue("name", "Rod");
+		oldPvs.addPropertyValue("age", null);
+		oldPvs.addPropertyValue("touchy", "value");
+		MutablePropertyValues newPvs = new MutablePropertyValues();
+		newPvs.addPropertyValue("age", "31");
+		newPvs.addPropertyValue("name", "Rod");
+		newPvs.addPropertyValue("spouse", "Kerry");
+
+		PropertyValues changes = newPvs.changesSince(oldPvs);
+		assertEquals(2, changes.getPropertyValues().length);
+		assertEquals("31", changes.getPropertyValue("age").getValue());
+		assertEquals("Kerry", changes.getPropertyValue("spouse").getValue());
+		assertEquals(0, newPvs.changesSince(newPvs).getPropertyValues().length);
+	}
+
+	private TestBean createBean(String name, int age) throws Exception {
+		TestBean bean = new TestBean(name, age);
+		bean.setTouchy("touchy");
+		return bean;
+	}
+
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for BeanGraphCopier and BeanUtils.deepCopy.
+ */
+public class BeanGraphCopierTests {
+
+	@Test
+	public void testDeepCopy() throws Exception {
+		TestBean original = createBean("Rod", 31);
+		original.setSpouse(createBean("Kerry", 34));
+		original.getFriends().add(createBean("Juergen", 30));
+		original.setStringArray(new String[] {"a", "b"});
+		original.getSomeMap().put("locale", Locale.GERMAN);
+
+		TestBean copy = (TestBean) BeanUtils.deepCopy(original);
+		assertNotSame(original, copy);
+		assertSame(original.getName(), copy.getName());
+		assertEquals(31, copy.getAge());
+		assertNotSame(original.getSpouse(), copy.getSpouse());
+		assertEquals("Kerry", copy.getSpouse().getName());
+		assertNotSame(original.getFriends(), copy.getFriends());
+		assertNotSame(original.getFriends().get(0), copy.getFriends().get(0));
+		assertEquals("Juergen", ((TestBean) copy.getFriends().get(0)).getName());
+		assertNotSame(original.getStringArray(), copy.getStringArray());
+		assertEquals(Arrays.asList(original.getStringArray()), Arrays.asList(copy.getStringArray()));
+		assertSame(Locale.GERMAN, copy.getSomeMap().get("locale"));
+	}
+
+	@Test
+	public void testSharedReferencesAndCycles() throws Exception {
+		TestBean rod = createBean("Rod", 31);
+		TestBean kerry = createBean("Kerry", 34);
+		rod.setSpouse(kerry);
+		kerry.setSpouse(rod);
+		rod.getFriends().add(kerry);
+		rod.getSomeMap().put("self", rod);
+
+		TestBean copy = (TestBean) BeanUtils.deepCopy(rod);
+		assertSame(copy, copy.getSpouse().getSpouse());
+		assertSame(copy.getSpouse(), copy.getFriends().get(0));
+		assertSame(copy, copy.getSomeMap().get("self"));
+		assertNotSame(kerry, copy.getSpouse());
+	}
+
+	@Test
+	public void testCollectionImplementationsArePreserved() {
+		List linkedList = new LinkedList();
+		linkedList.add(new Date(1000L));
+		TreeSet treeSet = new TreeSet(Collections.reverseOrder());
+		treeSet.add("a");
+		treeSet.add("b");
+		TreeMap treeMap = new TreeMap();
+		treeMap.put("key", new int[] {1, 2});
+
+		List copy = (List) BeanUtils.deepCopy(Arrays.asList(new Object[] {linkedList, treeSet, treeMap}));
+		assertTrue(copy.get(0) instanceof LinkedList);
+		Date date = (Date) ((List) copy.get(0)).get(0);
+		assertEquals(new Date(1000L), date);
+		assertNotSame(linkedList.get(0), date);
+		TreeSet copiedSet = (TreeSet) copy.get(1);
+		assertSame(treeSet.comparator(), copiedSet.comparator());
+		assertEquals("b", copiedSet.first());
+		int[] ints = (int[]) ((Map) copy.get(2)).get("key");
+		assertNotSame(treeMap.get("key"), ints);
+		assertEquals(2, ints[1]);
+	}
+
+	@Test
+	public void testImmutableTypes() throws Exception {
+		BeanGraphCopier copier = new BeanGraphCopier();
+		TestBean original = createBean("Rod", 31);
+		assertSame(Integer.valueOf(1), copier.copy(Integer.valueOf(1)));
+		assertSame(String.class, copier.copy(String.class));
+		assertNotSame(original, copier.copy(original));
+		copier.registerImmutableType(TestBean.class);
+		assertSame(original, copier.copy(original));
+		assertTrue(copier.isImmutableType(Thread.State.class));
+	}
+
+	@Test
+	public void testClassWithoutNoArgConstructor() {
+		try {
+			BeanUtils.deepCopy(new NoDefaultConstructorBean("value"));
+			fail("Should have thrown FatalBeanException");
+		}
+		catch (FatalBeanException ex) {
+			// expected
+		}
+	}
+
+	private TestBean createBean(String name, int age) throws Exception {
+		TestBean bean = new TestBean(name, age);
+		bean.setTouchy("touchy");
+		return bean;
+	}
+
+
+	public static class NoDefaultConstructorBean {
+
+		private final String value;
+
+		public NoDefaultConstructorBean(String value) {
+			this.value = value;
+		}
+
+		public String getValue() {
+			return value;
+		}
+	}
+
+}
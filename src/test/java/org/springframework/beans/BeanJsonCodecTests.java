@@ -0,0 +1,240 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyEditorSupport;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for BeanJsonCodec.
+ */
+public class BeanJsonCodecTests {
+
+	private final BeanJsonCodec codec = new BeanJsonCodec();
+
+	@Test
+	public void testWrite() throws Exception {
+		Item item = new Item();
+		item.setName("Tab\tand \"quotes\"");
+		item.setPrice(12.5);
+		item.setQuantity(3);
+		item.setTags(new String[] {"a", "b"});
+		String json = this.codec.writeToString(item);
+		assertEquals("{\"children\":[],\"name\":\"Tab\\tand \\\"quotes\\\"\",\"parent\":null,\"price\":12.5," +
+		             "\"quantity\":3,\"status\":null,\"tags\":[\"a\",\"b\"]}", json);
+	}
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		Item item = new Item();
+		item.setName("Rod ä ");
+		item.setQuantity(-7);
+		item.setStatus(Thread.State.RUNNABLE);
+		item.setTags(new String[] {"x"});
+		Item child = new Item();
+		child.setName("child");
+		child.setPrice(Double.NaN);
+		item.getChildren().add(child);
+		Item parent = new Item();
+		parent.setName("parent");
+		item.setParent(parent);
+
+		Item copy = (Item) this.codec.read(this.codec.writeToString(item), Item.class);
+		assertEquals(item.getName(), copy.getName());
+		assertEquals(-7, copy.getQuantity());
+		assertEquals(Thread.State.RUNNABLE, copy.getStatus());
+		assertArrayEquals(new String[] {"x"}, copy.getTags());
+		assertEquals(1, copy.getChildren().size());
+		Item copiedChild = (Item) copy.getChildren().get(0);
+		assertEquals("child", copiedChild.getName());
+		assertTrue(Double.isNaN(copiedChild.getPrice()));
+		assertEquals("parent", copy.getParent().getName());
+	}
+
+	@Test
+	public void testConversionAndUnknownProperties() throws Exception {
+		String json = " {\"quantity\" : \"42\", \"price\": 3, \"unknown\": {\"a\": [1, {\"b\": null}], \"c\": \"}\"}, " +
+		              "\"name\": null, \"tags\": []}";
+		Item item = (Item) this.codec.read(json, Item.class);
+		assertEquals(42, item.getQuantity());
+		assertEquals(3.0, item.getPrice(), 0.0);
+		assertNull(item.getName());
+		assertEquals(0, item.getTags().length);
+
+		try {
+			this.codec.read("{\"quantity\": \"many\"}", Item.class);
+			fail("Should have thrown TypeMismatchException");
+		}
+		catch (TypeMismatchException ex) {
+			assertEquals("quantity", ex.getPropertyChangeEvent().getPropertyName());
+		}
+	}
+
+	@Test
+	public void testCustomEditor() throws Exception {
+		this.codec.registerCustomEditor(String.class, new PropertyEditorSupport() {
+			public void setAsText(String text) {
+				setValue(text.toUpperCase());
+			}
+		});
+		Item item = (Item) this.codec.read("{\"name\": 12}", Item.class);
+		assertEquals("12", item.getName());
+	}
+
+	@Test
+	public void testUntypedValues() throws Exception {
+		Map map = (Map) this.codec.read("{\"a\": [1, 2.5, true, \"s\"], \"b\": {}}", Object.class);
+		List list = (List) map.get("a");
+		assertEquals(new Long(1), list.get(0));
+		assertEquals(new Double(2.5), list.get(1));
+		assertEquals(Boolean.TRUE, list.get(2));
+		assertEquals("s", list.get(3));
+		assertTrue(((Map) map.get("b")).isEmpty());
+		assertEquals("{\"a\":[1,2.5,true,\"s\"],\"b\":{}}", this.codec.writeToString(map));
+	}
+
+	@Test
+	public void testReadArrayStreaming() throws Exception {
+		StringBuffer json = new StringBuffer("[");
+		for (int i = 0; i < 1000; i++) {
+			json.append(i > 0 ? "," : "").append("{\"quantity\":").append(i).append('}');
+		}
+		json.append(']');
+		final List quantities = new ArrayList();
+		long count = this.codec.readArray(new StringReader(json.toString()), Item.class, new BeanJsonCodec.ElementCallback() {
+			public void elementRead(Object element, long index) {
+				quantities.add(new Integer(((Item) element).getQuantity()));
+			}
+		});
+		assertEquals(1000, count);
+		assertEquals(new Integer(999), quantities.get(999));
+	}
+
+	@Test
+	public void testMalformedInput() throws Exception {
+		String[] malformed = new String[] {"{\"name\" \"x\"}", "{\"name\": \"x\"", "[1 2]", "{\"name\": tru}"};
+		for (int i = 0; i < malformed.length; i++) {
+			try {
+				this.codec.read(malformed[i], Item.class);
+				fail("Should have thrown IOException for " + malformed[i]);
+			}
+			catch (IOException ex) {
+				assertTrue(ex.getMessage().startsWith("Malformed JSON at character"));
+			}
+		}
+	}
+
+	@Test
+	public void testCycle() {
+		Item item = new Item();
+		item.setParent(item);
+		try {
+			this.codec.writeToString(item);
+			fail("Should have thrown FatalBeanException");
+		}
+		catch (FatalBeanException ex) {
+			// expected
+		}
+	}
+
+
+	public static class Item {
+
+		private String name;
+
+		private double price;
+
+		private int quantity;
+
+		private Thread.State status;
+
+		private String[] tags;
+
+		private Item parent;
+
+		private List children = new ArrayList();
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public double getPrice() {
+			return price;
+		}
+
+		public void setPrice(double price) {
+			this.price = price;
+		}
+
+		public int getQuantity() {
+			return quantity;
+		}
+
+		public void setQuantity(int quantity) {
+			this.quantity = quantity;
+		}
+
+		public Thread.State getStatus() {
+			return status;
+		}
+
+		public void setStatus(Thread.State status) {
+			this.status = status;
+		}
+
+		public String[] getTags() {
+			return tags;
+		}
+
+		public void setTags(String[] tags) {
+			this.tags = tags;
+		}
+
+		public Item getParent() {
+			return parent;
+		}
+
+		public void setParent(Item parent) {
+			this.parent = parent;
+		}
+
+		public List<Item> getChildren() {
+			return children;
+		}
+
+		public void setChildren(List<Item> children) {
+			this.children = children;
+		}
+	}
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyDescriptor;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for BeanMap.
+ */
+public class BeanMapTests {
+
+	@Test
+	public void testGetAndPut() {
+		TestBean tb = new TestBean("Rod", 31);
+		Map map = new BeanMap(tb);
+		assertEquals("Rod", map.get("name"));
+		assertEquals(new Integer(31), map.get("age"));
+		assertNull(map.get("unknown"));
+		assertNull(map.get(null));
+
+		assertEquals("Rod", map.put("name", "Juergen"));
+		assertEquals("Juergen", tb.getName());
+		map.put("age", "32");
+		assertEquals(32, tb.getAge());
+		map.put("count", new Long(5L));
+		assertEquals(5L, tb.getCount());
+
+		// live view
+		tb.setName("Colin");
+		assertEquals("Colin", map.get("name"));
+	}
+
+	@Test
+	public void testKeys() {
+		TestBean tb = new TestBean();
+		Map map = new BeanMap(tb);
+		int readable = 0;
+		PropertyDescriptor[] pds = new BeanWrapperImpl(tb).getPropertyDescriptors();
+		for (int i = 0; i < pds.length; i++) {
+			if (pds[i].getReadMethod() != null) {
+				readable++;
+				assertTrue(map.containsKey(pds[i].getName()));
+			}
+		}
+		assertEquals(readable, map.size());
+		assertEquals(readable, map.keySet().size());
+		assertTrue(map.keySet().contains("spouse"));
+		assertFalse(map.containsKey("unknown"));
+		assertFalse(map.containsKey(new Integer(1)));
+	}
+
+	@Test
+	public void testEntries() {
+		TestBean tb = new TestBean("Rod", 31);
+		Map map = new BeanMap(tb);
+		Map copy = new HashMap(map);
+		assertEquals(map.size(), copy.size());
+		assertEquals("Rod", copy.get("name"));
+		assertEquals(copy, map);
+
+		for (Iterator it = map.entrySet().iterator(); it.hasNext();) {
+			Map.Entry entry = (Map.Entry) it.next();
+			if ("age".equals(entry.getKey())) {
+				entry.setValue(new Integer(40));
+			}
+		}
+		assertEquals(40, tb.getAge());
+		try {
+			map.keySet().iterator().remove();
+			fail("Should have thrown UnsupportedOperationException");
+		}
+		catch (UnsupportedOperationException ex) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testPutFailures() {
+		TestBean tb = new TestBean();
+		Map map = new BeanMap(tb);
+		try {
+			map.put("class", String.class);
+			fail("Should have thrown NotWritablePropertyException");
+		}
+		catch (NotWritablePropertyException ex) {
+			// expected
+		}
+		try {
+			map.put("age", "notANumber");
+			fail("Should have thrown TypeMismatchException");
+		}
+		catch (TypeMismatchException ex) {
+			assertSame(tb, ex.getPropertyChangeEvent().getSource());
+			assertEquals(int.class, ex.getRequiredType());
+		}
+		try {
+			map.put("touchy", null);
+			fail("Should have thrown MethodInvocationException");
+		}
+		catch (MethodInvocationException ex) {
+			// expected
+		}
+		try {
+			map.remove("name");
+			fail("Should have thrown UnsupportedOperationException");
+		}
+		catch (UnsupportedOperationException ex) {
+			// expected
+		}
+	}
+
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyEditorSupport;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for BeanMapper.
+ */
+public class BeanMapperTests {
+
+	@Test
+	public void testMapByNameAndFlattening() {
+		BeanMapper mapper = new BeanMapper();
+		OrderDto dto = (OrderDto) mapper.map(createOrder(1), OrderDto.class);
+		assertEquals("order1", dto.getId());
+		assertEquals("Rod", dto.getCustomerName());
+		assertEquals("Linz", dto.getCustomerAddressCity());
+		assertEquals(1, dto.getAmount());
+		assertNull(dto.getStatus());
+
+		Map mappings = mapper.getPropertyMappings(Order.class, OrderDto.class);
+		assertEquals("customer.name", mappings.get("customerName"));
+		assertEquals("customer.address.city", mappings.get("customerAddressCity"));
+		assertEquals(4, mappings.size());
+	}
+
+	@Test
+	public void testNullInNestedPathLeavesTargetUntouched() {
+		Order order = createOrder(1);
+		order.getCustomer().setAddress(null);
+		OrderDto dto = new OrderDto();
+		dto.setCustomerAddressCity("unknown");
+		new BeanMapper().map(order, dto);
+		assertEquals("unknown", dto.getCustomerAddressCity());
+		assertEquals("Rod", dto.getCustomerName());
+	}
+
+	@Test
+	public void testCustomEditors() {
+		BeanMapper mapper = new BeanMapper();
+		mapper.registerCustomEditor(String.class, "customerName", new UpperCaseEditor());
+		OrderDto dto = (OrderDto) mapper.map(createOrder(1), OrderDto.class);
+		assertEquals("ROD", dto.getCustomerName());
+		assertEquals("order1", dto.getId());
+
+		mapper.registerCustomEditor(String.class, new UpperCaseEditor());
+		dto = (OrderDto) mapper.map(createOrder(1), OrderDto.class);
+		assertEquals("ORDER1", dto.getId());
+	}
+
+	@Test
+	public void testConversionFailures() {
+		Order order = createOrder(1);
+		order.setAmount("notANumber");
+		OrderDto dto = new OrderDto();
+		try {
+			new BeanMapper().map(order, dto);
+			fail("Should have thrown PropertyAccessExceptionsException");
+		}
+		catch (PropertyAccessExceptionsException ex) {
+			assertEquals(1, ex.getExceptionCount());
+			assertSame(dto, ex.getBindObject());
+			TypeMismatchException tme = (TypeMismatchException) ex.getPropertyAccessException("amount");
+			assertEquals(int.class, tme.getRequiredType());
+			assertSame(dto, tme.getPropertyChangeEvent().getSource());
+		}
+		// other properties mapped anyway
+		assertEquals("Rod", dto.getCustomerName());
+	}
+
+	@Test
+	public void testMapAllInBatches() {
+		List orders = new ArrayList();
+		for (int i = 0; i < 100; i++) {
+			orders.add(createOrder(i));
+		}
+		orders.set(50, null);
+		BeanMapper mapper = new BeanMapper();
+		mapper.setBatchSize(7);
+		List dtos = mapper.mapAll(orders, OrderDto.class);
+		assertEquals(100, dtos.size());
+		assertNull(dtos.get(50));
+		for (int i = 0; i < 100; i++) {
+			if (i != 50) {
+				assertEquals(i, ((OrderDto) dtos.get(i)).getAmount());
+				assertEquals("order" + i, ((OrderDto) dtos.get(i)).getId());
+			}
+		}
+		assertTrue(orders.get(0) instanceof Order);
+	}
+
+	@Test
+	public void testMapAllPropagatesFirstFailure() {
+		List orders = new ArrayList();
+		for (int i = 0; i < 20; i++) {
+			orders.add(createOrder(i));
+		}
+		((Order) orders.get(12)).setAmount("twelve");
+		((Order) orders.get(17)).setAmount("seventeen");
+		BeanMapper mapper = new BeanMapper();
+		mapper.setBatchSize(5);
+		try {
+			mapper.mapAll(orders, OrderDto.class);
+			fail("Should have thrown PropertyAccessExceptionsException");
+		}
+		catch (PropertyAccessExceptionsException ex) {
+			assertEquals("twelve", ex.getPropertyAccessException("amount").getPropertyChangeEvent().getNewValue());
+		}
+	}
+
+	@Test
+	public void testMapAllFromCommonPoolWorkers() throws Exception {
+		final List orders = new ArrayList();
+		for (int i = 0; i < 100; i++) {
+			orders.add(createOrder(i));
+		}
+		// more callers than workers, each waiting for batches of its own
+		int callers = ForkJoinPool.getCommonPoolParallelism() * 4;
+		List futures = new ArrayList(callers);
+		for (int i = 0; i < callers; i++) {
+			futures.add(ForkJoinPool.commonPool().submit(new Callable() {
+				public Object call() {
+					BeanMapper mapper = new BeanMapper();
+					mapper.setBatchSize(5);
+					return mapper.mapAll(orders, OrderDto.class);
+				}
+			}));
+		}
+		for (int i = 0; i < callers; i++) {
+			List dtos = (List) ((Future) futures.get(i)).get();
+			assertEquals("order99", ((OrderDto) dtos.get(99)).getId());
+		}
+	}
+
+	private Order createOrder(int number) {
+		Address address = new Address();
+		address.setCity("Linz");
+		Customer customer = new Customer();
+		customer.setName("Rod");
+		customer.setAddress(address);
+		Order order = new Order();
+		order.setId("order" + number);
+		order.setCustomer(customer);
+		order.setAmount(String.valueOf(number));
+		return order;
+	}
+
+
+	public static class Order {
+
+		private String id;
+
+		private Customer customer;
+
+		private String amount;
+
+		public String getId() {
+			return id;
+		}
+
+		public void setId(String id) {
+			this.id = id;
+		}
+
+		public Customer getCustomer() {
+			return customer;
+		}
+
+		public void setCustomer(Customer customer) {
+			this.customer = customer;
+		}
+
+		public String getAmount() {
+			return amount;
+		}
+
+		public void setAmount(String amount) {
+			this.amount = amount;
+		}
+	}
+
+
+	public static class Customer {
+
+		private String name;
+
+		private Address address;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public Address getAddress() {
+			return address;
+		}
+
+		public void setAddress(Address address) {
+			this.address = address;
+		}
+	}
+
+
+	public static class Address {
+
+		private String city;
+
+		public String getCity() {
+			return city;
+		}
+
+		public void setCity(String city) {
+			this.city = city;
+		}
+	}
+
+
+	public static class OrderDto {
+
+		private String id;
+
+		private String customerName;
+
+		private String customerAddressCity;
+
+		private int amount;
+
+		private String status;
+
+		public String getId() {
+			return id;
+		}
+
+		public void setId(String id) {
+			this.id = id;
+		}
+
+		public String getCustomerName() {
+			return customerName;
+		}
+
+		public void setCustomerName(String customerName) {
+			this.customerName = customerName;
+		}
+
+		public String getCustomerAddressCity() {
+			return customerAddressCity;
+		}
+
+		public void setCustomerAddressCity(String customerAddressCity) {
+			this.customerAddressCity = customerAddressCity;
+		}
+
+		public int getAmount() {
+			return amount;
+		}
+
+		public void setAmount(int amount) {
+			this.amount = amount;
+		}
+
+		public String getStatus() {
+			return status;
+		}
+
+		public void setStatus(String status) {
+			this.status = status;
+		}
+	}
+
+
+	private static class UpperCaseEditor extends PropertyEditorSupport {
+
+		public void setAsText(String text) {
+			setValue(text.toUpperCase());
+		}
+	}
+
+}
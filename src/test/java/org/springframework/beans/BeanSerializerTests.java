@@ -0,0 +1,214 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for BeanSerializer.
+ */
+public class BeanSerializerTests {
+
+	private final BeanSerializer serializer = new BeanSerializer();
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		TestBean rod = createBean("Rod", 31);
+		rod.setCount(-5L);
+		rod.setRatio(0.25);
+		rod.setActive(true);
+		rod.setStringArray(new String[] {"a", null, "ä"});
+		rod.getFriends().add(createBean("Juergen", 30));
+		rod.getFriends().add(new BigDecimal("12.50"));
+		rod.getSomeSet().add(Thread.State.NEW);
+		rod.getSomeMap().put("date", new Date(1000L));
+		rod.getSomeMap().put("ints", new int[] {1, -2, 300});
+
+		TestBean copy = (TestBean) this.serializer.deserialize(this.serializer.serializeToByteArray(rod));
+		assertEquals("Rod", copy.getName());
+		assertEquals(31, copy.getAge());
+		assertEquals(-5L, copy.getCount());
+		assertEquals(0.25, copy.getRatio(), 0.0);
+		assertTrue(copy.isActive());
+		assertArrayEquals(rod.getStringArray(), copy.getStringArray());
+		assertEquals("Juergen", ((TestBean) copy.getFriends().get(0)).getName());
+		assertEquals(new BigDecimal("12.50"), copy.getFriends().get(1));
+		assertTrue(copy.getSomeSet().contains(Thread.State.NEW));
+		assertEquals(new Date(1000L), copy.getSomeMap().get("date"));
+		assertArrayEquals(new int[] {1, -2, 300}, (int[]) copy.getSomeMap().get("ints"));
+		assertNull(copy.getSpouse());
+	}
+
+	@Test
+	public void testSharedReferencesAndCycles() throws Exception {
+		TestBean rod = createBean("Rod", 31);
+		TestBean kerry = createBean("Kerry", 34);
+		rod.setSpouse(kerry);
+		kerry.setSpouse(rod);
+		rod.getFriends().add(kerry);
+		rod.getSomeMap().put("friends", rod.getFriends());
+
+		TestBean copy = (TestBean) this.serializer.deserialize(this.serializer.serialize(rod));
+		assertSame(copy, copy.getSpouse().getSpouse());
+		assertSame(copy.getSpouse(), copy.getFriends().get(0));
+		assertSame(copy.getFriends(), copy.getSomeMap().get("friends"));
+		assertEquals("Kerry", copy.getSpouse().getName());
+	}
+
+	@Test
+	public void testPropertyTableWrittenOncePerClass() throws Exception {
+		List beans = new ArrayList();
+		beans.add(createBean("Rod", 31));
+		int oneBean = this.serializer.serialize(beans).remaining();
+		for (int i = 0; i < 9; i++) {
+			beans.add(createBean("Rod", 31));
+		}
+		int tenBeans = this.serializer.serialize(beans).remaining();
+		// table with class and property names is much larger than the values of one bean
+		assertTrue(tenBeans < oneBean * 3);
+		assertEquals(10, ((List) this.serializer.deserialize(this.serializer.serialize(beans))).size());
+	}
+
+	@Test
+	public void testSchemaEvolution() throws Exception {
+		EvolvingBeanV1 original = new EvolvingBeanV1();
+		original.setName("Rod");
+		original.setAge(31);
+		original.setObsolete("gone");
+		byte[] bytes = this.serializer.serializeToByteArray(original);
+		// pretend the class has changed: same name length, so just replace it
+		String payload = new String(bytes, "ISO-8859-1").replace("EvolvingBeanV1", "EvolvingBeanV2");
+
+		EvolvingBeanV2 evolved = (EvolvingBeanV2) this.serializer.deserialize(payload.getBytes("ISO-8859-1"));
+		assertEquals("Rod", evolved.getName());
+		assertEquals(31L, evolved.getAge());
+		assertEquals("default", evolved.getAdded());
+	}
+
+	@Test
+	public void testCorruptPayload() {
+		ByteBuffer buffer = this.serializer.serialize(new TestBean("Rod", 31));
+		buffer.limit(buffer.limit() - 2);
+		try {
+			this.serializer.deserialize(buffer);
+			fail("Should have thrown FatalBeanException");
+		}
+		catch (FatalBeanException ex) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testUnsupportedValue() {
+		try {
+			this.serializer.serialize(new Object[] {Locale.GERMAN});
+			fail("Should have thrown FatalBeanException");
+		}
+		catch (FatalBeanException ex) {
+			// expected
+		}
+	}
+
+	private TestBean createBean(String name, int age) throws Exception {
+		TestBean bean = new TestBean(name, age);
+		bean.setTouchy("touchy");
+		return bean;
+	}
+
+
+	public static class EvolvingBeanV1 {
+
+		private String name;
+
+		private int age;
+
+		private String obsolete;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public int getAge() {
+			return age;
+		}
+
+		public void setAge(int age) {
+			this.age = age;
+		}
+
+		public String getObsolete() {
+			return obsolete;
+		}
+
+		public void setObsolete(String obsolete) {
+			this.obsolete = obsolete;
+		}
+	}
+
+
+	public static class EvolvingBeanV2 {
+
+		private String name;
+
+		private long age;
+
+		private String added = "default";
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public long getAge() {
+			return age;
+		}
+
+		public void setAge(long age) {
+			this.age = age;
+		}
+
+		public String getAdded() {
+			return added;
+		}
+
+		public void setAdded(String added) {
+			this.added = added;
+		}
+	}
+
+}
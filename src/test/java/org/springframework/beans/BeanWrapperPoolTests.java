@@ -0,0 +1,168 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyEditorSupport;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for BeanWrapperPool and the reuse of BeanWrapperImpl instances.
+ */
+public class BeanWrapperPoolTests {
+
+	@Test
+	public void testRebindKeepsEditorsAndRebindsNestedBeanWrappers() {
+		TestBean tb1 = new TestBean();
+		tb1.setSpouse(new TestBean("kerry", 34));
+		BeanWrapperImpl bw = new BeanWrapperImpl(tb1);
+		bw.registerCustomEditor(String.class, "name", new PropertyEditorSupport() {
+			public void setAsText(String text) {
+				setValue(text.toUpperCase());
+			}
+		});
+		bw.setPropertyValue("name", "rod");
+		assertEquals("kerry", bw.getPropertyValue("spouse.name"));
+
+		TestBean tb2 = new TestBean();
+		tb2.setSpouse(new TestBean("sue", 30));
+		bw.setWrappedInstance(tb2);
+		bw.setPropertyValue("name", "juergen");
+		assertEquals("JUERGEN", tb2.getName());
+		assertEquals("sue", bw.getPropertyValue("spouse.name"));
+		assertEquals("ROD", tb1.getName());
+	}
+
+	@Test
+	public void testObtainReusesBeanWrapper() {
+		final int[] initCount = new int[1];
+		BeanWrapperPool pool = new BeanWrapperPool(new BeanWrapperPool.Initializer() {
+			public void initBeanWrapper(BeanWrapper bw) {
+				initCount[0]++;
+				bw.registerCustomEditor(Integer.TYPE, new PropertyEditorSupport() {
+					public void setAsText(String text) {
+						setValue(new Integer(text.length()));
+					}
+				});
+			}
+		});
+		TestBean tb1 = new TestBean();
+		BeanWrapper bw1 = pool.obtain(tb1);
+		bw1.setPropertyValue("age", "abc");
+		pool.release(bw1);
+		assertNull(bw1.getWrappedInstance());
+
+		TestBean tb2 = new TestBean();
+		BeanWrapper bw2 = pool.obtain(tb2);
+		assertSame(bw1, bw2);
+		bw2.setPropertyValue("age", "abcd");
+		pool.release(bw2);
+
+		assertEquals(3, tb1.getAge());
+		assertEquals(4, tb2.getAge());
+		assertEquals(1, initCount[0]);
+	}
+
+	@Test
+	public void testReentrantObtain() {
+		BeanWrapperPool pool = new BeanWrapperPool();
+		TestBean tb1 = new TestBean();
+		TestBean tb2 = new TestBean();
+		BeanWrapper bw1 = pool.obtain(tb1);
+		BeanWrapper bw2 = pool.obtain(tb2);
+		assertNotSame(bw1, bw2);
+		assertSame(tb1, bw1.getWrappedInstance());
+		assertSame(tb2, bw2.getWrappedInstance());
+		pool.release(bw2);
+		pool.release(bw1);
+		assertSame(bw1, pool.obtain(new TestBean()));
+	}
+
+	@Test
+	public void testThreadsUseTheirOwnBeanWrappers() throws InterruptedException {
+		final BeanWrapperPool pool = new BeanWrapperPool();
+		BeanWrapper bw = pool.obtain(new TestBean());
+		pool.release(bw);
+		final BeanWrapper[] otherBw = new BeanWrapper[1];
+		Thread thread = new Thread() {
+			public void run() {
+				otherBw[0] = pool.obtain(new TestBean());
+				pool.release(otherBw[0]);
+			}
+		};
+		thread.start();
+		thread.join();
+		assertNotSame(bw, otherBw[0]);
+	}
+
+	@Test
+	public void testClassBound() {
+		BeanWrapperPool pool = new BeanWrapperPool(null, 1);
+		BeanWrapper bw = pool.obtain(new TestBean());
+		pool.release(bw);
+		pool.release(pool.obtain(new BeanAccessorTests.PackageBean()));
+		assertNotSame(bw, pool.obtain(new TestBean()));
+	}
+
+	@Test
+	public void testClearClassLoaderRemovesPooledBeanWrappersOfAllThreads() throws Exception {
+		ClassLoader classLoader = new CachedIntrospectionResultsTests.IsolatingClassLoader();
+		Class beanClass = classLoader.loadClass(CachedIntrospectionResultsTests.UntrustedBean.class.getName());
+		final Object bean = beanClass.getDeclaredConstructor(new Class[0]).newInstance(new Object[0]);
+		final BeanWrapperPool pool = new BeanWrapperPool();
+		final CountDownLatch obtained = new CountDownLatch(1);
+		final CountDownLatch cleared = new CountDownLatch(1);
+		final BeanWrapper[] pooled = new BeanWrapper[2];
+		Thread thread = new Thread() {
+			public void run() {
+				try {
+					pooled[0] = pool.obtain(bean);
+					pool.release(pooled[0]);
+					obtained.countDown();
+					cleared.await();
+					pooled[1] = pool.obtain(bean);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		};
+		thread.start();
+		obtained.await();
+		BeanWrapper bw = pool.obtain(bean);
+		pool.release(bw);
+		assertSame(bw, pool.obtain(bean));
+		pool.release(bw);
+		TestBean tb = new TestBean();
+		BeanWrapper testBeanBw = pool.obtain(tb);
+		pool.release(testBeanBw);
+
+		CachedIntrospectionResults.clearClassLoader(classLoader);
+		cleared.countDown();
+		thread.join();
+		assertNotSame(bw, pool.obtain(bean));
+		assertSame(testBeanBw, pool.obtain(tb));
+		assertNotSame(pooled[0], pooled[1]);
+	}
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyChangeEvent;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.springframework.core.StacklessExceptions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for messages and stackless mode of bean exceptions.
+ */
+public class BeansExceptionTests {
+
+	@After
+	public void resetStacklessExceptions() {
+		StacklessExceptions.reset();
+	}
+
+	private FatalBeanException getMissingProperty(BeanWrapper bw) {
+		try {
+			bw.getPropertyValue("nonExisting");
+			fail("Should have thrown FatalBeanException");
+			return null;
+		}
+		catch (FatalBeanException ex) {
+			return ex;
+		}
+	}
+
+	@Test
+	public void testMessages() {
+		PropertyChangeEvent pce = new PropertyChangeEvent(new TestBean(), "age", null, "x");
+		assertEquals("Cannot convert property value of type [java.lang.String] to required type [int] for property 'age'",
+		             new TypeMismatchException(pce, int.class).getMessage());
+		TypeMismatchException ex = new TypeMismatchException(pce, int.class, new NumberFormatException("x"));
+		assertTrue(ex.getMessage().startsWith("Failed to convert property value of type [java.lang.String]"));
+		assertEquals(int.class, ex.getRequiredType());
+		assertEquals("Property 'age' threw exception; nested exception is java.lang.NumberFormatException: x",
+		             new MethodInvocationException(new NumberFormatException("x"), pce).getMessage());
+		NotWritablePropertyException nwpe = new NotWritablePropertyException("age", TestBean.class);
+		assertEquals("Property 'age' is not writable in bean class [" + TestBean.class.getName() + "]", nwpe.getMessage());
+		assertEquals("age", nwpe.getPropertyName());
+	}
+
+	@Test
+	public void testMissingPropertyExceptionsArePreallocatedInStacklessMode() {
+		BeanWrapper bw = new BeanWrapperImpl(new TestBean());
+		assertNotSame(getMissingProperty(bw), getMissingProperty(bw));
+
+		StacklessExceptions.setStackless(FatalBeanException.class, true);
+		FatalBeanException ex = getMissingProperty(bw);
+		assertSame(ex, getMissingProperty(bw));
+		assertEquals(0, ex.getStackTrace().length);
+		assertTrue(ex.getMessage().indexOf("nonExisting") != -1);
+		assertTrue(!bw.isReadableProperty("nonExisting"));
+	}
+
+	@Test
+	public void testPreallocatedExceptionsCannotBeModified() {
+		StacklessExceptions.setStackless(FatalBeanException.class, true);
+		FatalBeanException ex = getMissingProperty(new BeanWrapperImpl(new TestBean()));
+		try {
+			ex.initCause(new IllegalStateException());
+			fail("Should have thrown IllegalStateException");
+		}
+		catch (IllegalStateException expected) {
+			assertEquals(null, ex.getCause());
+		}
+		ex.addSuppressed(new IllegalStateException());
+		assertEquals(0, ex.getSuppressed().length);
+		ex.setStackTrace(new Throwable().getStackTrace());
+		assertEquals(0, ex.getStackTrace().length);
+	}
+
+}
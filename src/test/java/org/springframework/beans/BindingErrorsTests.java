@@ -0,0 +1,146 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the error-collecting bulk update of BeanWrapperImpl.
+ */
+public class BindingErrorsTests {
+
+	@Test
+	public void testErrorsAreRecorded() {
+		TestBean tb = new TestBean();
+		tb.setSpouse(new TestBean());
+		BeanWrapper bw = new BeanWrapperImpl(tb);
+		MutablePropertyValues pvs = new MutablePropertyValues();
+		pvs.addPropertyValue("name", "Rod");
+		pvs.addPropertyValue("age", "notANumber");
+		pvs.addPropertyValue("count", "");
+		pvs.addPropertyValue("spouse.age", "x");
+		pvs.addPropertyValue("touchy", "3.0");
+		BindingErrors errors = new BindingErrors();
+		bw.setPropertyValues(pvs, false, errors);
+
+		assertEquals("Rod", tb.getName());
+		assertEquals(4, errors.getErrorCount());
+		BindingError error = errors.getError("age");
+		assertEquals(BindingError.TYPE_MISMATCH, error.getErrorCode());
+		assertEquals("notANumber", error.getRejectedValue());
+		assertEquals(int.class, error.getRequiredType());
+		assertTrue(error.getCause() instanceof IllegalArgumentException);
+		assertEquals(BindingError.TYPE_MISMATCH, errors.getError("count").getErrorCode());
+		assertEquals(BindingError.TYPE_MISMATCH, errors.getError("spouse.age").getErrorCode());
+		assertEquals(BindingError.METHOD_INVOCATION, errors.getError("touchy").getErrorCode());
+		assertNull(errors.getError("name"));
+	}
+
+	@Test
+	public void testTypeMismatchesKeepTheirCause() {
+		TestBean tb = new TestBean();
+		BeanWrapper bw = new BeanWrapperImpl(tb);
+		MutablePropertyValues pvs = new MutablePropertyValues();
+		pvs.addPropertyValue("count", "");
+		pvs.addPropertyValue("spouse", new Object());
+		BindingErrors errors = new BindingErrors();
+		bw.setPropertyValues(pvs, false, errors);
+
+		assertEquals(2, errors.getErrorCount());
+		assertTrue(errors.getError("count").getCause() instanceof IllegalArgumentException);
+		assertTrue(errors.getError("spouse").getCause() instanceof IllegalArgumentException);
+		// created on demand, then kept
+		assertSame(errors.getError("spouse").getCause(), errors.getError("spouse").getCause());
+		PropertyAccessExceptionsException ex = errors.toException(bw);
+		assertTrue(ex.getPropertyAccessException("spouse").getCause() instanceof IllegalArgumentException);
+	}
+
+	@Test
+	public void testToExceptionMatchesStandardBinding() {
+		TestBean tb = new TestBean();
+		BeanWrapper bw = new BeanWrapperImpl(tb);
+		MutablePropertyValues pvs = new MutablePropertyValues();
+		pvs.addPropertyValue("age", "notANumber");
+		pvs.addPropertyValue("touchy", "3.0");
+		BindingErrors errors = new BindingErrors();
+		bw.setPropertyValues(pvs, false, errors);
+
+		PropertyAccessExceptionsException ex = errors.toException(bw);
+		assertEquals(2, ex.getExceptionCount());
+		assertSame(tb, ex.getBindObject());
+		TypeMismatchException tme = (TypeMismatchException) ex.getPropertyAccessException("age");
+		assertEquals("notANumber", tme.getPropertyChangeEvent().getNewValue());
+		assertTrue(ex.getPropertyAccessException("touchy") instanceof MethodInvocationException);
+		try {
+			bw.setPropertyValues(pvs);
+			fail("Should have thrown PropertyAccessExceptionsException");
+		}
+		catch (PropertyAccessExceptionsException standardEx) {
+			assertEquals(standardEx.getExceptionCount(), ex.getExceptionCount());
+		}
+	}
+
+	@Test
+	public void testMaxErrorsAndReset() {
+		TestBean tb = new TestBean();
+		BeanWrapper bw = new BeanWrapperImpl(tb);
+		MutablePropertyValues pvs = new MutablePropertyValues();
+		pvs.addPropertyValue("age", "x");
+		pvs.addPropertyValue("count", "y");
+		pvs.addPropertyValue("name", "Rod");
+		BindingErrors errors = new BindingErrors(1);
+		bw.setPropertyValues(pvs, false, errors);
+		assertTrue(errors.isMaxErrorsReached());
+		assertEquals(1, errors.getErrorCount());
+		assertNull(tb.getName());
+
+		BindingError error = errors.getError(0);
+		errors.reset();
+		assertFalse(errors.hasErrors());
+		assertNull(errors.toException(bw));
+		pvs = new MutablePropertyValues();
+		pvs.addPropertyValue("count", "z");
+		bw.setPropertyValues(pvs, false, errors);
+		assertSame(error, errors.getError(0));
+		assertEquals("count", error.getPropertyPath());
+	}
+
+	@Test
+	public void testUnknownProperties() {
+		BeanWrapper bw = new BeanWrapperImpl(new TestBean());
+		MutablePropertyValues pvs = new MutablePropertyValues();
+		pvs.addPropertyValue("unknown", "x");
+		BindingErrors errors = new BindingErrors();
+		try {
+			bw.setPropertyValues(pvs, false, errors);
+			fail("Should have thrown NotWritablePropertyException");
+		}
+		catch (NotWritablePropertyException ex) {
+			// expected
+		}
+		bw.setPropertyValues(pvs, true, errors);
+		assertFalse(errors.hasErrors());
+	}
+
+}
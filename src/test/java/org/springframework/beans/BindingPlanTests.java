@@ -0,0 +1,183 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyEditorSupport;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for BindingPlan.
+ */
+public class BindingPlanTests {
+
+	@Test
+	public void testApplyToManyInstances() {
+		MutablePropertyValues pvs = new MutablePropertyValues();
+		pvs.addPropertyValue("name", "rod");
+		pvs.addPropertyValue("age", "31");
+		pvs.addPropertyValue("stringArray", "a,b");
+		pvs.addPropertyValue("spouse.name", "kerry");
+		BindingPlan plan = new BindingPlan(TestBean.class, pvs);
+
+		for (int i = 0; i < 3; i++) {
+			TestBean tb = new TestBean();
+			tb.setSpouse(new TestBean());
+			plan.apply(tb, pvs);
+			assertEquals("rod", tb.getName());
+			assertEquals(31, tb.getAge());
+			assertEquals(2, tb.getStringArray().length);
+			assertEquals("kerry", tb.getSpouse().getName());
+		}
+	}
+
+	@Test
+	public void testValuesInDifferentOrderAndOutsideOfPlan() {
+		BindingPlan plan = new BindingPlan(TestBean.class, new String[] {"name", "age"});
+		MutablePropertyValues pvs = new MutablePropertyValues();
+		pvs.addPropertyValue("count", "5");
+		pvs.addPropertyValue("age", new Integer(29));
+		pvs.addPropertyValue("name", "juergen");
+		TestBean tb = new TestBean();
+		plan.apply(tb, pvs);
+		assertEquals(5L, tb.getCount());
+		assertEquals(29, tb.getAge());
+		assertEquals("juergen", tb.getName());
+	}
+
+	@Test
+	public void testCustomEditors() {
+		Map editors = new HashMap();
+		editors.put("name", new PropertyEditorSupport() {
+			public void setAsText(String text) {
+				setValue(text.toUpperCase());
+			}
+		});
+		editors.put(Integer.TYPE, new PropertyEditorSupport() {
+			public void setAsText(String text) {
+				setValue(new Integer(text.length()));
+			}
+		});
+		BindingPlan plan = new BindingPlan(TestBean.class, new String[] {"name", "age"}, editors, false);
+		MutablePropertyValues pvs = new MutablePropertyValues();
+		pvs.addPropertyValue("name", "rod");
+		pvs.addPropertyValue("age", "xxxx");
+		TestBean tb = new TestBean();
+		plan.apply(tb, pvs);
+		assertEquals("ROD", tb.getName());
+		assertEquals(4, tb.getAge());
+	}
+
+	@Test
+	public void testSharedEditorsForDelegatedPropertiesAreLocked() throws Exception {
+		Map editors = new HashMap();
+		editors.put(String[].class, new PropertyEditorSupport() {
+			private String text;
+			public void setAsText(String text) {
+				this.text = text;
+				// widen the window between setAsText and getValue
+				Thread.yield();
+			}
+			public Object getValue() {
+				return new String[] {this.text};
+			}
+		});
+		// array properties get bound through the BeanWrapper
+		final BindingPlan plan = new BindingPlan(TestBean.class, new String[] {"stringArray"}, editors, false);
+		final int threadCount = 4;
+		final String[] failures = new String[threadCount];
+		Thread[] threads = new Thread[threadCount];
+		for (int i = 0; i < threadCount; i++) {
+			final int index = i;
+			threads[i] = new Thread() {
+				public void run() {
+					for (int j = 0; j < 500 && failures[index] == null; j++) {
+						String value = index + "-" + j;
+						MutablePropertyValues pvs = new MutablePropertyValues();
+						pvs.addPropertyValue("stringArray", value);
+						TestBean tb = new TestBean();
+						plan.apply(tb, pvs);
+						if (!value.equals(tb.getStringArray()[0])) {
+							failures[index] = "Expected [" + value + "] but was [" + tb.getStringArray()[0] + "]";
+						}
+					}
+				}
+			};
+			threads[i].start();
+		}
+		for (int i = 0; i < threadCount; i++) {
+			threads[i].join();
+			assertNull(failures[i], failures[i]);
+		}
+	}
+
+	@Test
+	public void testUnknownProperties() {
+		MutablePropertyValues pvs = new MutablePropertyValues();
+		pvs.addPropertyValue("name", "rod");
+		pvs.addPropertyValue("nonExisting", "x");
+		try {
+			new BindingPlan(TestBean.class, pvs).apply(new TestBean(), pvs);
+			fail("Should have thrown NotWritablePropertyException");
+		}
+		catch (NotWritablePropertyException ex) {
+			// expected
+		}
+		TestBean tb = new TestBean();
+		new BindingPlan(TestBean.class, new String[] {"name", "nonExisting"}, null, true).apply(tb, pvs);
+		assertEquals("rod", tb.getName());
+	}
+
+	@Test
+	public void testErrorsGetCollected() {
+		MutablePropertyValues pvs = new MutablePropertyValues();
+		pvs.addPropertyValue("age", "notANumber");
+		pvs.addPropertyValue("touchy", "1.0");
+		pvs.addPropertyValue("name", "rod");
+		TestBean tb = new TestBean();
+		try {
+			new BindingPlan(TestBean.class, pvs).apply(tb, pvs);
+			fail("Should have thrown PropertyAccessExceptionsException");
+		}
+		catch (PropertyAccessExceptionsException ex) {
+			assertEquals(2, ex.getExceptionCount());
+			assertTrue(ex.getPropertyAccessException("age") instanceof TypeMismatchException);
+			assertTrue(ex.getPropertyAccessException("touchy") instanceof MethodInvocationException);
+		}
+		assertEquals("rod", tb.getName());
+	}
+
+	@Test
+	public void testWrongTargetClass() {
+		BindingPlan plan = new BindingPlan(TestBean.class, new String[] {"name"});
+		try {
+			plan.apply(new Object(), new MutablePropertyValues());
+			fail("Should have thrown IllegalArgumentException");
+		}
+		catch (IllegalArgumentException ex) {
+			// expected
+		}
+	}
+
+}
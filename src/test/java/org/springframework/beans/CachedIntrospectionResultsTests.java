@@ -0,0 +1,278 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyDescriptor;
+import java.beans.SimpleBeanInfo;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the introspection cache of CachedIntrospectionResults.
+ */
+public class CachedIntrospectionResultsTests {
+
+	@Test
+	public void testHitsAndMisses() {
+		IntrospectionCacheStatistics before = CachedIntrospectionResults.getCacheStatistics();
+		CachedIntrospectionResults results = CachedIntrospectionResults.forClass(SequentialBean.class);
+		assertSame(results, CachedIntrospectionResults.forClass(SequentialBean.class));
+		assertSame(results, CachedIntrospectionResults.forClass(SequentialBean.class));
+		IntrospectionCacheStatistics after = CachedIntrospectionResults.getCacheStatistics();
+		assertEquals(before.getMissCount() + 1, after.getMissCount());
+		assertTrue(after.getHitCount() >= before.getHitCount() + 2);
+		assertTrue(after.getSize() >= 1);
+		assertTrue(after.getHitRatio() > 0.0);
+	}
+
+	@Test
+	public void testConcurrentFirstLookupsIntrospectOnce() throws Exception {
+		final int threadCount = 8;
+		final CountDownLatch start = new CountDownLatch(1);
+		final CachedIntrospectionResults[] results = new CachedIntrospectionResults[threadCount];
+		Thread[] threads = new Thread[threadCount];
+		for (int i = 0; i < threadCount; i++) {
+			final int index = i;
+			threads[i] = new Thread() {
+				public void run() {
+					try {
+						start.await();
+					}
+					catch (InterruptedException ex) {
+						return;
+					}
+					results[index] = CachedIntrospectionResults.forClass(ConcurrentBean.class);
+				}
+			};
+			threads[i].start();
+		}
+		long missesBefore = CachedIntrospectionResults.getCacheStatistics().getMissCount();
+		start.countDown();
+		for (int i = 0; i < threadCount; i++) {
+			threads[i].join();
+		}
+		for (int i = 1; i < threadCount; i++) {
+			assertSame(results[0], results[i]);
+		}
+		assertEquals(missesBefore + 1, CachedIntrospectionResults.getCacheStatistics().getMissCount());
+		assertSame(results[0], CachedIntrospectionResults.forClass(ConcurrentBean.class));
+	}
+
+	@Test
+	public void testEvictionForUntrustedClassLoaders() throws Exception {
+		Class first = new IsolatingClassLoader().loadClass(UntrustedBean.class.getName());
+		Class second = new IsolatingClassLoader().loadClass(UntrustedBean.class.getName());
+		assertNotSame(UntrustedBean.class, first);
+		CachedIntrospectionResults.setCacheLimit(1);
+		try {
+			long evictionsBefore = CachedIntrospectionResults.getCacheStatistics().getEvictionCount();
+			CachedIntrospectionResults firstResults = CachedIntrospectionResults.forClass(first);
+			CachedIntrospectionResults.forClass(second);
+			assertEquals(evictionsBefore + 1, CachedIntrospectionResults.getCacheStatistics().getEvictionCount());
+			IntrospectionCacheStatistics statistics = CachedIntrospectionResults.getCacheStatistics();
+			assertTrue(statistics.getSoftCount() >= 1);
+			assertEquals(statistics.getStrongCount() + statistics.getSoftCount(), statistics.getSize());
+			// evicted results are still held softly
+			assertSame(firstResults, CachedIntrospectionResults.forClass(first));
+			assertEquals("name", CachedIntrospectionResults.forClass(first).getPropertyDescriptor("name").getName());
+		}
+		finally {
+			CachedIntrospectionResults.setCacheLimit(CachedIntrospectionResults.DEFAULT_CACHE_LIMIT);
+		}
+	}
+
+	@Test
+	public void testAcceptAndClearClassLoader() throws Exception {
+		IsolatingClassLoader classLoader = new IsolatingClassLoader();
+		Class beanClass = classLoader.loadClass(UntrustedBean.class.getName());
+		CachedIntrospectionResults.acceptClassLoader(classLoader);
+		CachedIntrospectionResults.setCacheLimit(1);
+		try {
+			long evictionsBefore = CachedIntrospectionResults.getCacheStatistics().getEvictionCount();
+			CachedIntrospectionResults results = CachedIntrospectionResults.forClass(beanClass);
+			CachedIntrospectionResults.forClass(new IsolatingClassLoader().loadClass(UntrustedBean.class.getName()));
+			CachedIntrospectionResults.forClass(new IsolatingClassLoader().loadClass(UntrustedBean.class.getName()));
+			// only the untrusted classes compete for the limit
+			assertEquals(evictionsBefore + 1, CachedIntrospectionResults.getCacheStatistics().getEvictionCount());
+			assertSame(results, CachedIntrospectionResults.forClass(beanClass));
+
+			long missesBefore = CachedIntrospectionResults.getCacheStatistics().getMissCount();
+			CachedIntrospectionResults.clearClassLoader(classLoader);
+			assertNotSame(results, CachedIntrospectionResults.forClass(beanClass));
+			assertEquals(missesBefore + 1, CachedIntrospectionResults.getCacheStatistics().getMissCount());
+		}
+		finally {
+			CachedIntrospectionResults.setCacheLimit(CachedIntrospectionResults.DEFAULT_CACHE_LIMIT);
+			CachedIntrospectionResults.clearClassLoader(classLoader);
+		}
+	}
+
+	@Test
+	public void testWarmUp() throws Exception {
+		List classes = Arrays.asList(new Class[] {
+				new IsolatingClassLoader().loadClass(UntrustedBean.class.getName()),
+				new IsolatingClassLoader().loadClass(UntrustedBean.class.getName()),
+				new IsolatingClassLoader().loadClass(UntrustedBean.class.getName()),
+				new IsolatingClassLoader().loadClass(UntrustedBean.class.getName())});
+		long missesBefore = CachedIntrospectionResults.getCacheStatistics().getMissCount();
+		Map timings = CachedIntrospectionResults.warmUp(classes);
+		assertEquals(missesBefore + classes.size(), CachedIntrospectionResults.getCacheStatistics().getMissCount());
+		assertEquals(classes, Arrays.asList(timings.keySet().toArray()));
+		for (Iterator it = timings.values().iterator(); it.hasNext();) {
+			assertTrue(((Long) it.next()).longValue() >= 0);
+		}
+		for (int i = 0; i < classes.size(); i++) {
+			CachedIntrospectionResults.forClass((Class) classes.get(i));
+		}
+		// first use after warm-up doesn't introspect
+		assertEquals(missesBefore + classes.size(), CachedIntrospectionResults.getCacheStatistics().getMissCount());
+		for (int i = 0; i < classes.size(); i++) {
+			CachedIntrospectionResults.clearClassLoader(((Class) classes.get(i)).getClassLoader());
+		}
+	}
+
+	@Test
+	public void testWarmUpSkipsClassesThatCannotBeIntrospected() {
+		List classes = Arrays.asList(new Class[] {TestBean.class, FailingBean.class, UntrustedBean.class});
+		Map timings = CachedIntrospectionResults.warmUp(classes);
+		assertEquals(2, timings.size());
+		assertTrue(timings.containsKey(TestBean.class));
+		assertFalse(timings.containsKey(FailingBean.class));
+		assertTrue(timings.containsKey(UntrustedBean.class));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidCacheLimit() {
+		CachedIntrospectionResults.setCacheLimit(0);
+	}
+
+
+	/**
+	 * ClassLoader that defines UntrustedBean itself instead of delegating to its parent.
+	 */
+	static class IsolatingClassLoader extends ClassLoader {
+
+		public IsolatingClassLoader() {
+			super(CachedIntrospectionResultsTests.class.getClassLoader());
+		}
+
+		protected synchronized Class loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			if (!name.equals(UntrustedBean.class.getName())) {
+				return super.loadClass(name, resolve);
+			}
+			Class clazz = findLoadedClass(name);
+			if (clazz == null) {
+				byte[] bytes = readClassFile(name);
+				clazz = defineClass(name, bytes, 0, bytes.length);
+			}
+			return clazz;
+		}
+
+		private byte[] readClassFile(String name) throws ClassNotFoundException {
+			InputStream is = getParent().getResourceAsStream(name.replace('.', '/') + ".class");
+			if (is == null) {
+				throw new ClassNotFoundException(name);
+			}
+			try {
+				try {
+					ByteArrayOutputStream out = new ByteArrayOutputStream();
+					byte[] buffer = new byte[4096];
+					int count;
+					while ((count = is.read(buffer)) != -1) {
+						out.write(buffer, 0, count);
+					}
+					return out.toByteArray();
+				}
+				finally {
+					is.close();
+				}
+			}
+			catch (IOException ex) {
+				throw new ClassNotFoundException(name, ex);
+			}
+		}
+	}
+
+
+	public static class UntrustedBean {
+
+		private String name;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
+
+	public static class SequentialBean {
+
+		private String name;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
+
+	public static class ConcurrentBean {
+
+		private int value;
+
+		public int getValue() {
+			return value;
+		}
+
+		public void setValue(int value) {
+			this.value = value;
+		}
+	}
+
+
+	public static class FailingBean {
+	}
+
+
+	public static class FailingBeanBeanInfo extends SimpleBeanInfo {
+
+		public PropertyDescriptor[] getPropertyDescriptors() {
+			throw new IllegalStateException("Cannot introspect");
+		}
+	}
+
+}
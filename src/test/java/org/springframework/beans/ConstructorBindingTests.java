@@ -0,0 +1,165 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.ConstructorProperties;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for constructor binding through BeanUtils.instantiateClass.
+ */
+public class ConstructorBindingTests {
+
+	@Test
+	public void testGreediestMatchingConstructor() {
+		MutablePropertyValues pvs = new MutablePropertyValues();
+		pvs.addPropertyValue("name", "Rod");
+		pvs.addPropertyValue("age", "31");
+		ImmutableBean bean = (ImmutableBean) BeanUtils.instantiateClass(ImmutableBean.class, pvs);
+		assertEquals("Rod", bean.getName());
+		assertEquals(31, bean.getAge());
+
+		pvs = new MutablePropertyValues();
+		pvs.addPropertyValue("name", "Juergen");
+		bean = (ImmutableBean) BeanUtils.instantiateClass(ImmutableBean.class, pvs);
+		assertEquals("Juergen", bean.getName());
+		assertEquals(-1, bean.getAge());
+	}
+
+	@Test
+	public void testRemainingValuesAreSetAsProperties() {
+		MutablePropertyValues pvs = new MutablePropertyValues();
+		pvs.addPropertyValue("name", "Rod");
+		pvs.addPropertyValue("age", new Integer(31));
+		pvs.addPropertyValue("nickname", "rj");
+		ImmutableBean bean = (ImmutableBean) BeanUtils.instantiateClass(ImmutableBean.class, pvs);
+		assertEquals(31, bean.getAge());
+		assertEquals("rj", bean.getNickname());
+	}
+
+	@Test
+	public void testConversionFailures() {
+		MutablePropertyValues pvs = new MutablePropertyValues();
+		pvs.addPropertyValue("name", "Rod");
+		pvs.addPropertyValue("age", "notANumber");
+		try {
+			BeanUtils.instantiateClass(ImmutableBean.class, pvs);
+			fail("Should have thrown PropertyAccessExceptionsException");
+		}
+		catch (PropertyAccessExceptionsException ex) {
+			assertEquals(1, ex.getExceptionCount());
+			assertTrue(ex.getPropertyAccessException("age") instanceof TypeMismatchException);
+			assertNull(ex.getBindObject());
+		}
+	}
+
+	@Test
+	public void testNoMatchingConstructor() {
+		MutablePropertyValues pvs = new MutablePropertyValues();
+		pvs.addPropertyValue("age", "31");
+		try {
+			BeanUtils.instantiateClass(ImmutableBean.class, pvs);
+			fail("Should have thrown FatalBeanException");
+		}
+		catch (FatalBeanException ex) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testNoArgConstructorWithSetters() {
+		MutablePropertyValues pvs = new MutablePropertyValues();
+		pvs.addPropertyValue("name", "Rod");
+		pvs.addPropertyValue("age", "31");
+		TestBean tb = (TestBean) BeanUtils.instantiateClass(TestBean.class, pvs);
+		assertEquals("Rod", tb.getName());
+		assertEquals(31, tb.getAge());
+	}
+
+	@Test
+	public void testConstructorExceptionIsWrapped() {
+		MutablePropertyValues pvs = new MutablePropertyValues();
+		pvs.addPropertyValue("name", null);
+		pvs.addPropertyValue("age", "31");
+		try {
+			BeanUtils.instantiateClass(ImmutableBean.class, pvs);
+			fail("Should have thrown FatalBeanException");
+		}
+		catch (FatalBeanException ex) {
+			assertTrue(ex.getCause() instanceof IllegalArgumentException);
+		}
+	}
+
+	@Test
+	public void testInstantiateClassWithoutNoArgConstructor() {
+		try {
+			BeanUtils.instantiateClass(ImmutableBean.class);
+			fail("Should have thrown FatalBeanException");
+		}
+		catch (FatalBeanException ex) {
+			assertSame(NoSuchMethodException.class, ex.getCause().getClass());
+		}
+	}
+
+
+	public static class ImmutableBean {
+
+		private final String name;
+
+		private final int age;
+
+		private String nickname;
+
+		@ConstructorProperties({"name"})
+		public ImmutableBean(String name) {
+			this(name, -1);
+		}
+
+		@ConstructorProperties({"name", "age"})
+		public ImmutableBean(String name, int age) {
+			if (name == null) {
+				throw new IllegalArgumentException("name is required");
+			}
+			this.name = name;
+			this.age = age;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public int getAge() {
+			return age;
+		}
+
+		public String getNickname() {
+			return nickname;
+		}
+
+		public void setNickname(String nickname) {
+			this.nickname = nickname;
+		}
+	}
+
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyEditor;
+import java.beans.PropertyEditorManager;
+import java.beans.PropertyEditorSupport;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Locale;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for ConversionRegistry and its use in BeanWrapperImpl.
+ */
+public class ConversionRegistryTests {
+
+	@Test
+	public void testDefaultConversions() {
+		ConversionRegistry registry = new ConversionRegistry();
+		assertEquals(new Integer(16), registry.getConverter(String.class, Integer.TYPE).convert("0x10", Integer.TYPE));
+		assertEquals(Boolean.TRUE, registry.getConverter(String.class, Boolean.class).convert("TRUE", Boolean.class));
+		assertEquals(new File("/tmp"), registry.getConverter(String.class, File.class).convert("/tmp", File.class));
+		assertEquals(Locale.GERMANY, registry.getConverter(String.class, Locale.class).convert("de_DE", Locale.class));
+		assertEquals(Thread.State.NEW, registry.getConverter(String.class, Thread.State.class).convert("NEW", Thread.State.class));
+	}
+
+	@Test
+	public void testResolvedConvertersAreCached() {
+		ConversionRegistry registry = new ConversionRegistry();
+		assertSame(registry.getConverter(String.class, File.class), registry.getConverter(String.class, File.class));
+		assertNull(registry.getConverter(String.class, TestBean.class));
+		assertNull(registry.getConverter(String.class, TestBean.class));
+
+		// registration invalidates negative results
+		Converter converter = new Converter() {
+			public Object convert(Object source, Class targetType) {
+				return new TestBean((String) source, 0);
+			}
+		};
+		registry.addConverter(CharSequence.class, TestBean.class, converter);
+		assertSame(converter, registry.getConverter(String.class, TestBean.class));
+	}
+
+	@Test
+	public void testConverterForSourceHierarchy() {
+		ConversionRegistry registry = new ConversionRegistry();
+		Converter converter = new Converter() {
+			public Object convert(Object source, Class targetType) {
+				return new Integer(((Collection) source).size());
+			}
+		};
+		registry.addConverter(Collection.class, Integer.TYPE, converter);
+		assertSame(converter, registry.getConverter(ArrayList.class, Integer.TYPE));
+		assertNull(registry.getConverter(Object.class, Integer.TYPE));
+
+		TestBean tb = new TestBean();
+		BeanWrapperImpl bw = new BeanWrapperImpl(tb);
+		bw.setConversionRegistry(registry);
+		ArrayList list = new ArrayList();
+		list.add("a");
+		list.add("b");
+		bw.setPropertyValue("age", list);
+		assertEquals(2, tb.getAge());
+	}
+
+	@Test
+	public void testPropertyEditorAdapter() {
+		PropertyEditorConverter converter = new PropertyEditorConverter(UpperCaseEditor.class);
+		assertEquals("ABC", converter.convert("abc", String.class));
+		converter = new PropertyEditorConverter(new UpperCaseEditor());
+		assertEquals("ABC", converter.convert("abc", String.class));
+		try {
+			new PropertyEditorConverter(String.class);
+			fail("Should have thrown IllegalArgumentException");
+		}
+		catch (IllegalArgumentException ex) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testCustomEditorsTakePrecedence() {
+		TestBean tb = new TestBean();
+		BeanWrapperImpl bw = new BeanWrapperImpl(tb);
+		bw.registerCustomEditor(Integer.TYPE, new PropertyEditorSupport() {
+			public void setAsText(String text) {
+				setValue(new Integer(text.length()));
+			}
+		});
+		bw.setPropertyValue("age", "xyz");
+		assertEquals(3, tb.getAge());
+		bw.setPropertyValue("count", "0x20");
+		assertEquals(32L, tb.getCount());
+	}
+
+	@Test
+	public void testConversionFailure() {
+		BeanWrapperImpl bw = new BeanWrapperImpl(new TestBean());
+		try {
+			bw.setPropertyValue("active", "maybe");
+			fail("Should have thrown TypeMismatchException");
+		}
+		catch (TypeMismatchException ex) {
+			assertNotNull(ex.getCause());
+		}
+		try {
+			bw.setPropertyValue("spouse", "kerry");
+			fail("Should have thrown TypeMismatchException");
+		}
+		catch (TypeMismatchException ex) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testBuiltInConversionsParseLikeJdkEditors() {
+		ConversionRegistry registry = new ConversionRegistry();
+		String[] texts = new String[] {"10", "010", "0x10", "#10", "-7"};
+		Class[] types = new Class[] {Integer.TYPE, Long.class, Short.TYPE, Byte.class};
+		for (int i = 0; i < types.length; i++) {
+			PropertyEditor editor = PropertyEditorManager.findEditor(types[i]);
+			for (int j = 0; j < texts.length; j++) {
+				editor.setAsText(texts[j]);
+				assertEquals(editor.getValue(), registry.getConverter(String.class, types[i]).convert(texts[j], types[i]));
+			}
+		}
+	}
+
+	@Test
+	public void testPropertyEditorManagerRegistrationsTakePrecedence() {
+		Class jdkEditorClass = PropertyEditorManager.findEditor(Integer.TYPE).getClass();
+		PropertyEditorManager.registerEditor(Integer.TYPE, DoublingEditor.class);
+		try {
+			ConversionRegistry registry = new ConversionRegistry();
+			assertEquals(new Integer(20), registry.getConverter(String.class, Integer.TYPE).convert("10", Integer.TYPE));
+			BeanWrapperImpl bw = new BeanWrapperImpl(new TestBean());
+			bw.setConversionRegistry(registry);
+			bw.setPropertyValue("age", "10");
+			assertEquals(new Integer(20), bw.getPropertyValue("age"));
+		}
+		finally {
+			PropertyEditorManager.registerEditor(Integer.TYPE, jdkEditorClass);
+		}
+	}
+
+	@Test
+	public void testConvertersForClassesFromOtherClassLoaders() throws Exception {
+		Class beanClass = new CachedIntrospectionResultsTests.IsolatingClassLoader().loadClass(
+				CachedIntrospectionResultsTests.UntrustedBean.class.getName());
+		ConversionRegistry registry = new ConversionRegistry();
+		assertNull(registry.getConverter(String.class, beanClass));
+		Converter converter = new PropertyEditorConverter(new UpperCaseEditor());
+		registry.addConverter(String.class, beanClass, converter);
+		assertSame(converter, registry.getConverter(String.class, beanClass));
+		assertSame(converter, registry.getConverter(String.class, beanClass));
+	}
+
+
+	public static class UpperCaseEditor extends PropertyEditorSupport {
+
+		public void setAsText(String text) {
+			setValue(text.toUpperCase());
+		}
+	}
+
+
+	public static class DoublingEditor extends PropertyEditorSupport {
+
+		public void setAsText(String text) {
+			setValue(new Integer(Integer.parseInt(text) * 2));
+		}
+	}
+
+}
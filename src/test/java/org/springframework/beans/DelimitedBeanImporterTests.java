@@ -0,0 +1,191 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for DelimitedBeanImporter.
+ */
+public class DelimitedBeanImporterTests {
+
+	private static Resource createResource(String content) throws IOException {
+		return new InputStreamResource(new ByteArrayInputStream(content.getBytes("UTF-8")), "test data");
+	}
+
+
+	@Test
+	public void testCommaSeparatedWithQuotes() throws IOException {
+		CollectingCallback callback = new CollectingCallback();
+		DelimitedBeanImporter importer = new DelimitedBeanImporter(TestBean.class);
+		long count = importer.importBeans(createResource(
+				"\uFEFFname, age,ratio\n" +
+				"\"Smith, John\",42,0.5\n" +
+				"\n" +
+				"\"say \"\"hi\"\"\nthere\",,1.5\n"), callback);
+		assertEquals(2, count);
+		assertTrue(callback.exceptions.isEmpty());
+		TestBean tb = (TestBean) callback.beans.get(0);
+		assertEquals("Smith, John", tb.getName());
+		assertEquals(42, tb.getAge());
+		assertEquals(0.5, tb.getRatio(), 0.0);
+		tb = (TestBean) callback.beans.get(1);
+		assertEquals("say \"hi\"\nthere", tb.getName());
+		assertEquals(0, tb.getAge());
+	}
+
+	@Test
+	public void testTabSeparatedWithColumnMapping() throws IOException {
+		Map mapping = new HashMap();
+		mapping.put("Full Name", "name");
+		mapping.put("Years", "age");
+		CollectingCallback callback = new CollectingCallback();
+		DelimitedBeanImporter importer = new DelimitedBeanImporter(TestBean.class);
+		importer.setDelimiter(DelimitedBeanImporter.TAB);
+		importer.setColumnMapping(mapping);
+		importer.importBeans(createResource("Full Name\tYears\tUnmapped\nRod, Johnson\t31\tx\n"), callback);
+		assertEquals(1, callback.beans.size());
+		TestBean tb = (TestBean) callback.beans.get(0);
+		assertEquals("Rod, Johnson", tb.getName());
+		assertEquals(31, tb.getAge());
+	}
+
+	@Test
+	public void testFailedRowsAreReported() throws IOException {
+		CollectingCallback callback = new CollectingCallback();
+		DelimitedBeanImporter importer = new DelimitedBeanImporter(TestBean.class);
+		long count = importer.importBeans(createResource(
+				"name,age\nRod,31\nJuergen,notANumber\nTooMany,1,2\nColin,29\n"), callback);
+		assertEquals(2, count);
+		assertEquals(2, callback.exceptions.size());
+		assertEquals(new Long(2), callback.rows.get(0));
+		PropertyAccessExceptionsException ex = (PropertyAccessExceptionsException) callback.exceptions.get(0);
+		assertTrue(ex.getPropertyAccessException("age") instanceof TypeMismatchException);
+		assertEquals("Juergen", ((TestBean) ex.getBindObject()).getName());
+		assertEquals(new Long(3), callback.rows.get(1));
+		assertEquals("Colin", ((TestBean) callback.beans.get(1)).getName());
+	}
+
+	@Test
+	public void testUnknownColumns() throws IOException {
+		CollectingCallback callback = new CollectingCallback();
+		DelimitedBeanImporter importer = new DelimitedBeanImporter(TestBean.class);
+		try {
+			importer.importBeans(createResource("name,unknown\nRod,x\nJuergen,y\n"), callback);
+			fail("Should have thrown NotWritablePropertyException");
+		}
+		catch (NotWritablePropertyException ex) {
+			// fails once for the header, not per row
+			assertTrue(callback.exceptions.isEmpty());
+		}
+		Map mapping = new HashMap();
+		mapping.put("name", "name");
+		mapping.put("other", "nonExisting");
+		importer.setColumnMapping(mapping);
+		try {
+			importer.importBeans(createResource("name,other\nRod,x\n"), callback);
+			fail("Should have thrown NotWritablePropertyException");
+		}
+		catch (NotWritablePropertyException ex) {
+			assertTrue(callback.exceptions.isEmpty());
+		}
+		importer.setColumnMapping(null);
+		importer.setIgnoreUnknownColumns(true);
+		assertEquals(1, importer.importBeans(createResource("name,unknown\nRod,x\n"), callback));
+	}
+
+	@Test
+	public void testUnterminatedQuotedCell() throws IOException {
+		DelimitedBeanImporter importer = new DelimitedBeanImporter(TestBean.class);
+		try {
+			importer.importBeans(createResource("name,age\nRod,31\n\"Juergen,32\nColin,29\n"), new CollectingCallback());
+			fail("Should have thrown IOException");
+		}
+		catch (IOException ex) {
+			assertTrue(ex.getMessage().indexOf("line 3 of test data") != -1);
+			assertTrue(ex.getMessage().indexOf("end of input") != -1);
+		}
+		StringBuffer content = new StringBuffer("name,age\n\n\"Rod\n");
+		for (int i = 0; i < 100; i++) {
+			content.append("Juergen,32\n");
+		}
+		importer.setMaxQuotedCellLength(100);
+		try {
+			importer.importBeans(createResource(content.toString()), new CollectingCallback());
+			fail("Should have thrown IOException");
+		}
+		catch (IOException ex) {
+			assertTrue(ex.getMessage().indexOf("line 3 of test data") != -1);
+			assertTrue(ex.getMessage().indexOf("maximum length of 100") != -1);
+		}
+	}
+
+	@Test
+	public void testStreamGetsClosedForUnsupportedEncoding() throws IOException {
+		final boolean[] closed = new boolean[1];
+		InputStream is = new ByteArrayInputStream("name\nRod\n".getBytes("UTF-8")) {
+			public void close() {
+				closed[0] = true;
+			}
+		};
+		DelimitedBeanImporter importer = new DelimitedBeanImporter(TestBean.class);
+		importer.setEncoding("no-such-encoding");
+		try {
+			importer.importBeans(new InputStreamResource(is, "test data"), new CollectingCallback());
+			fail("Should have thrown UnsupportedEncodingException");
+		}
+		catch (UnsupportedEncodingException ex) {
+			assertTrue(closed[0]);
+		}
+	}
+
+
+	private static class CollectingCallback implements DelimitedBeanImporter.ImportCallback {
+
+		private final List beans = new ArrayList();
+
+		private final List rows = new ArrayList();
+
+		private final List exceptions = new ArrayList();
+
+		public void beanImported(Object bean, long row) {
+			this.beans.add(bean);
+		}
+
+		public void rowFailed(long row, BeansException ex) {
+			this.rows.add(new Long(row));
+			this.exceptions.add(ex);
+		}
+	}
+
+}
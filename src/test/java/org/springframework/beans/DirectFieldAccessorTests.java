@@ -0,0 +1,238 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyEditorSupport;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for DirectFieldAccessor.
+ */
+public class DirectFieldAccessorTests {
+
+	@Test
+	public void testSimpleFields() {
+		FieldBean fb = new FieldBean();
+		BeanWrapper accessor = new DirectFieldAccessor(fb);
+		accessor.setPropertyValue("name", "Rod");
+		accessor.setPropertyValue("age", "31");
+		accessor.setPropertyValue("active", Boolean.TRUE);
+		assertEquals("Rod", fb.name);
+		assertEquals(31, fb.age);
+		assertEquals("Rod", accessor.getPropertyValue("name"));
+		assertEquals(new Integer(31), accessor.getPropertyValue("age"));
+		assertTrue(accessor.getBoolean("active"));
+
+		accessor.setInt("age", 32);
+		accessor.setLong("count", 5L);
+		accessor.setDouble("ratio", 0.5);
+		assertEquals(32, accessor.getInt("age"));
+		assertEquals(5L, accessor.getLong("count"));
+		assertEquals(0.5, accessor.getDouble("ratio"), 0.0);
+		assertEquals(32L, accessor.getLong("age"));
+	}
+
+	@Test
+	public void testFinalAndHiddenFields() {
+		SubFieldBean fb = new SubFieldBean();
+		BeanWrapper accessor = new DirectFieldAccessor(fb);
+		assertTrue(accessor.isReadableProperty("id"));
+		assertFalse(accessor.isWritableProperty("id"));
+		assertEquals("fb", accessor.getPropertyValue("id"));
+		try {
+			accessor.setPropertyValue("id", "other");
+			fail("Should have thrown NotWritablePropertyException");
+		}
+		catch (NotWritablePropertyException ex) {
+			// expected
+		}
+
+		accessor.setPropertyValue("name", "Juergen");
+		assertEquals("Juergen", fb.name);
+		assertNull(((FieldBean) fb).name);
+		assertFalse(accessor.isReadableProperty("unknown"));
+	}
+
+	@Test
+	public void testNestedAndIndexedFields() {
+		FieldBean fb = new FieldBean();
+		fb.spouse = new FieldBean();
+		FieldBean friend = new FieldBean();
+		fb.friends.add(friend);
+		fb.tags.add("a");
+		fb.tags.add("b");
+		BeanWrapper accessor = new DirectFieldAccessor(fb);
+
+		accessor.setPropertyValue("spouse.age", "29");
+		accessor.setPropertyValue("friends[0].name", "Colin");
+		accessor.setPropertyValue("scores[1]", "7");
+		accessor.setPropertyValue("attributes[key]", "value");
+		assertEquals(29, fb.spouse.age);
+		assertEquals("Colin", friend.name);
+		assertEquals(7, fb.scores[1]);
+		assertEquals("value", fb.attributes.get("key"));
+
+		assertEquals(29, accessor.getInt("spouse.age"));
+		assertEquals("Colin", accessor.getPropertyValue("friends[0].name"));
+		assertEquals(new Integer(7), accessor.getPropertyValue("scores[1]"));
+		assertEquals("b", accessor.getPropertyValue("tags[1]"));
+
+		FieldBean newSpouse = new FieldBean();
+		fb.spouse = newSpouse;
+		accessor.setPropertyValue("spouse.name", "Sue");
+		assertEquals("Sue", newSpouse.name);
+
+		fb.spouse = null;
+		try {
+			accessor.setPropertyValue("spouse.name", "Sue");
+			fail("Should have thrown NullValueInNestedPathException");
+		}
+		catch (NullValueInNestedPathException ex) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testCustomEditors() {
+		FieldBean fb = new FieldBean();
+		fb.spouse = new FieldBean();
+		fb.friends.add(new FieldBean());
+		fb.friends.add(new FieldBean());
+		DirectFieldAccessor accessor = new DirectFieldAccessor(fb);
+		accessor.registerCustomEditor(String.class, "spouse.name", new UpperCaseEditor());
+		accessor.registerCustomEditor(null, "friends.name", new UpperCaseEditor());
+		accessor.setPropertyValue("name", "rod");
+		accessor.setPropertyValue("spouse.name", "kerry");
+		accessor.setPropertyValue("friends[0].name", "colin");
+		accessor.setPropertyValue("friends[1].name", "juergen");
+		assertEquals("rod", fb.name);
+		assertEquals("KERRY", fb.spouse.name);
+		assertEquals("COLIN", ((FieldBean) fb.friends.get(0)).name);
+		assertEquals("JUERGEN", ((FieldBean) fb.friends.get(1)).name);
+
+		accessor.registerCustomEditor(String.class, new UpperCaseEditor());
+		accessor.setPropertyValue("name", "rod");
+		assertEquals("ROD", fb.name);
+		assertTrue(accessor.findCustomEditor(String.class, "friends[1].name") instanceof UpperCaseEditor);
+	}
+
+	@Test
+	public void testConversionFailures() {
+		FieldBean fb = new FieldBean();
+		BeanWrapper accessor = new DirectFieldAccessor(fb);
+		MutablePropertyValues pvs = new MutablePropertyValues();
+		pvs.addPropertyValue("name", "Rod");
+		pvs.addPropertyValue("age", "notANumber");
+		pvs.addPropertyValue("count", null);
+		try {
+			accessor.setPropertyValues(pvs);
+			fail("Should have thrown PropertyAccessExceptionsException");
+		}
+		catch (PropertyAccessExceptionsException ex) {
+			assertEquals(2, ex.getExceptionCount());
+			assertSame(fb, ex.getBindObject());
+			TypeMismatchException tme = (TypeMismatchException) ex.getPropertyAccessException("age");
+			assertEquals(int.class, tme.getRequiredType());
+			assertTrue(ex.getPropertyAccessException("count") instanceof TypeMismatchException);
+		}
+		assertEquals("Rod", fb.name);
+
+		BindingErrors errors = new BindingErrors();
+		accessor.setPropertyValues(pvs, false, errors);
+		assertEquals(2, errors.getErrorCount());
+		assertEquals("notANumber", errors.getError("age").getRejectedValue());
+		assertEquals(BindingError.TYPE_MISMATCH, errors.getError("count").getErrorCode());
+		assertTrue(errors.getError("count").getCause() instanceof IllegalArgumentException);
+	}
+
+	@Test
+	public void testPropertyDescriptors() {
+		BeanWrapper accessor = new DirectFieldAccessor(new FieldBean());
+		assertEquals(int.class, accessor.getPropertyDescriptor("age").getPropertyType());
+		assertNull(accessor.getPropertyDescriptor("age").getReadMethod());
+		assertEquals(new FieldBean().getClass().getDeclaredFields().length, accessor.getPropertyDescriptors().length);
+	}
+
+	@Test
+	public void testVarHandleAccessWhereAvailable() {
+		boolean varHandlesAvailable = true;
+		try {
+			Class.forName("java.lang.invoke.VarHandle");
+		}
+		catch (ClassNotFoundException ex) {
+			varHandlesAvailable = false;
+		}
+		FieldAccessor fieldAccessor = FieldAccessor.forClass(FieldBean.class);
+		assertEquals(varHandlesAvailable, fieldAccessor.isVarHandleAccess(fieldAccessor.getFieldIndex("age")));
+		assertEquals(varHandlesAvailable, fieldAccessor.isVarHandleAccess(fieldAccessor.getFieldIndex("id")));
+	}
+
+
+	private static class FieldBean {
+
+		String name;
+
+		private int age;
+
+		private long count;
+
+		private double ratio;
+
+		private boolean active;
+
+		private final String id = "fb";
+
+		private FieldBean spouse;
+
+		private List friends = new ArrayList();
+
+		private int[] scores = new int[3];
+
+		private Map attributes = new HashMap();
+
+		private Set tags = new LinkedHashSet();
+	}
+
+
+	private static class SubFieldBean extends FieldBean {
+
+		private String name;
+	}
+
+
+	private static class UpperCaseEditor extends PropertyEditorSupport {
+
+		public void setAsText(String text) {
+			setValue(text.toUpperCase());
+		}
+	}
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyEditor;
+import java.beans.PropertyEditorSupport;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for indexed access to Set and linked List properties.
+ */
+public class IndexedPropertyAccessTests {
+
+	private static Set createSet(int size) {
+		Set set = new LinkedHashSet();
+		for (int i = 0; i < size; i++) {
+			set.add(new TestBean("name" + i, i));
+		}
+		return set;
+	}
+
+	@Test
+	public void testSetElementsByIndex() {
+		TestBean tb = new TestBean();
+		tb.setSomeSet(createSet(5000));
+		BeanWrapper bw = new BeanWrapperImpl(tb);
+		for (int i = 0; i < 5000; i++) {
+			assertEquals("name" + i, bw.getPropertyValue("someSet[" + i + "].name"));
+		}
+		try {
+			bw.getPropertyValue("someSet[5000]");
+			fail("Should have thrown FatalBeanException");
+		}
+		catch (FatalBeanException ex) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testElementsFollowReplacementAndSizeChange() {
+		TestBean tb = new TestBean();
+		tb.setSomeSet(createSet(3));
+		BeanWrapper bw = new BeanWrapperImpl(tb);
+		assertEquals("name2", bw.getPropertyValue("someSet[2].name"));
+
+		tb.getSomeSet().add(new TestBean("added", 3));
+		assertEquals("added", bw.getPropertyValue("someSet[3].name"));
+
+		tb.setSomeSet(createSet(4));
+		assertEquals("name3", bw.getPropertyValue("someSet[3].name"));
+	}
+
+	@Test
+	public void testSameSizeExternalModificationIsSeen() {
+		TestBean tb = new TestBean();
+		tb.setSomeSet(createSet(3));
+		BeanWrapper bw = new BeanWrapperImpl(tb);
+		assertEquals("name2", bw.getPropertyValue("someSet[2].name"));
+		Set set = tb.getSomeSet();
+		set.remove(bw.getPropertyValue("someSet[2]"));
+		set.add(new TestBean("replaced", 2));
+		assertEquals("replaced", bw.getPropertyValue("someSet[2].name"));
+
+		List friends = new LinkedList();
+		friends.add(new TestBean("friend0", 0));
+		friends.add(new TestBean("friend1", 1));
+		tb.setFriends(friends);
+		assertEquals("friend1", bw.getPropertyValue("friends[1].name"));
+		friends.set(1, new TestBean("replaced", 1));
+		assertEquals("replaced", bw.getPropertyValue("friends[1].name"));
+	}
+
+	@Test
+	public void testLinkedListElementsByIndex() {
+		List friends = new LinkedList();
+		for (int i = 0; i < 1000; i++) {
+			friends.add(new TestBean("friend" + i, i));
+		}
+		TestBean tb = new TestBean();
+		tb.setFriends(friends);
+		BeanWrapper bw = new BeanWrapperImpl(tb);
+		assertEquals(new Integer(999), bw.getPropertyValue("friends[999].age"));
+
+		TestBean replacement = new TestBean("replacement", 0);
+		bw.setPropertyValue("friends[999]", replacement);
+		assertSame(replacement, bw.getPropertyValue("friends[999]"));
+		assertEquals("replacement", bw.getPropertyValue("friends[999].name"));
+	}
+
+	@Test
+	public void testRegisterCustomEditorForAllSetElements() {
+		TestBean tb = new TestBean();
+		tb.setSomeSet(createSet(10));
+		BeanWrapper bw = new BeanWrapperImpl(tb);
+		PropertyEditor editor = new PropertyEditorSupport();
+		bw.registerCustomEditor(String.class, "someSet.name", editor);
+		for (int i = 0; i < 10; i++) {
+			assertSame(editor, bw.findCustomEditor(String.class, "someSet[" + i + "].name"));
+		}
+	}
+
+}
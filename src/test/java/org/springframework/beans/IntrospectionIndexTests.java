@@ -0,0 +1,143 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.BeanInfo;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the build-time introspection index.
+ */
+public class IntrospectionIndexTests {
+
+	@Test
+	public void testWriteAndRead() throws Exception {
+		StringWriter out = new StringWriter();
+		assertEquals(2, IntrospectionIndex.writeIndex(new Class[] {TestBean.class, IndexedBean.class}, out));
+		IntrospectionIndex index = new IntrospectionIndex();
+		index.load(new StringReader(out.toString()), "test");
+		assertSameProperties(TestBean.class, index.getBeanInfo(TestBean.class));
+		assertSameProperties(IndexedBean.class, index.getBeanInfo(IndexedBean.class));
+		assertNull(index.getBeanInfo(IndexedPropertyBean.class));
+		BeanInfo beanInfo = index.getBeanInfo(IndexedBean.class);
+		beanInfo.getPropertyDescriptors()[0] = null;
+		assertNotNull(beanInfo.getPropertyDescriptors()[0]);
+	}
+
+	@Test
+	public void testClassesThatCannotBeIndexed() throws Exception {
+		StringWriter out = new StringWriter();
+		assertEquals(0, IntrospectionIndex.writeIndex(new Class[] {IndexedPropertyBean.class, Runnable.class}, out));
+	}
+
+	@Test
+	public void testStaleEntryFallsBack() throws Exception {
+		IntrospectionIndex index = new IntrospectionIndex();
+		index.load(new StringReader(IndexedBean.class.getName() + "\n" +
+		                            "\tcount\tlong\tgetCount\tsetCount\n"), "test");
+		assertNull(index.getBeanInfo(IndexedBean.class));
+		index = new IntrospectionIndex();
+		index.load(new StringReader(IndexedBean.class.getName() + "\n" +
+		                            "\tsize\tint\tgetSize\t-\n"), "test");
+		assertNull(index.getBeanInfo(IndexedBean.class));
+	}
+
+	@Test(expected = IOException.class)
+	public void testMalformedIndex() throws Exception {
+		new IntrospectionIndex().load(new StringReader("\tname\tjava.lang.String\tgetName\tsetName\n"), "test");
+	}
+
+	@Test
+	public void testCachedIntrospectionResultsUseIndexResource() {
+		CachedIntrospectionResults results = CachedIntrospectionResults.forClass(IndexedBean.class);
+		assertTrue(results.getBeanInfo() instanceof IntrospectionIndex.IndexBeanInfo);
+		assertSameProperties(IndexedBean.class, results.getBeanInfo());
+		BeanWrapper bw = new BeanWrapperImpl(new IndexedBean());
+		bw.setPropertyValue("count", "3");
+		assertEquals(new Integer(3), bw.getPropertyValue("count"));
+	}
+
+	private static void assertSameProperties(Class beanClass, BeanInfo beanInfo) {
+		PropertyDescriptor[] expected;
+		try {
+			expected = Introspector.getBeanInfo(beanClass).getPropertyDescriptors();
+		}
+		catch (Exception ex) {
+			throw new IllegalStateException(ex.toString());
+		}
+		assertSame(beanClass, beanInfo.getBeanDescriptor().getBeanClass());
+		PropertyDescriptor[] pds = beanInfo.getPropertyDescriptors();
+		assertEquals(expected.length, pds.length);
+		for (int i = 0; i < pds.length; i++) {
+			assertEquals(expected[i].getName(), pds[i].getName());
+			assertSame(expected[i].getPropertyType(), pds[i].getPropertyType());
+			assertEquals(expected[i].getReadMethod(), pds[i].getReadMethod());
+			assertEquals(expected[i].getWriteMethod(), pds[i].getWriteMethod());
+		}
+	}
+
+
+	public static class IndexedBean {
+
+		private int count;
+
+		private String name;
+
+		public int getCount() {
+			return count;
+		}
+
+		public void setCount(int count) {
+			this.count = count;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
+
+	public static class IndexedPropertyBean {
+
+		private String[] items = new String[0];
+
+		public String[] getItems() {
+			return items;
+		}
+
+		public String getItems(int index) {
+			return items[index];
+		}
+	}
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyEditorSupport;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the nested BeanWrapper cache of BeanWrapperImpl.
+ */
+public class NestedBeanWrapperTests {
+
+	@Test
+	public void testReplacedPropertyValueGetsRebound() {
+		TestBean tb = new TestBean("rod", 31);
+		tb.setSpouse(new TestBean("kerry", 34));
+		BeanWrapperImpl bw = new BeanWrapperImpl(tb);
+		assertEquals("kerry", bw.getPropertyValue("spouse.name"));
+
+		TestBean sue = new TestBean("sue", 30);
+		tb.setSpouse(sue);
+		assertEquals("sue", bw.getPropertyValue("spouse.name"));
+		bw.setPropertyValue("spouse.age", "33");
+		assertEquals(33, sue.getAge());
+		assertEquals(1, bw.getNestedBeanWrapperCount());
+	}
+
+	@Test
+	public void testNestedEditorsSurviveRebinding() {
+		TestBean tb = new TestBean("rod", 31);
+		tb.setSpouse(new TestBean("kerry", 34));
+		BeanWrapperImpl bw = new BeanWrapperImpl(tb);
+		bw.registerCustomEditor(String.class, "spouse.name", new PropertyEditorSupport() {
+			public void setAsText(String text) {
+				setValue(text.toUpperCase());
+			}
+		});
+
+		TestBean sue = new TestBean("sue", 30);
+		tb.setSpouse(sue);
+		bw.setPropertyValue("spouse.name", "susan");
+		assertEquals("SUSAN", sue.getName());
+
+		TestBean other = new TestBean();
+		other.setSpouse(new TestBean());
+		bw.setWrappedInstance(other);
+		bw.setPropertyValue("spouse.name", "kerry");
+		assertEquals("KERRY", other.getSpouse().getName());
+	}
+
+	@Test
+	public void testCacheIsBounded() {
+		TestBean tb = new TestBean();
+		for (int i = 0; i < 1000; i++) {
+			tb.getSomeMap().put("key" + i, new TestBean("name" + i, i));
+		}
+		BeanWrapperImpl bw = new BeanWrapperImpl(tb);
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(new Integer(i), bw.getPropertyValue("someMap[key" + i + "].age"));
+		}
+		assertTrue(bw.getNestedBeanWrapperCount() <= 256);
+		assertEquals("name0", bw.getPropertyValue("someMap[key0].name"));
+	}
+
+	@Test
+	public void testWrappersWithPropertyEditorsAreNotEvicted() {
+		TestBean tb = new TestBean();
+		tb.setSpouse(new TestBean());
+		for (int i = 0; i < 1000; i++) {
+			tb.getSomeMap().put("key" + i, new TestBean("name" + i, i));
+		}
+		BeanWrapperImpl bw = new BeanWrapperImpl(tb);
+		bw.registerCustomEditor(String.class, "spouse.name", new PropertyEditorSupport() {
+			public void setAsText(String text) {
+				setValue(text.toUpperCase());
+			}
+		});
+		for (int i = 0; i < 1000; i++) {
+			bw.getPropertyValue("someMap[key" + i + "].age");
+		}
+		bw.setPropertyValue("spouse.name", "kerry");
+		assertEquals("KERRY", tb.getSpouse().getName());
+	}
+
+	@Test
+	public void testCacheStaysBoundedWithPropertyEditors() {
+		TestBean tb = new TestBean();
+		tb.setSpouse(new TestBean());
+		for (int i = 0; i < 1000; i++) {
+			tb.getSomeMap().put("key" + i, new TestBean("name" + i, i));
+		}
+		BeanWrapperImpl bw = new BeanWrapperImpl(tb);
+		bw.registerCustomEditor(String.class, "spouse.name", new PropertyEditorSupport() {
+			public void setAsText(String text) {
+				setValue(text.toUpperCase());
+			}
+		});
+		for (int i = 0; i < 1000; i++) {
+			bw.getPropertyValue("someMap[key" + i + "].age");
+		}
+		// 256 evictable ones plus the pinned one for "spouse"
+		assertEquals(257, bw.getNestedBeanWrapperCount());
+	}
+
+	@Test
+	public void testEditorsForManyNestedPathsSurviveEviction() {
+		TestBean tb = new TestBean();
+		for (int i = 0; i < 1000; i++) {
+			tb.getSomeMap().put("key" + i, new TestBean("name" + i, i));
+		}
+		BeanWrapperImpl bw = new BeanWrapperImpl(tb);
+		// registers editors on a nested BeanWrapper for every map entry
+		bw.registerCustomEditor(String.class, "someMap.name", new PropertyEditorSupport() {
+			public void setAsText(String text) {
+				setValue(text.toUpperCase());
+			}
+		});
+		bw.setPropertyValue("someMap[key0].name", "juergen");
+		assertEquals("JUERGEN", ((TestBean) tb.getSomeMap().get("key0")).getName());
+		bw.setPropertyValue("someMap[key999].name", "rod");
+		assertEquals("ROD", ((TestBean) tb.getSomeMap().get("key999")).getName());
+	}
+
+}
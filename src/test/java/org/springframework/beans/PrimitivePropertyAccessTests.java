@@ -0,0 +1,137 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the primitive getters and setters of BeanWrapperImpl.
+ */
+public class PrimitivePropertyAccessTests {
+
+	@Test
+	public void testGeneratedPrimitiveAccess() {
+		TestBean tb = new TestBean("rod", 31);
+		BeanWrapper bw = new BeanWrapperImpl(tb);
+		bw.setInt("age", 32);
+		bw.setLong("count", 5000000000L);
+		bw.setDouble("ratio", 0.25);
+		bw.setBoolean("active", true);
+		assertEquals(32, tb.getAge());
+		assertEquals(5000000000L, tb.getCount());
+		assertEquals(0.25, tb.getRatio(), 0.0);
+		assertTrue(tb.isActive());
+		assertEquals(32, bw.getInt("age"));
+		assertEquals(5000000000L, bw.getLong("count"));
+		assertEquals(0.25, bw.getDouble("ratio"), 0.0);
+		assertTrue(bw.getBoolean("active"));
+	}
+
+	@Test
+	public void testReflectivePrimitiveAccess() {
+		BeanAccessorTests.PackageBean pb = new BeanAccessorTests.PackageBean();
+		BeanWrapper bw = new BeanWrapperImpl(pb);
+		bw.setInt("value", 7);
+		assertEquals(7, pb.getValue());
+		assertEquals(7, bw.getInt("value"));
+	}
+
+	@Test
+	public void testNestedPrimitiveAccess() {
+		TestBean tb = new TestBean("rod", 31);
+		tb.setSpouse(new TestBean("kerry", 34));
+		BeanWrapper bw = new BeanWrapperImpl(tb);
+		bw.setInt("spouse.age", 35);
+		assertEquals(35, tb.getSpouse().getAge());
+		assertEquals(35, bw.getInt("spouse.age"));
+		try {
+			bw.setInt("spouse.spouse.age", 1);
+			fail("Should have thrown NullValueInNestedPathException");
+		}
+		catch (NullValueInNestedPathException ex) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testOtherPropertyTypes() {
+		TestBean tb = new TestBean("rod", 31);
+		tb.setCount(12);
+		BeanWrapper bw = new BeanWrapperImpl(tb);
+		// widening on write and read, no narrowing on read
+		bw.setInt("count", 42);
+		assertEquals(42L, tb.getCount());
+		assertEquals(42L, bw.getLong("count"));
+		assertEquals(31.0, bw.getDouble("age"), 0.0);
+		assertEquals(31L, bw.getLong("age"));
+		try {
+			bw.getInt("count");
+			fail("Should have thrown TypeMismatchException");
+		}
+		catch (TypeMismatchException ex) {
+			assertEquals(int.class, ex.getRequiredType());
+			assertEquals("count", ex.getPropertyChangeEvent().getPropertyName());
+		}
+		try {
+			bw.getDouble("count");
+			fail("Should have thrown TypeMismatchException");
+		}
+		catch (TypeMismatchException ex) {
+			// long to double can lose precision
+		}
+		try {
+			bw.setInt("name", 3);
+			fail("Should have thrown TypeMismatchException");
+		}
+		catch (TypeMismatchException ex) {
+			// same as setPropertyValue with an Integer
+		}
+		try {
+			bw.getBoolean("name");
+			fail("Should have thrown FatalBeanException");
+		}
+		catch (FatalBeanException ex) {
+			// expected
+		}
+		try {
+			bw.getInt("name");
+			fail("Should have thrown FatalBeanException");
+		}
+		catch (FatalBeanException ex) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testUnknownProperty() {
+		BeanWrapper bw = new BeanWrapperImpl(new TestBean());
+		try {
+			bw.setInt("nonExisting", 1);
+			fail("Should have thrown NotWritablePropertyException");
+		}
+		catch (NotWritablePropertyException ex) {
+			// expected
+		}
+		assertFalse(bw.isReadableProperty("nonExisting"));
+	}
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for PropertyPath parsing and its use in BeanWrapperImpl.
+ */
+public class PropertyPathTests {
+
+	@Test
+	public void testSimplePath() {
+		PropertyPath path = PropertyPath.parse("name");
+		assertFalse(path.isNested());
+		assertEquals(1, path.getSegmentCount());
+		assertEquals("name", path.getLastSegment().getName());
+		assertNull(path.getLastSegment().getKey());
+		assertFalse(path.getLastSegment().hasIndex());
+	}
+
+	@Test
+	public void testNestedIndexedPath() {
+		PropertyPath path = PropertyPath.parse("address.lines[2]");
+		assertTrue(path.isNested());
+		assertEquals(2, path.getSegmentCount());
+		assertEquals("address", path.getSegment(0).getName());
+		PropertyPath.Segment last = path.getLastSegment();
+		assertEquals("lines", last.getName());
+		assertEquals("2", last.getKey());
+		assertTrue(last.hasIndex());
+		assertEquals(2, last.getIndex());
+		assertEquals("lines[2]", last.getCanonicalName());
+	}
+
+	@Test
+	public void testQuotedKeysAndSeparatorsWithinKeys() {
+		PropertyPath path = PropertyPath.parse("attributes['a.b'].value");
+		assertEquals(2, path.getSegmentCount());
+		assertEquals("a.b", path.getSegment(0).getKey());
+		assertEquals("attributes[a.b]", path.getSegment(0).getCanonicalName());
+		assertEquals("attributes['a.b']", path.getSegment(0).getPath());
+		assertEquals("key", PropertyPath.parse("map[\"key\"]").getLastSegment().getKey());
+		assertFalse(PropertyPath.parse("map[key]").getLastSegment().hasIndex());
+	}
+
+	@Test
+	public void testParsedPathsAreCached() {
+		assertSame(PropertyPath.parse("spouse.friends[0].name"), PropertyPath.parse("spouse.friends[0].name"));
+	}
+
+	@Test
+	public void testIndexedAccessThroughBeanWrapper() {
+		TestBean tb = new TestBean();
+		tb.getFriends().add(new TestBean("rod", 31));
+		tb.getFriends().add(new TestBean("juergen", 29));
+		tb.getSomeMap().put("a.b", new TestBean("kerry", 34));
+		BeanWrapper bw = new BeanWrapperImpl(tb);
+
+		assertEquals("juergen", bw.getPropertyValue("friends[1].name"));
+		assertEquals("kerry", bw.getPropertyValue("someMap['a.b'].name"));
+		bw.setPropertyValue("friends[0].age", "32");
+		assertEquals(32, ((TestBean) tb.getFriends().get(0)).getAge());
+		bw.setPropertyValue("someMap[x]", "y");
+		assertEquals("y", tb.getSomeMap().get("x"));
+	}
+
+	@Test
+	public void testInvalidIndex() {
+		TestBean tb = new TestBean();
+		tb.getFriends().add(new TestBean("rod", 31));
+		BeanWrapper bw = new BeanWrapperImpl(tb);
+		try {
+			bw.getPropertyValue("friends[x]");
+			fail("Should have thrown FatalBeanException");
+		}
+		catch (FatalBeanException ex) {
+			// expected
+		}
+		try {
+			bw.getPropertyValue("friends[5]");
+			fail("Should have thrown FatalBeanException");
+		}
+		catch (FatalBeanException ex) {
+			assertTrue(ex.getCause() instanceof IndexOutOfBoundsException);
+		}
+	}
+
+	@Test
+	public void testInvalidLastSegmentOfNestedPath() {
+		TestBean tb = new TestBean();
+		tb.setSpouse(new TestBean());
+		BeanWrapper bw = new BeanWrapperImpl(tb);
+		try {
+			bw.setPropertyValue("spouse.nonExisting[0]", "x");
+			fail("Should have thrown NotWritablePropertyException");
+		}
+		catch (NotWritablePropertyException ex) {
+			assertEquals("spouse.nonExisting[0]", ex.getPropertyName());
+			assertTrue(ex.getMessage().indexOf(TestBean.class.getName()) != -1);
+		}
+
+		MutablePropertyValues pvs = new MutablePropertyValues();
+		pvs.addPropertyValue("spouse.nonExisting[0]", "x");
+		pvs.addPropertyValue("spouse.name[0]", "x");
+		pvs.addPropertyValue("name", "Rod");
+		bw.setPropertyValues(pvs, true);
+		assertEquals("Rod", tb.getName());
+		BindingErrors errors = new BindingErrors();
+		bw.setPropertyValues(pvs, true, errors);
+		assertFalse(errors.hasErrors());
+	}
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2002-2004 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for stackless exceptions and lazily built exception messages.
+ */
+public class StacklessExceptionsTests extends TestCase {
+
+	protected void tearDown() {
+		StacklessExceptions.reset();
+	}
+
+	public void testStackTraceByDefault() {
+		NestedRuntimeException ex = new NestedRuntimeException("mesg") {};
+		assertTrue(ex.getStackTrace().length > 0);
+	}
+
+	public void testStacklessByDefault() {
+		StacklessExceptions.setStacklessByDefault(true);
+		assertEquals(0, new NestedRuntimeException("mesg") {}.getStackTrace().length);
+		assertEquals(0, new NestedCheckedException("mesg") {}.getStackTrace().length);
+		assertEquals(0, new ConstantException(String.class, "FOO", "not found").getStackTrace().length);
+	}
+
+	public void testStacklessPerType() {
+		StacklessExceptions.setStackless(ConstantException.class, true);
+		assertEquals(0, new ConstantException(String.class, "FOO", "not found").getStackTrace().length);
+		assertTrue(new NestedRuntimeException("mesg") {}.getStackTrace().length > 0);
+
+		StacklessExceptions.setStacklessByDefault(true);
+		StacklessExceptions.setStackless(NestedCheckedException.class, false);
+		assertTrue(new NestedCheckedException("mesg") {}.getStackTrace().length > 0);
+		assertEquals(0, new NestedRuntimeException("mesg") {}.getStackTrace().length);
+	}
+
+	public void testSharedInstanceWithoutStackTrace() {
+		NestedRuntimeException ex = new NestedRuntimeException("mesg", null, false) {};
+		assertEquals(0, ex.getStackTrace().length);
+		ex.addSuppressed(new IllegalStateException());
+		assertEquals(0, ex.getSuppressed().length);
+	}
+
+	public void testMessageIsBuiltOnce() {
+		final int[] count = new int[1];
+		NestedRuntimeException ex = new NestedRuntimeException(null, new IllegalStateException("cause")) {
+			protected String buildDetailMessage() {
+				count[0]++;
+				return "lazy";
+			}
+		};
+		assertEquals(0, count[0]);
+		String message = ex.getMessage();
+		assertEquals("lazy; nested exception is java.lang.IllegalStateException: cause", message);
+		assertSame(message, ex.getMessage());
+		assertEquals(1, count[0]);
+	}
+
+	public void testConstantExceptionMessages() {
+		assertEquals("Field 'FOO' not found in class java.lang.String",
+		             new ConstantException(String.class, "FOO", "not found").getMessage());
+		assertEquals("No 'FOO' field with value '3' found in class java.lang.String",
+		             new ConstantException(String.class, "FOO", new Integer(3)).getMessage());
+	}
+
+	public void testConstantExceptionWithUnserializableValueIsSerializable() throws Exception {
+		ConstantException ex = new ConstantException(String.class, "FOO", new Object() {
+			public String toString() {
+				return "3";
+			}
+		});
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		ObjectOutputStream oos = new ObjectOutputStream(bos);
+		oos.writeObject(ex);
+		oos.close();
+		ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()));
+		ConstantException copy = (ConstantException) ois.readObject();
+		assertEquals("No 'FOO' field with value '3' found in class java.lang.String", copy.getMessage());
+	}
+
+}